@@ -0,0 +1,59 @@
+package com.example.ProjectBinar.benchmark;
+
+import com.example.ProjectBinar.dto.PlafondResponse;
+import com.example.ProjectBinar.entity.Plafond;
+import com.example.ProjectBinar.entity.Role;
+import com.example.ProjectBinar.entity.User;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/** Data uji bersama untuk benchmark. */
+final class BenchmarkFixtures {
+
+  private static final String[] ROLE_NAMES = {"CUSTOMER", "MARKETING", "BRANCH_MANAGER", "BACK_OFFICE"};
+
+  private BenchmarkFixtures() {}
+
+  static User user(int roleCount) {
+    Set<Role> roles = new HashSet<>();
+    for (int i = 0; i < roleCount; i++) {
+      roles.add(Role.builder().id((long) i + 1).name(ROLE_NAMES[i % ROLE_NAMES.length]).build());
+    }
+    return User.builder()
+        .id(1L)
+        .username("benchmark-user")
+        .email("benchmark@example.com")
+        .password("$2a$10$abcdefghijklmnopqrstuv")
+        .isActive(true)
+        .roles(roles)
+        .build();
+  }
+
+  static Plafond plafond(long id) {
+    LocalDateTime now = LocalDateTime.of(2026, 1, 1, 10, 0);
+    return Plafond.builder()
+        .id(id)
+        .name("Plafond " + id)
+        .description("Pinjaman level " + id)
+        .maxAmount(BigDecimal.valueOf(5_000_000L * id, 2))
+        .interestRate(new BigDecimal("12.50"))
+        .tenorMonth(12 * (int) (1 + id % 3))
+        .isActive(true)
+        .isDeleted(false)
+        .createdAt(now)
+        .updatedAt(now)
+        .build();
+  }
+
+  static List<PlafondResponse> plafondResponses(int size) {
+    List<PlafondResponse> responses = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      responses.add(PlafondResponse.fromEntity(plafond(i)));
+    }
+    return responses;
+  }
+}
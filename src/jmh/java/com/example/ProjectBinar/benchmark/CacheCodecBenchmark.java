@@ -0,0 +1,76 @@
+package com.example.ProjectBinar.benchmark;
+
+import com.example.ProjectBinar.cache.CacheFormat;
+import com.example.ProjectBinar.cache.CacheValueCodec;
+import com.example.ProjectBinar.dto.PlafondResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Codec value cache Redis: JSON (serializer lama) vs Smile vs Smile + LZ4. Ukuran hasil encode
+ * dilaporkan sebagai metric sekunder {@code encodedBytes} (ikut tersimpan di jmh-result.json)
+ * karena memori Redis dan bandwidth sama pentingnya dengan waktu CPU.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheCodecBenchmark {
+
+  @Param({"json", "smile", "smile-lz4"})
+  private String codec;
+
+  @Param({"10", "100"})
+  private int size;
+
+  private List<PlafondResponse> value;
+  private CacheValueCodec cacheValueCodec;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() {
+    value = BenchmarkFixtures.plafondResponses(size);
+    cacheValueCodec =
+        switch (codec) {
+          case "json" -> CacheValueCodec.of(CacheFormat.JSON, 0);
+          case "smile" -> CacheValueCodec.of(CacheFormat.SMILE, Integer.MAX_VALUE);
+          case "smile-lz4" -> CacheValueCodec.of(CacheFormat.SMILE, 0);
+          default -> throw new IllegalArgumentException("Unknown codec " + codec);
+        };
+    encoded = cacheValueCodec.serialize(value);
+  }
+
+  @Benchmark
+  public byte[] serialize(PayloadSize payloadSize) {
+    byte[] bytes = cacheValueCodec.serialize(value);
+    payloadSize.encodedBytes = bytes.length;
+    return bytes;
+  }
+
+  @Benchmark
+  public Object deserialize(PayloadSize payloadSize) {
+    payloadSize.encodedBytes = encoded.length;
+    return cacheValueCodec.deserialize(encoded);
+  }
+
+  /** Ukuran payload per operasi; field public dibaca JMH sebagai metric sekunder. */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class PayloadSize {
+    public long encodedBytes;
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.ProjectBinar.benchmark;
+
+import com.example.ProjectBinar.simulation.AmortizationSchedule;
+import com.example.ProjectBinar.simulation.InstallmentMethod;
+import com.example.ProjectBinar.simulation.LoanAmortizationCalculator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput simulasi angsuran per core (single thread). Target: >= 10^5 simulasi per detik untuk
+ * tenor 36 bulan.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class LoanAmortizationBenchmark {
+
+  @Param({"12", "36", "120"})
+  private int tenor;
+
+  @Param({"FLAT", "ANNUITY"})
+  private InstallmentMethod method;
+
+  private final AmortizationSchedule schedule = new AmortizationSchedule();
+
+  private long principalCents = 5_000_000_000L;
+
+  @Benchmark
+  public long simulate() {
+    // Variasikan pokok agar JIT tidak melakukan constant folding
+    principalCents += 100;
+    LoanAmortizationCalculator.calculate(principalCents, 1250, tenor, method, schedule);
+    return schedule.getTotalInterest();
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.ProjectBinar.benchmark;
+
+import com.example.ProjectBinar.base.ApiResponse;
+import com.example.ProjectBinar.config.RedisConfig;
+import com.example.ProjectBinar.dto.PlafondResponse;
+import com.example.ProjectBinar.entity.Plafond;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jalur response plafond: Entity → DTO, serialisasi JSON ApiResponse (ObjectMapper dengan default
+ * Spring Boot), dan round trip serializer cache Redis.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlafondSerializationBenchmark {
+
+  @Param({"10", "100"})
+  private int size;
+
+  private Plafond plafond;
+  private ApiResponse<List<PlafondResponse>> apiResponse;
+  private List<PlafondResponse> cachedValue;
+  private byte[] cachedBytes;
+  private ObjectMapper objectMapper;
+  private GenericJackson2JsonRedisSerializer redisSerializer;
+
+  @Setup
+  public void setUp() {
+    plafond = BenchmarkFixtures.plafond(1);
+    cachedValue = BenchmarkFixtures.plafondResponses(size);
+    apiResponse =
+        ApiResponse.<List<PlafondResponse>>builder()
+            .success(true)
+            .code(200)
+            .message("Data plafond aktif berhasil diambil")
+            .data(cachedValue)
+            .timestamp(Instant.parse("2026-01-01T10:00:00Z"))
+            .build();
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    redisSerializer = RedisConfig.cacheValueSerializer();
+    cachedBytes = redisSerializer.serialize(cachedValue);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public PlafondResponse fromEntity() {
+    return PlafondResponse.fromEntity(plafond);
+  }
+
+  @Benchmark
+  public byte[] serializeApiResponse() throws Exception {
+    return objectMapper.writeValueAsBytes(apiResponse);
+  }
+
+  @Benchmark
+  public byte[] redisSerialize() {
+    return redisSerializer.serialize(cachedValue);
+  }
+
+  @Benchmark
+  public Object redisDeserialize() {
+    return redisSerializer.deserialize(cachedBytes);
+  }
+}
@@ -0,0 +1,69 @@
+package com.example.ProjectBinar.benchmark;
+
+import com.example.ProjectBinar.security.CustomUserDetails;
+import com.example.ProjectBinar.security.JwtService;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Jalur autentikasi per request: generate/verify JWT (seperti AuthService dan
+ * JwtAuthenticationFilter) dan CustomUserDetails.getAuthorities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityBenchmark {
+
+  private static final String SECRET =
+      "dGhpc19pc19hX3ZlcnlfdmVyeV9sb25nX3NlY3JldF9rZXlfZm9yX2p3dF90b2tlbl9nZW5lcmF0aW9u";
+
+  @Param({"1", "4"})
+  private int roleCount;
+
+  private JwtService jwtService;
+  private CustomUserDetails userDetails;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtService = new JwtService();
+    ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+    ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+    userDetails = new CustomUserDetails(BenchmarkFixtures.user(roleCount));
+    token = jwtService.generateToken(userDetails);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtService.generateToken(userDetails);
+  }
+
+  /** Sama dengan JwtAuthenticationFilter: extract username lalu validasi token. */
+  @Benchmark
+  public boolean verifyToken() {
+    String username = jwtService.extractUsername(token);
+    return username != null && jwtService.isTokenValid(token, userDetails);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return userDetails.getAuthorities();
+  }
+}
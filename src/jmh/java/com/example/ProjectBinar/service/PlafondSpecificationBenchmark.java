@@ -0,0 +1,99 @@
+package com.example.ProjectBinar.service;
+
+import com.example.ProjectBinar.entity.Plafond;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernatePersistenceProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.jpa.persistenceunit.MutablePersistenceUnitInfo;
+
+/**
+ * Konstruksi predicate dari PlafondService.buildSpecification (semua filter terisi vs tanpa
+ * filter). Berada di package service karena method tersebut package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlafondSpecificationBenchmark {
+
+  private SessionFactory sessionFactory;
+  private CriteriaBuilder criteriaBuilder;
+
+  @Setup
+  public void setUp() {
+    // Bootstrap JPA (bukan Configuration native): hanya jalur ini yang membaca setting
+    // jakarta.persistence.jdbc.* di Hibernate 6.4
+    MutablePersistenceUnitInfo persistenceUnit =
+        new MutablePersistenceUnitInfo() {
+          // Tanpa bytecode enhancement: Hibernate tidak memasang ClassTransformer
+          @Override
+          public ClassLoader getNewTempClassLoader() {
+            return null;
+          }
+        };
+    persistenceUnit.setPersistenceUnitName("benchmark");
+    persistenceUnit.addManagedClassName(Plafond.class.getName());
+    persistenceUnit.setExcludeUnlistedClasses(true);
+    sessionFactory =
+        new HibernatePersistenceProvider()
+            .createContainerEntityManagerFactory(
+                persistenceUnit,
+                Map.of(
+                    AvailableSettings.JAKARTA_JDBC_URL,
+                    "jdbc:h2:mem:benchmark;MODE=MSSQLServer",
+                    AvailableSettings.JAKARTA_JDBC_USER,
+                    "sa",
+                    AvailableSettings.JAKARTA_JDBC_PASSWORD,
+                    "",
+                    AvailableSettings.DIALECT,
+                    "org.hibernate.dialect.H2Dialect",
+                    AvailableSettings.HBM2DDL_AUTO,
+                    "none"))
+            .unwrap(SessionFactory.class);
+    criteriaBuilder = sessionFactory.getCriteriaBuilder();
+  }
+
+  @TearDown
+  public void tearDown() {
+    sessionFactory.close();
+  }
+
+  @Benchmark
+  public Predicate allFilters() {
+    return toPredicate(
+        PlafondService.buildSpecification(
+            "Gold", true, new BigDecimal("1000000"), new BigDecimal("50000000"), 12));
+  }
+
+  @Benchmark
+  public Predicate noFilters() {
+    return toPredicate(PlafondService.buildSpecification(null, null, null, null, null));
+  }
+
+  private Predicate toPredicate(Specification<Plafond> specification) {
+    CriteriaQuery<Plafond> query = criteriaBuilder.createQuery(Plafond.class);
+    Root<Plafond> root = query.from(Plafond.class);
+    return specification.toPredicate(root, query, criteriaBuilder);
+  }
+}
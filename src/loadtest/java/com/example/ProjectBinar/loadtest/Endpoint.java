@@ -0,0 +1,20 @@
+package com.example.ProjectBinar.loadtest;
+
+/** Endpoint yang dijalankan load test. Key di {@code loadtest.mix} dan {@code loadtest.budgets}. */
+public enum Endpoint {
+  LOGIN("POST /auth/login"),
+  LIST("GET /plafonds?filters"),
+  GET_BY_ID("GET /plafonds/{id}"),
+  ACTIVE("GET /plafonds/active"),
+  UPDATE("PUT /plafonds/{id}");
+
+  private final String label;
+
+  Endpoint(String label) {
+    this.label = label;
+  }
+
+  public String getLabel() {
+    return label;
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.ProjectBinar.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Histogram latency (HdrHistogram, resolusi mikrodetik), jumlah request terjadwal dan jumlah error
+ * per endpoint. Aman dipanggil dari banyak worker thread sekaligus.
+ */
+public class LatencyRecorder {
+
+  private final Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+  private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+  private final Map<Endpoint, LongAdder> scheduled = new EnumMap<>(Endpoint.class);
+
+  public LatencyRecorder() {
+    for (Endpoint endpoint : Endpoint.values()) {
+      histograms.put(endpoint, new ConcurrentHistogram(3));
+      errors.put(endpoint, new LongAdder());
+      scheduled.put(endpoint, new LongAdder());
+    }
+  }
+
+  /** Catat satu request yang dijadwalkan, sebelum diserahkan ke worker. */
+  public void recordScheduled(Endpoint endpoint) {
+    scheduled.get(endpoint).increment();
+  }
+
+  public void recordSuccess(Endpoint endpoint, long latencyNanos) {
+    histograms.get(endpoint).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+  }
+
+  /** Catat satu error dan kembalikan jumlah error endpoint tersebut sejauh ini. */
+  public long recordError(Endpoint endpoint) {
+    LongAdder counter = errors.get(endpoint);
+    counter.increment();
+    return counter.sum();
+  }
+
+  public Histogram histogram(Endpoint endpoint) {
+    return histograms.get(endpoint);
+  }
+
+  public long errorCount(Endpoint endpoint) {
+    return errors.get(endpoint).sum();
+  }
+
+  public long scheduledCount(Endpoint endpoint) {
+    return scheduled.get(endpoint).sum();
+  }
+}
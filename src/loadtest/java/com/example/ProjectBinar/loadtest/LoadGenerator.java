@@ -0,0 +1,249 @@
+package com.example.ProjectBinar.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generator traffic open-model: request dikirim pada jadwal tetap (1/rate detik) tanpa menunggu
+ * response sebelumnya.
+ *
+ * <p>Latency diukur dari waktu yang dijadwalkan, bukan dari saat request benar-benar dikirim. Jika
+ * server melambat dan worker penuh, waktu antri ikut terhitung sehingga p99/p999 tidak tertutupi
+ * coordinated omission seperti pada load test closed-loop.
+ */
+@Slf4j
+public class LoadGenerator {
+
+  private static final String JSON = "application/json";
+  private static final String[] SORT_FIELDS = {"id", "name", "maxAmount", "interestRate"};
+  private static final int[] TENORS = {6, 12, 18, 24, 36, 48};
+
+  private final String baseUrl;
+  private final LoadTestSettings settings;
+  private final List<String> customerTokens;
+  private final String backOfficeToken;
+  private final List<Long> plafondIds;
+  private final ObjectMapper objectMapper;
+  private final HttpClient httpClient;
+  private final Endpoint[] mixTable;
+
+  public LoadGenerator(
+      String baseUrl,
+      LoadTestSettings settings,
+      List<String> customerTokens,
+      String backOfficeToken,
+      List<Long> plafondIds,
+      ObjectMapper objectMapper) {
+    this.baseUrl = baseUrl;
+    this.settings = settings;
+    this.customerTokens = customerTokens;
+    this.backOfficeToken = backOfficeToken;
+    this.plafondIds = plafondIds;
+    this.objectMapper = objectMapper;
+    this.httpClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(settings.getRequestTimeoutMs()))
+            .build();
+    this.mixTable = buildMixTable(settings.getMix());
+  }
+
+  /** Jalankan traffic selama {@code seconds} detik dan kembalikan hasil pengukurannya. */
+  public LatencyRecorder run(int seconds) throws InterruptedException {
+    LatencyRecorder recorder = new LatencyRecorder();
+    AtomicInteger threadIndex = new AtomicInteger();
+    ExecutorService workers =
+        Executors.newFixedThreadPool(
+            settings.getMaxInFlight(),
+            runnable -> {
+              Thread thread = new Thread(runnable, "loadtest-" + threadIndex.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.getRate();
+    long start = System.nanoTime();
+    long end = start + TimeUnit.SECONDS.toNanos(seconds);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+
+    for (long i = 0; ; i++) {
+      long scheduledAt = start + i * intervalNanos;
+      if (scheduledAt >= end) {
+        break;
+      }
+      long wait = scheduledAt - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      Endpoint endpoint = mixTable[random.nextInt(mixTable.length)];
+      HttpRequest request = buildRequest(endpoint, random);
+      recorder.recordScheduled(endpoint);
+      workers.execute(new Task(endpoint, request, scheduledAt, recorder));
+    }
+
+    workers.shutdown();
+    if (!workers.awaitTermination(
+        settings.getRequestTimeoutMs() + TimeUnit.SECONDS.toMillis(seconds),
+        TimeUnit.MILLISECONDS)) {
+      // Request yang belum sempat dikirim tetap dihitung sebagai error; yang sedang berjalan
+      // di-interrupt dan dicatat sebagai error oleh execute()
+      List<Runnable> dropped = workers.shutdownNow();
+      for (Runnable runnable : dropped) {
+        Task task = (Task) runnable;
+        recordError(task.recorder, task.endpoint, "not sent before the load test timeout");
+      }
+      log.warn(
+          "Load test workers did not finish in time, {} queued requests counted as errors",
+          dropped.size());
+      workers.awaitTermination(1, TimeUnit.SECONDS);
+    }
+    return recorder;
+  }
+
+  private void execute(
+      Endpoint endpoint, HttpRequest request, long scheduledAt, LatencyRecorder recorder) {
+    try {
+      HttpResponse<Void> response =
+          httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+      long latency = System.nanoTime() - scheduledAt;
+      if (response.statusCode() / 100 == 2) {
+        recorder.recordSuccess(endpoint, latency);
+      } else {
+        recordError(recorder, endpoint, "HTTP " + response.statusCode());
+      }
+    } catch (IOException e) {
+      recordError(recorder, endpoint, e.toString());
+    } catch (InterruptedException e) {
+      recordError(recorder, endpoint, "interrupted before the response arrived");
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Hanya error pertama per endpoint yang di-log supaya output tidak banjir saat server jenuh. */
+  private void recordError(LatencyRecorder recorder, Endpoint endpoint, String cause) {
+    if (recorder.recordError(endpoint) == 1) {
+      log.warn("First error for {}: {}", endpoint.getLabel(), cause);
+    }
+  }
+
+  private HttpRequest buildRequest(Endpoint endpoint, ThreadLocalRandom random) {
+    return switch (endpoint) {
+      case LOGIN -> {
+        String username = LoadTestDataSeeder.username(random.nextInt(settings.getUsers()));
+        yield request("/auth/login", null)
+            .header("Content-Type", JSON)
+            .POST(body(Map.of("username", username, "password", LoadTestDataSeeder.PASSWORD)))
+            .build();
+      }
+      case LIST -> request(listPath(random), customerToken(random)).GET().build();
+      case GET_BY_ID -> request("/plafonds/" + plafondId(random), customerToken(random))
+          .GET()
+          .build();
+      case ACTIVE -> request("/plafonds/active", customerToken(random)).GET().build();
+      case UPDATE -> request("/plafonds/" + plafondId(random), backOfficeToken)
+          .header("Content-Type", JSON)
+          .PUT(body(Map.of("description", "Load test update " + random.nextInt(1_000_000))))
+          .build();
+    };
+  }
+
+  /** Satu request terjadwal; object tersendiri supaya request yang di-drop bisa dihitung. */
+  private final class Task implements Runnable {
+
+    private final Endpoint endpoint;
+    private final HttpRequest request;
+    private final long scheduledAt;
+    private final LatencyRecorder recorder;
+
+    private Task(
+        Endpoint endpoint, HttpRequest request, long scheduledAt, LatencyRecorder recorder) {
+      this.endpoint = endpoint;
+      this.request = request;
+      this.scheduledAt = scheduledAt;
+      this.recorder = recorder;
+    }
+
+    @Override
+    public void run() {
+      execute(endpoint, request, scheduledAt, recorder);
+    }
+  }
+
+  /** Kombinasi filter acak seperti pemakaian halaman katalog. */
+  private String listPath(ThreadLocalRandom random) {
+    StringBuilder path =
+        new StringBuilder("/plafonds?size=20&page=")
+            .append(random.nextInt(5))
+            .append("&sortBy=")
+            .append(SORT_FIELDS[random.nextInt(SORT_FIELDS.length)])
+            .append("&sortDir=")
+            .append(random.nextBoolean() ? "asc" : "desc");
+    if (random.nextBoolean()) {
+      path.append("&isActive=true");
+    }
+    if (random.nextInt(3) == 0) {
+      path.append("&minAmount=").append(10_000_000 * (1 + random.nextInt(10)));
+    }
+    if (random.nextInt(4) == 0) {
+      path.append("&tenorMonth=").append(TENORS[random.nextInt(TENORS.length)]);
+    }
+    if (random.nextInt(5) == 0) {
+      path.append("&name=Plafond+").append(random.nextInt(10));
+    }
+    return path.toString();
+  }
+
+  private HttpRequest.Builder request(String path, String token) {
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofMillis(settings.getRequestTimeoutMs()));
+    if (token != null) {
+      builder.header("Authorization", "Bearer " + token);
+    }
+    return builder;
+  }
+
+  private HttpRequest.BodyPublisher body(Object value) {
+    try {
+      return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private String customerToken(ThreadLocalRandom random) {
+    return customerTokens.get(random.nextInt(customerTokens.size()));
+  }
+
+  private Long plafondId(ThreadLocalRandom random) {
+    return plafondIds.get(random.nextInt(plafondIds.size()));
+  }
+
+  /** Tabel lookup: setiap endpoint muncul sebanyak bobotnya, dipilih dengan satu nextInt. */
+  private static Endpoint[] buildMixTable(Map<Endpoint, Integer> mix) {
+    Endpoint[] table =
+        mix.entrySet().stream()
+            .flatMap(e -> Collections.nCopies(e.getValue(), e.getKey()).stream())
+            .toArray(Endpoint[]::new);
+    if (table.length == 0) {
+      throw new IllegalArgumentException("loadtest.mix must define at least one endpoint");
+    }
+    return table;
+  }
+}
@@ -0,0 +1,99 @@
+package com.example.ProjectBinar.loadtest;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Seed data load test dengan JDBC batch insert, setelah DataInitializer selesai (role dan user
+ * bawaan sudah ada).
+ *
+ * <p>Semua user memakai hash password yang sama: BCrypt sengaja lambat, jadi meng-hash ribuan
+ * password hanya memperlambat seeding tanpa mengubah biaya login yang diukur.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class LoadTestDataSeeder {
+
+  public static final String USERNAME_PREFIX = "loaduser";
+  public static final String PASSWORD = "password123";
+
+  private static final String INSERT_USER_SQL =
+      "INSERT INTO users (username, email, password, is_active) VALUES (?, ?, ?, ?)";
+  private static final String INSERT_USER_ROLE_SQL =
+      "INSERT INTO user_roles (user_id, role_id)"
+          + " SELECT u.id, r.id FROM users u, roles r"
+          + " WHERE u.username LIKE ? AND r.name = 'CUSTOMER'";
+  private static final String INSERT_PLAFOND_SQL =
+      "INSERT INTO plafond (name, description, max_amount, interest_rate, tenor_month, is_active,"
+          + " created_at, updated_at, is_deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+  private static final int BATCH_SIZE = 500;
+  private static final int[] TENORS = {6, 12, 18, 24, 36, 48};
+
+  private final JdbcTemplate jdbcTemplate;
+  private final PasswordEncoder passwordEncoder;
+
+  public void seed(LoadTestSettings settings) {
+    long start = System.nanoTime();
+    seedUsers(settings.getUsers());
+    seedPlafonds(settings.getPlafonds());
+    log.info(
+        "Seeded {} users and {} plafonds in {} ms",
+        settings.getUsers(),
+        settings.getPlafonds(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /** ID semua plafond (termasuk bawaan DataInitializer) untuk request get-by-id dan update. */
+  public List<Long> plafondIds() {
+    return jdbcTemplate.queryForList("SELECT id FROM plafond WHERE is_deleted = 0", Long.class);
+  }
+
+  public static String username(int index) {
+    return USERNAME_PREFIX + index;
+  }
+
+  private void seedUsers(int count) {
+    String encodedPassword = passwordEncoder.encode(PASSWORD);
+    List<Object[]> rows = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      rows.add(new Object[] {username(i), username(i) + "@loadtest.local", encodedPassword, true});
+    }
+    batchInsert(INSERT_USER_SQL, rows);
+    jdbcTemplate.update(INSERT_USER_ROLE_SQL, USERNAME_PREFIX + "%");
+  }
+
+  private void seedPlafonds(int count) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Object[]> rows =
+        IntStream.range(0, count)
+            .mapToObj(
+                i ->
+                    new Object[] {
+                      "Load Plafond " + i,
+                      "Plafond load test " + i,
+                      BigDecimal.valueOf(5_000_000L + (i % 40) * 5_000_000L),
+                      BigDecimal.valueOf(800 + (i % 9) * 75, 2),
+                      TENORS[i % TENORS.length],
+                      i % 5 != 0,
+                      now,
+                      now
+                    })
+            .toList();
+    batchInsert(INSERT_PLAFOND_SQL, rows);
+  }
+
+  private void batchInsert(String sql, List<Object[]> rows) {
+    for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+      jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+    }
+  }
+}
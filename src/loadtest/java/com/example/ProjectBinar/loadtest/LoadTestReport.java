@@ -0,0 +1,160 @@
+package com.example.ProjectBinar.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/** Ringkasan hasil load test per endpoint dan pengecekan terhadap latency budget. */
+public class LoadTestReport {
+
+  /**
+   * Hasil satu endpoint; latency dalam milidetik. {@code scheduled} adalah jumlah request yang
+   * dijadwalkan generator, {@code errors} mencakup request yang gagal maupun yang tidak selesai
+   * sampai load test berhenti. {@code offeredRate} dan {@code throughput} dalam request per detik:
+   * yang dijadwalkan dan yang sukses.
+   */
+  public record EndpointResult(
+      Endpoint endpoint,
+      long scheduled,
+      long count,
+      long errors,
+      double errorRate,
+      double offeredRate,
+      double throughput,
+      double p50Ms,
+      double p99Ms,
+      double p999Ms,
+      double maxMs) {}
+
+  private final LoadTestSettings settings;
+  private final List<EndpointResult> results = new ArrayList<>();
+
+  public LoadTestReport(LoadTestSettings settings, LatencyRecorder recorder) {
+    this.settings = settings;
+    for (Endpoint endpoint : Endpoint.values()) {
+      Histogram histogram = recorder.histogram(endpoint);
+      long scheduled = recorder.scheduledCount(endpoint);
+      if (scheduled == 0) {
+        continue;
+      }
+      long count = histogram.getTotalCount();
+      // Semua yang dijadwalkan tapi tidak sukses adalah error, termasuk yang tidak pernah selesai
+      long errors = Math.max(scheduled - count, recorder.errorCount(endpoint));
+      results.add(
+          new EndpointResult(
+              endpoint,
+              scheduled,
+              count,
+              errors,
+              (double) errors / scheduled,
+              (double) scheduled / settings.getDurationSeconds(),
+              (double) count / settings.getDurationSeconds(),
+              millis(histogram.getValueAtPercentile(50)),
+              millis(histogram.getValueAtPercentile(99)),
+              millis(histogram.getValueAtPercentile(99.9)),
+              millis(histogram.getMaxValue())));
+    }
+  }
+
+  public List<EndpointResult> getResults() {
+    return results;
+  }
+
+  /** Tabel ringkasan untuk console. */
+  public String format() {
+    StringBuilder out = new StringBuilder();
+    out.append(
+        String.format(
+            "%-24s %9s %8s %7s %9s %9s %9s %9s %9s%n",
+            "Endpoint",
+            "Scheduled",
+            "Count",
+            "Errors",
+            "Req/s",
+            "p50 ms",
+            "p99 ms",
+            "p999 ms",
+            "max ms"));
+    for (EndpointResult r : results) {
+      out.append(
+          String.format(
+              "%-24s %9d %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+              r.endpoint().getLabel(),
+              r.scheduled(),
+              r.count(),
+              r.errors(),
+              r.throughput(),
+              r.p50Ms(),
+              r.p99Ms(),
+              r.p999Ms(),
+              r.maxMs()));
+    }
+    return out.toString();
+  }
+
+  /** Daftar pelanggaran budget latency dan error rate. Kosong berarti lolos. */
+  public List<String> violations() {
+    List<String> violations = new ArrayList<>();
+    long total = 0;
+    long errors = 0;
+    for (EndpointResult r : results) {
+      total += r.scheduled();
+      errors += r.errors();
+
+      LoadTestSettings.Budget budget = settings.getBudgets().get(r.endpoint());
+      if (budget == null) {
+        continue;
+      }
+      check(violations, r.endpoint(), "p50", r.p50Ms(), budget.getP50Ms());
+      check(violations, r.endpoint(), "p99", r.p99Ms(), budget.getP99Ms());
+      check(violations, r.endpoint(), "p999", r.p999Ms(), budget.getP999Ms());
+    }
+
+    double errorRate = total == 0 ? 0 : (double) errors / total;
+    if (errorRate > settings.getMaxErrorRate()) {
+      violations.add(
+          String.format(
+              "error rate %.4f exceeds max %.4f (%d of %d requests)",
+              errorRate, settings.getMaxErrorRate(), errors, total));
+    }
+    return violations;
+  }
+
+  /** Simpan hasil sebagai JSON supaya bisa dibandingkan antar run/release. */
+  public void writeJson(ObjectMapper objectMapper, List<String> violations) throws IOException {
+    Map<String, Object> document = new LinkedHashMap<>();
+    document.put("rate", settings.getRate());
+    document.put("durationSeconds", settings.getDurationSeconds());
+    document.put("users", settings.getUsers());
+    document.put("plafonds", settings.getPlafonds());
+    document.put("results", results);
+    document.put("violations", violations);
+
+    Path file = Paths.get(settings.getResultFile());
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), document);
+  }
+
+  private static void check(
+      List<String> violations, Endpoint endpoint, String percentile, double actual, Long budget) {
+    if (budget != null && actual > budget) {
+      violations.add(
+          String.format(
+              "%s %s %.2f ms exceeds budget %d ms",
+              endpoint.getLabel(), percentile, actual, budget));
+    }
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+}
@@ -0,0 +1,139 @@
+package com.example.ProjectBinar.loadtest;
+
+import com.example.ProjectBinar.ProjectBinarApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import redis.embedded.RedisServer;
+
+/**
+ * Entry point load test offline (profile Maven {@code loadtest}).
+ *
+ * <p>Alur: start embedded Redis di port acak, boot aplikasi dengan profile {@code loadtest} (H2
+ * in-memory, port HTTP acak), seed user dan plafond, login untuk mengambil token, warm-up, lalu
+ * ukur traffic campuran dengan arrival rate tetap. Exit code 1 jika budget terlampaui sehingga
+ * build Maven gagal.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+  /** Jumlah user yang token-nya dipakai untuk request GET (login hanya dilakukan sekali). */
+  static final int TOKEN_POOL_SIZE = 50;
+
+  private static final String BACK_OFFICE_USERNAME = "backoffice";
+
+  /** Hasil satu run load test. */
+  public record Result(LoadTestReport report, List<String> violations, int exitCode) {}
+
+  public static void main(String[] args) throws Exception {
+    System.exit(execute(args).exitCode());
+  }
+
+  /**
+   * Start embedded Redis dan aplikasi, jalankan load test, lalu hentikan keduanya.
+   *
+   * @param args argumen Spring Boot tambahan (override application-loadtest.yml)
+   */
+  public static Result execute(String[] args) throws Exception {
+    int redisPort = freePort();
+    RedisServer redisServer = new RedisServer(redisPort);
+    redisServer.start();
+
+    // Argumen command line, bukan default properties, supaya menimpa port di application.yml
+    String[] appArgs = new String[args.length + 2];
+    appArgs[0] = "--spring.data.redis.host=localhost";
+    appArgs[1] = "--spring.data.redis.port=" + redisPort;
+    System.arraycopy(args, 0, appArgs, 2, args.length);
+
+    try (ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(ProjectBinarApplication.class)
+            .profiles("loadtest")
+            .run(appArgs)) {
+      return run(context);
+    } finally {
+      redisServer.stop();
+    }
+  }
+
+  private static Result run(ConfigurableApplicationContext context) throws Exception {
+    LoadTestSettings settings =
+        Binder.get(context.getEnvironment())
+            .bind("loadtest", LoadTestSettings.class)
+            .orElseGet(LoadTestSettings::new);
+    ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+    String baseUrl =
+        "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+    LoadTestDataSeeder seeder =
+        new LoadTestDataSeeder(
+            context.getBean(JdbcTemplate.class), context.getBean(PasswordEncoder.class));
+    seeder.seed(settings);
+
+    HttpClient httpClient = HttpClient.newHttpClient();
+    List<String> customerTokens = new ArrayList<>();
+    for (int i = 0; i < Math.min(TOKEN_POOL_SIZE, settings.getUsers()); i++) {
+      customerTokens.add(login(httpClient, objectMapper, baseUrl, LoadTestDataSeeder.username(i)));
+    }
+    String backOfficeToken = login(httpClient, objectMapper, baseUrl, BACK_OFFICE_USERNAME);
+
+    LoadGenerator generator =
+        new LoadGenerator(
+            baseUrl, settings, customerTokens, backOfficeToken, seeder.plafondIds(), objectMapper);
+
+    log.info("Warm-up: {} req/s for {} s", settings.getRate(), settings.getWarmupSeconds());
+    generator.run(settings.getWarmupSeconds());
+
+    log.info("Measuring: {} req/s for {} s", settings.getRate(), settings.getDurationSeconds());
+    LoadTestReport report =
+        new LoadTestReport(settings, generator.run(settings.getDurationSeconds()));
+    List<String> violations = report.violations();
+    report.writeJson(objectMapper, violations);
+
+    log.info("Load test result ({}):\n{}", settings.getResultFile(), report.format());
+    if (violations.isEmpty()) {
+      log.info("All latency budgets met");
+      return new Result(report, violations, 0);
+    }
+    violations.forEach(v -> log.error("Budget violated: {}", v));
+    return new Result(report, violations, settings.isEnforceBudgets() ? 1 : 0);
+  }
+
+  static String login(
+      HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, String username)
+      throws IOException, InterruptedException {
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(
+                HttpRequest.BodyPublishers.ofByteArray(
+                    objectMapper.writeValueAsBytes(
+                        Map.of("username", username, "password", LoadTestDataSeeder.PASSWORD))))
+            .build();
+    HttpResponse<byte[]> response =
+        httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException(
+          "Login failed for " + username + ": HTTP " + response.statusCode());
+    }
+    return objectMapper.readTree(response.body()).path("token").asText();
+  }
+
+  static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
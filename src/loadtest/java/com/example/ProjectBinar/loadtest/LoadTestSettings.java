@@ -0,0 +1,44 @@
+package com.example.ProjectBinar.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Data;
+
+/** Konfigurasi load test, di-bind dari prefix {@code loadtest} (application-loadtest.yml). */
+@Data
+public class LoadTestSettings {
+
+  private int users = 1000;
+  private int plafonds = 500;
+
+  /** Arrival rate tetap dalam request per detik. */
+  private int rate = 100;
+
+  private int warmupSeconds = 10;
+  private int durationSeconds = 60;
+
+  /** Jumlah worker thread HTTP; request di atas ini antri dan waktu antrinya ikut terukur. */
+  private int maxInFlight = 64;
+
+  private long requestTimeoutMs = 5000;
+
+  /** Rasio request gagal (non-2xx, timeout) maksimal sebelum build gagal. */
+  private double maxErrorRate = 0.01;
+
+  /** Jika false, pelanggaran budget hanya dilaporkan tanpa exit code gagal. */
+  private boolean enforceBudgets = true;
+
+  private String resultFile = "target/loadtest-result.json";
+
+  private Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+
+  private Map<Endpoint, Budget> budgets = new EnumMap<>(Endpoint.class);
+
+  /** Batas latency per endpoint dalam milidetik. Nilai null = tidak dicek. */
+  @Data
+  public static class Budget {
+    private Long p50Ms;
+    private Long p99Ms;
+    private Long p999Ms;
+  }
+}
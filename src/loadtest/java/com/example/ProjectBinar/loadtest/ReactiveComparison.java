@@ -0,0 +1,175 @@
+package com.example.ProjectBinar.loadtest;
+
+import com.example.ProjectBinar.ProjectBinarApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.InvocationTargetException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import redis.embedded.RedisServer;
+
+/**
+ * Endpoint baca plafond di API MVC (Tomcat + JDBC) dibandingkan dengan katalog reactive (Netty +
+ * R2DBC) pada jumlah koneksi bersamaan yang tinggi. Butuh profile Maven {@code reactive} dan {@code
+ * loadtest} sekaligus.
+ *
+ * <p>Kedua aplikasi berjalan di JVM ini dengan H2 in-memory dan embedded Redis yang sama, jadi
+ * data, token dan entry cache identik; pool database keduanya 20 koneksi. Seed dan login lewat API
+ * MVC, lalu traffic GET saja (list, get-by-id, active) dikirim ke masing-masing stack bergantian.
+ * Hasil di {@code target/loadtest-reactive.json}; budget latency hanya dilaporkan.
+ *
+ * <p>Default-nya {@value #DEFAULT_RATE} req/s dengan {@value #DEFAULT_MAX_IN_FLIGHT} request
+ * in-flight, di atas pool Tomcat (200 thread); keduanya bisa ditimpa lewat {@code --loadtest.rate}
+ * dan {@code --loadtest.max-in-flight}.
+ *
+ * <p>Catatan: driver r2dbc-h2 menjalankan query secara sinkron di thread pemanggil (event loop
+ * Netty), jadi di atas kapasitas CPU stack reactive dengan H2 jenuh lebih dulu. Angka yang mewakili
+ * production didapat dengan SQL Server (r2dbc-mssql non-blocking) lewat {@code
+ * --spring.r2dbc.url} dan {@code --spring.datasource.url}.
+ */
+@Slf4j
+public class ReactiveComparison {
+
+  static final String RESULT_FILE = "target/loadtest-reactive.json";
+
+  static final int DEFAULT_RATE = 1000;
+  static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+
+  private static final String REACTIVE_APPLICATION =
+      "com.example.ProjectBinar.reactive.ReactiveCatalogApplication";
+
+  /** Hanya endpoint baca; katalog reactive tidak melayani login dan update. */
+  private static final List<String> READ_ONLY_MIX =
+      List.of("--loadtest.mix.login=0", "--loadtest.mix.update=0");
+
+  public static void main(String[] args) throws Exception {
+    int redisPort = LoadTestRunner.freePort();
+    RedisServer redisServer = new RedisServer(redisPort);
+    redisServer.start();
+
+    String[] appArgs = appArgs(args, redisPort);
+    try (ConfigurableApplicationContext mvc =
+            new SpringApplicationBuilder(ProjectBinarApplication.class)
+                .profiles("loadtest")
+                .run(appArgs);
+        ConfigurableApplicationContext reactive = startReactive(appArgs)) {
+      Map<String, LoadTestReport> reports = run(mvc, reactive);
+      writeResult(args, reports, mvc.getBean(ObjectMapper.class));
+      log.info(
+          "MVC vs reactive comparison ({}):\n{}", RESULT_FILE, ThreadingComparison.format(reports));
+    } finally {
+      redisServer.stop();
+    }
+    System.exit(0);
+  }
+
+  /** Argumen user ditambah Redis, mix read-only dan default koneksi tinggi yang tidak ditimpa. */
+  static String[] appArgs(String[] args, int redisPort) {
+    List<String> appArgs = new ArrayList<>();
+    appArgs.add("--spring.data.redis.host=localhost");
+    appArgs.add("--spring.data.redis.port=" + redisPort);
+    appArgs.add("--spring.profiles.active=loadtest");
+    appArgs.add("--loadtest.enforce-budgets=false");
+    appArgs.addAll(READ_ONLY_MIX);
+    addDefault(appArgs, args, "--loadtest.rate=", DEFAULT_RATE);
+    addDefault(appArgs, args, "--loadtest.max-in-flight=", DEFAULT_MAX_IN_FLIGHT);
+    for (String arg : args) {
+      if (!arg.startsWith("--spring.profiles.active=")
+          && !arg.startsWith("--loadtest.enforce-budgets=")) {
+        appArgs.add(arg);
+      }
+    }
+    return appArgs.toArray(String[]::new);
+  }
+
+  /** Argumen yang sama muncul dua kali di command line akan digabung dengan koma oleh Spring. */
+  private static void addDefault(List<String> appArgs, String[] args, String prefix, int value) {
+    if (Arrays.stream(args).noneMatch(arg -> arg.startsWith(prefix))) {
+      appArgs.add(prefix + value);
+    }
+  }
+
+  /**
+   * Katalog reactive di-load lewat nama class supaya source load test tetap bisa dikompilasi tanpa
+   * profile {@code reactive}. Profile Spring {@code loadtest} memberi URL R2DBC ke H2 yang sama.
+   */
+  private static ConfigurableApplicationContext startReactive(String[] appArgs) throws Exception {
+    try {
+      return (ConfigurableApplicationContext)
+          Class.forName(REACTIVE_APPLICATION)
+              .getMethod("run", String[].class)
+              .invoke(null, (Object) appArgs);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(
+          "Reactive catalog not on the classpath, run with mvn -Preactive,loadtest", e);
+    } catch (InvocationTargetException e) {
+      throw e.getCause() instanceof Exception cause ? cause : e;
+    }
+  }
+
+  private static Map<String, LoadTestReport> run(
+      ConfigurableApplicationContext mvc, ConfigurableApplicationContext reactive)
+      throws Exception {
+    LoadTestSettings settings =
+        Binder.get(mvc.getEnvironment())
+            .bind("loadtest", LoadTestSettings.class)
+            .orElseGet(LoadTestSettings::new);
+    ObjectMapper objectMapper = mvc.getBean(ObjectMapper.class);
+    String mvcUrl = "http://localhost:" + mvc.getEnvironment().getProperty("local.server.port");
+    String reactiveUrl =
+        "http://localhost:" + reactive.getEnvironment().getProperty("local.server.port");
+
+    LoadTestDataSeeder seeder =
+        new LoadTestDataSeeder(mvc.getBean(JdbcTemplate.class), mvc.getBean(PasswordEncoder.class));
+    seeder.seed(settings);
+
+    HttpClient httpClient = HttpClient.newHttpClient();
+    List<String> tokens = new ArrayList<>();
+    for (int i = 0; i < Math.min(LoadTestRunner.TOKEN_POOL_SIZE, settings.getUsers()); i++) {
+      tokens.add(
+          LoadTestRunner.login(httpClient, objectMapper, mvcUrl, LoadTestDataSeeder.username(i)));
+    }
+
+    Map<String, String> stacks = new LinkedHashMap<>();
+    stacks.put("mvc", mvcUrl);
+    stacks.put("reactive", reactiveUrl);
+    Map<String, LoadTestReport> reports = new LinkedHashMap<>();
+    for (Map.Entry<String, String> stack : stacks.entrySet()) {
+      log.info("=== Load test against {} ({}) ===", stack.getKey(), stack.getValue());
+      LoadGenerator generator =
+          new LoadGenerator(
+              stack.getValue(), settings, tokens, null, seeder.plafondIds(), objectMapper);
+      log.info("Warm-up: {} req/s for {} s", settings.getRate(), settings.getWarmupSeconds());
+      generator.run(settings.getWarmupSeconds());
+      log.info("Measuring: {} req/s for {} s", settings.getRate(), settings.getDurationSeconds());
+      reports.put(
+          stack.getKey(),
+          new LoadTestReport(settings, generator.run(settings.getDurationSeconds())));
+    }
+    return reports;
+  }
+
+  private static void writeResult(
+      String[] args, Map<String, LoadTestReport> reports, ObjectMapper objectMapper)
+      throws Exception {
+    Path file = Paths.get(RESULT_FILE);
+    Files.createDirectories(file.getParent());
+    Map<String, Object> document = new LinkedHashMap<>();
+    document.put("javaVersion", Runtime.version().toString());
+    document.put("args", Arrays.asList(args));
+    reports.forEach((stack, report) -> document.put(stack, report.getResults()));
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), document);
+  }
+}
@@ -0,0 +1,296 @@
+package com.example.ProjectBinar.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import redis.embedded.RedisServer;
+
+/**
+ * Benchmark startup (profile Maven {@code startup-benchmark}): waktu dari proses JVM dibuat sampai
+ * request pertama berhasil, yaitu /actuator/health/readiness mengembalikan 200.
+ *
+ * <p>Mode yang dibandingkan, masing-masing di proses baru dengan H2 in-memory dan embedded Redis:
+ *
+ * <ul>
+ *   <li>{@code jar}: sebelum, fat jar lewat launcher Spring Boot (setara {@code java -jar}) dan
+ *       bootstrap JPA default;
+ *   <li>{@code aot}: classpath hasil bongkar jar + Spring AOT + bootstrap JPA deferred;
+ *   <li>{@code aot-cds}: sama dengan {@code aot} ditambah arsip CDS dari training run, seperti
+ *       image Docker.
+ * </ul>
+ *
+ * <p>Mode AOT dilewati jika jar tidak dibangun dengan profile {@code aot}. Startup warm-up
+ * dimatikan di semua mode supaya yang terukur hanya biaya startup. Hasil JSON ditulis ke {@code
+ * target/startup-result.json}.
+ *
+ * <p>Argumen: {@code <path fat jar> [iterasi]}.
+ */
+@Slf4j
+public class StartupBenchmark {
+
+  private static final String MAIN_CLASS = "com.example.ProjectBinar.ProjectBinarApplication";
+  private static final String AOT_INITIALIZER =
+      "BOOT-INF/classes/com/example/ProjectBinar/ProjectBinarApplication__ApplicationContextInitializer.class";
+  private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+  private static final Path WORK_DIR = Paths.get("target", "startup-benchmark");
+  private static final Path RESULT_FILE = Paths.get("target", "startup-result.json");
+
+  /** Hasil satu mode dalam milidetik. */
+  public record ModeResult(String mode, List<Long> runsMs, long minMs, long medianMs, long maxMs) {}
+
+  public static void main(String[] args) throws Exception {
+    Path jar = Paths.get(args[0]).toAbsolutePath();
+    int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+    // H2 hanya ada di classpath test, jadi ditambahkan ke classpath aplikasi dari sini
+    Path h2Jar =
+        Paths.get(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+    Files.createDirectories(WORK_DIR);
+
+    int redisPort = freePort();
+    RedisServer redisServer = new RedisServer(redisPort);
+    redisServer.start();
+    List<ModeResult> results = new ArrayList<>();
+    try {
+      results.add(
+          measure(
+              "jar",
+              iterations,
+              List.of(
+                  "-cp",
+                  jar.toString(),
+                  "-Dloader.path=" + h2Jar,
+                  "org.springframework.boot.loader.launch.PropertiesLauncher"),
+              List.of("--spring.data.jpa.repositories.bootstrap-mode=default"),
+              redisPort));
+
+      if (hasAotClasses(jar)) {
+        Path appDir = WORK_DIR.resolve("app").toAbsolutePath();
+        String classpath = extract(jar, appDir) + File.pathSeparator + h2Jar;
+        List<String> aot = List.of("-Dspring.aot.enabled=true", "-cp", classpath, MAIN_CLASS);
+        results.add(measure("aot", iterations, aot, List.of(), redisPort));
+
+        Path archive = appDir.resolve("app.jsa");
+        train(archive, aot, redisPort);
+        List<String> aotCds = new ArrayList<>();
+        aotCds.add("-XX:SharedArchiveFile=" + archive);
+        aotCds.addAll(aot);
+        results.add(measure("aot-cds", iterations, aotCds, List.of(), redisPort));
+      } else {
+        log.warn("{} has no AOT classes; build with -Paot to measure the aot modes", jar);
+      }
+    } finally {
+      redisServer.stop();
+    }
+
+    new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .writeValue(RESULT_FILE.toFile(), Map.of("iterations", iterations, "modes", results));
+    log.info("Startup benchmark result ({}):\n{}", RESULT_FILE, format(results));
+  }
+
+  private static ModeResult measure(
+      String mode, int iterations, List<String> jvmArgs, List<String> extraAppArgs, int redisPort)
+      throws Exception {
+    List<Long> runs = new ArrayList<>();
+    for (int i = 0; i < iterations; i++) {
+      long ms = timeToFirstRequest(jvmArgs, extraAppArgs, redisPort, mode + "-" + i);
+      log.info("{} run {}: {} ms", mode, i + 1, ms);
+      runs.add(ms);
+    }
+    List<Long> sorted = runs.stream().sorted().toList();
+    return new ModeResult(
+        mode, runs, sorted.get(0), sorted.get(sorted.size() / 2), sorted.get(sorted.size() - 1));
+  }
+
+  private static long timeToFirstRequest(
+      List<String> jvmArgs, List<String> extraAppArgs, int redisPort, String name)
+      throws Exception {
+    int port = freePort();
+    List<String> command = command(jvmArgs, appArgs(redisPort, port, name));
+    command.addAll(extraAppArgs);
+    HttpClient httpClient = HttpClient.newHttpClient();
+    HttpRequest readiness =
+        HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/actuator/health/readiness"))
+            .timeout(Duration.ofSeconds(5))
+            .build();
+
+    Path output = WORK_DIR.resolve(name + ".log");
+    long start = System.nanoTime();
+    Process process =
+        new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(output.toFile())
+            .start();
+    try {
+      long deadline = start + STARTUP_TIMEOUT.toNanos();
+      while (System.nanoTime() < deadline) {
+        if (!process.isAlive()) {
+          throw new IllegalStateException(name + " exited during startup, see " + output);
+        }
+        try {
+          if (httpClient.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode()
+              == 200) {
+            return (System.nanoTime() - start) / 1_000_000;
+          }
+        } catch (ConnectException e) {
+          // Tomcat belum listen
+        }
+        Thread.sleep(20);
+      }
+      throw new IllegalStateException(name + " not ready within " + STARTUP_TIMEOUT);
+    } finally {
+      process.destroy();
+      process.waitFor();
+    }
+  }
+
+  /** Training run CDS, sama seperti Dockerfile: refresh context lalu tulis class ke arsip. */
+  private static void train(Path archive, List<String> jvmArgs, int redisPort) throws Exception {
+    List<String> trainingArgs = new ArrayList<>();
+    trainingArgs.add("-XX:ArchiveClassesAtExit=" + archive);
+    trainingArgs.add("-Dspring.context.exit=onRefresh");
+    trainingArgs.addAll(jvmArgs);
+    Path output = WORK_DIR.resolve("cds-training.log");
+    Files.deleteIfExists(archive);
+    int exitCode =
+        new ProcessBuilder(command(trainingArgs, appArgs(redisPort, 0, "training")))
+            .redirectErrorStream(true)
+            .redirectOutput(output.toFile())
+            .start()
+            .waitFor();
+    if (exitCode != 0 || !Files.exists(archive)) {
+      throw new IllegalStateException("CDS training run failed, see " + output);
+    }
+    log.info("CDS archive {} ({} MB)", archive, Files.size(archive) / (1024 * 1024));
+  }
+
+  private static List<String> command(List<String> jvmArgs, List<String> appArgs) {
+    List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(jvmArgs);
+    command.addAll(appArgs);
+    return command;
+  }
+
+  private static List<String> appArgs(int redisPort, int httpPort, String name) {
+    return new ArrayList<>(
+        List.of(
+            "--server.port=" + httpPort,
+            "--spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.data.redis.host=localhost",
+            "--spring.data.redis.port=" + redisPort,
+            "--plafond-archive.cron=-",
+            "--audit.spill-dir=" + WORK_DIR.resolve("audit-spill").toAbsolutePath(),
+            "--startup-warmup.enabled=false",
+            "--logging.level.root=WARN"));
+  }
+
+  private static boolean hasAotClasses(Path jar) throws IOException {
+    try (JarFile jarFile = new JarFile(jar.toFile())) {
+      return jarFile.getEntry(AOT_INITIALIZER) != null;
+    }
+  }
+
+  /**
+   * Bongkar fat jar seperti Dockerfile: BOOT-INF/classes jadi application.jar, BOOT-INF/lib ke
+   * lib/.
+   *
+   * @return classpath dengan urutan BOOT-INF/classpath.idx
+   */
+  private static String extract(Path jar, Path appDir) throws IOException {
+    if (Files.exists(appDir)) {
+      try (Stream<Path> files = Files.walk(appDir)) {
+        files.sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+      }
+    }
+    Path lib = Files.createDirectories(appDir.resolve("lib"));
+    Map<String, Path> libs = new LinkedHashMap<>();
+    try (JarFile jarFile = new JarFile(jar.toFile());
+        JarOutputStream application =
+            new JarOutputStream(Files.newOutputStream(appDir.resolve("application.jar")))) {
+      Enumeration<JarEntry> entries = jarFile.entries();
+      while (entries.hasMoreElements()) {
+        JarEntry entry = entries.nextElement();
+        String name = entry.getName();
+        if (name.startsWith("BOOT-INF/classes/") && name.length() > "BOOT-INF/classes/".length()) {
+          application.putNextEntry(new JarEntry(name.substring("BOOT-INF/classes/".length())));
+          if (!entry.isDirectory()) {
+            try (InputStream in = jarFile.getInputStream(entry)) {
+              in.transferTo(application);
+            }
+          }
+          application.closeEntry();
+        } else if (name.startsWith("BOOT-INF/lib/") && !entry.isDirectory()) {
+          Path target = lib.resolve(name.substring("BOOT-INF/lib/".length()));
+          try (InputStream in = jarFile.getInputStream(entry)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+          }
+          libs.put(name, target);
+        }
+      }
+
+      List<String> classpath = new ArrayList<>();
+      classpath.add(appDir.resolve("application.jar").toString());
+      String index =
+          new String(
+              jarFile.getInputStream(jarFile.getEntry("BOOT-INF/classpath.idx")).readAllBytes());
+      for (String line : index.split("\n")) {
+        String name = line.replaceFirst("^- \"(.*)\"$", "$1").trim();
+        if (libs.containsKey(name)) {
+          classpath.add(libs.get(name).toString());
+        }
+      }
+      return String.join(File.pathSeparator, classpath);
+    }
+  }
+
+  private static String format(List<ModeResult> results) {
+    StringBuilder out = new StringBuilder();
+    out.append(
+        String.format(
+            "%-10s %10s %10s %10s  %s%n", "Mode", "min ms", "median ms", "max ms", "runs"));
+    for (ModeResult result : results) {
+      out.append(
+          String.format(
+              "%-10s %10d %10d %10d  %s%n",
+              result.mode(), result.minMs(), result.medianMs(), result.maxMs(), result.runsMs()));
+    }
+    return out.toString();
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.example.ProjectBinar.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Load test yang sama dijalankan dua kali: platform thread (default) lalu profile Spring {@code
+ * virtual-threads}, masing-masing dengan aplikasi, H2 dan embedded Redis yang baru.
+ *
+ * <p>Throughput dan latency per endpoint ditampilkan berdampingan dan disimpan ke {@code
+ * target/loadtest-threading.json}; hasil tiap mode juga di {@code target/loadtest-<mode>.json}.
+ * Budget latency hanya dilaporkan. Perbedaan baru terlihat jika request in-flight melebihi pool
+ * Tomcat (200 thread), jadi naikkan {@code --loadtest.rate} dan {@code --loadtest.max-in-flight}.
+ */
+@Slf4j
+public class ThreadingComparison {
+
+  static final String RESULT_FILE = "target/loadtest-threading.json";
+
+  private static final List<Mode> MODES =
+      List.of(new Mode("platform", List.of()), new Mode("virtual", List.of("virtual-threads")));
+
+  /** Mode threading: nama dan profile Spring tambahan. */
+  record Mode(String name, List<String> profiles) {}
+
+  public static void main(String[] args) throws Exception {
+    if (Runtime.version().feature() < 21) {
+      log.warn(
+          "Running on Java {}: virtual threads need Java 21 (mvn -Pjava21), both modes will use"
+              + " platform threads",
+          Runtime.version().feature());
+    }
+
+    Map<String, LoadTestReport> reports = new LinkedHashMap<>();
+    for (Mode mode : MODES) {
+      log.info("=== Load test with {} threads ===", mode.name());
+      reports.put(mode.name(), LoadTestRunner.execute(appArgs(args, mode)).report());
+    }
+
+    Path file = Paths.get(RESULT_FILE);
+    Files.createDirectories(file.getParent());
+    Map<String, Object> document = new LinkedHashMap<>();
+    document.put("javaVersion", Runtime.version().toString());
+    document.put("args", Arrays.asList(args));
+    reports.forEach((mode, report) -> document.put(mode, report.getResults()));
+    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), document);
+
+    log.info("Threading comparison ({}):\n{}", RESULT_FILE, format(reports));
+    System.exit(0);
+  }
+
+  /** Argumen user, tanpa setting yang diatur per mode, ditambah profile dan file hasil mode ini. */
+  static String[] appArgs(String[] args, Mode mode) {
+    List<String> appArgs = new ArrayList<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--loadtest.result-file=")
+          && !arg.startsWith("--loadtest.enforce-budgets=")
+          && !arg.startsWith("--spring.profiles.active=")) {
+        appArgs.add(arg);
+      }
+    }
+    appArgs.add("--loadtest.result-file=target/loadtest-" + mode.name() + ".json");
+    appArgs.add("--loadtest.enforce-budgets=false");
+    if (!mode.profiles().isEmpty()) {
+      appArgs.add("--spring.profiles.active=" + String.join(",", mode.profiles()));
+    }
+    return appArgs.toArray(String[]::new);
+  }
+
+  /** Tabel per endpoint: req/s, p50 dan p99 tiap mode berdampingan. */
+  static String format(Map<String, LoadTestReport> reports) {
+    List<String> modes = new ArrayList<>(reports.keySet());
+    StringBuilder out = new StringBuilder(String.format("%-24s", "Endpoint"));
+    for (String mode : modes) {
+      out.append(
+          String.format(
+              " %12s %10s %10s %7s",
+              mode + " req/s", mode.charAt(0) + " p50 ms", mode.charAt(0) + " p99 ms", "errors"));
+    }
+    out.append(System.lineSeparator());
+
+    for (Endpoint endpoint : Endpoint.values()) {
+      StringBuilder row = new StringBuilder(String.format("%-24s", endpoint.getLabel()));
+      boolean any = false;
+      for (String mode : modes) {
+        LoadTestReport.EndpointResult result = find(reports.get(mode), endpoint);
+        if (result == null) {
+          row.append(String.format(" %12s %10s %10s %7s", "-", "-", "-", "-"));
+        } else {
+          any = true;
+          row.append(
+              String.format(
+                  " %12.1f %10.2f %10.2f %7d",
+                  result.throughput(), result.p50Ms(), result.p99Ms(), result.errors()));
+        }
+      }
+      if (any) {
+        out.append(row).append(System.lineSeparator());
+      }
+    }
+
+    out.append(String.format("%-24s", "Total"));
+    for (String mode : modes) {
+      List<LoadTestReport.EndpointResult> results = reports.get(mode).getResults();
+      out.append(
+          String.format(
+              " %12.1f %10s %10s %7d",
+              results.stream().mapToDouble(LoadTestReport.EndpointResult::throughput).sum(),
+              "",
+              "",
+              results.stream().mapToLong(LoadTestReport.EndpointResult::errors).sum()));
+    }
+    return out.append(System.lineSeparator()).toString();
+  }
+
+  private static LoadTestReport.EndpointResult find(LoadTestReport report, Endpoint endpoint) {
+    return report.getResults().stream()
+        .filter(result -> result.endpoint() == endpoint)
+        .findFirst()
+        .orElse(null);
+  }
+}
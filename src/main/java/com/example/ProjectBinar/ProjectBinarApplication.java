@@ -3,9 +3,18 @@ package com.example.ProjectBinar;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+/**
+ * Aplikasi utama (Spring MVC + JPA).
+ *
+ * <p>R2DBC hanya dipakai katalog reactive (profile Maven {@code reactive}); auto-configuration-nya
+ * dimatikan di sini supaya tidak ada transaction manager kedua di samping JPA.
+ */
+@SpringBootApplication(
+    excludeName = "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration")
 @EnableCaching
+@EnableScheduling
 public class ProjectBinarApplication {
 
   public static void main(String[] args) {
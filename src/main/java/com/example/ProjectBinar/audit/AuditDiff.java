@@ -0,0 +1,49 @@
+package com.example.ProjectBinar.audit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/** Utility untuk menghitung diff field antara snapshot sebelum dan sesudah perubahan. */
+public final class AuditDiff {
+
+  private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+  private AuditDiff() {}
+
+  /**
+   * Hitung diff antara dua snapshot (DTO/entity) berdasarkan representasi JSON-nya.
+   *
+   * @param before Snapshot sebelum perubahan (null untuk CREATE)
+   * @param after Snapshot sesudah perubahan (null untuk DELETE)
+   * @return Map field → {"old": ..., "new": ...}, hanya untuk field yang berubah
+   */
+  public static Map<String, Map<String, Object>> diff(
+      ObjectMapper objectMapper, Object before, Object after) {
+    Map<String, Object> oldValues = toMap(objectMapper, before);
+    Map<String, Object> newValues = toMap(objectMapper, after);
+
+    Map<String, Map<String, Object>> changes = new LinkedHashMap<>();
+    TreeSet<String> fields = new TreeSet<>(oldValues.keySet());
+    fields.addAll(newValues.keySet());
+    for (String field : fields) {
+      Object oldValue = oldValues.get(field);
+      Object newValue = newValues.get(field);
+      if (!Objects.equals(oldValue, newValue)) {
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("old", oldValue);
+        change.put("new", newValue);
+        changes.put(field, change);
+      }
+    }
+    return changes;
+  }
+
+  private static Map<String, Object> toMap(ObjectMapper objectMapper, Object value) {
+    return value == null ? Collections.emptyMap() : objectMapper.convertValue(value, MAP_TYPE);
+  }
+}
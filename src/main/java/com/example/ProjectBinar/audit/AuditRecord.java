@@ -0,0 +1,23 @@
+package com.example.ProjectBinar.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * Satu entry audit yang menunggu ditulis ke database.
+ *
+ * @param recordId ID unik (UUID) supaya replay dari file spill tidak menulis baris ganda
+ * @param entityType Jenis entity, e.g. PLAFOND
+ * @param entityId ID entity
+ * @param action CREATE, UPDATE, atau DELETE
+ * @param changes Diff dalam format JSON
+ * @param actor Username yang melakukan perubahan
+ * @param createdAt Waktu perubahan
+ */
+public record AuditRecord(
+    String recordId,
+    String entityType,
+    String entityId,
+    String action,
+    String changes,
+    String actor,
+    LocalDateTime createdAt) {}
@@ -0,0 +1,364 @@
+package com.example.ProjectBinar.audit;
+
+import com.example.ProjectBinar.config.BackgroundThreads;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writer asynchronous untuk audit trail.
+ *
+ * <p>Record masuk ke queue lock-free yang dibatasi kapasitasnya, lalu satu background thread
+ * menulisnya ke tabel audit_log dengan JDBC batch insert setiap batch-size record atau setiap
+ * flush-interval-ms, mana yang lebih dulu. Caller tidak pernah diblok: selama database lambat/gagal
+ * writer thread menulis batch ke file spill (JSON lines) dan me-replay-nya otomatis setelah
+ * database kembali normal. Hanya jika queue penuh caller sendiri yang menulis ke file spill.
+ *
+ * <p>Replay memakai insert yang idempotent berdasarkan {@link AuditRecord#recordId()}, sehingga
+ * batch yang sebagian sudah tersimpan sebelum gagal tidak menghasilkan baris ganda. Baris spill
+ * yang tidak bisa dibaca dipindahkan ke file quarantine dan tidak menghentikan replay.
+ */
+@Component
+@Slf4j
+public class AuditWriter {
+
+  static final String INSERT_SQL =
+      "INSERT INTO audit_log"
+          + " (record_id, entity_type, entity_id, action, changes, actor, created_at)"
+          + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+  /** Insert saat replay: dilewati jika record_id sudah ada (batch sebelumnya sempat tersimpan). */
+  static final String REPLAY_INSERT_SQL =
+      "INSERT INTO audit_log"
+          + " (record_id, entity_type, entity_id, action, changes, actor, created_at)"
+          + " SELECT ?, ?, ?, ?, ?, ?, ?"
+          + " WHERE NOT EXISTS (SELECT 1 FROM audit_log WHERE record_id = ?)";
+
+  static final String SPILL_FILE = "audit-spill.jsonl";
+  static final String QUARANTINE_FILE = "audit-spill.quarantine";
+  private static final String REPLAY_SUFFIX = ".replay";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final BackgroundThreads backgroundThreads;
+
+  private final ConcurrentLinkedQueue<AuditRecord> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queueSize = new AtomicInteger();
+  private final AtomicLong spilledCount = new AtomicLong();
+  // ReentrantLock, bukan synchronized: spill saat queue penuh dipanggil dari thread request dan
+  // menulis ke disk, synchronized akan mem-pin virtual thread ke carrier selama I/O
+  private final ReentrantLock spillLock = new ReentrantLock();
+
+  @Value("${audit.enabled:true}")
+  private boolean enabled;
+
+  @Value("${audit.queue-capacity:10000}")
+  private int queueCapacity;
+
+  @Value("${audit.batch-size:200}")
+  private int batchSize;
+
+  @Value("${audit.flush-interval-ms:1000}")
+  private long flushIntervalMs;
+
+  /** Batch yang lebih lama dari ini menandai database sebagai lambat. */
+  @Value("${audit.slow-batch-ms:2000}")
+  private long slowBatchMs;
+
+  @Value("${audit.spill-dir:audit-spill}")
+  private String spillDir;
+
+  private volatile boolean running;
+  private volatile boolean databaseDegraded;
+  private volatile Thread writerThread;
+
+  public AuditWriter(
+      JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, BackgroundThreads backgroundThreads) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+    this.backgroundThreads = backgroundThreads;
+  }
+
+  @PostConstruct
+  void start() {
+    if (!enabled) {
+      log.info("Audit writer disabled");
+      return;
+    }
+    running = true;
+    Thread thread = backgroundThreads.factory("audit-writer").newThread(this::runLoop);
+    writerThread = thread;
+    thread.start();
+  }
+
+  /**
+   * Masukkan record ke queue. Tidak pernah blocking; saat database degraded record tetap masuk
+   * queue dan writer thread yang menulisnya ke file spill. Hanya jika queue penuh record langsung
+   * ditulis ke file spill dari thread caller.
+   *
+   * @return true jika record masuk queue, false jika di-spill ke disk (atau audit dinonaktifkan)
+   */
+  public boolean enqueue(AuditRecord auditRecord) {
+    if (!enabled) {
+      return false;
+    }
+    if (!running) {
+      spill(List.of(auditRecord));
+      return false;
+    }
+    if (queueSize.incrementAndGet() > queueCapacity) {
+      queueSize.decrementAndGet();
+      spill(List.of(auditRecord));
+      return false;
+    }
+    queue.offer(auditRecord);
+    if (queueSize.get() >= batchSize) {
+      LockSupport.unpark(writerThread);
+    }
+    return true;
+  }
+
+  /** Jumlah record yang sedang menunggu di queue. */
+  public int getQueueSize() {
+    return queueSize.get();
+  }
+
+  /** Total record yang pernah di-spill ke disk sejak aplikasi start. */
+  public long getSpilledCount() {
+    return spilledCount.get();
+  }
+
+  public boolean isDatabaseDegraded() {
+    return databaseDegraded;
+  }
+
+  /** Stop writer thread dan tulis sisa queue (ke database, atau ke disk jika gagal). */
+  @PreDestroy
+  public void shutdown() {
+    running = false;
+    Thread thread = writerThread;
+    if (thread != null) {
+      LockSupport.unpark(thread);
+      try {
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    List<AuditRecord> remaining = drain(Integer.MAX_VALUE);
+    if (!remaining.isEmpty()) {
+      spill(remaining);
+    }
+  }
+
+  private void runLoop() {
+    long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    long lastFlush = System.nanoTime();
+
+    while (running) {
+      long elapsed = System.nanoTime() - lastFlush;
+      if (queueSize.get() >= batchSize || elapsed >= flushIntervalNanos) {
+        flushPending();
+        replaySpillIfHealthy();
+        lastFlush = System.nanoTime();
+      } else {
+        LockSupport.parkNanos(this, flushIntervalNanos - elapsed);
+      }
+    }
+    flushPending();
+  }
+
+  private void flushPending() {
+    List<AuditRecord> batch;
+    while (!(batch = drain(batchSize)).isEmpty()) {
+      // Saat degraded batch langsung di-spill; replay berikutnya yang menguji database lagi
+      if (databaseDegraded || !writeBatch(batch, false)) {
+        spill(batch);
+      }
+    }
+  }
+
+  private List<AuditRecord> drain(int max) {
+    List<AuditRecord> batch = new ArrayList<>(Math.min(max, batchSize));
+    AuditRecord auditRecord;
+    while (batch.size() < max && (auditRecord = queue.poll()) != null) {
+      queueSize.decrementAndGet();
+      batch.add(auditRecord);
+    }
+    return batch;
+  }
+
+  /**
+   * Tulis satu batch ke database. Return false jika gagal (batch harus di-spill). Batch yang gagal
+   * bisa sebagian sudah tersimpan; karena itu replay memakai {@link #REPLAY_INSERT_SQL}.
+   */
+  private boolean writeBatch(List<AuditRecord> batch, boolean replay) {
+    String sql = replay ? REPLAY_INSERT_SQL : INSERT_SQL;
+    long start = System.nanoTime();
+    try {
+      jdbcTemplate.batchUpdate(
+          sql,
+          batch,
+          batch.size(),
+          (ps, r) -> {
+            ps.setString(1, r.recordId());
+            ps.setString(2, r.entityType());
+            ps.setString(3, r.entityId());
+            ps.setString(4, r.action());
+            ps.setString(5, r.changes());
+            ps.setString(6, r.actor());
+            ps.setTimestamp(7, Timestamp.valueOf(r.createdAt()));
+            if (replay) {
+              ps.setString(8, r.recordId());
+            }
+          });
+    } catch (DataAccessException e) {
+      log.warn(
+          "Failed to write {} audit records, spilling to disk: {}", batch.size(), e.getMessage());
+      databaseDegraded = true;
+      return false;
+    }
+
+    long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    if (tookMs > slowBatchMs) {
+      log.warn("Audit batch of {} records took {} ms, spilling new records", batch.size(), tookMs);
+      databaseDegraded = true;
+    } else {
+      databaseDegraded = false;
+    }
+    return true;
+  }
+
+  private void spill(List<AuditRecord> records) {
+    spillLock.lock();
+    try {
+      Path dir = Paths.get(spillDir);
+      try {
+        Files.createDirectories(dir);
+        try (BufferedWriter writer =
+            Files.newBufferedWriter(
+                dir.resolve(SPILL_FILE),
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+          for (AuditRecord auditRecord : records) {
+            writer.write(objectMapper.writeValueAsString(auditRecord));
+            writer.newLine();
+          }
+        }
+        spilledCount.addAndGet(records.size());
+      } catch (IOException e) {
+        log.error("Failed to spill {} audit records to {}", records.size(), dir, e);
+      }
+    } finally {
+      spillLock.unlock();
+    }
+  }
+
+  /**
+   * Replay file spill ke database. Dijalankan setiap siklus flush selama ada file spill, sehingga
+   * juga berfungsi sebagai probe untuk memulihkan status degraded.
+   */
+  private void replaySpillIfHealthy() {
+    Path dir = Paths.get(spillDir);
+    Path spillFile = dir.resolve(SPILL_FILE);
+    if (!Files.isDirectory(dir)) {
+      return;
+    }
+
+    try {
+      spillLock.lock();
+      try {
+        if (Files.exists(spillFile)) {
+          Files.move(spillFile, dir.resolve(SPILL_FILE + "." + System.nanoTime() + REPLAY_SUFFIX));
+        }
+      } finally {
+        spillLock.unlock();
+      }
+
+      List<Path> replayFiles = new ArrayList<>();
+      try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + REPLAY_SUFFIX)) {
+        stream.forEach(replayFiles::add);
+      }
+      replayFiles.sort(null);
+
+      for (Path file : replayFiles) {
+        if (!replayFile(file)) {
+          return;
+        }
+      }
+    } catch (IOException e) {
+      log.error("Failed to replay audit spill files in {}", dir, e);
+    }
+  }
+
+  /**
+   * Replay satu file. Baris yang tidak bisa dibaca dipindahkan ke file quarantine; jika database
+   * gagal di tengah, sisa baris yang valid ditulis kembali ke file yang sama.
+   */
+  private boolean replayFile(Path file) throws IOException {
+    List<String> lines = new ArrayList<>();
+    List<AuditRecord> records = new ArrayList<>();
+    List<String> malformed = new ArrayList<>();
+    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        records.add(objectMapper.readValue(line, AuditRecord.class));
+        lines.add(line);
+      } catch (JsonProcessingException e) {
+        malformed.add(line);
+      }
+    }
+    if (!malformed.isEmpty()) {
+      Files.write(
+          file.resolveSibling(QUARANTINE_FILE),
+          malformed,
+          StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+      log.error(
+          "Quarantined {} malformed audit spill lines from {} to {}",
+          malformed.size(),
+          file.getFileName(),
+          QUARANTINE_FILE);
+    }
+
+    int written = 0;
+    while (written < records.size()) {
+      int end = Math.min(written + batchSize, records.size());
+      if (!writeBatch(records.subList(written, end), true)) {
+        Files.write(file, lines.subList(written, lines.size()), StandardCharsets.UTF_8);
+        return false;
+      }
+      written = end;
+    }
+    Files.delete(file);
+    log.info("Replayed {} spilled audit records from {}", records.size(), file.getFileName());
+    return true;
+  }
+}
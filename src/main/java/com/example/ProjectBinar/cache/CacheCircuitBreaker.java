@@ -0,0 +1,177 @@
+package com.example.ProjectBinar.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker untuk semua operasi cache ke Redis.
+ *
+ * <ul>
+ *   <li>CLOSED: semua operasi diteruskan; failure-threshold kegagalan berturut-turut membuka
+ *       circuit.
+ *   <li>OPEN: operasi tidak dikirim ke Redis (read = miss, langsung ke database atau L1) sampai
+ *       open-duration lewat.
+ *   <li>HALF_OPEN: satu operasi berikutnya dipakai sebagai probe, operasi lain tetap di-bypass.
+ *       Probe sukses menutup circuit, probe gagal membuka lagi untuk open-duration berikutnya.
+ * </ul>
+ */
+@Slf4j
+public class CacheCircuitBreaker implements MeterBinder {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final boolean enabled;
+  private final int failureThreshold;
+  private final long openDurationMillis;
+  private final LongSupplier clock;
+
+  private volatile State state = State.CLOSED;
+  private volatile int consecutiveFailures;
+  private long openedAt;
+  private boolean probeInFlight;
+  private long probeStartedAt;
+
+  private final AtomicLong failures = new AtomicLong();
+  private final AtomicLong bypassed = new AtomicLong();
+  private final AtomicLong opened = new AtomicLong();
+
+  public CacheCircuitBreaker(
+      boolean enabled, int failureThreshold, Duration openDuration, LongSupplier clock) {
+    this.enabled = enabled;
+    this.failureThreshold = failureThreshold;
+    this.openDurationMillis = openDuration.toMillis();
+    this.clock = clock;
+  }
+
+  public static CacheCircuitBreaker of(CacheProperties.CircuitBreaker properties) {
+    return new CacheCircuitBreaker(
+        properties.isEnabled(),
+        properties.getFailureThreshold(),
+        properties.getOpenDuration(),
+        System::currentTimeMillis);
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * @return true jika operasi boleh dikirim ke Redis; pemanggil wajib melaporkan hasilnya lewat
+   *     {@link #onSuccess()} atau {@link #onFailure(RuntimeException)}
+   */
+  public boolean tryAcquire() {
+    if (!enabled || state == State.CLOSED) {
+      return true;
+    }
+    synchronized (this) {
+      long now = clock.getAsLong();
+      if (state == State.OPEN && now - openedAt >= openDurationMillis) {
+        state = State.HALF_OPEN;
+      }
+      // Probe yang hasilnya tidak pernah dilaporkan tidak boleh mengunci circuit selamanya
+      if (state == State.HALF_OPEN
+          && (!probeInFlight || now - probeStartedAt >= openDurationMillis)) {
+        probeInFlight = true;
+        probeStartedAt = now;
+        return true;
+      }
+      if (state == State.CLOSED) {
+        return true;
+      }
+    }
+    bypassed.incrementAndGet();
+    return false;
+  }
+
+  public void onSuccess() {
+    if (!enabled || (state == State.CLOSED && consecutiveFailures == 0)) {
+      return;
+    }
+    synchronized (this) {
+      consecutiveFailures = 0;
+      if (state == State.HALF_OPEN) {
+        probeInFlight = false;
+        state = State.CLOSED;
+        log.info("Redis cache circuit closed, cache reads resumed");
+      }
+    }
+  }
+
+  /** Operasi selesai tanpa hasil yang menunjukkan kondisi Redis; lepaskan slot probe. */
+  public void release() {
+    if (!enabled || state != State.HALF_OPEN) {
+      return;
+    }
+    synchronized (this) {
+      probeInFlight = false;
+    }
+  }
+
+  public void onFailure(RuntimeException cause) {
+    failures.incrementAndGet();
+    if (!enabled) {
+      return;
+    }
+    synchronized (this) {
+      if (state == State.HALF_OPEN) {
+        probeInFlight = false;
+        open();
+      } else if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+        log.warn(
+            "Redis cache circuit opened after {} consecutive failures, bypassing cache for {} ms:"
+                + " {}",
+            consecutiveFailures,
+            openDurationMillis,
+            cause.getMessage());
+        open();
+      }
+    }
+  }
+
+  private void open() {
+    state = State.OPEN;
+    openedAt = clock.getAsLong();
+    consecutiveFailures = 0;
+    opened.incrementAndGet();
+  }
+
+  public long getFailureCount() {
+    return failures.get();
+  }
+
+  public long getBypassedCount() {
+    return bypassed.get();
+  }
+
+  public long getOpenedCount() {
+    return opened.get();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("cache.circuit.state", this, breaker -> breaker.getState().ordinal())
+        .description("State circuit breaker Redis cache: 0 = closed, 1 = open, 2 = half-open")
+        .register(registry);
+    FunctionCounter.builder("cache.circuit.calls", this, CacheCircuitBreaker::getFailureCount)
+        .tag("result", "failure")
+        .description("Operasi cache Redis yang gagal (timeout, koneksi putus)")
+        .register(registry);
+    FunctionCounter.builder("cache.circuit.calls", this, CacheCircuitBreaker::getBypassedCount)
+        .tag("result", "bypassed")
+        .description("Operasi cache yang tidak dikirim ke Redis karena circuit terbuka")
+        .register(registry);
+    FunctionCounter.builder("cache.circuit.opened", this, CacheCircuitBreaker::getOpenedCount)
+        .description("Berapa kali circuit breaker Redis cache terbuka")
+        .register(registry);
+  }
+}
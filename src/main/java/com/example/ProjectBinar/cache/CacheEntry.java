@@ -0,0 +1,12 @@
+package com.example.ProjectBinar.cache;
+
+/**
+ * Value yang disimpan oleh {@link RefreshingCache}: value asli beserta batas waktu segarnya.
+ *
+ * <p>TTL fisik di Redis = ttl + stale-while-revalidate, sedangkan {@code freshUntil} = waktu tulis
+ * + ttl. Di antara keduanya entry masih boleh dikembalikan (stale) sambil di-reload di background.
+ *
+ * @param value value asli (boleh null jika cache-nulls aktif)
+ * @param freshUntil epoch millis saat entry berhenti dianggap segar
+ */
+public record CacheEntry(Object value, long freshUntil) {}
@@ -0,0 +1,10 @@
+package com.example.ProjectBinar.cache;
+
+/** Format value cache di Redis. */
+public enum CacheFormat {
+  /** JSON + @class (GenericJackson2JsonRedisSerializer), tanpa header; format lama. */
+  JSON,
+
+  /** Smile (JSON biner) dengan header versi dan kompresi LZ4 di atas threshold. */
+  SMILE
+}
@@ -0,0 +1,98 @@
+package com.example.ProjectBinar.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Invalidasi cache L1 antar node lewat Redis pub/sub.
+ *
+ * <p>Setiap put/evict/clear pada {@link TwoLevelCache} dipublikasikan ke {@link #CHANNEL}; node
+ * lain menghapus entry tersebut dari L1-nya. Pesan dari node sendiri diabaikan. Pesan bersifat best
+ * effort: jika terlewat (Redis putus sesaat atau circuit breaker terbuka), L1 tetap dibatasi oleh
+ * l1-ttl.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+  /** Channel Redis untuk pesan invalidasi. */
+  public static final String CHANNEL = "cache:invalidation";
+
+  private final String nodeId = UUID.randomUUID().toString();
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final CacheCircuitBreaker circuitBreaker;
+  private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+  /**
+   * @param enabled false = hanya invalidasi lokal (single node), tidak ada publish
+   * @param circuitBreaker breaker Redis yang sama dengan cache; publish dilewati selama terbuka
+   */
+  public CacheInvalidationBus(
+      StringRedisTemplate redisTemplate,
+      ObjectMapper objectMapper,
+      boolean enabled,
+      CacheCircuitBreaker circuitBreaker) {
+    this.redisTemplate = redisTemplate;
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  /** Pesan invalidasi. key null = seluruh isi cache. */
+  record Invalidation(String node, String cache, String key) {}
+
+  void register(TwoLevelCache cache) {
+    caches.put(cache.getName(), cache);
+  }
+
+  /** Publikasikan invalidasi; kegagalan hanya di-log karena L1 node lain tetap punya TTL. */
+  void publish(String cacheName, String key) {
+    if (!enabled || !circuitBreaker.tryAcquire()) {
+      return;
+    }
+    try {
+      redisTemplate.convertAndSend(
+          CHANNEL, objectMapper.writeValueAsString(new Invalidation(nodeId, cacheName, key)));
+      circuitBreaker.onSuccess();
+    } catch (DataAccessException e) {
+      circuitBreaker.onFailure(e);
+      log.debug("Failed to publish L1 invalidation for cache {}: {}", cacheName, e.getMessage());
+    } catch (JsonProcessingException | RuntimeException e) {
+      circuitBreaker.release();
+      log.warn("Failed to publish L1 invalidation for cache {}: {}", cacheName, e.getMessage());
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    Invalidation invalidation;
+    try {
+      invalidation = objectMapper.readValue(message.getBody(), Invalidation.class);
+    } catch (IOException e) {
+      log.warn("Ignoring malformed L1 invalidation message: {}", e.getMessage());
+      return;
+    }
+    if (nodeId.equals(invalidation.node())) {
+      return;
+    }
+    TwoLevelCache cache = caches.get(invalidation.cache());
+    if (cache == null) {
+      return;
+    }
+    if (invalidation.key() == null) {
+      cache.clearLocal();
+    } else {
+      cache.evictLocal(invalidation.key());
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package com.example.ProjectBinar.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Konfigurasi cache Redis (prefix app.cache).
+ *
+ * <p>Policy per cache di {@code caches} menimpa {@code defaults} field per field; field yang tidak
+ * diisi mengikuti defaults. Contoh:
+ *
+ * <pre>
+ * app:
+ *   cache:
+ *     compression-threshold-bytes: 1024
+ *     defaults:
+ *       ttl: 10m
+ *       ttl-jitter: 1m
+ *     caches:
+ *       roles:
+ *         ttl: 6h
+ *         l1-max-entries: 100
+ *         format: json
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+  /** Payload Smile sebesar ini atau lebih dikompresi dengan LZ4. */
+  private int compressionThresholdBytes = 1024;
+
+  /**
+   * Sebarkan invalidasi L1 ke node lain lewat Redis pub/sub. Nonaktifkan hanya untuk single node.
+   */
+  private boolean l1Invalidation = true;
+
+  /** Thread untuk reload background (refresh-ahead / stale-while-revalidate), semua cache. */
+  private int refreshThreads = 2;
+
+  /** Reload yang menunggu thread; jika penuh reload dilewati dan entry lama tetap dipakai. */
+  private int refreshQueueCapacity = 100;
+
+  private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+  private Policy defaults = Policy.defaults();
+
+  /** Override policy per nama cache. */
+  private Map<String, Policy> caches = new HashMap<>();
+
+  /** Policy efektif untuk satu cache: defaults yang ditimpa field non-null dari caches.{name}. */
+  public Policy policy(String cacheName) {
+    Policy override = caches.get(cacheName);
+    Policy policy = override == null ? defaults.copy() : defaults.overriddenBy(override);
+    policy.validate(cacheName);
+    return policy;
+  }
+
+  /** Circuit breaker Redis, dipakai bersama oleh semua cache. */
+  @Data
+  public static class CircuitBreaker {
+
+    /** False = setiap operasi tetap dikirim ke Redis (kegagalan tetap tidak menggagalkan read). */
+    private boolean enabled = true;
+
+    /** Kegagalan Redis berturut-turut sebelum circuit terbuka. */
+    private int failureThreshold = 5;
+
+    /** Lama circuit terbuka sebelum satu operasi probe dicoba lagi. */
+    private Duration openDuration = Duration.ofSeconds(10);
+  }
+
+  /** Policy satu cache. Field null = ikut defaults. */
+  @Data
+  public static class Policy {
+
+    /** Format value di Redis. */
+    private CacheFormat format;
+
+    /** TTL entry di Redis. */
+    private Duration ttl;
+
+    /**
+     * Tambahan TTL acak 0..ttl-jitter per entry, supaya entry yang dibuat bersamaan (e.g. setelah
+     * deploy atau warm-up) tidak kedaluwarsa bersamaan dan membanjiri database.
+     */
+    private Duration ttlJitter;
+
+    /** Simpan hasil null (negative caching). */
+    private Boolean cacheNulls;
+
+    /** Jumlah entry maksimal di cache lokal (L1) di depan Redis; 0 = tanpa L1. */
+    private Integer l1MaxEntries;
+
+    /** TTL entry L1; membatasi staleness jika pesan invalidasi antar node terlewat. */
+    private Duration l1Ttl;
+
+    /** Refresh entry di background saat sisa TTL di bawah fraksi ini (0.0 - 1.0); 0 = nonaktif. */
+    private Double refreshAheadThreshold;
+
+    /**
+     * Lama entry yang sudah kedaluwarsa masih boleh dikembalikan sambil di-reload di background; 0
+     * = nonaktif. Menambah TTL fisik entry di Redis sebesar nilai ini.
+     */
+    private Duration staleWhileRevalidate;
+
+    static Policy defaults() {
+      Policy policy = new Policy();
+      policy.setFormat(CacheFormat.SMILE);
+      policy.setTtl(Duration.ofMinutes(10));
+      policy.setTtlJitter(Duration.ZERO);
+      policy.setCacheNulls(false);
+      policy.setL1MaxEntries(0);
+      policy.setL1Ttl(Duration.ofSeconds(30));
+      policy.setRefreshAheadThreshold(0.0);
+      policy.setStaleWhileRevalidate(Duration.ZERO);
+      return policy;
+    }
+
+    Policy copy() {
+      return overriddenBy(new Policy());
+    }
+
+    Policy overriddenBy(Policy override) {
+      Policy policy = new Policy();
+      policy.setFormat(override.format != null ? override.format : format);
+      policy.setTtl(override.ttl != null ? override.ttl : ttl);
+      policy.setTtlJitter(override.ttlJitter != null ? override.ttlJitter : ttlJitter);
+      policy.setCacheNulls(override.cacheNulls != null ? override.cacheNulls : cacheNulls);
+      policy.setL1MaxEntries(override.l1MaxEntries != null ? override.l1MaxEntries : l1MaxEntries);
+      policy.setL1Ttl(override.l1Ttl != null ? override.l1Ttl : l1Ttl);
+      policy.setRefreshAheadThreshold(
+          override.refreshAheadThreshold != null
+              ? override.refreshAheadThreshold
+              : refreshAheadThreshold);
+      policy.setStaleWhileRevalidate(
+          override.staleWhileRevalidate != null
+              ? override.staleWhileRevalidate
+              : staleWhileRevalidate);
+      return policy;
+    }
+
+    /**
+     * @throws IllegalArgumentException jika ada nilai yang tidak valid
+     */
+    void validate(String cacheName) {
+      if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+        throw new IllegalArgumentException("app.cache ttl cache " + cacheName + " harus > 0");
+      }
+      if (ttlJitter == null || ttlJitter.isNegative()) {
+        throw new IllegalArgumentException(
+            "app.cache ttl-jitter cache " + cacheName + " harus >= 0");
+      }
+      if (l1MaxEntries == null || l1MaxEntries < 0 || l1Ttl == null || l1Ttl.isNegative()) {
+        throw new IllegalArgumentException(
+            "app.cache l1-max-entries/l1-ttl cache " + cacheName + " harus >= 0");
+      }
+      if (refreshAheadThreshold == null
+          || refreshAheadThreshold < 0.0
+          || refreshAheadThreshold >= 1.0) {
+        throw new IllegalArgumentException(
+            "app.cache refresh-ahead-threshold cache " + cacheName + " harus 0.0 - <1.0");
+      }
+      if (staleWhileRevalidate == null || staleWhileRevalidate.isNegative()) {
+        throw new IllegalArgumentException(
+            "app.cache stale-while-revalidate cache " + cacheName + " harus >= 0");
+      }
+    }
+
+    public boolean hasL1() {
+      return l1MaxEntries > 0 && !l1Ttl.isZero();
+    }
+
+    /** True jika cache memakai {@link RefreshingCache}. */
+    public boolean refreshes() {
+      return refreshAheadThreshold > 0.0 || !staleWhileRevalidate.isZero();
+    }
+
+    /** TTL entry di Redis: ttl ditambah jendela stale-while-revalidate. */
+    public Duration physicalTtl() {
+      return ttl.plus(staleWhileRevalidate);
+    }
+  }
+}
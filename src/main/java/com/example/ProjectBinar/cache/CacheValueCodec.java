@@ -0,0 +1,162 @@
+package com.example.ProjectBinar.cache;
+
+import com.example.ProjectBinar.config.RedisConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.util.Arrays;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Serializer value cache Redis dengan format yang bisa dipilih per cache.
+ *
+ * <p>Format SMILE: {@code [versi][flags][payload]}. Payload adalah Smile (JSON biner, nama field
+ * di-share dan angka tidak ditulis sebagai teks) dengan type info yang sama seperti serializer
+ * JSON, dan dikompresi LZ4 (diawali panjang asli 4 byte) jika ukurannya mencapai threshold. Format
+ * JSON ditulis persis seperti serializer lama tanpa header supaya node versi lama tetap bisa
+ * membacanya.
+ *
+ * <p>Kedua format selalu bisa membaca keduanya: byte pertama JSON selalu karakter cetak, sedangkan
+ * versi codec &lt; 0x20. Jadi mengganti format (atau rollback) tidak membuat entry lama gagal
+ * dibaca; entry lama hanya diganti saat ditulis ulang atau kedaluwarsa.
+ */
+public class CacheValueCodec implements RedisSerializer<Object> {
+
+  static final byte VERSION_1 = 0x01;
+  static final byte FLAG_LZ4 = 0x01;
+  static final byte FLAG_NULL_VALUE = 0x02;
+
+  private static final int HEADER_LENGTH = 2;
+  private static final int LENGTH_PREFIX = 4;
+
+  /** Batas panjang hasil dekompresi, melindungi dari header rusak. */
+  private static final int MAX_DECOMPRESSED_LENGTH = 64 * 1024 * 1024;
+
+  private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+  private final CacheFormat format;
+  private final GenericJackson2JsonRedisSerializer json;
+  private final ObjectMapper smile;
+  private final int compressionThreshold;
+
+  private CacheValueCodec(CacheFormat format, int compressionThreshold) {
+    ObjectMapper[] jsonMapper = new ObjectMapper[1];
+    this.json = RedisConfig.cacheValueSerializer().configure(mapper -> jsonMapper[0] = mapper);
+    // Salinan mapper JSON (module, default typing, NullValue serializer) dengan factory Smile.
+    // Dipakai langsung karena GenericJackson2JsonRedisSerializer me-resolve type dengan parser JSON
+    this.smile = jsonMapper[0].copyWith(new SmileFactory());
+    this.format = format;
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  /**
+   * @param compressionThresholdBytes payload Smile sebesar ini atau lebih dikompresi (hanya untuk
+   *     format SMILE)
+   */
+  public static CacheValueCodec of(CacheFormat format, int compressionThresholdBytes) {
+    return new CacheValueCodec(format, compressionThresholdBytes);
+  }
+
+  @Override
+  public byte[] serialize(Object value) throws SerializationException {
+    if (value == null) {
+      return new byte[0];
+    }
+    if (format == CacheFormat.JSON) {
+      return json.serialize(value);
+    }
+    if (value instanceof NullValue) {
+      return new byte[] {VERSION_1, FLAG_NULL_VALUE};
+    }
+
+    byte[] payload;
+    try {
+      payload = smile.writeValueAsBytes(value);
+    } catch (IOException e) {
+      throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+    }
+    if (payload.length >= compressionThreshold) {
+      LZ4Compressor compressor = LZ4.fastCompressor();
+      int offset = HEADER_LENGTH + LENGTH_PREFIX;
+      byte[] out = new byte[offset + compressor.maxCompressedLength(payload.length)];
+      int compressedLength =
+          compressor.compress(payload, 0, payload.length, out, offset, out.length - offset);
+      // Payload yang tidak mengecil (e.g. sudah sangat padat) disimpan tanpa kompresi
+      if (LENGTH_PREFIX + compressedLength < payload.length) {
+        out[0] = VERSION_1;
+        out[1] = FLAG_LZ4;
+        writeInt(out, HEADER_LENGTH, payload.length);
+        return Arrays.copyOf(out, offset + compressedLength);
+      }
+    }
+
+    byte[] out = new byte[HEADER_LENGTH + payload.length];
+    out[0] = VERSION_1;
+    System.arraycopy(payload, 0, out, HEADER_LENGTH, payload.length);
+    return out;
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) throws SerializationException {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+    if (bytes[0] >= 0x20) {
+      return json.deserialize(bytes);
+    }
+    if (bytes[0] != VERSION_1 || bytes.length < HEADER_LENGTH) {
+      throw new SerializationException("Unsupported cache codec version " + bytes[0]);
+    }
+
+    byte flags = bytes[1];
+    if ((flags & FLAG_NULL_VALUE) != 0) {
+      return NullValue.INSTANCE;
+    }
+    if ((flags & FLAG_LZ4) == 0) {
+      return readSmile(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+    }
+
+    if (bytes.length < HEADER_LENGTH + LENGTH_PREFIX) {
+      throw new SerializationException("Truncated LZ4 cache value");
+    }
+    int length = readInt(bytes, HEADER_LENGTH);
+    if (length < 0 || length > MAX_DECOMPRESSED_LENGTH) {
+      throw new SerializationException("Invalid decompressed cache value length " + length);
+    }
+    byte[] payload;
+    try {
+      payload = LZ4.fastDecompressor().decompress(bytes, HEADER_LENGTH + LENGTH_PREFIX, length);
+    } catch (LZ4Exception e) {
+      throw new SerializationException("Corrupt LZ4 cache value", e);
+    }
+    return readSmile(payload, 0, payload.length);
+  }
+
+  private Object readSmile(byte[] source, int offset, int length) {
+    try {
+      return smile.readValue(source, offset, length, Object.class);
+    } catch (IOException e) {
+      throw new SerializationException("Could not read Smile: " + e.getMessage(), e);
+    }
+  }
+
+  private static void writeInt(byte[] target, int offset, int value) {
+    target[offset] = (byte) (value >>> 24);
+    target[offset + 1] = (byte) (value >>> 16);
+    target[offset + 2] = (byte) (value >>> 8);
+    target[offset + 3] = (byte) value;
+  }
+
+  private static int readInt(byte[] source, int offset) {
+    return ((source[offset] & 0xFF) << 24)
+        | ((source[offset + 1] & 0xFF) << 16)
+        | ((source[offset + 2] & 0xFF) << 8)
+        | (source[offset + 3] & 0xFF);
+  }
+}
@@ -0,0 +1,200 @@
+package com.example.ProjectBinar.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+
+/**
+ * Decorator cache Redis yang tidak pernah menggagalkan pemanggil karena Redis lambat atau mati.
+ *
+ * <p>Setiap operasi melewati {@link CacheCircuitBreaker}. Jika ditolak breaker atau gagal di level
+ * Redis ({@link DataAccessException}: timeout, koneksi putus), read diperlakukan sebagai miss
+ * sehingga data dimuat dari database, dan write/evict dilewati. Karena evict yang dilewati bisa
+ * menyisakan entry usang di Redis, cache dikosongkan sekali pada operasi pertama yang berhasil
+ * dikirim setelah Redis pulih.
+ *
+ * <p>Exception lain (mis. serialisasi) bukan gangguan Redis: tidak dihitung breaker dan diteruskan
+ * ke CacheErrorHandler.
+ */
+public class CircuitBreakerCache implements Cache {
+
+  private final Cache delegate;
+  private final CacheCircuitBreaker breaker;
+
+  /** True jika ada write/evict yang terlewat; entry Redis mungkin usang. */
+  private final AtomicBoolean clearOnRecovery = new AtomicBoolean();
+
+  public CircuitBreakerCache(Cache delegate, CacheCircuitBreaker breaker) {
+    this.delegate = delegate;
+    this.breaker = breaker;
+  }
+
+  public Cache getDelegate() {
+    return delegate;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return delegate.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    return read(() -> delegate.get(key));
+  }
+
+  @Override
+  public <T> T get(Object key, Class<T> type) {
+    return read(() -> delegate.get(key, type));
+  }
+
+  /**
+   * Lookup dan put dijalankan terpisah (bukan {@code delegate.get(key, valueLoader)}) supaya
+   * kegagalan Redis tidak tercampur dengan exception dari value loader.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper wrapper = get(key);
+    if (wrapper != null) {
+      return (T) wrapper.get();
+    }
+    T value;
+    try {
+      value = valueLoader.call();
+    } catch (Exception e) {
+      throw new ValueRetrievalException(key, valueLoader, e);
+    }
+    put(key, value);
+    return value;
+  }
+
+  @Override
+  public CompletableFuture<?> retrieve(Object key) {
+    if (!acquire()) {
+      return null;
+    }
+    return report(delegate.retrieve(key));
+  }
+
+  @Override
+  public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+    if (!acquire()) {
+      return valueLoader.get();
+    }
+    return report(delegate.retrieve(key, valueLoader));
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    write(() -> delegate.put(key, value));
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    ValueWrapper[] existing = new ValueWrapper[1];
+    write(() -> existing[0] = delegate.putIfAbsent(key, value));
+    return existing[0];
+  }
+
+  @Override
+  public void evict(Object key) {
+    write(() -> delegate.evict(key));
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    boolean[] evicted = new boolean[1];
+    write(() -> evicted[0] = delegate.evictIfPresent(key));
+    return evicted[0];
+  }
+
+  @Override
+  public void clear() {
+    write(delegate::clear);
+  }
+
+  @Override
+  public boolean invalidate() {
+    boolean[] invalidated = new boolean[1];
+    write(() -> invalidated[0] = delegate.invalidate());
+    return invalidated[0];
+  }
+
+  private <T> T read(Supplier<T> operation) {
+    if (!acquire()) {
+      return null;
+    }
+    try {
+      T result = operation.get();
+      breaker.onSuccess();
+      return result;
+    } catch (DataAccessException e) {
+      breaker.onFailure(e);
+      return null;
+    } catch (RuntimeException e) {
+      breaker.release();
+      throw e;
+    }
+  }
+
+  private void write(Runnable operation) {
+    if (!acquire()) {
+      clearOnRecovery.set(true);
+      return;
+    }
+    try {
+      operation.run();
+      breaker.onSuccess();
+    } catch (DataAccessException e) {
+      clearOnRecovery.set(true);
+      breaker.onFailure(e);
+    } catch (RuntimeException e) {
+      breaker.release();
+      throw e;
+    }
+  }
+
+  private <T> CompletableFuture<T> report(CompletableFuture<T> future) {
+    if (future == null) {
+      breaker.onSuccess();
+      return null;
+    }
+    return future.whenComplete(
+        (value, error) -> {
+          Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+          if (cause instanceof DataAccessException dataAccessException) {
+            breaker.onFailure(dataAccessException);
+          } else if (cause == null) {
+            breaker.onSuccess();
+          } else {
+            breaker.release();
+          }
+        });
+  }
+
+  private boolean acquire() {
+    if (!breaker.tryAcquire()) {
+      return false;
+    }
+    if (clearOnRecovery.compareAndSet(true, false)) {
+      try {
+        delegate.clear();
+      } catch (DataAccessException e) {
+        clearOnRecovery.set(true);
+        breaker.onFailure(e);
+        return false;
+      }
+    }
+    return true;
+  }
+}
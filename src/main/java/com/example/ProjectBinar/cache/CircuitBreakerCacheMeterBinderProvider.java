@@ -0,0 +1,31 @@
+package com.example.ProjectBinar.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+
+/**
+ * Metric Redis (cache.gets, cache.puts, ...) untuk cache yang dibungkus {@link
+ * CircuitBreakerCache}. Metric breaker sendiri di-bind oleh {@link CacheCircuitBreaker}.
+ */
+public class CircuitBreakerCacheMeterBinderProvider
+    implements CacheMeterBinderProvider<CircuitBreakerCache> {
+
+  @Override
+  public MeterBinder getMeterBinder(CircuitBreakerCache cache, Iterable<Tag> tags) {
+    return registry -> bindRedisMetrics(cache, tags, registry);
+  }
+
+  /** Bind metric Redis untuk cache Redis, dengan atau tanpa {@link CircuitBreakerCache}. */
+  static void bindRedisMetrics(Cache cache, Iterable<Tag> tags, MeterRegistry registry) {
+    Cache target =
+        cache instanceof CircuitBreakerCache breakerCache ? breakerCache.getDelegate() : cache;
+    if (target instanceof RedisCache redisCache) {
+      new RedisCacheMetrics(redisCache, tags).bindTo(registry);
+    }
+  }
+}
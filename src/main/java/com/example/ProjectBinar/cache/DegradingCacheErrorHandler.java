@@ -0,0 +1,61 @@
+package com.example.ProjectBinar.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+
+/**
+ * CacheErrorHandler yang menurunkan kegagalan cache menjadi miss, bukan error 500.
+ *
+ * <p>Gangguan Redis sudah ditangani {@link CircuitBreakerCache}; handler ini menangkap sisanya
+ * (mis. entry yang tidak bisa di-deserialize setelah perubahan class DTO). Get yang gagal membuat
+ * method {@code @Cacheable} dijalankan ke database, put/evict/clear yang gagal dilewati. Setiap
+ * kegagalan dihitung di cache.errors{cache, operation}.
+ */
+@Slf4j
+public class DegradingCacheErrorHandler implements CacheErrorHandler {
+
+  private final MeterRegistry meterRegistry;
+
+  public DegradingCacheErrorHandler(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+    record("get", exception, cache, key);
+  }
+
+  @Override
+  public void handleCachePutError(
+      RuntimeException exception, Cache cache, Object key, Object value) {
+    record("put", exception, cache, key);
+  }
+
+  @Override
+  public void handleCacheEvictError(RuntimeException exception, Cache cache, Object key) {
+    record("evict", exception, cache, key);
+  }
+
+  @Override
+  public void handleCacheClearError(RuntimeException exception, Cache cache) {
+    record("clear", exception, cache, null);
+  }
+
+  private void record(String operation, RuntimeException exception, Cache cache, Object key) {
+    Counter.builder("cache.errors")
+        .tag("cache", cache.getName())
+        .tag("operation", operation)
+        .description("Operasi cache yang gagal dan dilewati (fallback ke database)")
+        .register(meterRegistry)
+        .increment();
+    log.warn(
+        "Cache {} failed on {}::{}, falling back to database: {}",
+        operation,
+        cache.getName(),
+        key,
+        exception.toString());
+  }
+}
@@ -0,0 +1,79 @@
+package com.example.ProjectBinar.cache;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Decorator {@link CacheManager} yang menerapkan policy per cache (app.cache.caches) di atas cache
+ * Redis: {@link CircuitBreakerCache} untuk semua cache, {@link TwoLevelCache} jika l1-max-entries
+ * &gt; 0, lalu {@link RefreshingCache} jika refresh-ahead-threshold atau stale-while-revalidate
+ * diisi.
+ */
+public class PolicyCacheManager implements CacheManager {
+
+  private final CacheManager delegate;
+  private final CacheProperties cacheProperties;
+  private final CacheInvalidationBus invalidationBus;
+  private final CacheCircuitBreaker circuitBreaker;
+  private final ConcurrentHashMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+  /** Reload background untuk semua cache; antrian penuh = refresh dilewati (entry tetap ada). */
+  private final ThreadPoolExecutor refreshExecutor;
+
+  public PolicyCacheManager(
+      CacheManager delegate,
+      CacheProperties cacheProperties,
+      CacheInvalidationBus invalidationBus,
+      CacheCircuitBreaker circuitBreaker,
+      ThreadFactory refreshThreadFactory) {
+    this.delegate = delegate;
+    this.cacheProperties = cacheProperties;
+    this.invalidationBus = invalidationBus;
+    this.circuitBreaker = circuitBreaker;
+
+    this.refreshExecutor =
+        new ThreadPoolExecutor(
+            cacheProperties.getRefreshThreads(),
+            cacheProperties.getRefreshThreads(),
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(cacheProperties.getRefreshQueueCapacity()),
+            refreshThreadFactory,
+            new ThreadPoolExecutor.AbortPolicy());
+    refreshExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  @Override
+  public Cache getCache(String name) {
+    Cache cache = caches.get(name);
+    if (cache != null) {
+      return cache;
+    }
+    Cache target = delegate.getCache(name);
+    return target == null ? null : caches.computeIfAbsent(name, key -> decorate(target));
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return delegate.getCacheNames();
+  }
+
+  private Cache decorate(Cache target) {
+    CacheProperties.Policy policy = cacheProperties.policy(target.getName());
+    Cache cache = new CircuitBreakerCache(target, circuitBreaker);
+    if (policy.hasL1()) {
+      cache =
+          new TwoLevelCache(cache, policy.getL1MaxEntries(), policy.getL1Ttl(), invalidationBus);
+    }
+    if (policy.refreshes()) {
+      cache = new RefreshingCache(cache, policy, refreshExecutor, System::currentTimeMillis);
+    }
+    return cache;
+  }
+}
@@ -0,0 +1,252 @@
+package com.example.ProjectBinar.cache;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Decorator cache untuk refresh-ahead dan stale-while-revalidate.
+ *
+ * <p>Value disimpan sebagai {@link CacheEntry}. Untuk {@code @Cacheable(sync = true)} (yang
+ * memberikan value loader):
+ *
+ * <ul>
+ *   <li>entry segar di luar jendela refresh-ahead dikembalikan apa adanya;
+ *   <li>entry di jendela refresh-ahead (sisa umur &lt; threshold x ttl) atau sudah stale tetapi
+ *       masih di dalam jendela stale-while-revalidate dikembalikan, dan satu reload dijadwalkan di
+ *       background (paling banyak satu per key);
+ *   <li>miss dimuat di thread pemanggil, dan pemanggil lain untuk key yang sama menunggu hasil load
+ *       yang sama (tidak ada stampede ke database).
+ * </ul>
+ *
+ * <p>Pemanggil tanpa value loader ({@code sync = false}) tidak bisa me-revalidate, jadi entry stale
+ * diperlakukan sebagai miss. Reload background dibatalkan jika cache di-evict selama reload
+ * berjalan, supaya data lama tidak menimpa hasil evict.
+ */
+@Slf4j
+public class RefreshingCache implements Cache {
+
+  private final Cache delegate;
+  private final long ttlMillis;
+  private final long refreshAheadMillis;
+  private final boolean cacheNulls;
+  private final Executor refreshExecutor;
+  private final LongSupplier clock;
+
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+  private final ConcurrentHashMap<String, CompletableFuture<Object>> loading =
+      new ConcurrentHashMap<>();
+
+  /** Naik setiap evict/clear; reload background yang mulai sebelum evict tidak ditulis. */
+  private final AtomicLong generation = new AtomicLong();
+
+  private final AtomicLong refreshSuccess = new AtomicLong();
+  private final AtomicLong refreshFailure = new AtomicLong();
+  private final AtomicLong refreshRejected = new AtomicLong();
+  private final AtomicLong staleHits = new AtomicLong();
+
+  public RefreshingCache(
+      Cache delegate, CacheProperties.Policy policy, Executor refreshExecutor, LongSupplier clock) {
+    this.delegate = delegate;
+    this.ttlMillis = policy.getTtl().toMillis();
+    this.refreshAheadMillis = (long) (ttlMillis * policy.getRefreshAheadThreshold());
+    this.cacheNulls = policy.getCacheNulls();
+    this.refreshExecutor = refreshExecutor;
+    this.clock = clock;
+  }
+
+  public Cache getDelegate() {
+    return delegate;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return delegate.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    ValueWrapper wrapper = delegate.get(key);
+    if (wrapper == null) {
+      return null;
+    }
+    if (!(wrapper.get() instanceof CacheEntry entry)) {
+      // Value yang ditulis sebelum policy refresh diaktifkan
+      return wrapper;
+    }
+    return clock.getAsLong() < entry.freshUntil() ? new SimpleValueWrapper(entry.value()) : null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper wrapper = get(key);
+    Object value = wrapper == null ? null : wrapper.get();
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value);
+    }
+    return (T) value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper wrapper = delegate.get(key);
+    if (wrapper == null) {
+      return (T) load(key, valueLoader);
+    }
+    if (!(wrapper.get() instanceof CacheEntry entry)) {
+      return (T) wrapper.get();
+    }
+    long now = clock.getAsLong();
+    if (now >= entry.freshUntil() - refreshAheadMillis) {
+      if (now >= entry.freshUntil()) {
+        staleHits.incrementAndGet();
+      }
+      scheduleRefresh(key, valueLoader);
+    }
+    return (T) entry.value();
+  }
+
+  /** Load di thread pemanggil; pemanggil bersamaan untuk key yang sama berbagi satu load. */
+  private Object load(Object key, Callable<?> valueLoader) {
+    String loadKey = String.valueOf(key);
+    CompletableFuture<Object> own = new CompletableFuture<>();
+    CompletableFuture<Object> inProgress = loading.putIfAbsent(loadKey, own);
+    if (inProgress != null) {
+      return await(key, valueLoader, inProgress);
+    }
+    try {
+      Object value = valueLoader.call();
+      put(key, value);
+      own.complete(value);
+      return value;
+    } catch (Exception e) {
+      own.completeExceptionally(e);
+      throw new ValueRetrievalException(key, valueLoader, e);
+    } finally {
+      loading.remove(loadKey, own);
+    }
+  }
+
+  private static Object await(
+      Object key, Callable<?> valueLoader, CompletableFuture<Object> inProgress) {
+    try {
+      return inProgress.get();
+    } catch (ExecutionException e) {
+      throw new ValueRetrievalException(key, valueLoader, e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ValueRetrievalException(key, valueLoader, e);
+    }
+  }
+
+  private void scheduleRefresh(Object key, Callable<?> valueLoader) {
+    String refreshKey = String.valueOf(key);
+    if (!refreshing.add(refreshKey)) {
+      return;
+    }
+    long startGeneration = generation.get();
+    try {
+      refreshExecutor.execute(
+          () -> {
+            try {
+              Object value = valueLoader.call();
+              if (generation.get() == startGeneration) {
+                put(key, value);
+              }
+              refreshSuccess.incrementAndGet();
+            } catch (Exception e) {
+              refreshFailure.incrementAndGet();
+              log.warn("Background refresh of {}::{} failed: {}", getName(), key, e.getMessage());
+            } finally {
+              refreshing.remove(refreshKey);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      refreshing.remove(refreshKey);
+      refreshRejected.incrementAndGet();
+    }
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    if (value == null && !cacheNulls) {
+      // Data sudah tidak ada (e.g. plafond dihapus): buang entry lama, jangan simpan null
+      delegate.evict(key);
+      return;
+    }
+    delegate.put(key, entry(value));
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    if (value == null && !cacheNulls) {
+      return get(key);
+    }
+    ValueWrapper existing = delegate.putIfAbsent(key, entry(value));
+    if (existing != null && existing.get() instanceof CacheEntry entry) {
+      return new SimpleValueWrapper(entry.value());
+    }
+    return existing;
+  }
+
+  @Override
+  public void evict(Object key) {
+    generation.incrementAndGet();
+    delegate.evict(key);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    generation.incrementAndGet();
+    return delegate.evictIfPresent(key);
+  }
+
+  @Override
+  public void clear() {
+    generation.incrementAndGet();
+    delegate.clear();
+  }
+
+  @Override
+  public boolean invalidate() {
+    generation.incrementAndGet();
+    return delegate.invalidate();
+  }
+
+  public long getRefreshSuccessCount() {
+    return refreshSuccess.get();
+  }
+
+  public long getRefreshFailureCount() {
+    return refreshFailure.get();
+  }
+
+  public long getRefreshRejectedCount() {
+    return refreshRejected.get();
+  }
+
+  public long getStaleHitCount() {
+    return staleHits.get();
+  }
+
+  private CacheEntry entry(Object value) {
+    return new CacheEntry(value, clock.getAsLong() + ttlMillis);
+  }
+}
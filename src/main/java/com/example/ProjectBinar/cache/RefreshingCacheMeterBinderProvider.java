@@ -0,0 +1,51 @@
+package com.example.ProjectBinar.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+/**
+ * Metric untuk {@link RefreshingCache}: metric cache di dalamnya (Redis atau L1 + Redis) ditambah
+ * cache.refresh{result=success|failure|rejected} dan cache.stale.hits.
+ */
+public class RefreshingCacheMeterBinderProvider
+    implements CacheMeterBinderProvider<RefreshingCache> {
+
+  private final TwoLevelCacheMeterBinderProvider twoLevelProvider;
+
+  public RefreshingCacheMeterBinderProvider(TwoLevelCacheMeterBinderProvider twoLevelProvider) {
+    this.twoLevelProvider = twoLevelProvider;
+  }
+
+  @Override
+  public MeterBinder getMeterBinder(RefreshingCache cache, Iterable<Tag> tags) {
+    return registry -> {
+      if (cache.getDelegate() instanceof TwoLevelCache twoLevelCache) {
+        twoLevelProvider.getMeterBinder(twoLevelCache, tags).bindTo(registry);
+      } else {
+        CircuitBreakerCacheMeterBinderProvider.bindRedisMetrics(
+            cache.getDelegate(), tags, registry);
+      }
+      FunctionCounter.builder("cache.refresh", cache, RefreshingCache::getRefreshSuccessCount)
+          .tags(tags)
+          .tag("result", "success")
+          .description("Reload background yang berhasil")
+          .register(registry);
+      FunctionCounter.builder("cache.refresh", cache, RefreshingCache::getRefreshFailureCount)
+          .tags(tags)
+          .tag("result", "failure")
+          .description("Reload background yang gagal; entry lama tetap dipakai")
+          .register(registry);
+      FunctionCounter.builder("cache.refresh", cache, RefreshingCache::getRefreshRejectedCount)
+          .tags(tags)
+          .tag("result", "rejected")
+          .description("Reload yang dilewati karena antrian refresh penuh")
+          .register(registry);
+      FunctionCounter.builder("cache.stale.hits", cache, RefreshingCache::getStaleHitCount)
+          .tags(tags)
+          .description("Entry kedaluwarsa yang dikembalikan selama jendela stale-while-revalidate")
+          .register(registry);
+    };
+  }
+}
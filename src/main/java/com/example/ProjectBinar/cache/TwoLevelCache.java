@@ -0,0 +1,180 @@
+package com.example.ProjectBinar.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Cache dua level: L1 lokal (Caffeine, dibatasi jumlah entry dan TTL) di depan L2 Redis.
+ *
+ * <p>Read mencoba L1 dulu; miss di L1 membaca L2 lalu mengisi L1. Write dan evict selalu ke L2 lalu
+ * L1, dan dipublikasikan lewat {@link CacheInvalidationBus} supaya node lain menghapus entry L1
+ * yang sama. Key L1 adalah {@code String.valueOf(key)}, sama seperti key Redis, jadi Long 1 dan "1"
+ * adalah entry yang sama di kedua level.
+ *
+ * <p>Berbeda dengan Redis, L1 mengembalikan instance yang sama ke setiap pemanggil, jadi value yang
+ * di-cache tidak boleh dimutasi.
+ */
+public class TwoLevelCache implements Cache {
+
+  private final Cache l2;
+  private final com.github.benmanes.caffeine.cache.Cache<String, Object> l1;
+  private final CacheInvalidationBus invalidationBus;
+
+  public TwoLevelCache(
+      Cache l2, int l1MaxEntries, Duration l1Ttl, CacheInvalidationBus invalidationBus) {
+    this.l2 = l2;
+    this.l1 =
+        Caffeine.newBuilder()
+            .maximumSize(l1MaxEntries)
+            .expireAfterWrite(l1Ttl)
+            .recordStats()
+            .build();
+    this.invalidationBus = invalidationBus;
+    invalidationBus.register(this);
+  }
+
+  /** Cache Redis di belakang L1. */
+  public Cache getL2() {
+    return l2;
+  }
+
+  /** Cache Caffeine L1, untuk metric. */
+  public com.github.benmanes.caffeine.cache.Cache<String, Object> getL1() {
+    return l1;
+  }
+
+  @Override
+  public String getName() {
+    return l2.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return l2.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    String l1Key = l1Key(key);
+    Object local = l1.getIfPresent(l1Key);
+    if (local != null) {
+      return new SimpleValueWrapper(fromL1(local));
+    }
+    ValueWrapper wrapper = l2.get(key);
+    if (wrapper != null) {
+      l1.put(l1Key, toL1(wrapper.get()));
+    }
+    return wrapper;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper wrapper = get(key);
+    Object value = wrapper == null ? null : wrapper.get();
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value);
+    }
+    return (T) value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    String l1Key = l1Key(key);
+    Object local = l1.getIfPresent(l1Key);
+    if (local != null) {
+      return (T) fromL1(local);
+    }
+    T value = l2.get(key, valueLoader);
+    l1.put(l1Key, toL1(value));
+    return value;
+  }
+
+  @Override
+  public CompletableFuture<?> retrieve(Object key) {
+    return l2.retrieve(key);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+    return l2.retrieve(key, valueLoader);
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    l2.put(key, value);
+    l1.put(l1Key(key), toL1(value));
+    invalidationBus.publish(getName(), l1Key(key));
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    ValueWrapper existing = l2.putIfAbsent(key, value);
+    l1.invalidate(l1Key(key));
+    if (existing == null) {
+      invalidationBus.publish(getName(), l1Key(key));
+    }
+    return existing;
+  }
+
+  @Override
+  public void evict(Object key) {
+    l2.evict(key);
+    l1.invalidate(l1Key(key));
+    invalidationBus.publish(getName(), l1Key(key));
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    boolean evicted = l2.evictIfPresent(key);
+    l1.invalidate(l1Key(key));
+    invalidationBus.publish(getName(), l1Key(key));
+    return evicted;
+  }
+
+  @Override
+  public void clear() {
+    l2.clear();
+    l1.invalidateAll();
+    invalidationBus.publish(getName(), null);
+  }
+
+  @Override
+  public boolean invalidate() {
+    boolean invalidated = l2.invalidate();
+    l1.invalidateAll();
+    invalidationBus.publish(getName(), null);
+    return invalidated;
+  }
+
+  /** Hapus entry dari L1 saja (pesan invalidasi dari node lain). */
+  void evictLocal(String l1Key) {
+    l1.invalidate(l1Key);
+  }
+
+  /** Kosongkan L1 saja (pesan invalidasi dari node lain). */
+  void clearLocal() {
+    l1.invalidateAll();
+  }
+
+  private static String l1Key(Object key) {
+    return String.valueOf(key);
+  }
+
+  /** Caffeine tidak menerima null, jadi null yang di-cache disimpan sebagai NullValue. */
+  private static Object toL1(Object value) {
+    return value == null ? NullValue.INSTANCE : value;
+  }
+
+  private static Object fromL1(Object value) {
+    return value == NullValue.INSTANCE ? null : value;
+  }
+}
@@ -0,0 +1,37 @@
+package com.example.ProjectBinar.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+/**
+ * Metric untuk {@link TwoLevelCache}: metric Redis yang sama seperti cache tanpa L1 (cache.gets,
+ * cache.puts, ...) ditambah cache.l1.gets{result=hit|miss} dan cache.l1.size.
+ */
+public class TwoLevelCacheMeterBinderProvider implements CacheMeterBinderProvider<TwoLevelCache> {
+
+  @Override
+  public MeterBinder getMeterBinder(TwoLevelCache cache, Iterable<Tag> tags) {
+    return registry -> {
+      CircuitBreakerCacheMeterBinderProvider.bindRedisMetrics(cache.getL2(), tags, registry);
+      Cache<String, Object> l1 = cache.getL1();
+      FunctionCounter.builder("cache.l1.gets", l1, c -> c.stats().hitCount())
+          .tags(tags)
+          .tag("result", "hit")
+          .description("Read yang dilayani cache lokal L1")
+          .register(registry);
+      FunctionCounter.builder("cache.l1.gets", l1, c -> c.stats().missCount())
+          .tags(tags)
+          .tag("result", "miss")
+          .description("Read yang diteruskan ke Redis")
+          .register(registry);
+      Gauge.builder("cache.l1.size", l1, Cache::estimatedSize)
+          .tags(tags)
+          .description("Perkiraan jumlah entry di cache lokal L1")
+          .register(registry);
+    };
+  }
+}
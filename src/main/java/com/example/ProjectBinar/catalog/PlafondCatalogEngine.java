@@ -0,0 +1,311 @@
+package com.example.ProjectBinar.catalog;
+
+import com.example.ProjectBinar.dto.PlafondResponse;
+import com.example.ProjectBinar.entity.Plafond;
+import com.example.ProjectBinar.event.PlafondChangedEvent;
+import com.example.ProjectBinar.event.PlafondRemoteChangedEvent;
+import com.example.ProjectBinar.repository.PlafondRepository;
+import com.example.ProjectBinar.simulation.LoanAmortizationCalculator;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Engine katalog plafond in-memory berbasis kolom (columnar) untuk query list/filter.
+ *
+ * <p>Seluruh plafond yang belum dihapus disimpan sebagai array primitif per kolom (maxAmount dalam
+ * sen, interestRate dalam basis point, tenor, createdAt) dan BitSet untuk isActive. Setiap field
+ * yang bisa di-sort memiliki permutation index yang sudah terurut per arah, sehingga query cukup
+ * membangun BitSet hasil filter kolom per kolom lalu menelusuri permutation index untuk halaman
+ * yang diminta tanpa SQL.
+ *
+ * <p>Engine bersifat opsional ({@code plafond.catalog-engine.enabled}) dan menjawab parameter yang
+ * sama dengan {@code PlafondService.getAllPlafonds}. Snapshot dibangun ulang secara copy-on-write
+ * setelah setiap perubahan plafond ter-commit, di node ini maupun di node lain.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlafondCatalogEngine {
+
+  private final PlafondRepository plafondRepository;
+
+  @Value("${plafond.catalog-engine.enabled:false}")
+  private boolean enabled;
+
+  private volatile Columns columns;
+  private final ReentrantLock rebuildLock = new ReentrantLock();
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Bangun snapshot saat aplikasi siap menerima request. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (enabled) {
+      rebuild();
+    }
+  }
+
+  /** Bangun ulang snapshot setelah perubahan plafond ter-commit. */
+  @TransactionalEventListener
+  public void onPlafondChanged(PlafondChangedEvent event) {
+    if (enabled) {
+      rebuild();
+    }
+  }
+
+  /** Bangun ulang snapshot setelah perubahan plafond ter-commit di node lain (fan-out Redis). */
+  @EventListener
+  public void onRemotePlafondChanged(PlafondRemoteChangedEvent event) {
+    if (enabled) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Bangun ulang snapshot dari seluruh plafond yang belum dihapus. Memakai ReentrantLock, bukan
+   * synchronized, karena query database di dalamnya akan mem-pin virtual thread.
+   */
+  public void rebuild() {
+    rebuildLock.lock();
+    try {
+      List<Plafond> plafonds = plafondRepository.findAll();
+      columns = Columns.of(plafonds);
+      log.info("Plafond catalog engine rebuilt with {} plafond(s)", plafonds.size());
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  /** Cek apakah field dapat di-sort oleh engine. */
+  public boolean supportsSort(String sortBy) {
+    return Columns.SORTABLE_FIELDS.contains(sortBy);
+  }
+
+  /**
+   * Query katalog dengan filter, sorting, dan pagination yang sama dengan {@code
+   * buildSpecification}.
+   *
+   * @throws IllegalArgumentException jika sortBy tidak didukung (cek dengan {@link #supportsSort})
+   */
+  public Page<PlafondResponse> query(
+      int page,
+      int size,
+      String sortBy,
+      String sortDir,
+      String name,
+      Boolean isActive,
+      BigDecimal minAmount,
+      BigDecimal maxAmount,
+      Integer tenorMonth) {
+    if (!supportsSort(sortBy)) {
+      throw new IllegalArgumentException("Sort field '" + sortBy + "' tidak didukung");
+    }
+
+    Columns current = columns;
+    if (current == null) {
+      rebuild();
+      current = columns;
+    }
+
+    boolean descending = sortDir.equalsIgnoreCase("desc");
+    PageRequest pageable =
+        PageRequest.of(
+            page, size, descending ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending());
+
+    BitSet matches = current.filter(name, isActive, minAmount, maxAmount, tenorMonth);
+    int total = matches.cardinality();
+
+    long offset = pageable.getOffset();
+    List<PlafondResponse> content = new ArrayList<>(Math.min(size, total));
+    int[] order =
+        descending ? current.descendingSortIndexes.get(sortBy) : current.sortIndexes.get(sortBy);
+    int seen = 0;
+    for (int i = 0; i < order.length && content.size() < size; i++) {
+      int row = order[i];
+      if (matches.get(row) && seen++ >= offset) {
+        content.add(current.rows[row]);
+      }
+    }
+    return new PageImpl<>(content, pageable, total);
+  }
+
+  /** Snapshot immutable katalog dalam format kolom. */
+  static final class Columns {
+
+    static final List<String> SORTABLE_FIELDS =
+        List.of("id", "name", "maxAmount", "interestRate", "tenorMonth", "isActive", "createdAt");
+
+    private final int size;
+    private final String[] lowerNames;
+    private final long[] maxAmounts;
+    private final int[] tenors;
+    private final BitSet active;
+    private final PlafondResponse[] rows;
+    private final Map<String, int[]> sortIndexes;
+    private final Map<String, int[]> descendingSortIndexes;
+
+    private Columns(
+        int size,
+        String[] lowerNames,
+        long[] maxAmounts,
+        int[] tenors,
+        BitSet active,
+        PlafondResponse[] rows,
+        Map<String, int[]> sortIndexes,
+        Map<String, int[]> descendingSortIndexes) {
+      this.size = size;
+      this.lowerNames = lowerNames;
+      this.maxAmounts = maxAmounts;
+      this.tenors = tenors;
+      this.active = active;
+      this.rows = rows;
+      this.sortIndexes = sortIndexes;
+      this.descendingSortIndexes = descendingSortIndexes;
+    }
+
+    static Columns of(List<Plafond> plafonds) {
+      int size = plafonds.size();
+      long[] ids = new long[size];
+      String[] names = new String[size];
+      String[] lowerNames = new String[size];
+      long[] maxAmounts = new long[size];
+      long[] interestRates = new long[size];
+      int[] tenors = new int[size];
+      long[] createdAt = new long[size];
+      BitSet active = new BitSet(size);
+      PlafondResponse[] rows = new PlafondResponse[size];
+
+      for (int i = 0; i < size; i++) {
+        Plafond plafond = plafonds.get(i);
+        ids[i] = plafond.getId();
+        names[i] = plafond.getName();
+        lowerNames[i] = plafond.getName().toLowerCase(Locale.ROOT);
+        maxAmounts[i] = LoanAmortizationCalculator.toCents(plafond.getMaxAmount());
+        interestRates[i] = LoanAmortizationCalculator.toBasisPoints(plafond.getInterestRate());
+        tenors[i] = plafond.getTenorMonth();
+        createdAt[i] =
+            plafond.getCreatedAt() != null
+                ? plafond.getCreatedAt().toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L
+                    + plafond.getCreatedAt().getNano()
+                : Long.MIN_VALUE;
+        active.set(i, Boolean.TRUE.equals(plafond.getIsActive()));
+        rows[i] = PlafondResponse.fromEntity(plafond);
+      }
+
+      // Urutan per field; nama diurutkan case-insensitive mengikuti collation default SQL Server
+      Map<String, Comparator<Integer>> fieldOrders =
+          Map.of(
+              "id", Comparator.comparingLong(i -> ids[i]),
+              "name", Comparator.comparing(i -> names[i], String.CASE_INSENSITIVE_ORDER),
+              "maxAmount", Comparator.comparingLong(i -> maxAmounts[i]),
+              "interestRate", Comparator.comparingLong(i -> interestRates[i]),
+              "tenorMonth", Comparator.comparingInt(i -> tenors[i]),
+              "isActive", Comparator.comparing(active::get),
+              "createdAt", Comparator.comparingLong(i -> createdAt[i]));
+
+      // Permutation index per field dan arah. Tie-breaker selalu id ascending, juga untuk DESC,
+      // sama dengan Sort dari PlafondService (JPA); karena itu DESC tidak cukup membalik ASC.
+      Comparator<Integer> byId = Comparator.comparingLong(i -> ids[i]);
+      Map<String, int[]> sortIndexes = new HashMap<>();
+      Map<String, int[]> descendingSortIndexes = new HashMap<>();
+      fieldOrders.forEach(
+          (field, order) -> {
+            sortIndexes.put(field, sortedRows(size, order.thenComparing(byId)));
+            descendingSortIndexes.put(
+                field, sortedRows(size, order.reversed().thenComparing(byId)));
+          });
+
+      return new Columns(
+          size,
+          lowerNames,
+          maxAmounts,
+          tenors,
+          active,
+          rows,
+          Map.copyOf(sortIndexes),
+          Map.copyOf(descendingSortIndexes));
+    }
+
+    private static int[] sortedRows(int size, Comparator<Integer> comparator) {
+      return IntStream.range(0, size)
+          .boxed()
+          .sorted(comparator)
+          .mapToInt(Integer::intValue)
+          .toArray();
+    }
+
+    /** Bangun BitSet baris yang lolos semua filter, dievaluasi kolom per kolom. */
+    BitSet filter(
+        String name, Boolean isActive, BigDecimal minAmount, BigDecimal maxAmount, Integer tenor) {
+      BitSet matches;
+      if (isActive == null) {
+        matches = new BitSet(size);
+        matches.set(0, size);
+      } else {
+        matches = (BitSet) active.clone();
+        if (!isActive) {
+          matches.flip(0, size);
+        }
+      }
+
+      if (minAmount != null) {
+        long min = minAmount.movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact();
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+          if (maxAmounts[i] < min) {
+            matches.clear(i);
+          }
+        }
+      }
+
+      if (maxAmount != null) {
+        long max = maxAmount.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact();
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+          if (maxAmounts[i] > max) {
+            matches.clear(i);
+          }
+        }
+      }
+
+      if (tenor != null) {
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+          if (tenors[i] != tenor) {
+            matches.clear(i);
+          }
+        }
+      }
+
+      if (name != null && !name.isEmpty()) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+          if (!lowerNames[i].contains(needle)) {
+            matches.clear(i);
+          }
+        }
+      }
+      return matches;
+    }
+  }
+}
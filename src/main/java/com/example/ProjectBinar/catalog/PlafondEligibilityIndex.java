@@ -0,0 +1,262 @@
+package com.example.ProjectBinar.catalog;
+
+import com.example.ProjectBinar.dto.PlafondResponse;
+import com.example.ProjectBinar.event.PlafondChangedEvent;
+import com.example.ProjectBinar.event.PlafondRemoteChangedEvent;
+import com.example.ProjectBinar.repository.PlafondRepository;
+import com.example.ProjectBinar.simulation.LoanAmortizationCalculator;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Index in-memory untuk menjawab "plafond apa saja yang bisa diambil untuk Rp X selama N bulan?".
+ *
+ * <p>Plafond aktif dikelompokkan per tenor (bucket terurut berdasarkan tenor), dan di dalam setiap
+ * bucket diurutkan berdasarkan maxAmount. Query melakukan binary search pada tenor lalu pada
+ * maxAmount di setiap bucket yang memenuhi, kemudian mengambil hasil teratas berdasarkan suku bunga
+ * terendah lewat segment tree per bucket (tanpa mengurutkan semua match).
+ *
+ * <p>Index bersifat copy-on-write: setiap perubahan plafond (setelah commit, di node ini maupun di
+ * node lain lewat fan-out Redis) membangun snapshot baru lalu menukarnya secara atomik, sehingga
+ * pembaca tidak pernah melihat index setengah jadi dan tidak perlu lock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlafondEligibilityIndex {
+
+  /** Urutan ranking: suku bunga terendah, lalu maxAmount terkecil, lalu ID. */
+  static final Comparator<PlafondResponse> RANKING =
+      Comparator.comparing(PlafondResponse::getInterestRate)
+          .thenComparing(PlafondResponse::getMaxAmount)
+          .thenComparing(PlafondResponse::getId);
+
+  private final PlafondRepository plafondRepository;
+
+  private volatile Snapshot snapshot;
+  private final ReentrantLock rebuildLock = new ReentrantLock();
+
+  /** Bangun index saat aplikasi siap menerima request. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  /** Bangun ulang index setelah perubahan plafond ter-commit. */
+  @TransactionalEventListener
+  public void onPlafondChanged(PlafondChangedEvent event) {
+    rebuild();
+  }
+
+  /** Bangun ulang index setelah perubahan plafond ter-commit di node lain. */
+  @EventListener
+  public void onRemotePlafondChanged(PlafondRemoteChangedEvent event) {
+    rebuild();
+  }
+
+  /**
+   * Bangun ulang index dari plafond aktif di database. Penulis diserialisasi agar snapshot yang
+   * lebih lama tidak menimpa yang lebih baru; pembaca tetap tanpa lock. ReentrantLock (bukan
+   * synchronized) supaya query database tidak mem-pin virtual thread.
+   */
+  public void rebuild() {
+    rebuildLock.lock();
+    try {
+      List<PlafondResponse> active =
+          plafondRepository.findByIsActive(true).stream().map(PlafondResponse::fromEntity).toList();
+      snapshot = Snapshot.of(active);
+      log.info("Plafond eligibility index rebuilt with {} active plafond(s)", active.size());
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  /**
+   * Cari plafond aktif dengan maxAmount >= amount dan tenor >= tenorMonth, diurutkan berdasarkan
+   * suku bunga terendah.
+   *
+   * @param amount Jumlah pinjaman yang diajukan
+   * @param tenorMonth Tenor yang diajukan dalam bulan
+   * @param limit Jumlah maksimal hasil
+   */
+  public List<PlafondResponse> findEligible(BigDecimal amount, int tenorMonth, int limit) {
+    Snapshot current = snapshot;
+    if (current == null) {
+      rebuild();
+      current = snapshot;
+    }
+    return current.findEligible(LoanAmortizationCalculator.toCents(amount), tenorMonth, limit);
+  }
+
+  /** Snapshot immutable dari index. */
+  static final class Snapshot {
+
+    /** Tenor unik, terurut ascending. */
+    private final int[] tenors;
+
+    /** maxAmount (sen) per bucket tenor, terurut ascending. */
+    private final long[][] amounts;
+
+    /** Plafond per bucket tenor, paralel dengan {@link #amounts}. */
+    private final PlafondResponse[][] plafonds;
+
+    /**
+     * Segment tree per bucket: node berisi posisi plafond dengan ranking terbaik di rentangnya.
+     * Daun untuk posisi i ada di index {@code length + i}.
+     */
+    private final int[][] bestRanked;
+
+    private Snapshot(
+        int[] tenors, long[][] amounts, PlafondResponse[][] plafonds, int[][] bestRanked) {
+      this.tenors = tenors;
+      this.amounts = amounts;
+      this.plafonds = plafonds;
+      this.bestRanked = bestRanked;
+    }
+
+    static Snapshot of(List<PlafondResponse> active) {
+      Map<Integer, List<PlafondResponse>> buckets = new TreeMap<>();
+      for (PlafondResponse plafond : active) {
+        buckets.computeIfAbsent(plafond.getTenorMonth(), t -> new ArrayList<>()).add(plafond);
+      }
+
+      int[] tenors = new int[buckets.size()];
+      long[][] amounts = new long[buckets.size()][];
+      PlafondResponse[][] plafonds = new PlafondResponse[buckets.size()][];
+      int[][] bestRanked = new int[buckets.size()][];
+      int b = 0;
+      for (Map.Entry<Integer, List<PlafondResponse>> bucket : buckets.entrySet()) {
+        PlafondResponse[] sorted =
+            bucket.getValue().stream()
+                .sorted(
+                    Comparator.comparing(PlafondResponse::getMaxAmount)
+                        .thenComparing(PlafondResponse::getId))
+                .toArray(PlafondResponse[]::new);
+        long[] sortedAmounts = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+          sortedAmounts[i] = LoanAmortizationCalculator.toCents(sorted[i].getMaxAmount());
+        }
+        tenors[b] = bucket.getKey();
+        amounts[b] = sortedAmounts;
+        plafonds[b] = sorted;
+        bestRanked[b] = buildTree(sorted);
+        b++;
+      }
+      return new Snapshot(tenors, amounts, plafonds, bestRanked);
+    }
+
+    /**
+     * Ambil hasil dalam urutan {@link #RANKING} tanpa mengumpulkan dan mengurutkan semua match.
+     *
+     * <p>Setiap bucket tenor yang memenuhi menyumbang satu rentang [lowerBound(amount), akhir).
+     * Heap menyimpan rentang-rentang tersebut dengan kandidat terbaiknya (dari segment tree);
+     * setiap pop menghasilkan satu plafond dan memecah rentangnya menjadi dua. Biaya per request
+     * O((bucket + limit) log n), tidak tergantung jumlah match.
+     */
+    List<PlafondResponse> findEligible(long amountCents, int tenorMonth, int limit) {
+      PriorityQueue<Range> candidates =
+          new PriorityQueue<>(
+              Comparator.comparing(
+                  (Range range) -> plafonds[range.bucket()][range.best()], RANKING));
+      for (int b = lowerBound(tenors, tenorMonth); b < tenors.length; b++) {
+        offer(candidates, b, lowerBound(amounts[b], amountCents), plafonds[b].length);
+      }
+
+      List<PlafondResponse> result = new ArrayList<>(Math.min(limit, 16));
+      while (result.size() < limit && !candidates.isEmpty()) {
+        Range range = candidates.poll();
+        result.add(plafonds[range.bucket()][range.best()]);
+        offer(candidates, range.bucket(), range.from(), range.best());
+        offer(candidates, range.bucket(), range.best() + 1, range.to());
+      }
+      return result;
+    }
+
+    /** Rentang posisi [from, to) di satu bucket beserta posisi plafond terbaiknya. */
+    private record Range(int bucket, int from, int to, int best) {}
+
+    private void offer(PriorityQueue<Range> candidates, int bucket, int from, int to) {
+      if (from < to) {
+        candidates.add(new Range(bucket, from, to, best(bucket, from, to)));
+      }
+    }
+
+    /** Posisi plafond dengan ranking terbaik di [from, to), query segment tree bottom-up. */
+    private int best(int bucket, int from, int to) {
+      int[] tree = bestRanked[bucket];
+      PlafondResponse[] rows = plafonds[bucket];
+      int n = rows.length;
+      int best = -1;
+      for (int low = from + n, high = to + n; low < high; low >>>= 1, high >>>= 1) {
+        if ((low & 1) == 1) {
+          best = better(rows, best, tree[low++]);
+        }
+        if ((high & 1) == 1) {
+          best = better(rows, best, tree[--high]);
+        }
+      }
+      return best;
+    }
+
+    private static int[] buildTree(PlafondResponse[] rows) {
+      int n = rows.length;
+      int[] tree = new int[2 * n];
+      for (int i = 0; i < n; i++) {
+        tree[n + i] = i;
+      }
+      for (int i = n - 1; i > 0; i--) {
+        tree[i] = better(rows, tree[2 * i], tree[2 * i + 1]);
+      }
+      return tree;
+    }
+
+    private static int better(PlafondResponse[] rows, int a, int b) {
+      if (a < 0) {
+        return b;
+      }
+      return RANKING.compare(rows[a], rows[b]) <= 0 ? a : b;
+    }
+
+    /** Index elemen pertama yang >= key. */
+    private static int lowerBound(int[] values, int key) {
+      int low = 0;
+      int high = values.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (values[mid] < key) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /** Index elemen pertama yang >= key. */
+    private static int lowerBound(long[] values, long key) {
+      int low = 0;
+      int high = values.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (values[mid] < key) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+}
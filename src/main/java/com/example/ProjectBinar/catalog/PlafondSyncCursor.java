@@ -0,0 +1,69 @@
+package com.example.ProjectBinar.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor delta-sync katalog plafond: posisi (updatedAt, id) dari perubahan terakhir yang sudah
+ * diterima client, beserta watermark archival saat cursor dibuat. Dikirim ke client sebagai string
+ * opaque (Base64 URL-safe).
+ *
+ * @param updatedAt Timestamp perubahan terakhir
+ * @param id ID plafond terakhir pada timestamp tersebut (tie-breaker)
+ * @param archiveWatermark Watermark archival ({@link #NO_ARCHIVE} jika belum ada) yang sudah
+ *     berlaku saat cursor dibuat: tombstone sampai watermark ini sudah tidak ada di tabel sehingga
+ *     tidak perlu dilewati cursor. Null untuk cursor format lama yang belum membawanya
+ */
+public record PlafondSyncCursor(LocalDateTime updatedAt, long id, LocalDateTime archiveWatermark) {
+
+  /** Watermark archival saat belum ada tombstone yang di-archive. */
+  public static final LocalDateTime NO_ARCHIVE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  /** Cursor awal untuk sinkronisasi penuh. */
+  public static final PlafondSyncCursor START = new PlafondSyncCursor(NO_ARCHIVE, 0L, null);
+
+  /**
+   * True jika tombstone yang di-archive sampai {@code currentWatermark} mungkin belum diterima
+   * client: posisi cursor di belakang watermark, dan archival tersebut terjadi setelah cursor
+   * dibuat.
+   */
+  public boolean isBehindArchive(LocalDateTime currentWatermark) {
+    return currentWatermark != null
+        && updatedAt.isBefore(currentWatermark)
+        && (archiveWatermark == null || archiveWatermark.isBefore(currentWatermark));
+  }
+
+  /** Encode cursor menjadi string opaque. */
+  public String encode() {
+    String raw = updatedAt + "|" + id + (archiveWatermark == null ? "" : "|" + archiveWatermark);
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode cursor dari string opaque. String kosong/null menghasilkan {@link #START}.
+   *
+   * @throws IllegalArgumentException jika format cursor tidak valid
+   */
+  public static PlafondSyncCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return START;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|", -1);
+      if (parts.length < 2 || parts.length > 3) {
+        throw new IllegalArgumentException(raw);
+      }
+      return new PlafondSyncCursor(
+          LocalDateTime.parse(parts[0]),
+          Long.parseLong(parts[1]),
+          parts.length == 3 ? LocalDateTime.parse(parts[2]) : null);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Cursor tidak valid: " + cursor);
+    }
+  }
+}
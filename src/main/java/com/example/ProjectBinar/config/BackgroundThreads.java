@@ -0,0 +1,53 @@
+package com.example.ProjectBinar.config;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thread untuk executor background milik aplikasi (refresh cache, dispatcher SSE, job provisioning,
+ * listener Redis).
+ *
+ * <p>Mengikuti mode yang sama dengan Tomcat, {@code @Async} dan {@code @Scheduled} yang diatur
+ * Spring Boot: dengan {@code spring.threads.virtual.enabled=true} di Java 21 thread-nya virtual,
+ * selain itu platform daemon thread. Bentuk executor (jumlah worker, antrian terbatas) tidak
+ * berubah, jadi batas concurrency sama di kedua mode. Pekerjaan CPU-bound (hash BCrypt) tetap
+ * memakai pool platform thread sendiri.
+ */
+@Component
+public class BackgroundThreads {
+
+  private final boolean virtual;
+
+  public BackgroundThreads(Environment environment) {
+    this.virtual = Threading.VIRTUAL.isActive(environment);
+  }
+
+  public boolean isVirtual() {
+    return virtual;
+  }
+
+  /** Thread factory dengan nama {@code prefix-N}. */
+  public ThreadFactory factory(String prefix) {
+    if (virtual) {
+      return new VirtualThreadTaskExecutor(prefix + "-").getVirtualThreadFactory();
+    }
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /** Executor satu thread per task, e.g. untuk RedisMessageListenerContainer. */
+  public SimpleAsyncTaskExecutor taskExecutor(String prefix) {
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix + "-");
+    executor.setVirtualThreads(virtual);
+    return executor;
+  }
+}
@@ -1,244 +1,372 @@
 package com.example.ProjectBinar.config;
 
-import com.example.ProjectBinar.entity.Branch;
-import com.example.ProjectBinar.entity.Plafond;
-import com.example.ProjectBinar.entity.Role;
-import com.example.ProjectBinar.entity.User;
-import com.example.ProjectBinar.repository.BranchRepository;
-import com.example.ProjectBinar.repository.PlafondRepository;
-import com.example.ProjectBinar.repository.RoleRepository;
-import com.example.ProjectBinar.repository.UserRepository;
 import java.math.BigDecimal;
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Data Initializer - Menginisialisasi data awal saat aplikasi dijalankan.
  *
- * <p>Mendukung: - Database baru (create all roles dan users) - Database existing (create missing
- * roles dan users dengan password ter-hash)
+ * <p>Mendukung: - Database baru (create all roles, users, branch dan plafond) - Database existing
+ * (create missing roles dan users, hash password lama yang belum ter-hash)
+ *
+ * <p>Seed dijaga oleh baris penanda di tabel data_seed. Jika versinya sudah {@link #SEED_VERSION},
+ * startup hanya menjalankan satu query lalu selesai. Jika belum, seed berjalan dalam satu transaksi
+ * yang menahan row lock pada baris penanda: replica lain yang start bersamaan menunggu lock,
+ * membaca ulang versi, lalu skip. Data ditulis dengan JDBC batch, bukan save per baris.
  */
 @Component
+@Order(DataInitializer.ORDER)
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
 
-  private final RoleRepository roleRepository;
-  private final UserRepository userRepository;
-  private final BranchRepository branchRepository;
-  private final PlafondRepository plafondRepository;
-  private final PasswordEncoder passwordEncoder;
+  /** Urutan runner: data awal harus ada sebelum {@link StartupWarmup}. */
+  static final int ORDER = 0;
 
-  @Override
-  public void run(String... args) throws Exception {
-    log.info("=== Initializing Data ===");
+  /** Naikkan jika data awal di bawah berubah supaya seed dijalankan ulang sekali per database. */
+  static final int SEED_VERSION = 2;
 
-    // Selalu pastikan roles yang diperlukan ada
-    initializeRoles();
+  static final String SEED_NAME = "core";
 
-    // Selalu pastikan sample users ada dengan password ter-hash
-    initializeUsers();
+  static final String DEFAULT_PASSWORD = "password123";
 
-    // Inisialisasi Branch jika belum ada
-    if (branchRepository.count() == 0) {
-      initializeBranch();
-    } else {
-      log.info("Branch already exists, skipping branch initialization.");
+  static final String SELECT_SEED_VERSION_SQL = "SELECT version FROM data_seed WHERE name = ?";
+  static final String INSERT_SEED_SQL = "INSERT INTO data_seed (name, version) VALUES (?, 0)";
+  // Update tanpa perubahan nilai tetap mengambil exclusive row lock sampai commit (portable,
+  // tidak butuh hint UPDLOCK / FOR UPDATE per dialect)
+  static final String LOCK_SEED_SQL = "UPDATE data_seed SET version = version WHERE name = ?";
+  static final String UPDATE_SEED_SQL =
+      "UPDATE data_seed SET version = ?, seeded_at = ? WHERE name = ?";
+
+  static final String SELECT_ROLES_SQL = "SELECT id, name FROM roles WHERE name IN (:names)";
+  static final String INSERT_ROLE_SQL = "INSERT INTO roles (name) VALUES (?)";
+  static final String SELECT_USERS_SQL =
+      "SELECT id, username, password FROM users WHERE username IN (:usernames)";
+  static final String INSERT_USER_SQL =
+      "INSERT INTO users (username, email, password, is_active) VALUES (?, ?, ?, ?)";
+  static final String UPDATE_USER_PASSWORD_SQL = "UPDATE users SET password = ? WHERE id = ?";
+  static final String DELETE_USER_ROLES_SQL = "DELETE FROM user_roles WHERE user_id = ?";
+  static final String INSERT_USER_ROLE_SQL =
+      "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+  static final String COUNT_BRANCH_SQL = "SELECT COUNT(*) FROM branch";
+  static final String INSERT_BRANCH_SQL =
+      "INSERT INTO branch (name, address, city) VALUES (?, ?, ?)";
+  // Termasuk yang sudah di-soft-delete, karena nama plafond unik
+  static final String COUNT_PLAFOND_SQL = "SELECT COUNT(*) FROM plafond";
+  static final String INSERT_PLAFOND_SQL =
+      "INSERT INTO plafond (name, description, max_amount, interest_rate, tenor_month, is_active,"
+          + " is_deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+  // Isi updated_at untuk plafond lama agar ikut terbaca oleh delta-sync
+  static final String BACKFILL_PLAFOND_UPDATED_AT_SQL =
+      "UPDATE plafond SET updated_at = COALESCE(deleted_at, created_at) WHERE updated_at IS NULL";
+
+  // METRICS_SCRAPER: akun service Prometheus untuk /actuator/prometheus (lihat SecurityConfig)
+  static final List<String> ROLES =
+      List.of("CUSTOMER", "MARKETING", "BRANCH_MANAGER", "BACK_OFFICE", "METRICS_SCRAPER");
+
+  static final List<SeedUser> USERS =
+      List.of(
+          new SeedUser("customer", "customer@example.com", List.of("CUSTOMER")),
+          new SeedUser("marketing", "marketing@example.com", List.of("MARKETING")),
+          new SeedUser("branchmanager", "branchmanager@example.com", List.of("BRANCH_MANAGER")),
+          new SeedUser("backoffice", "backoffice@example.com", List.of("BACK_OFFICE")),
+          // Super admin with all roles
+          new SeedUser("admin", "admin@example.com", ROLES));
+
+  static final List<SeedBranch> BRANCHES =
+      List.of(
+          new SeedBranch("Branch Jakarta Pusat", "Jalan Sudirman No. 1", "Jakarta"),
+          new SeedBranch("Branch Surabaya", "Jalan Basuki Rahmat No. 10", "Surabaya"));
+
+  static final List<SeedPlafond> PLAFONDS =
+      List.of(
+          new SeedPlafond(
+              "Bronze",
+              "Pinjaman level bronze untuk pemula dengan limit rendah",
+              "10000000",
+              "15.00",
+              12,
+              true),
+          new SeedPlafond(
+              "Silver",
+              "Pinjaman level silver dengan limit menengah",
+              "25000000",
+              "13.50",
+              18,
+              true),
+          new SeedPlafond(
+              "Gold",
+              "Pinjaman level gold dengan limit tinggi dan bunga kompetitif",
+              "50000000",
+              "12.00",
+              24,
+              true),
+          new SeedPlafond(
+              "Platinum",
+              "Pinjaman level platinum premium dengan limit maksimal",
+              "100000000",
+              "10.50",
+              36,
+              true),
+          new SeedPlafond(
+              "Diamond",
+              "Pinjaman level diamond VIP - sementara tidak tersedia",
+              "200000000",
+              "9.00",
+              48,
+              false));
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final PasswordEncoder passwordEncoder;
+
+  @Override
+  public void run(String... args) throws Exception {
+    if (currentVersion() >= SEED_VERSION) {
+      log.info("Seed data version {} already applied, skipping initialization", SEED_VERSION);
+      return;
     }
+    log.info("=== Initializing Data (seed version {}) ===", SEED_VERSION);
+    long start = System.nanoTime();
 
-    // Inisialisasi Plafond jika belum ada
-    if (plafondRepository.count() == 0) {
-      initializePlafondData();
+    ensureSeedRow();
+    Boolean seeded = transactionTemplate.execute(status -> seedLocked());
+
+    if (Boolean.TRUE.equals(seeded)) {
+      log.info(
+          "=== Data Initialization Complete in {} ms ===", (System.nanoTime() - start) / 1_000_000);
     } else {
-      log.info("Plafond data already exists, skipping plafond initialization.");
+      log.info("Seed data version {} applied by another instance, skipping", SEED_VERSION);
     }
-
-    log.info("=== Data Initialization Complete ===");
   }
 
-  /** Inisialisasi roles - buat role jika belum ada. */
-  private void initializeRoles() {
-    createRoleIfNotExists("CUSTOMER");
-    createRoleIfNotExists("MARKETING");
-    createRoleIfNotExists("BRANCH_MANAGER");
-    createRoleIfNotExists("BACK_OFFICE");
+  /** Versi seed di database; 0 jika baris penanda belum ada. */
+  private int currentVersion() {
+    List<Integer> versions =
+        jdbcTemplate.queryForList(SELECT_SEED_VERSION_SQL, Integer.class, SEED_NAME);
+    return versions.isEmpty() ? 0 : versions.get(0);
   }
 
-  /** Buat role jika belum ada. */
-  private Role createRoleIfNotExists(String roleName) {
-    Optional<Role> existingRole = roleRepository.findByName(roleName);
-    if (existingRole.isPresent()) {
-      log.info("Role {} already exists", roleName);
-      return existingRole.get();
+  /**
+   * Buat baris penanda jika belum ada. Dua instance bisa insert bersamaan; yang kalah diabaikan.
+   */
+  private void ensureSeedRow() {
+    try {
+      jdbcTemplate.update(INSERT_SEED_SQL, SEED_NAME);
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Seed marker {} already exists", SEED_NAME);
     }
-
-    Role role = Role.builder().name(roleName).build();
-    role = roleRepository.save(role);
-    log.info("Created role: {}", roleName);
-    return role;
   }
 
   /**
-   * Inisialisasi users dengan password ter-hash. Update password jika user sudah ada tapi
-   * passwordnya belum ter-hash.
+   * Seed di dalam transaksi yang memegang lock baris penanda.
+   *
+   * @return false jika instance lain sudah menyelesaikan seed selama menunggu lock
    */
-  private void initializeUsers() {
-    String encodedPassword = passwordEncoder.encode("password123");
-
-    // Get or create roles
-    Role customerRole = getOrCreateRole("CUSTOMER");
-    Role marketingRole = getOrCreateRole("MARKETING");
-    Role branchManagerRole = getOrCreateRole("BRANCH_MANAGER");
-    Role backOfficeRole = getOrCreateRole("BACK_OFFICE");
-
-    // Create users if not exists
-    createOrUpdateUser("customer", "customer@example.com", encodedPassword, Set.of(customerRole));
-    createOrUpdateUser(
-        "marketing", "marketing@example.com", encodedPassword, Set.of(marketingRole));
-    createOrUpdateUser(
-        "branchmanager", "branchmanager@example.com", encodedPassword, Set.of(branchManagerRole));
-    createOrUpdateUser(
-        "backoffice", "backoffice@example.com", encodedPassword, Set.of(backOfficeRole));
-
-    // Super admin with all roles
-    Set<Role> allRoles = new HashSet<>();
-    allRoles.add(customerRole);
-    allRoles.add(marketingRole);
-    allRoles.add(branchManagerRole);
-    allRoles.add(backOfficeRole);
-    createOrUpdateUser("admin", "admin@example.com", encodedPassword, allRoles);
+  private boolean seedLocked() {
+    jdbcTemplate.update(LOCK_SEED_SQL, SEED_NAME);
+    if (currentVersion() >= SEED_VERSION) {
+      return false;
+    }
+
+    Map<String, Long> roleIds = initializeRoles();
+    initializeUsers(roleIds);
+    initializeBranch();
+    initializePlafondData();
+
+    int backfilled = jdbcTemplate.update(BACKFILL_PLAFOND_UPDATED_AT_SQL);
+    if (backfilled > 0) {
+      log.info("Backfilled updated_at for {} plafond(s)", backfilled);
+    }
+
+    jdbcTemplate.update(
+        UPDATE_SEED_SQL, SEED_VERSION, Timestamp.valueOf(LocalDateTime.now()), SEED_NAME);
+    return true;
   }
 
-  /** Get role by name or create if not exists. */
-  private Role getOrCreateRole(String roleName) {
-    return roleRepository
-        .findByName(roleName)
-        .orElseGet(
-            () -> {
-              Role role = Role.builder().name(roleName).build();
-              return roleRepository.save(role);
+  /** Buat role yang belum ada dalam satu batch, lalu kembalikan id semua role seed. */
+  private Map<String, Long> initializeRoles() {
+    Map<String, Long> roleIds = selectRoleIds();
+    List<Object[]> missing =
+        ROLES.stream()
+            .filter(name -> !roleIds.containsKey(name))
+            .map(name -> new Object[] {name})
+            .toList();
+    if (missing.isEmpty()) {
+      return roleIds;
+    }
+    jdbcTemplate.batchUpdate(INSERT_ROLE_SQL, missing);
+    log.info("Created roles: {}", missing.stream().map(row -> row[0]).toList());
+    return selectRoleIds();
+  }
+
+  private Map<String, Long> selectRoleIds() {
+    Map<String, Long> ids = new HashMap<>();
+    new NamedParameterJdbcTemplate(jdbcTemplate)
+        .query(
+            SELECT_ROLES_SQL,
+            Map.of("names", ROLES),
+            resultSet -> {
+              ids.put(resultSet.getString("name"), resultSet.getLong("id"));
             });
+    return ids;
   }
 
-  /** Create user if not exists, or update password if exists. */
-  private void createOrUpdateUser(
-      String username, String email, String encodedPassword, Set<Role> roles) {
-    Optional<User> existingUser = userRepository.findByUsername(username);
-
-    if (existingUser.isPresent()) {
-      User user = existingUser.get();
-      // Update password jika belum ter-hash (tidak dimulai dengan $2a$)
-      if (user.getPassword() == null || !user.getPassword().startsWith("$2a$")) {
-        user.setPassword(encodedPassword);
-        user.setRoles(roles);
-        userRepository.save(user);
-        log.info("Updated user {} with hashed password and roles", username);
-      } else {
-        log.info("User {} already exists with hashed password", username);
+  /**
+   * Buat user yang belum ada, dan hash password user lama yang belum ter-hash (tidak dimulai dengan
+   * $2a$) sekaligus mengganti role-nya. BCrypt hanya dijalankan jika ada user yang perlu ditulis.
+   */
+  private void initializeUsers(Map<String, Long> roleIds) {
+    Map<String, ExistingUser> existing = new HashMap<>();
+    new NamedParameterJdbcTemplate(jdbcTemplate)
+        .query(
+            SELECT_USERS_SQL,
+            Map.of("usernames", USERS.stream().map(SeedUser::username).toList()),
+            resultSet -> {
+              existing.put(
+                  resultSet.getString("username"),
+                  new ExistingUser(resultSet.getLong("id"), resultSet.getString("password")));
+            });
+
+    List<SeedUser> toInsert = new ArrayList<>();
+    List<SeedUser> toRehash = new ArrayList<>();
+    for (SeedUser user : USERS) {
+      ExistingUser current = existing.get(user.username());
+      if (current == null) {
+        toInsert.add(user);
+      } else if (current.password() == null || !current.password().startsWith("$2a$")) {
+        toRehash.add(user);
       }
-    } else {
-      User user =
-          User.builder()
-              .username(username)
-              .email(email)
-              .password(encodedPassword)
-              .isActive(true)
-              .roles(roles)
-              .build();
-      userRepository.save(user);
-      log.info(
-          "Created user: {} with roles: {}", username, roles.stream().map(Role::getName).toList());
+    }
+    if (toInsert.isEmpty() && toRehash.isEmpty()) {
+      log.info("Seed users already exist with hashed password");
+      return;
+    }
+
+    String encodedPassword = passwordEncoder.encode(DEFAULT_PASSWORD);
+    List<Object[]> userRoles = new ArrayList<>();
+    if (!toRehash.isEmpty()) {
+      List<Long> ids = toRehash.stream().map(user -> existing.get(user.username()).id()).toList();
+      jdbcTemplate.batchUpdate(
+          UPDATE_USER_PASSWORD_SQL,
+          ids.stream().map(id -> new Object[] {encodedPassword, id}).toList());
+      jdbcTemplate.batchUpdate(
+          DELETE_USER_ROLES_SQL, ids.stream().map(id -> new Object[] {id}).toList());
+      for (int i = 0; i < toRehash.size(); i++) {
+        Long userId = ids.get(i);
+        toRehash
+            .get(i)
+            .roles()
+            .forEach(role -> userRoles.add(new Object[] {userId, roleIds.get(role)}));
+        log.info("Updated user {} with hashed password and roles", toRehash.get(i).username());
+      }
+    }
+
+    if (!toInsert.isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          INSERT_USER_SQL,
+          toInsert.stream()
+              .map(user -> new Object[] {user.username(), user.email(), encodedPassword, true})
+              .toList());
+      // Generated key dari batch insert tidak didukung semua driver, jadi id dibaca ulang
+      Map<String, Long> ids = new HashMap<>();
+      new NamedParameterJdbcTemplate(jdbcTemplate)
+          .query(
+              SELECT_USERS_SQL,
+              Map.of("usernames", toInsert.stream().map(SeedUser::username).toList()),
+              resultSet -> {
+                ids.put(resultSet.getString("username"), resultSet.getLong("id"));
+              });
+      for (SeedUser user : toInsert) {
+        Long userId = ids.get(user.username());
+        user.roles().forEach(role -> userRoles.add(new Object[] {userId, roleIds.get(role)}));
+        log.info("Created user: {} with roles: {}", user.username(), user.roles());
+      }
+    }
+
+    if (!userRoles.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, userRoles);
     }
   }
 
-  /** Inisialisasi branch. */
+  /** Inisialisasi branch jika tabel masih kosong. */
   private void initializeBranch() {
-    Branch branch =
-        Branch.builder()
-            .name("Branch Jakarta Pusat")
-            .address("Jalan Sudirman No. 1")
-            .city("Jakarta")
-            .build();
-    branchRepository.save(branch);
-    log.info("Created branch: {}", branch.getName());
-
-    Branch branch2 =
-        Branch.builder()
-            .name("Branch Surabaya")
-            .address("Jalan Basuki Rahmat No. 10")
-            .city("Surabaya")
-            .build();
-    branchRepository.save(branch2);
-    log.info("Created branch: {}", branch2.getName());
+    if (count(COUNT_BRANCH_SQL) > 0) {
+      log.info("Branch already exists, skipping branch initialization.");
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        INSERT_BRANCH_SQL,
+        BRANCHES.stream()
+            .map(branch -> new Object[] {branch.name(), branch.address(), branch.city()})
+            .toList());
+    log.info("Created branches: {}", BRANCHES.stream().map(SeedBranch::name).toList());
   }
 
-  /** Inisialisasi data plafond untuk pengajuan kredit. */
+  /** Inisialisasi data plafond untuk pengajuan kredit jika tabel masih kosong. */
   private void initializePlafondData() {
-    Plafond bronze =
-        Plafond.builder()
-            .name("Bronze")
-            .description("Pinjaman level bronze untuk pemula dengan limit rendah")
-            .maxAmount(new BigDecimal("10000000"))
-            .interestRate(new BigDecimal("15.00"))
-            .tenorMonth(12)
-            .isActive(true)
-            .build();
-    plafondRepository.save(bronze);
-    log.info("Created plafond: {} - Max: Rp {}", bronze.getName(), bronze.getMaxAmount());
-
-    Plafond silver =
-        Plafond.builder()
-            .name("Silver")
-            .description("Pinjaman level silver dengan limit menengah")
-            .maxAmount(new BigDecimal("25000000"))
-            .interestRate(new BigDecimal("13.50"))
-            .tenorMonth(18)
-            .isActive(true)
-            .build();
-    plafondRepository.save(silver);
-    log.info("Created plafond: {} - Max: Rp {}", silver.getName(), silver.getMaxAmount());
-
-    Plafond gold =
-        Plafond.builder()
-            .name("Gold")
-            .description("Pinjaman level gold dengan limit tinggi dan bunga kompetitif")
-            .maxAmount(new BigDecimal("50000000"))
-            .interestRate(new BigDecimal("12.00"))
-            .tenorMonth(24)
-            .isActive(true)
-            .build();
-    plafondRepository.save(gold);
-    log.info("Created plafond: {} - Max: Rp {}", gold.getName(), gold.getMaxAmount());
-
-    Plafond platinum =
-        Plafond.builder()
-            .name("Platinum")
-            .description("Pinjaman level platinum premium dengan limit maksimal")
-            .maxAmount(new BigDecimal("100000000"))
-            .interestRate(new BigDecimal("10.50"))
-            .tenorMonth(36)
-            .isActive(true)
-            .build();
-    plafondRepository.save(platinum);
-    log.info("Created plafond: {} - Max: Rp {}", platinum.getName(), platinum.getMaxAmount());
-
-    Plafond diamond =
-        Plafond.builder()
-            .name("Diamond")
-            .description("Pinjaman level diamond VIP - sementara tidak tersedia")
-            .maxAmount(new BigDecimal("200000000"))
-            .interestRate(new BigDecimal("9.00"))
-            .tenorMonth(48)
-            .isActive(false)
-            .build();
-    plafondRepository.save(diamond);
-    log.info(
-        "Created plafond: {} - Max: Rp {} (inactive)", diamond.getName(), diamond.getMaxAmount());
+    if (count(COUNT_PLAFOND_SQL) > 0) {
+      log.info("Plafond data already exists, skipping plafond initialization.");
+      return;
+    }
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.batchUpdate(
+        INSERT_PLAFOND_SQL,
+        PLAFONDS.stream()
+            .map(
+                plafond ->
+                    new Object[] {
+                      plafond.name(),
+                      plafond.description(),
+                      new BigDecimal(plafond.maxAmount()),
+                      new BigDecimal(plafond.interestRate()),
+                      plafond.tenorMonth(),
+                      plafond.active(),
+                      false,
+                      now,
+                      now
+                    })
+            .toList());
+    PLAFONDS.forEach(
+        plafond ->
+            log.info(
+                "Created plafond: {} - Max: Rp {}{}",
+                plafond.name(),
+                plafond.maxAmount(),
+                plafond.active() ? "" : " (inactive)"));
+  }
+
+  private long count(String sql) {
+    Long count = jdbcTemplate.queryForObject(sql, Long.class);
+    return count == null ? 0 : count;
   }
+
+  record SeedUser(String username, String email, List<String> roles) {}
+
+  record SeedBranch(String name, String address, String city) {}
+
+  record SeedPlafond(
+      String name,
+      String description,
+      String maxAmount,
+      String interestRate,
+      int tenorMonth,
+      boolean active) {}
+
+  private record ExistingUser(long id, String password) {}
 }
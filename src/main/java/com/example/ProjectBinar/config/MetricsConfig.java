@@ -0,0 +1,43 @@
+package com.example.ProjectBinar.config;
+
+import com.example.ProjectBinar.cache.CircuitBreakerCacheMeterBinderProvider;
+import com.example.ProjectBinar.cache.RefreshingCacheMeterBinderProvider;
+import com.example.ProjectBinar.cache.TwoLevelCacheMeterBinderProvider;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Konfigurasi Micrometer.
+ *
+ * <p>TimedAspect mengaktifkan anotasi {@code @Timed} pada method service (AuthService,
+ * EmailService). Metric repository (spring.data.repository.invocations) dan cache (cache.gets)
+ * disediakan otomatis oleh Spring Boot Actuator. Cache Redis dibungkus decorator, jadi metric-nya
+ * di-bind oleh CircuitBreakerCacheMeterBinderProvider, TwoLevelCacheMeterBinderProvider (L1) dan
+ * RefreshingCacheMeterBinderProvider (refresh-ahead).
+ */
+@Configuration
+public class MetricsConfig {
+
+  @Bean
+  public TimedAspect timedAspect(MeterRegistry registry) {
+    return new TimedAspect(registry);
+  }
+
+  @Bean
+  public CircuitBreakerCacheMeterBinderProvider circuitBreakerCacheMeterBinderProvider() {
+    return new CircuitBreakerCacheMeterBinderProvider();
+  }
+
+  @Bean
+  public TwoLevelCacheMeterBinderProvider twoLevelCacheMeterBinderProvider() {
+    return new TwoLevelCacheMeterBinderProvider();
+  }
+
+  @Bean
+  public RefreshingCacheMeterBinderProvider refreshingCacheMeterBinderProvider(
+      TwoLevelCacheMeterBinderProvider twoLevelCacheMeterBinderProvider) {
+    return new RefreshingCacheMeterBinderProvider(twoLevelCacheMeterBinderProvider);
+  }
+}
@@ -1,40 +1,236 @@
 package com.example.ProjectBinar.config;
 
+import com.example.ProjectBinar.cache.CacheCircuitBreaker;
+import com.example.ProjectBinar.cache.CacheInvalidationBus;
+import com.example.ProjectBinar.cache.CacheProperties;
+import com.example.ProjectBinar.cache.CacheValueCodec;
+import com.example.ProjectBinar.cache.DegradingCacheErrorHandler;
+import com.example.ProjectBinar.cache.PolicyCacheManager;
+import com.example.ProjectBinar.diagnostics.PhaseTimingCacheManager;
+import com.example.ProjectBinar.service.PlafondStreamService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.hibernate5.jakarta.Hibernate5JakartaModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class RedisConfig {
 
+  @Value("${diagnostics.request-phases.enabled:false}")
+  private boolean requestPhasesEnabled;
+
+  /**
+   * Cache yang selalu didaftarkan, supaya metric hit/miss tersedia sebelum cache pertama dipakai.
+   */
+  private static final Set<String> CACHE_NAMES = Set.of("plafonds", "users", "roles", "branches");
+
+  /**
+   * Circuit breaker Redis bersama untuk semua cache dan invalidasi L1; metric-nya di-bind otomatis.
+   */
+  @Bean
+  public CacheCircuitBreaker cacheCircuitBreaker(CacheProperties cacheProperties) {
+    return CacheCircuitBreaker.of(cacheProperties.getCircuitBreaker());
+  }
+
+  @Bean
+  public CacheInvalidationBus cacheInvalidationBus(
+      StringRedisTemplate redisTemplate,
+      ObjectMapper objectMapper,
+      CacheProperties cacheProperties,
+      CacheCircuitBreaker cacheCircuitBreaker) {
+    return new CacheInvalidationBus(
+        redisTemplate, objectMapper, cacheProperties.isL1Invalidation(), cacheCircuitBreaker);
+  }
+
+  /** Kegagalan cache selain gangguan Redis (mis. deserialisasi) jadi miss, bukan error 500. */
+  @Bean
+  public CachingConfigurer cachingConfigurer(MeterRegistry meterRegistry) {
+    CacheErrorHandler errorHandler = new DegradingCacheErrorHandler(meterRegistry);
+    return new CachingConfigurer() {
+      @Override
+      public CacheErrorHandler errorHandler() {
+        return errorHandler;
+      }
+    };
+  }
+
+  /**
+   * Saat koneksi Redis putus, Lettuce default-nya menahan command di buffer sampai reconnect atau
+   * timeout. Command ditolak langsung supaya request tidak menunggu dan circuit breaker cepat
+   * terbuka. Timeout command dan connect diatur di spring.data.redis.timeout/connect-timeout.
+   */
+  @Bean
+  public LettuceClientConfigurationBuilderCustomizer failFastLettuceCustomizer(
+      RedisProperties redisProperties) {
+    SocketOptions.Builder socketOptions = SocketOptions.builder();
+    if (redisProperties.getConnectTimeout() != null) {
+      socketOptions.connectTimeout(redisProperties.getConnectTimeout());
+    }
+    ClientOptions clientOptions =
+        ClientOptions.builder()
+            .socketOptions(socketOptions.build())
+            .timeoutOptions(TimeoutOptions.enabled())
+            .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+            .build();
+    return builder -> builder.clientOptions(clientOptions);
+  }
+
+  /**
+   * Cache manager Redis dengan policy per cache (app.cache.caches), dibungkus circuit breaker, lalu
+   * L1 dan refresh-ahead untuk cache yang mengaktifkannya.
+   */
   @Bean
-  public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-    ObjectMapper mapper = new ObjectMapper();
-    mapper.registerModule(new Hibernate5JakartaModule());
+  public CacheManager cacheManager(
+      RedisConnectionFactory connectionFactory,
+      CacheProperties cacheProperties,
+      CacheInvalidationBus cacheInvalidationBus,
+      CacheCircuitBreaker cacheCircuitBreaker,
+      BackgroundThreads backgroundThreads) {
+    Set<String> cacheNames = new HashSet<>(CACHE_NAMES);
+    cacheNames.addAll(cacheProperties.getCaches().keySet());
+    Map<String, RedisCacheConfiguration> configurations = new HashMap<>();
+    for (String cacheName : cacheNames) {
+      configurations.put(
+          cacheName, cacheConfiguration(cacheProperties.policy(cacheName), cacheProperties));
+    }
+
+    // Cache didaftarkan di awal + statistics aktif supaya Actuator bisa bind metric hit/miss
+    // (cache.gets{cache=...,result=hit|miss}) untuk setiap cache. Cache yang dibuat saat runtime
+    // memakai policy defaults
+    RedisCacheManager redisCacheManager =
+        RedisCacheManager.builder(connectionFactory)
+            .cacheDefaults(cacheConfiguration(cacheProperties.getDefaults(), cacheProperties))
+            .withInitialCacheConfigurations(configurations)
+            .enableStatistics()
+            .build();
+    // Decorator bukan InitializingBean, jadi inisialisasi cache dilakukan manual di sini
+    redisCacheManager.initializeCaches();
 
-    GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(mapper);
+    CacheManager cacheManager =
+        new PolicyCacheManager(
+            redisCacheManager,
+            cacheProperties,
+            cacheInvalidationBus,
+            cacheCircuitBreaker,
+            backgroundThreads.factory("cache-refresh"));
+    // Fase cache untuk JFR/Server-Timing
+    return requestPhasesEnabled ? new PhaseTimingCacheManager(cacheManager) : cacheManager;
+  }
 
-    RedisCacheConfiguration config =
+  private static RedisCacheConfiguration cacheConfiguration(
+      CacheProperties.Policy policy, CacheProperties cacheProperties) {
+    RedisCacheConfiguration configuration =
         RedisCacheConfiguration.defaultCacheConfig()
-            .entryTtl(Duration.ofMinutes(10))
+            .entryTtl(ttlFunction(policy.physicalTtl(), policy.getTtlJitter()))
             .serializeKeysWith(
                 RedisSerializationContext.SerializationPair.fromSerializer(
                     new StringRedisSerializer()))
             .serializeValuesWith(
-                RedisSerializationContext.SerializationPair.fromSerializer(serializer))
-            .disableCachingNullValues();
+                RedisSerializationContext.SerializationPair.fromSerializer(
+                    CacheValueCodec.of(
+                        policy.getFormat(), cacheProperties.getCompressionThresholdBytes())));
+    return policy.getCacheNulls() ? configuration : configuration.disableCachingNullValues();
+  }
+
+  /**
+   * TTL dengan jitter acak per entry supaya entry yang ditulis bersamaan tidak expire bersamaan.
+   */
+  static RedisCacheWriter.TtlFunction ttlFunction(Duration ttl, Duration jitter) {
+    if (jitter.isZero()) {
+      return RedisCacheWriter.TtlFunction.just(ttl);
+    }
+    long jitterMillis = jitter.toMillis();
+    return (key, value) -> ttl.plusMillis(ThreadLocalRandom.current().nextLong(jitterMillis + 1));
+  }
 
-    return RedisCacheManager.builder(connectionFactory).cacheDefaults(config).build();
+  /**
+   * Serializer value cache format JSON. Public supaya benchmark memakai konfigurasi yang sama
+   * persis.
+   *
+   * <p>Konstruktor default dipakai karena hanya konstruktor itu yang mengaktifkan type info
+   * (@class); dengan ObjectMapper sendiri value kembali sebagai LinkedHashMap. JavaTimeModule
+   * diperlukan untuk field LocalDateTime di DTO.
+   */
+  public static GenericJackson2JsonRedisSerializer cacheValueSerializer() {
+    return new GenericJackson2JsonRedisSerializer()
+        .configure(
+            mapper ->
+                mapper
+                    .registerModule(new Hibernate5JakartaModule())
+                    .registerModule(new JavaTimeModule()));
+  }
+
+  /**
+   * Listener Redis pub/sub untuk invalidasi L1 antar node. Nonaktifkan dengan {@code
+   * app.cache.l1-invalidation=false} untuk mode single node.
+   */
+  @Bean
+  @ConditionalOnProperty(
+      name = "app.cache.l1-invalidation",
+      havingValue = "true",
+      matchIfMissing = true)
+  public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+      RedisConnectionFactory connectionFactory,
+      CacheInvalidationBus cacheInvalidationBus,
+      BackgroundThreads backgroundThreads) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.setTaskExecutor(backgroundThreads.taskExecutor("cache-invalidation"));
+    container.addMessageListener(
+        cacheInvalidationBus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+    return container;
+  }
+
+  /**
+   * Listener Redis pub/sub untuk fan-out event plafond (SSE) antar node. Nonaktifkan dengan {@code
+   * plafond-stream.redis-fanout=false} untuk mode single node.
+   */
+  @Bean
+  @ConditionalOnProperty(
+      name = "plafond-stream.redis-fanout",
+      havingValue = "true",
+      matchIfMissing = true)
+  public RedisMessageListenerContainer plafondStreamListenerContainer(
+      RedisConnectionFactory connectionFactory,
+      PlafondStreamService plafondStreamService,
+      BackgroundThreads backgroundThreads) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.setTaskExecutor(backgroundThreads.taskExecutor("plafond-stream-listener"));
+    container.addMessageListener(
+        plafondStreamService, new ChannelTopic(PlafondStreamService.CHANNEL));
+    return container;
   }
 }
@@ -0,0 +1,91 @@
+package com.example.ProjectBinar.config;
+
+import com.example.ProjectBinar.datasource.ReadYourWritesTracker;
+import com.example.ProjectBinar.datasource.ReplicaHealthMonitor;
+import com.example.ProjectBinar.datasource.ReplicaNode;
+import com.example.ProjectBinar.datasource.ReplicaProperties;
+import com.example.ProjectBinar.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Konfigurasi DataSource dengan read-replica.
+ *
+ * <p>Aktif jika app.datasource.replica.enabled=true. Primary tetap dibaca dari spring.datasource;
+ * replica dari app.datasource.replica.nodes. Tanpa property ini aplikasi memakai DataSource bawaan
+ * Spring Boot (hanya primary).
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties properties) {
+    return new ReadYourWritesTracker(properties.getStickyMs());
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      HikariDataSource primaryDataSource,
+      ReadYourWritesTracker readYourWritesTracker,
+      ReplicaProperties properties) {
+    List<ReplicaNode> replicas =
+        properties.getNodes().stream().map(ReplicaDataSourceConfig::createReplicaNode).toList();
+    return new ReplicaRoutingDataSource(
+        primaryDataSource, replicas, readYourWritesTracker, properties.getMaxLagMs());
+  }
+
+  @Bean
+  public ReplicaHealthMonitor replicaHealthMonitor(
+      HikariDataSource primaryDataSource,
+      ReplicaRoutingDataSource replicaRoutingDataSource,
+      ReadYourWritesTracker readYourWritesTracker) {
+    return new ReplicaHealthMonitor(
+        primaryDataSource, replicaRoutingDataSource.getReplicas(), readYourWritesTracker);
+  }
+
+  /**
+   * DataSource utama aplikasi. LazyConnectionDataSourceProxy menunda pengambilan connection sampai
+   * statement pertama, sehingga flag read-only transaction sudah tersedia saat routing.
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+  }
+
+  private static ReplicaNode createReplicaNode(ReplicaProperties.Node node) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName(node.getName());
+    dataSource.setJdbcUrl(node.getUrl());
+    dataSource.setUsername(node.getUsername());
+    dataSource.setPassword(node.getPassword());
+    if (node.getDriverClassName() != null) {
+      dataSource.setDriverClassName(node.getDriverClassName());
+    }
+    dataSource.setMaximumPoolSize(node.getMaximumPoolSize());
+    dataSource.setReadOnly(true);
+    // Jangan gagal startup jika replica belum bisa dihubungi
+    dataSource.setInitializationFailTimeout(-1);
+    return new ReplicaNode(node.getName(), dataSource);
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.ProjectBinar.config;
+
+import com.example.ProjectBinar.diagnostics.PhaseTimingCache;
+import com.example.ProjectBinar.diagnostics.PhaseTimingJackson2HttpMessageConverter;
+import com.example.ProjectBinar.diagnostics.RepositoryPhaseAspect;
+import com.example.ProjectBinar.diagnostics.RequestPhaseFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.cache.RedisCache;
+
+/**
+ * Breakdown fase request: event JFR dan header Server-Timing (diagnostics.request-phases.enabled).
+ *
+ * <p>Event JFR (kategori "ProjectBinar") hanya tercatat saat ada recording aktif, e.g. {@code
+ * -XX:StartFlightRecording}. Cache di-decorate langsung di {@link RedisConfig}; event JWT selalu
+ * dipancarkan oleh JwtAuthenticationFilter karena biayanya hanya pengecekan shouldCommit.
+ */
+@Configuration
+@ConditionalOnProperty(
+    prefix = "diagnostics.request-phases",
+    name = "enabled",
+    havingValue = "true")
+public class RequestPhaseConfig {
+
+  @Value("${diagnostics.request-phases.server-timing-sample-rate:0.0}")
+  private double serverTimingSampleRate;
+
+  /** Filter terluar supaya fase JWT (Spring Security) ikut terukur. */
+  @Bean
+  public FilterRegistrationBean<RequestPhaseFilter> requestPhaseFilter() {
+    FilterRegistrationBean<RequestPhaseFilter> registration =
+        new FilterRegistrationBean<>(new RequestPhaseFilter(serverTimingSampleRate));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return registration;
+  }
+
+  @Bean
+  public RepositoryPhaseAspect repositoryPhaseAspect() {
+    return new RepositoryPhaseAspect();
+  }
+
+  /** Menggantikan converter Jackson bawaan Spring Boot, dengan ObjectMapper yang sama. */
+  @Bean
+  public PhaseTimingJackson2HttpMessageConverter phaseTimingJackson2HttpMessageConverter(
+      ObjectMapper objectMapper) {
+    return new PhaseTimingJackson2HttpMessageConverter(objectMapper);
+  }
+
+  /** Metric cache.gets tetap tersedia untuk cache yang di-decorate. */
+  @Bean
+  public CacheMeterBinderProvider<PhaseTimingCache> phaseTimingCacheMeterBinderProvider() {
+    return (cache, tags) ->
+        cache.getDelegate() instanceof RedisCache redisCache
+            ? new RedisCacheMetrics(redisCache, tags)
+            : null;
+  }
+}
@@ -0,0 +1,31 @@
+package com.example.ProjectBinar.config;
+
+import javax.sql.DataSource;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
+import net.javacrumbs.shedlock.spring.annotation.EnableSchedulerLock;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Lock database untuk job {@code @Scheduled} yang hanya boleh berjalan di satu replica sekaligus
+ * (anotasi {@code @SchedulerLock}).
+ *
+ * <p>Waktu lock diambil dari jam database, bukan jam masing-masing replica. Lock ditulis di luar
+ * transaksi aplikasi (auto-commit), sehingga selalu ke primary.
+ */
+@Configuration
+@EnableSchedulerLock(defaultLockAtMostFor = "PT30M")
+public class SchedulerLockConfig {
+
+  @Bean
+  public LockProvider lockProvider(DataSource dataSource) {
+    return new JdbcTemplateLockProvider(
+        JdbcTemplateLockProvider.Configuration.builder()
+            .withJdbcTemplate(new JdbcTemplate(dataSource))
+            .withTableName("shedlock")
+            .usingDbTime()
+            .build());
+  }
+}
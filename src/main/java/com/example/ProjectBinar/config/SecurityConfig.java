@@ -1,6 +1,7 @@
 package com.example.ProjectBinar.config;
 
 import com.example.ProjectBinar.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -46,10 +47,27 @@ public class SecurityConfig {
                     .requestMatchers("/error")
                     .permitAll()
 
+                    // Actuator - health untuk Docker health check, prometheus hanya untuk akun
+                    // scraper (metric per endpoint dan per cache), sisanya BACK_OFFICE
+                    .requestMatchers("/actuator/health/**", "/actuator/info")
+                    .permitAll()
+                    .requestMatchers("/actuator/prometheus")
+                    .hasAnyRole("METRICS_SCRAPER", "BACK_OFFICE")
+                    .requestMatchers("/actuator/**")
+                    .hasRole("BACK_OFFICE")
+
+                    // Async dispatch (SSE) - request awal sudah diotorisasi
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
+
                     // Plafond - semua authenticated user bisa lihat
                     .requestMatchers(HttpMethod.GET, "/plafonds/**")
                     .authenticated()
 
+                    // Simulasi angsuran batch - semua authenticated user
+                    .requestMatchers(HttpMethod.POST, "/plafonds/simulations")
+                    .authenticated()
+
                     // Plafond management - hanya BACK_OFFICE
                     .requestMatchers(HttpMethod.POST, "/plafonds/**")
                     .hasRole("BACK_OFFICE")
@@ -62,6 +80,10 @@ public class SecurityConfig {
                     .requestMatchers("/users/**")
                     .hasRole("BACK_OFFICE")
 
+                    // Audit trail - hanya BACK_OFFICE
+                    .requestMatchers("/audits/**")
+                    .hasRole("BACK_OFFICE")
+
                     // Role management - hanya BACK_OFFICE
                     .requestMatchers("/roles/**")
                     .hasRole("BACK_OFFICE")
@@ -0,0 +1,64 @@
+package com.example.ProjectBinar.config;
+
+import com.example.ProjectBinar.diagnostics.QueryCountFilter;
+import com.example.ProjectBinar.diagnostics.QueryCountRegistry;
+import com.example.ProjectBinar.diagnostics.QueryCountingStatementInspector;
+import com.example.ProjectBinar.diagnostics.SqlDiagnosticsEndpoint;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Diagnostik SQL opt-in (diagnostics.sql.enabled=true).
+ *
+ * <p>Mengaktifkan Hibernate Statistics, slow-query log Hibernate (logger org.hibernate.SQL_SLOW,
+ * hanya statement di atas threshold), statement inspector untuk menghitung query per endpoint, dan
+ * actuator endpoint /actuator/sqldiagnostics. Jika nonaktif tidak ada bean yang dibuat dan tidak
+ * ada yang di-log.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "diagnostics.sql", name = "enabled", havingValue = "true")
+public class SqlDiagnosticsConfig {
+
+  @Value("${diagnostics.sql.slow-query-ms:500}")
+  private long slowQueryMs;
+
+  @Bean
+  public QueryCountRegistry queryCountRegistry() {
+    return new QueryCountRegistry();
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer sqlDiagnosticsHibernateCustomizer(
+      QueryCountRegistry queryCountRegistry) {
+    return properties -> {
+      properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+      properties.put(AvailableSettings.LOG_SLOW_QUERY, slowQueryMs);
+      properties.put(
+          AvailableSettings.STATEMENT_INSPECTOR,
+          new QueryCountingStatementInspector(queryCountRegistry));
+    };
+  }
+
+  /** Dijalankan sebelum Spring Security supaya query di JwtAuthenticationFilter ikut terhitung. */
+  @Bean
+  public FilterRegistrationBean<QueryCountFilter> queryCountFilter(
+      QueryCountRegistry queryCountRegistry) {
+    FilterRegistrationBean<QueryCountFilter> registration =
+        new FilterRegistrationBean<>(new QueryCountFilter(queryCountRegistry));
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+    return registration;
+  }
+
+  @Bean
+  public SqlDiagnosticsEndpoint sqlDiagnosticsEndpoint(
+      QueryCountRegistry queryCountRegistry, EntityManagerFactory entityManagerFactory) {
+    return new SqlDiagnosticsEndpoint(queryCountRegistry, entityManagerFactory, slowQueryMs);
+  }
+}
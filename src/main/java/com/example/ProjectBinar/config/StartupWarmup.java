@@ -0,0 +1,133 @@
+package com.example.ProjectBinar.config;
+
+import com.example.ProjectBinar.base.ApiResponse;
+import com.example.ProjectBinar.dto.AuthRequest;
+import com.example.ProjectBinar.dto.PlafondResponse;
+import com.example.ProjectBinar.security.JwtService;
+import com.example.ProjectBinar.service.BranchService;
+import com.example.ProjectBinar.service.PlafondService;
+import com.example.ProjectBinar.service.RoleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warm-up setelah DataInitializer dan sebelum aplikasi dinyatakan siap.
+ *
+ * <p>Spring Boot baru mengubah readiness probe menjadi ACCEPTING_TRAFFIC setelah semua runner
+ * selesai, jadi selama warm-up ini berjalan /actuator/health/readiness masih REFUSING_TRAFFIC dan
+ * load balancer belum mengirim traffic. Warm-up mengisi cache yang paling sering dibaca (plafond
+ * aktif, role, branch), lalu menjalankan jalur panas (baca cache, sign/verify JWT, serialisasi
+ * JSON) sebanyak {@code iterations} kali supaya sudah di-JIT sebelum request pertama.
+ *
+ * <p>Kegagalan warm-up hanya di-log: aplikasi tetap start, hanya tanpa cache hangat. Durasi tiap
+ * fase dicatat di metric startup.warmup{phase}.
+ */
+@Component
+@Order(StartupWarmup.ORDER)
+@RequiredArgsConstructor
+@Slf4j
+public class StartupWarmup implements ApplicationRunner {
+
+  /** Setelah {@link DataInitializer#ORDER}. */
+  static final int ORDER = DataInitializer.ORDER + 100;
+
+  private static final String SAMPLE_LOGIN = "{\"username\":\"warmup\",\"password\":\"warmup\"}";
+
+  private final PlafondService plafondService;
+  private final RoleService roleService;
+  private final BranchService branchService;
+  private final JwtService jwtService;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${startup-warmup.enabled:true}")
+  private boolean enabled;
+
+  @Value("${startup-warmup.iterations:2000}")
+  private int iterations;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (!enabled) {
+      return;
+    }
+    long start = System.nanoTime();
+    log.info("=== Startup warm-up ({} iterations) ===", iterations);
+
+    phase("cache", this::warmCaches);
+    phase("jwt", this::warmJwt);
+    phase("json", this::warmJson);
+
+    log.info(
+        "=== Startup warm-up complete in {} ms ===",
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  /** Isi cache lalu baca ulang supaya jalur cache hit (L1/Redis + deserialisasi) ikut di-JIT. */
+  private void warmCaches() {
+    for (int i = 0; i <= iterations; i++) {
+      plafondService.getActivePlafonds();
+      roleService.getAllRoles();
+      branchService.getAllBranch();
+    }
+  }
+
+  private void warmJwt() {
+    UserDetails user = User.withUsername("warmup").password("").roles("CUSTOMER").build();
+    for (int i = 0; i < iterations; i++) {
+      String token = jwtService.generateToken(user);
+      if (!jwtService.isTokenValid(token, user)) {
+        throw new IllegalStateException("Warm-up token rejected");
+      }
+    }
+  }
+
+  private void warmJson() {
+    List<PlafondResponse> activePlafonds = plafondService.getActivePlafonds();
+    ApiResponse<List<PlafondResponse>> response =
+        ApiResponse.<List<PlafondResponse>>builder()
+            .success(true)
+            .code(200)
+            .message("warm-up")
+            .data(activePlafonds)
+            .timestamp(Instant.now())
+            .build();
+    try {
+      for (int i = 0; i < iterations; i++) {
+        objectMapper.writeValueAsBytes(response);
+        objectMapper.readValue(SAMPLE_LOGIN, AuthRequest.class);
+      }
+    } catch (Exception e) {
+      throw new IllegalStateException("JSON warm-up failed", e);
+    }
+  }
+
+  private void phase(String name, Runnable phase) {
+    Timer timer =
+        Timer.builder("startup.warmup")
+            .tag("phase", name)
+            .description("Durasi warm-up sebelum aplikasi menerima traffic")
+            .register(meterRegistry);
+    long start = System.nanoTime();
+    try {
+      phase.run();
+    } catch (RuntimeException e) {
+      log.warn("Startup warm-up phase {} failed, continuing: {}", name, e.getMessage());
+    } finally {
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+}
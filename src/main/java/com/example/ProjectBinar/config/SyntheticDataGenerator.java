@@ -0,0 +1,248 @@
+package com.example.ProjectBinar.config;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generator data sintetis untuk performance test: jutaan user dan plafond langsung via JDBC batch.
+ *
+ * <p>Nonaktif secara default ({@code synthetic-data.enabled}); jangan aktifkan di production.
+ * Berjalan setelah {@link DataInitializer} dan sebelum {@link StartupWarmup}, jadi readiness baru
+ * UP setelah data selesai dibuat. Supaya cepat:
+ *
+ * <ul>
+ *   <li>Password di-hash BCrypt sekali; semua user sintetis memakai hash yang sama.
+ *   <li>Data ditulis per chunk (satu JDBC batch + satu transaksi) oleh beberapa thread paralel.
+ *   <li>user_roles diisi dengan satu INSERT ... SELECT per chunk, tanpa membaca ulang id user.
+ * </ul>
+ *
+ * <p>Nama dibuat dari nomor urut dengan panjang tetap (synth-user-0000000042), sehingga satu chunk
+ * adalah satu rentang nama. Chunk yang baris pertamanya sudah ada di-skip, jadi generator bisa
+ * dijalankan ulang (atau jumlahnya dinaikkan) tanpa duplikat.
+ */
+@Component
+@Order(SyntheticDataGenerator.ORDER)
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+  /** Setelah {@link DataInitializer#ORDER}, sebelum {@link StartupWarmup#ORDER}. */
+  static final int ORDER = DataInitializer.ORDER + 50;
+
+  static final String USER_PREFIX = "synth-user-";
+  static final String PLAFOND_PREFIX = "synth-plafond-";
+  static final String CUSTOMER_ROLE = "CUSTOMER";
+
+  static final String SELECT_ROLE_ID_SQL = "SELECT id FROM roles WHERE name = ?";
+  static final String COUNT_USER_SQL = "SELECT COUNT(*) FROM users WHERE username = ?";
+  static final String INSERT_USER_SQL =
+      "INSERT INTO users (username, email, password, is_active) VALUES (?, ?, ?, ?)";
+  static final String INSERT_USER_ROLES_SQL =
+      "INSERT INTO user_roles (user_id, role_id)"
+          + " SELECT id, ? FROM users WHERE username BETWEEN ? AND ?";
+  static final String COUNT_PLAFOND_SQL = "SELECT COUNT(*) FROM plafond WHERE name = ?";
+  static final String INSERT_PLAFOND_SQL =
+      "INSERT INTO plafond (name, description, max_amount, interest_rate, tenor_month, is_active,"
+          + " is_deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final PasswordEncoder passwordEncoder;
+  private final CacheManager cacheManager;
+  private final BackgroundThreads backgroundThreads;
+
+  @Value("${synthetic-data.enabled:false}")
+  private boolean enabled;
+
+  @Value("${synthetic-data.users:0}")
+  private long users;
+
+  @Value("${synthetic-data.plafonds:0}")
+  private long plafonds;
+
+  /** Baris per JDBC batch/transaksi. */
+  @Value("${synthetic-data.chunk-size:1000}")
+  private int chunkSize;
+
+  @Value("${synthetic-data.threads:4}")
+  private int threads;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    if (!enabled || (users <= 0 && plafonds <= 0)) {
+      return;
+    }
+    log.warn(
+        "=== Generating synthetic data: {} users, {} plafonds ({} threads, chunk {}) ===",
+        users,
+        plafonds,
+        threads,
+        chunkSize);
+    long start = System.nanoTime();
+
+    String password = passwordEncoder.encode(DataInitializer.DEFAULT_PASSWORD);
+    Long customerRoleId =
+        jdbcTemplate.queryForObject(SELECT_ROLE_ID_SQL, Long.class, CUSTOMER_ROLE);
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+    AtomicLong inserted = new AtomicLong();
+    AtomicInteger skippedChunks = new AtomicInteger();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(threads, backgroundThreads.factory("synthetic-data"));
+    try {
+      List<Future<?>> chunks = new ArrayList<>();
+      for (long from = 0; from < users; from += chunkSize) {
+        long chunkFrom = from;
+        long chunkTo = Math.min(from + chunkSize, users);
+        chunks.add(
+            executor.submit(
+                () ->
+                    record(
+                        insertUsers(chunkFrom, chunkTo, password, customerRoleId),
+                        inserted,
+                        skippedChunks)));
+      }
+      for (long from = 0; from < plafonds; from += chunkSize) {
+        long chunkFrom = from;
+        long chunkTo = Math.min(from + chunkSize, plafonds);
+        chunks.add(
+            executor.submit(
+                () -> record(insertPlafonds(chunkFrom, chunkTo, now), inserted, skippedChunks)));
+      }
+      awaitAll(chunks);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    evictCache("users");
+    evictCache("plafonds");
+    long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+    log.warn(
+        "=== Synthetic data complete: {} rows inserted, {} chunks already present, {} ms ({} rows/s)"
+            + " ===",
+        inserted.get(),
+        skippedChunks.get(),
+        elapsedMs,
+        inserted.get() * 1000 / elapsedMs);
+  }
+
+  /** Insert user [from, to) beserta role CUSTOMER dalam satu transaksi; 0 jika chunk sudah ada. */
+  int insertUsers(long from, long to, String password, Long roleId) {
+    return insertChunk(
+        COUNT_USER_SQL,
+        from,
+        to,
+        SyntheticDataGenerator::userName,
+        i -> new Object[] {userName(i), userName(i) + "@example.com", password, i % 20 != 0},
+        rows -> {
+          jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows);
+          jdbcTemplate.update(INSERT_USER_ROLES_SQL, roleId, userName(from), userName(to - 1));
+        });
+  }
+
+  /**
+   * Insert plafond [from, to) dalam satu transaksi; 0 jika chunk sudah ada. Nilai diturunkan dari
+   * nomor urut supaya limit, bunga dan tenor tersebar dan hasilnya sama di setiap run.
+   */
+  int insertPlafonds(long from, long to, Timestamp now) {
+    return insertChunk(
+        COUNT_PLAFOND_SQL,
+        from,
+        to,
+        SyntheticDataGenerator::plafondName,
+        i ->
+            new Object[] {
+              plafondName(i),
+              "Plafond sintetis untuk performance test",
+              BigDecimal.valueOf(5_000_000L + (i % 200) * 1_000_000L),
+              BigDecimal.valueOf(800 + i % 800, 2),
+              6 * (int) (1 + i % 10),
+              i % 10 != 0,
+              false,
+              now,
+              now
+            },
+        rows -> jdbcTemplate.batchUpdate(INSERT_PLAFOND_SQL, rows));
+  }
+
+  private int insertChunk(
+      String countSql,
+      long from,
+      long to,
+      LongFunction<String> name,
+      LongFunction<Object[]> row,
+      Consumer<List<Object[]>> writer) {
+    Integer count =
+        transactionTemplate.execute(
+            status -> {
+              Long existing = jdbcTemplate.queryForObject(countSql, Long.class, name.apply(from));
+              if (existing != null && existing > 0) {
+                return 0;
+              }
+              List<Object[]> rows = new ArrayList<>((int) (to - from));
+              for (long i = from; i < to; i++) {
+                rows.add(row.apply(i));
+              }
+              writer.accept(rows);
+              return rows.size();
+            });
+    return count == null ? 0 : count;
+  }
+
+  private static void record(int rows, AtomicLong inserted, AtomicInteger skippedChunks) {
+    if (rows == 0) {
+      skippedChunks.incrementAndGet();
+    } else {
+      inserted.addAndGet(rows);
+    }
+  }
+
+  private static void awaitAll(List<Future<?>> chunks) throws InterruptedException {
+    for (Future<?> chunk : chunks) {
+      try {
+        chunk.get();
+      } catch (ExecutionException e) {
+        chunks.forEach(remaining -> remaining.cancel(true));
+        throw new IllegalStateException("Synthetic data generation failed", e.getCause());
+      }
+    }
+  }
+
+  private void evictCache(String name) {
+    Cache cache = cacheManager.getCache(name);
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  static String userName(long index) {
+    return USER_PREFIX + String.format("%010d", index);
+  }
+
+  static String plafondName(long index) {
+    return PLAFOND_PREFIX + String.format("%010d", index);
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.ProjectBinar.controller;
+
+import com.example.ProjectBinar.base.ApiResponse;
+import com.example.ProjectBinar.dto.AuditLogResponse;
+import com.example.ProjectBinar.service.AuditService;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller untuk audit trail.
+ *
+ * <p>Base URL: /audits. Hanya dapat diakses oleh BACK_OFFICE.
+ */
+@RestController
+@RequestMapping("/audits")
+@RequiredArgsConstructor
+public class AuditController {
+
+  private final AuditService auditService;
+
+  /**
+   * GET /audits/{entityType}/{entityId} - Riwayat perubahan satu entity, terbaru lebih dulu.
+   *
+   * <p>entityType: PLAFOND, USER, atau BRANCH. Query Parameters: - page: Nomor halaman (default: 0)
+   * - size: Jumlah item per halaman (default: 20, maksimal: 100)
+   *
+   * <p>Contoh: GET /audits/PLAFOND/1?page=0&size=20
+   */
+  @GetMapping("/{entityType}/{entityId}")
+  public ResponseEntity<ApiResponse<Page<AuditLogResponse>>> getHistory(
+      @PathVariable String entityType,
+      @PathVariable String entityId,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "20") int size) {
+    try {
+      Page<AuditLogResponse> history = auditService.getHistory(entityType, entityId, page, size);
+
+      ApiResponse<Page<AuditLogResponse>> response =
+          ApiResponse.<Page<AuditLogResponse>>builder()
+              .success(true)
+              .code(HttpStatus.OK.value())
+              .message("Riwayat audit berhasil diambil")
+              .data(history)
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.ok(response);
+    } catch (IllegalArgumentException e) {
+      ApiResponse<Page<AuditLogResponse>> response =
+          ApiResponse.<Page<AuditLogResponse>>builder()
+              .success(false)
+              .code(HttpStatus.BAD_REQUEST.value())
+              .message(e.getMessage())
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+  }
+}
@@ -2,17 +2,25 @@ package com.example.ProjectBinar.controller;
 
 import com.example.ProjectBinar.base.ApiResponse;
 import com.example.ProjectBinar.dto.CreatePlafondRequest;
+import com.example.ProjectBinar.dto.LoanSimulationRequest;
+import com.example.ProjectBinar.dto.LoanSimulationResponse;
+import com.example.ProjectBinar.dto.PlafondChangesResponse;
 import com.example.ProjectBinar.dto.PlafondResponse;
 import com.example.ProjectBinar.dto.UpdatePlafondRequest;
+import com.example.ProjectBinar.service.LoanSimulationService;
 import com.example.ProjectBinar.service.PlafondService;
+import com.example.ProjectBinar.service.PlafondStreamService;
+import com.example.ProjectBinar.simulation.InstallmentMethod;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST Controller untuk Plafond.
@@ -25,6 +33,8 @@ import org.springframework.web.bind.annotation.*;
 public class PlafondController {
 
   private final PlafondService plafondService;
+  private final LoanSimulationService loanSimulationService;
+  private final PlafondStreamService plafondStreamService;
 
   /**
    * POST /plafonds - Membuat plafond baru.
@@ -105,6 +115,100 @@ public class PlafondController {
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * GET /plafonds/stream - Server-Sent Events untuk perubahan plafond (created, updated, deleted).
+   *
+   * <p>Setiap event memiliki id global; saat reconnect, browser otomatis mengirim header
+   * Last-Event-ID dan event yang terlewat akan dikirim ulang. Jika event sudah tidak tersedia,
+   * server mengirim event "resync" dan client sebaiknya memanggil GET /plafonds/changes.
+   */
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamPlafondChanges(
+      @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+    return plafondStreamService.subscribe(lastEventId);
+  }
+
+  /**
+   * GET /plafonds/changes - Delta-sync: perubahan plafond setelah cursor tertentu.
+   *
+   * <p>Query Parameters: - since: Cursor dari response sebelumnya (kosong untuk sinkronisasi penuh)
+   * - limit: Jumlah maksimal perubahan (default: 500, maksimal: 1000)
+   *
+   * <p>Plafond yang dihapus dikirim sebagai tombstone (deleted = true). Ulangi request dengan
+   * nextCursor selama hasMore = true.
+   */
+  @GetMapping("/changes")
+  public ResponseEntity<ApiResponse<PlafondChangesResponse>> getPlafondChanges(
+      @RequestParam(required = false) String since, @RequestParam(defaultValue = "500") int limit) {
+    try {
+      PlafondChangesResponse changes = plafondService.getPlafondChanges(since, limit);
+
+      ApiResponse<PlafondChangesResponse> response =
+          ApiResponse.<PlafondChangesResponse>builder()
+              .success(true)
+              .code(HttpStatus.OK.value())
+              .message("Perubahan data plafond berhasil diambil")
+              .data(changes)
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.ok(response);
+    } catch (IllegalArgumentException e) {
+      ApiResponse<PlafondChangesResponse> response =
+          ApiResponse.<PlafondChangesResponse>builder()
+              .success(false)
+              .code(HttpStatus.BAD_REQUEST.value())
+              .message(e.getMessage())
+              .data(null)
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+  }
+
+  /**
+   * GET /plafonds/eligible - Mendapatkan plafond aktif yang bisa diambil untuk jumlah dan tenor
+   * tertentu, diurutkan dari suku bunga terendah.
+   *
+   * <p>Query Parameters: - amount: Jumlah pinjaman (wajib) - tenorMonth: Tenor dalam bulan (wajib)
+   * - limit: Jumlah maksimal hasil (default: 10)
+   *
+   * <p>Contoh: GET /plafonds/eligible?amount=20000000&tenorMonth=12
+   */
+  @GetMapping("/eligible")
+  public ResponseEntity<ApiResponse<List<PlafondResponse>>> getEligiblePlafonds(
+      @RequestParam BigDecimal amount,
+      @RequestParam Integer tenorMonth,
+      @RequestParam(defaultValue = "10") int limit) {
+    try {
+      List<PlafondResponse> plafonds =
+          plafondService.getEligiblePlafonds(amount, tenorMonth, limit);
+
+      ApiResponse<List<PlafondResponse>> response =
+          ApiResponse.<List<PlafondResponse>>builder()
+              .success(true)
+              .code(HttpStatus.OK.value())
+              .message("Data plafond yang memenuhi syarat berhasil diambil")
+              .data(plafonds)
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.ok(response);
+    } catch (IllegalArgumentException e) {
+      ApiResponse<List<PlafondResponse>> response =
+          ApiResponse.<List<PlafondResponse>>builder()
+              .success(false)
+              .code(HttpStatus.BAD_REQUEST.value())
+              .message(e.getMessage())
+              .data(null)
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+  }
+
   /** GET /plafonds/{id} - Mendapatkan plafond berdasarkan ID. */
   @GetMapping("/{id}")
   public ResponseEntity<ApiResponse<PlafondResponse>> getPlafondById(@PathVariable Long id) {
@@ -136,6 +240,93 @@ public class PlafondController {
             });
   }
 
+  /**
+   * GET /plafonds/{id}/simulation - Simulasi angsuran pinjaman untuk plafond tertentu.
+   *
+   * <p>Query Parameters: - amount: Jumlah pinjaman (wajib, maksimal maxAmount plafond) -
+   * tenorMonth: Tenor dalam bulan (default: tenor plafond) - method: FLAT atau ANNUITY (default:
+   * ANNUITY)
+   *
+   * <p>Contoh: GET /plafonds/1/simulation?amount=5000000&tenorMonth=12&method=FLAT
+   */
+  @GetMapping("/{id}/simulation")
+  public ResponseEntity<ApiResponse<LoanSimulationResponse>> simulateLoan(
+      @PathVariable Long id,
+      @RequestParam BigDecimal amount,
+      @RequestParam(required = false) Integer tenorMonth,
+      @RequestParam(required = false) InstallmentMethod method) {
+    try {
+      LoanSimulationRequest request =
+          LoanSimulationRequest.builder()
+              .plafondId(id)
+              .amount(amount)
+              .tenorMonth(tenorMonth)
+              .method(method)
+              .build();
+      LoanSimulationResponse simulation = loanSimulationService.simulate(id, request);
+
+      ApiResponse<LoanSimulationResponse> response =
+          ApiResponse.<LoanSimulationResponse>builder()
+              .success(true)
+              .code(HttpStatus.OK.value())
+              .message("Simulasi angsuran berhasil dihitung")
+              .data(simulation)
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.ok(response);
+    } catch (IllegalArgumentException e) {
+      ApiResponse<LoanSimulationResponse> response =
+          ApiResponse.<LoanSimulationResponse>builder()
+              .success(false)
+              .code(HttpStatus.BAD_REQUEST.value())
+              .message(e.getMessage())
+              .data(null)
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+  }
+
+  /**
+   * POST /plafonds/simulations - Simulasi angsuran untuk banyak request sekaligus.
+   *
+   * <p>Request body: [ { "plafondId": 1, "amount": 5000000, "tenorMonth": 12, "method": "FLAT" },
+   * ... ]. Query parameter includeSchedule (default: false) untuk menyertakan jadwal per bulan.
+   */
+  @PostMapping("/simulations")
+  public ResponseEntity<ApiResponse<List<LoanSimulationResponse>>> simulateLoans(
+      @RequestBody List<LoanSimulationRequest> requests,
+      @RequestParam(defaultValue = "false") boolean includeSchedule) {
+    try {
+      List<LoanSimulationResponse> simulations =
+          loanSimulationService.simulateBatch(requests, includeSchedule);
+
+      ApiResponse<List<LoanSimulationResponse>> response =
+          ApiResponse.<List<LoanSimulationResponse>>builder()
+              .success(true)
+              .code(HttpStatus.OK.value())
+              .message("Simulasi angsuran berhasil dihitung")
+              .data(simulations)
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.ok(response);
+    } catch (IllegalArgumentException e) {
+      ApiResponse<List<LoanSimulationResponse>> response =
+          ApiResponse.<List<LoanSimulationResponse>>builder()
+              .success(false)
+              .code(HttpStatus.BAD_REQUEST.value())
+              .message(e.getMessage())
+              .data(null)
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+  }
+
   /**
    * PUT /plafonds/{id} - Update plafond berdasarkan ID.
    *
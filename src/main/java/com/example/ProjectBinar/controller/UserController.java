@@ -1,13 +1,26 @@
 package com.example.ProjectBinar.controller;
 
+import com.example.ProjectBinar.base.ApiResponse;
 import com.example.ProjectBinar.dto.CreateUserRequest;
+import com.example.ProjectBinar.dto.UserPageResponse;
+import com.example.ProjectBinar.dto.UserProvisioningJobResponse;
+import com.example.ProjectBinar.dto.UserSummaryResponse;
 import com.example.ProjectBinar.entity.User;
+import com.example.ProjectBinar.service.UserProvisioningService;
 import com.example.ProjectBinar.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
  * REST Controller untuk User.
@@ -20,20 +33,58 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class UserController {
 
+  /** Perkiraan kasar sampai slot antrian bulk provisioning kosong kembali. */
+  private static final String BULK_RETRY_AFTER_SECONDS = "30";
+
   private final UserService userService;
+  private final UserProvisioningService userProvisioningService;
 
   /**
-   * GET /users - Mendapatkan semua user beserta role-nya.
+   * GET /users - Mendapatkan daftar user dengan pagination, sorting, dan filtering.
+   *
+   * <p>Query Parameters: - page: Nomor halaman (default: 0) - size: Jumlah item per halaman
+   * (default: 20, maksimal: 100) - sortBy: id, username, email, atau isActive (default: id) -
+   * sortDir: asc/desc (default: asc) - role: Filter berdasarkan nama role - isActive: Filter
+   * berdasarkan status aktif - username: Filter username yang diawali teks ini
    *
-   * <p>Karena FetchType.EAGER pada relasi roles, role akan otomatis di-load bersama user.
+   * <p>Contoh: GET /users?role=BACK_OFFICE&isActive=true&username=adm&page=0&size=20
    *
-   * @return List of User dengan roles dalam format JSON
+   * @return Halaman user dalam format ringkas (tanpa password)
    */
   @GetMapping
-  public ResponseEntity<List<User>> getAllUsers() {
-    List<User> users = userService.getAllUsers();
+  public ResponseEntity<ApiResponse<UserPageResponse>> getUsers(
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(defaultValue = "id") String sortBy,
+      @RequestParam(defaultValue = "asc") String sortDir,
+      @RequestParam(required = false) String role,
+      @RequestParam(required = false) Boolean isActive,
+      @RequestParam(required = false) String username) {
+    try {
+      UserPageResponse users =
+          userService.getUsers(page, size, sortBy, sortDir, role, isActive, username);
+
+      ApiResponse<UserPageResponse> response =
+          ApiResponse.<UserPageResponse>builder()
+              .success(true)
+              .code(HttpStatus.OK.value())
+              .message("Data user berhasil diambil")
+              .data(users)
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.ok(response);
+    } catch (IllegalArgumentException e) {
+      ApiResponse<UserPageResponse> response =
+          ApiResponse.<UserPageResponse>builder()
+              .success(false)
+              .code(HttpStatus.BAD_REQUEST.value())
+              .message(e.getMessage())
+              .timestamp(Instant.now())
+              .build();
 
-    return ResponseEntity.ok(users);
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
   }
 
   /**
@@ -56,4 +107,132 @@ public class UserController {
     User createdUser = userService.createUser(user);
     return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
   }
+
+  /**
+   * POST /users/bulk - Membuat banyak user sekaligus (onboarding cabang).
+   *
+   * <p>Body berupa JSON array atau NDJSON (Content-Type: application/x-ndjson), satu user per
+   * baris: { "username": "john", "email": "john@example.com", "password": "secret", "isActive":
+   * true, "roles": ["CUSTOMER"] }
+   *
+   * <p>Diproses di background; response 202 berisi job id dan header Location ke endpoint status.
+   *
+   * @return Status awal job, 400 jika body tidak valid, atau 503 jika antrian job penuh
+   */
+  @PostMapping(
+      value = "/bulk",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<ApiResponse<UserProvisioningJobResponse>> bulkCreateUsers(
+      HttpServletRequest request) throws IOException {
+    try {
+      UserProvisioningJobResponse job = userProvisioningService.submit(request.getInputStream());
+      URI location =
+          ServletUriComponentsBuilder.fromCurrentRequestUri()
+              .path("/{jobId}")
+              .buildAndExpand(job.getJobId())
+              .toUri();
+
+      ApiResponse<UserProvisioningJobResponse> response =
+          ApiResponse.<UserProvisioningJobResponse>builder()
+              .success(true)
+              .code(HttpStatus.ACCEPTED.value())
+              .message("Bulk provisioning " + job.getTotal() + " user dijadwalkan")
+              .data(job)
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.accepted().location(location).body(response);
+    } catch (IllegalArgumentException e) {
+      ApiResponse<UserProvisioningJobResponse> response =
+          ApiResponse.<UserProvisioningJobResponse>builder()
+              .success(false)
+              .code(HttpStatus.BAD_REQUEST.value())
+              .message(e.getMessage())
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    } catch (RejectedExecutionException e) {
+      ApiResponse<UserProvisioningJobResponse> response =
+          ApiResponse.<UserProvisioningJobResponse>builder()
+              .success(false)
+              .code(HttpStatus.SERVICE_UNAVAILABLE.value())
+              .message(e.getMessage())
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, BULK_RETRY_AFTER_SECONDS)
+          .body(response);
+    }
+  }
+
+  /**
+   * GET /users/bulk/{jobId} - Progress dan error per baris dari job bulk provisioning.
+   *
+   * @return Status job, atau 404 jika job tidak dikenal/sudah kedaluwarsa
+   */
+  @GetMapping("/bulk/{jobId}")
+  public ResponseEntity<ApiResponse<UserProvisioningJobResponse>> getBulkJob(
+      @PathVariable String jobId) {
+    return userProvisioningService
+        .getJob(jobId)
+        .map(
+            job ->
+                ResponseEntity.ok(
+                    ApiResponse.<UserProvisioningJobResponse>builder()
+                        .success(true)
+                        .code(HttpStatus.OK.value())
+                        .message("Status bulk provisioning berhasil diambil")
+                        .data(job)
+                        .timestamp(Instant.now())
+                        .build()))
+        .orElseGet(
+            () ->
+                ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(
+                        ApiResponse.<UserProvisioningJobResponse>builder()
+                            .success(false)
+                            .code(HttpStatus.NOT_FOUND.value())
+                            .message("Job " + jobId + " tidak ditemukan")
+                            .timestamp(Instant.now())
+                            .build()));
+  }
+
+  /**
+   * PUT /users/{id}/roles - Mengganti role milik user.
+   *
+   * <p>Contoh request body: ["BACK_OFFICE", "BRANCH_MANAGER"]
+   *
+   * @return User dengan role terbaru (tanpa password), atau 400 jika user/role tidak ditemukan
+   */
+  @PutMapping("/{id}/roles")
+  public ResponseEntity<ApiResponse<UserSummaryResponse>> updateUserRoles(
+      @PathVariable Long id, @RequestBody List<String> roleNames) {
+    try {
+      UserSummaryResponse user =
+          UserSummaryResponse.fromEntity(userService.updateUserRoles(id, roleNames));
+
+      ApiResponse<UserSummaryResponse> response =
+          ApiResponse.<UserSummaryResponse>builder()
+              .success(true)
+              .code(HttpStatus.OK.value())
+              .message("Role user berhasil diperbarui")
+              .data(user)
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.ok(response);
+    } catch (IllegalArgumentException e) {
+      ApiResponse<UserSummaryResponse> response =
+          ApiResponse.<UserSummaryResponse>builder()
+              .success(false)
+              .code(HttpStatus.BAD_REQUEST.value())
+              .message(e.getMessage())
+              .timestamp(Instant.now())
+              .build();
+
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+  }
 }
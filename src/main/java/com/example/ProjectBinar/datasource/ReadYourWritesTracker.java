@@ -0,0 +1,54 @@
+package com.example.ProjectBinar.datasource;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Mencatat waktu write terakhir per user untuk read-your-writes stickiness.
+ *
+ * <p>Selama sticky-ms setelah write, read-only transaction dari user yang sama dikirim ke primary
+ * sehingga user selalu melihat perubahannya sendiri walaupun replica masih tertinggal.
+ */
+public class ReadYourWritesTracker {
+
+  private final ConcurrentHashMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+  private final long stickyNanos;
+
+  public ReadYourWritesTracker(long stickyMs) {
+    this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(stickyMs);
+  }
+
+  /** Catat write oleh user yang sedang login (no-op untuk request anonymous). */
+  public void recordWrite() {
+    String user = currentUser();
+    if (user != null) {
+      lastWriteNanos.put(user, System.nanoTime());
+    }
+  }
+
+  /** True jika user yang sedang login melakukan write dalam jendela sticky-ms terakhir. */
+  public boolean isSticky() {
+    String user = currentUser();
+    if (user == null) {
+      return false;
+    }
+    Long last = lastWriteNanos.get(user);
+    return last != null && System.nanoTime() - last < stickyNanos;
+  }
+
+  /** Hapus entry yang sudah melewati jendela sticky. */
+  public void evictExpired() {
+    long now = System.nanoTime();
+    lastWriteNanos.values().removeIf(last -> now - last >= stickyNanos);
+  }
+
+  private static String currentUser() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !authentication.isAuthenticated()) {
+      return null;
+    }
+    return authentication.getName();
+  }
+}
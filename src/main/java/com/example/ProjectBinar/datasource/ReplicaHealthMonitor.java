@@ -0,0 +1,88 @@
+package com.example.ProjectBinar.datasource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Mengukur lag dan health replica dengan heartbeat.
+ *
+ * <p>Setiap health-check-ms: baca beat_at di setiap replica dan bandingkan dengan beat terakhir
+ * yang ditulis ke primary, lalu tulis beat baru ke primary. Replica yang tidak bisa dihubungi atau
+ * belum punya baris heartbeat ditandai tidak sehat.
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+  static final String SELECT_BEAT_SQL = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+  static final String UPDATE_BEAT_SQL = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1";
+  static final String INSERT_BEAT_SQL =
+      "INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)";
+
+  private final JdbcTemplate primaryJdbcTemplate;
+  private final List<ReplicaNode> replicas;
+  private final ReadYourWritesTracker writeTracker;
+
+  private volatile LocalDateTime lastPrimaryBeat;
+
+  public ReplicaHealthMonitor(
+      DataSource primary, List<ReplicaNode> replicas, ReadYourWritesTracker writeTracker) {
+    this.primaryJdbcTemplate = new JdbcTemplate(primary);
+    this.replicas = replicas;
+    this.writeTracker = writeTracker;
+  }
+
+  @Scheduled(
+      fixedDelayString = "${app.datasource.replica.health-check-ms:1000}",
+      initialDelayString = "${app.datasource.replica.health-check-ms:1000}")
+  public void check() {
+    LocalDateTime reference = lastPrimaryBeat;
+    for (ReplicaNode replica : replicas) {
+      probe(replica, reference);
+    }
+    writePrimaryBeat();
+    writeTracker.evictExpired();
+  }
+
+  private void probe(ReplicaNode replica, LocalDateTime reference) {
+    try {
+      List<Timestamp> beats =
+          new JdbcTemplate(replica.getDataSource()).queryForList(SELECT_BEAT_SQL, Timestamp.class);
+      if (beats.isEmpty() || reference == null) {
+        // Belum ada pembanding: jangan dipakai dulu
+        replica.markUnhealthy();
+        return;
+      }
+      long lagMs = Duration.between(beats.get(0).toLocalDateTime(), reference).toMillis();
+      boolean wasHealthy = replica.isHealthy();
+      replica.markHealthy(Math.max(0, lagMs));
+      if (!wasHealthy) {
+        log.info("Replica {} is healthy (lag {} ms)", replica.getName(), replica.getLagMs());
+      }
+    } catch (Exception e) {
+      if (replica.isHealthy()) {
+        log.warn("Replica {} health check failed: {}", replica.getName(), e.getMessage());
+      }
+      replica.markUnhealthy();
+    }
+  }
+
+  private void writePrimaryBeat() {
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    try {
+      Timestamp beat = Timestamp.valueOf(now);
+      if (primaryJdbcTemplate.update(UPDATE_BEAT_SQL, beat) == 0) {
+        primaryJdbcTemplate.update(INSERT_BEAT_SQL, beat);
+      }
+      lastPrimaryBeat = now;
+    } catch (Exception e) {
+      log.warn("Failed to write replication heartbeat to primary: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.example.ProjectBinar.datasource;
+
+import javax.sql.DataSource;
+import lombok.Getter;
+
+/** Satu replica beserta status health dan lag terakhir dari {@link ReplicaHealthMonitor}. */
+@Getter
+public class ReplicaNode {
+
+  private final String name;
+  private final DataSource dataSource;
+
+  /** Replica baru dianggap belum sehat sampai health check pertama berhasil. */
+  private volatile boolean healthy;
+
+  private volatile long lagMs = -1;
+
+  public ReplicaNode(String name, DataSource dataSource) {
+    this.name = name;
+    this.dataSource = dataSource;
+  }
+
+  void markHealthy(long lagMs) {
+    this.lagMs = lagMs;
+    this.healthy = true;
+  }
+
+  void markUnhealthy() {
+    this.healthy = false;
+  }
+}
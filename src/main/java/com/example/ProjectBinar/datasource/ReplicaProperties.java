@@ -0,0 +1,55 @@
+package com.example.ProjectBinar.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Konfigurasi read-replica (prefix app.datasource.replica).
+ *
+ * <p>Contoh:
+ *
+ * <pre>
+ * app:
+ *   datasource:
+ *     replica:
+ *       enabled: true
+ *       max-lag-ms: 5000
+ *       sticky-ms: 10000
+ *       nodes:
+ *         - name: replica-1
+ *           url: jdbc:sqlserver://replica1:1433;databaseName=loanProjectData
+ *           username: sa
+ *           password: secret
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+
+  /** Aktifkan routing read-only transaction ke replica. */
+  private boolean enabled = false;
+
+  /** Replica dengan lag lebih besar dari ini tidak dipakai sampai tertinggal lebih sedikit. */
+  private long maxLagMs = 5000;
+
+  /** Setelah user melakukan write, read-only transaction user tersebut tetap ke primary. */
+  private long stickyMs = 10000;
+
+  /** Interval heartbeat primary dan pengecekan lag/health replica. */
+  private long healthCheckMs = 1000;
+
+  private List<Node> nodes = new ArrayList<>();
+
+  /** Satu replica. */
+  @Data
+  public static class Node {
+    private String name;
+    private String url;
+    private String username;
+    private String password;
+    private String driverClassName;
+    private int maximumPoolSize = 10;
+  }
+}
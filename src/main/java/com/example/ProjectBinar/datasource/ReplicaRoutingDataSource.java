@@ -0,0 +1,198 @@
+package com.example.ProjectBinar.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource yang mengarahkan read-only transaction ke replica.
+ *
+ * <p>Aturan routing saat connection diambil:
+ *
+ * <ul>
+ *   <li>Transaction read-write (atau tanpa transaction) → primary. User baru dicatat sebagai write
+ *       (sticky) jika connection benar-benar menjalankan INSERT/UPDATE/DELETE, dan untuk
+ *       transaction baru setelah commit; transaction yang hanya membaca atau di-rollback tidak
+ *       membuat user sticky.
+ *   <li>Read-only transaction dari user yang baru saja write (sticky) → primary.
+ *   <li>Read-only transaction lainnya → replica sehat dengan lag di bawah batas, round-robin.
+ *   <li>Replica gagal memberi connection → ditandai tidak sehat, coba replica berikutnya, lalu
+ *       primary.
+ * </ul>
+ *
+ * <p>Harus dibungkus {@code LazyConnectionDataSourceProxy} supaya connection baru diambil setelah
+ * flag read-only transaction di-set oleh transaction manager.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+  private final DataSource primary;
+  private final List<ReplicaNode> replicas;
+  private final ReadYourWritesTracker writeTracker;
+  private final long maxLagMs;
+  private final AtomicInteger nextReplica = new AtomicInteger();
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      List<ReplicaNode> replicas,
+      ReadYourWritesTracker writeTracker,
+      long maxLagMs) {
+    this.primary = primary;
+    this.replicas = List.copyOf(replicas);
+    this.writeTracker = writeTracker;
+    this.maxLagMs = maxLagMs;
+  }
+
+  public List<ReplicaNode> getReplicas() {
+    return replicas;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    boolean readOnly =
+        TransactionSynchronizationManager.isActualTransactionActive()
+            && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    if (!readOnly) {
+      return trackWrites(primary.getConnection());
+    }
+    if (replicas.isEmpty() || writeTracker.isSticky()) {
+      return primary.getConnection();
+    }
+
+    int size = replicas.size();
+    int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+    for (int i = 0; i < size; i++) {
+      ReplicaNode replica = replicas.get((start + i) % size);
+      if (!isUsable(replica)) {
+        continue;
+      }
+      try {
+        return replica.getDataSource().getConnection();
+      } catch (SQLException e) {
+        log.warn(
+            "Replica {} unavailable, marking unhealthy: {}", replica.getName(), e.getMessage());
+        replica.markUnhealthy();
+      }
+    }
+    return primary.getConnection();
+  }
+
+  /**
+   * Credential eksplisit hanya berlaku untuk primary (replica memakai credential pool-nya sendiri),
+   * jadi request ini selalu ke primary.
+   */
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return trackWrites(primary.getConnection(username, password));
+  }
+
+  /** Tutup connection pool replica. Pool primary dikelola sebagai bean terpisah. */
+  @Override
+  public void close() throws Exception {
+    for (ReplicaNode replica : replicas) {
+      if (replica.getDataSource() instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+  }
+
+  /**
+   * Bungkus connection primary supaya statement write pertama mencatat stickiness: setelah commit
+   * jika ada transaction, atau langsung untuk auto-commit.
+   */
+  private Connection trackWrites(Connection connection) {
+    Runnable onWrite;
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      WriteDetectingHandler.Flag wrote = new WriteDetectingHandler.Flag();
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              if (wrote.value) {
+                writeTracker.recordWrite();
+              }
+            }
+          });
+      onWrite = () -> wrote.value = true;
+    } else {
+      onWrite = writeTracker::recordWrite;
+    }
+    return WriteDetectingHandler.proxy(connection, Connection.class, onWrite);
+  }
+
+  private boolean isUsable(ReplicaNode replica) {
+    return replica.isHealthy() && replica.getLagMs() >= 0 && replica.getLagMs() <= maxLagMs;
+  }
+
+  /**
+   * Proxy Connection/Statement yang memanggil onWrite untuk SQL selain SELECT. SQL dilihat saat
+   * prepareStatement/prepareCall (Hibernate, JdbcTemplate) atau saat execute/addBatch pada
+   * Statement biasa.
+   */
+  static final class WriteDetectingHandler implements InvocationHandler {
+
+    /** Flag per transaction; hanya dibaca dan ditulis oleh thread transaction itu sendiri. */
+    static final class Flag {
+      boolean value;
+    }
+
+    private final Object target;
+    private final Runnable onWrite;
+
+    private WriteDetectingHandler(Object target, Runnable onWrite) {
+      this.target = target;
+      this.onWrite = onWrite;
+    }
+
+    static <T> T proxy(T target, Class<T> type, Runnable onWrite) {
+      return type.cast(
+          Proxy.newProxyInstance(
+              type.getClassLoader(),
+              new Class<?>[] {type},
+              new WriteDetectingHandler(target, onWrite)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (args != null
+          && args.length > 0
+          && args[0] instanceof String sql
+          && (name.startsWith("prepare") || name.startsWith("execute") || name.equals("addBatch"))
+          && isWrite(sql)) {
+        onWrite.run();
+      }
+      Object result;
+      try {
+        result = method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+      if (name.equals("createStatement") && result instanceof Statement statement) {
+        return proxy(statement, Statement.class, onWrite);
+      }
+      return result;
+    }
+
+    /** Konservatif: semua SQL yang bukan SELECT (termasuk CTE dan EXEC) dianggap write. */
+    static boolean isWrite(String sql) {
+      String trimmed = sql.stripLeading();
+      while (trimmed.startsWith("/*") && trimmed.contains("*/")) {
+        trimmed = trimmed.substring(trimmed.indexOf("*/") + 2).stripLeading();
+      }
+      return !trimmed.toLowerCase(Locale.ROOT).startsWith("select");
+    }
+  }
+}
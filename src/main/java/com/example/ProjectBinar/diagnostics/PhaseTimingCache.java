@@ -0,0 +1,131 @@
+package com.example.ProjectBinar.diagnostics;
+
+import com.example.ProjectBinar.diagnostics.jfr.CacheAccessEvent;
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+
+/**
+ * Decorator {@link Cache} yang mengukur fase cache (get, put, evict, clear) dan memancarkan {@link
+ * CacheAccessEvent}.
+ */
+public class PhaseTimingCache implements Cache {
+
+  private final Cache delegate;
+
+  public PhaseTimingCache(Cache delegate) {
+    this.delegate = delegate;
+  }
+
+  public Cache getDelegate() {
+    return delegate;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return delegate.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    long start = System.nanoTime();
+    ValueWrapper value = delegate.get(key);
+    finish(event, start, "get", value != null);
+    return value;
+  }
+
+  @Override
+  public <T> T get(Object key, Class<T> type) {
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    long start = System.nanoTime();
+    T value = delegate.get(key, type);
+    finish(event, start, "get", value != null);
+    return value;
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    // Loader (query database) ikut terukur di sini; fase DB tetap tercatat terpisah
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    long start = System.nanoTime();
+    T value = delegate.get(key, valueLoader);
+    finish(event, start, "get-or-load", true);
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    long start = System.nanoTime();
+    delegate.put(key, value);
+    finish(event, start, "put", false);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    long start = System.nanoTime();
+    ValueWrapper existing = delegate.putIfAbsent(key, value);
+    finish(event, start, "put", existing != null);
+    return existing;
+  }
+
+  @Override
+  public void evict(Object key) {
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    long start = System.nanoTime();
+    delegate.evict(key);
+    finish(event, start, "evict", false);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    long start = System.nanoTime();
+    boolean evicted = delegate.evictIfPresent(key);
+    finish(event, start, "evict", evicted);
+    return evicted;
+  }
+
+  @Override
+  public void clear() {
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    long start = System.nanoTime();
+    delegate.clear();
+    finish(event, start, "clear", false);
+  }
+
+  @Override
+  public boolean invalidate() {
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    long start = System.nanoTime();
+    boolean invalidated = delegate.invalidate();
+    finish(event, start, "clear", invalidated);
+    return invalidated;
+  }
+
+  private void finish(CacheAccessEvent event, long start, String operation, boolean hit) {
+    RequestPhaseTimer.record(RequestPhase.CACHE, System.nanoTime() - start);
+    event.end();
+    if (event.shouldCommit()) {
+      event.cacheName = delegate.getName();
+      event.operation = operation;
+      event.hit = hit;
+      event.commit();
+    }
+  }
+}
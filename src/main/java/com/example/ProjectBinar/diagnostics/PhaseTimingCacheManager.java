@@ -0,0 +1,34 @@
+package com.example.ProjectBinar.diagnostics;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/** Decorator {@link CacheManager} yang membungkus setiap cache dengan {@link PhaseTimingCache}. */
+public class PhaseTimingCacheManager implements CacheManager {
+
+  private final CacheManager delegate;
+  private final ConcurrentHashMap<String, PhaseTimingCache> caches = new ConcurrentHashMap<>();
+
+  public PhaseTimingCacheManager(CacheManager delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Cache getCache(String name) {
+    PhaseTimingCache cache = caches.get(name);
+    if (cache != null) {
+      return cache;
+    }
+    Cache target = delegate.getCache(name);
+    return target == null
+        ? null
+        : caches.computeIfAbsent(name, key -> new PhaseTimingCache(target));
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return delegate.getCacheNames();
+  }
+}
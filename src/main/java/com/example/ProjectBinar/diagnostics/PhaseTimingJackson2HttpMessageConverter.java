@@ -0,0 +1,35 @@
+package com.example.ProjectBinar.diagnostics;
+
+import com.example.ProjectBinar.diagnostics.jfr.JsonSerializationEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/** Converter Jackson yang mengukur fase serialisasi JSON response. */
+public class PhaseTimingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+  public PhaseTimingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+    super(objectMapper);
+  }
+
+  @Override
+  protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+      throws IOException, HttpMessageNotWritableException {
+    JsonSerializationEvent event = new JsonSerializationEvent();
+    event.begin();
+    long start = System.nanoTime();
+    try {
+      super.writeInternal(object, type, outputMessage);
+    } finally {
+      RequestPhaseTimer.record(RequestPhase.JSON, System.nanoTime() - start);
+      event.end();
+      if (event.shouldCommit()) {
+        event.type = object == null ? "null" : object.getClass().getSimpleName();
+        event.commit();
+      }
+    }
+  }
+}
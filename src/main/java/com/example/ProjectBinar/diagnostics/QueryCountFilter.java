@@ -0,0 +1,38 @@
+package com.example.ProjectBinar.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Filter yang membungkus seluruh request (termasuk security filter) untuk menghitung SQL statement
+ * per endpoint. Endpoint diidentifikasi dengan method + URL pattern, e.g. "GET /plafonds/{id}".
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+  private final QueryCountRegistry registry;
+
+  public QueryCountFilter(QueryCountRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    registry.begin();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      registry.end(request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED"));
+    }
+  }
+}
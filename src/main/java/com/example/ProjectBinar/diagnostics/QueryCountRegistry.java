@@ -0,0 +1,89 @@
+package com.example.ProjectBinar.diagnostics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Menghitung jumlah SQL statement per request dan mengagregasinya per endpoint.
+ *
+ * <p>Counter request disimpan di ThreadLocal: {@link #begin()} dipanggil di awal request, {@link
+ * #increment()} oleh statement inspector Hibernate, dan {@link #end(String)} di akhir request.
+ * Statement di luar request (scheduler, startup) tidak dihitung.
+ */
+public class QueryCountRegistry {
+
+  private final ThreadLocal<int[]> current = new ThreadLocal<>();
+  private final ConcurrentHashMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+  /** Mulai menghitung statement untuk request di thread ini. */
+  public void begin() {
+    current.set(new int[1]);
+  }
+
+  /** Dipanggil untuk setiap SQL statement yang disiapkan Hibernate. */
+  public void increment() {
+    int[] counter = current.get();
+    if (counter != null) {
+      counter[0]++;
+    }
+  }
+
+  /** Jumlah statement request yang sedang berjalan di thread ini (0 jika di luar request). */
+  public int currentCount() {
+    int[] counter = current.get();
+    return counter == null ? 0 : counter[0];
+  }
+
+  /**
+   * Selesai menghitung dan catat hasilnya ke endpoint.
+   *
+   * @param endpoint Key endpoint, e.g. "GET /plafonds/{id}"
+   * @return Jumlah statement selama request
+   */
+  public int end(String endpoint) {
+    int count = currentCount();
+    current.remove();
+    endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).record(count);
+    return count;
+  }
+
+  /** Snapshot statistik per endpoint, diurutkan berdasarkan nama endpoint. */
+  public Map<String, Map<String, Object>> snapshot() {
+    Map<String, Map<String, Object>> result = new TreeMap<>();
+    endpoints.forEach((endpoint, stats) -> result.put(endpoint, stats.toMap()));
+    return result;
+  }
+
+  public void reset() {
+    endpoints.clear();
+  }
+
+  private static final class EndpointStats {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+    private final LongAccumulator maxQueries = new LongAccumulator(Math::max, 0);
+
+    void record(int count) {
+      requests.increment();
+      queries.add(count);
+      maxQueries.accumulate(count);
+    }
+
+    Map<String, Object> toMap() {
+      long requestCount = requests.sum();
+      long queryCount = queries.sum();
+      return Map.of(
+          "requests",
+          requestCount,
+          "queries",
+          queryCount,
+          "avgQueriesPerRequest",
+          requestCount == 0 ? 0.0 : (double) queryCount / requestCount,
+          "maxQueriesPerRequest",
+          maxQueries.get());
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.ProjectBinar.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/** Statement inspector Hibernate yang hanya menghitung statement; SQL tidak diubah. */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+  private final QueryCountRegistry registry;
+
+  public QueryCountingStatementInspector(QueryCountRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public String inspect(String sql) {
+    registry.increment();
+    return sql;
+  }
+}
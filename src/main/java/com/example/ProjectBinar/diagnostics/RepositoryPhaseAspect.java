@@ -0,0 +1,41 @@
+package com.example.ProjectBinar.diagnostics;
+
+import com.example.ProjectBinar.diagnostics.jfr.RepositoryQueryEvent;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+
+/** Aspect untuk fase DB: setiap pemanggilan method Spring Data repository. */
+@Aspect
+public class RepositoryPhaseAspect {
+
+  @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+  public Object aroundRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+    RepositoryQueryEvent event = new RepositoryQueryEvent();
+    event.begin();
+    long start = System.nanoTime();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      RequestPhaseTimer.record(RequestPhase.DB, System.nanoTime() - start);
+      event.end();
+      if (event.shouldCommit()) {
+        event.repository = repositoryName(joinPoint.getThis());
+        event.method = joinPoint.getSignature().getName();
+        event.commit();
+      }
+    }
+  }
+
+  /** Nama interface repository aplikasi (bukan interface bawaan Spring Data). */
+  private static String repositoryName(Object proxy) {
+    for (Class<?> type : proxy.getClass().getInterfaces()) {
+      if (Repository.class.isAssignableFrom(type)
+          && !type.getName().startsWith("org.springframework.")) {
+        return type.getSimpleName();
+      }
+    }
+    return "unknown";
+  }
+}
@@ -0,0 +1,25 @@
+package com.example.ProjectBinar.diagnostics;
+
+/** Fase request yang diukur untuk header Server-Timing. */
+public enum RequestPhase {
+  JWT("jwt", "JWT verification"),
+  CACHE("cache", "Cache access"),
+  DB("db", "Repository calls"),
+  JSON("json", "JSON serialization");
+
+  private final String metricName;
+  private final String description;
+
+  RequestPhase(String metricName, String description) {
+    this.metricName = metricName;
+    this.description = description;
+  }
+
+  public String getMetricName() {
+    return metricName;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+}
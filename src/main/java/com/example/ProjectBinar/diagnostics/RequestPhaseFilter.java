@@ -0,0 +1,118 @@
+package com.example.ProjectBinar.diagnostics;
+
+import com.example.ProjectBinar.diagnostics.jfr.RequestEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Filter terluar untuk breakdown fase request.
+ *
+ * <p>Setiap request menghasilkan {@link RequestEvent} JFR (hanya tercatat jika ada recording
+ * aktif). Request yang di-sample (server-timing-sample-rate) juga mengakumulasi durasi fase dan
+ * mendapat header Server-Timing, yang ditulis tepat sebelum body response mulai dikirim.
+ */
+public class RequestPhaseFilter extends OncePerRequestFilter {
+
+  static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+  private final double sampleRate;
+
+  public RequestPhaseFilter(double sampleRate) {
+    this.sampleRate = sampleRate;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    RequestEvent event = new RequestEvent();
+    event.begin();
+
+    boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    HttpServletResponse target = response;
+    if (sampled) {
+      RequestPhaseTimer.begin();
+      target = new ServerTimingResponse(response, System.nanoTime());
+    }
+
+    try {
+      filterChain.doFilter(request, target);
+    } finally {
+      if (sampled) {
+        ((ServerTimingResponse) target).writeServerTiming();
+        RequestPhaseTimer.end();
+      }
+      event.end();
+      if (event.shouldCommit()) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        event.method = request.getMethod();
+        event.endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+        event.status = response.getStatus();
+        event.commit();
+      }
+    }
+  }
+
+  /** Response wrapper yang menambahkan header Server-Timing sebelum body pertama kali ditulis. */
+  private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+    private final long startNanos;
+    private boolean written;
+
+    ServerTimingResponse(HttpServletResponse response, long startNanos) {
+      super(response);
+      this.startNanos = startNanos;
+    }
+
+    void writeServerTiming() {
+      if (!written && !isCommitted()) {
+        written = true;
+        setHeader(
+            SERVER_TIMING_HEADER,
+            RequestPhaseTimer.serverTimingHeader(System.nanoTime() - startNanos));
+      }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      writeServerTiming();
+      return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      writeServerTiming();
+      return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+      writeServerTiming();
+      super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+      writeServerTiming();
+      super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+      writeServerTiming();
+      super.sendError(sc);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package com.example.ProjectBinar.diagnostics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Akumulasi durasi per {@link RequestPhase} untuk request yang sedang di-sample.
+ *
+ * <p>Hanya aktif di thread yang request-nya di-sample oleh {@code RequestPhaseFilter}; untuk
+ * request lain {@link #record} hanya berupa satu lookup ThreadLocal.
+ */
+public final class RequestPhaseTimer {
+
+  private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+  private RequestPhaseTimer() {}
+
+  /** Mulai mengukur request di thread ini. */
+  public static void begin() {
+    CURRENT.set(new long[RequestPhase.values().length]);
+  }
+
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  public static boolean isActive() {
+    return CURRENT.get() != null;
+  }
+
+  /** Tambahkan durasi ke fase, no-op jika request tidak di-sample. */
+  public static void record(RequestPhase phase, long nanos) {
+    long[] phases = CURRENT.get();
+    if (phases != null) {
+      phases[phase.ordinal()] += nanos;
+    }
+  }
+
+  /**
+   * Format header Server-Timing, e.g. {@code jwt;dur=1.20, cache;dur=0.35, db;dur=4.10,
+   * app;dur=9.80}. Fase JSON tidak disertakan karena header harus ditulis sebelum body
+   * diserialisasi; fase tersebut tersedia sebagai event JFR.
+   *
+   * @param appNanos Total waktu request sampai header ditulis
+   */
+  public static String serverTimingHeader(long appNanos) {
+    long[] phases = CURRENT.get();
+    StringBuilder header = new StringBuilder();
+    if (phases != null) {
+      for (RequestPhase phase : RequestPhase.values()) {
+        if (phase != RequestPhase.JSON && phases[phase.ordinal()] > 0) {
+          appendMetric(
+              header, phase.getMetricName(), phase.getDescription(), phases[phase.ordinal()]);
+        }
+      }
+    }
+    appendMetric(header, "app", "Total", appNanos);
+    return header.toString();
+  }
+
+  private static void appendMetric(StringBuilder header, String name, String desc, long nanos) {
+    if (!header.isEmpty()) {
+      header.append(", ");
+    }
+    double millis = nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    header
+        .append(name)
+        .append(";desc=\"")
+        .append(desc)
+        .append("\";dur=")
+        .append(String.format(java.util.Locale.ROOT, "%.2f", millis));
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.ProjectBinar.diagnostics;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint /actuator/sqldiagnostics.
+ *
+ * <p>GET: jumlah query per endpoint, slow query (SQL dengan placeholder parameter → waktu terlama),
+ * serta statistik Hibernate (statement, entity load/fetch, collection load/fetch). DELETE: reset
+ * semua counter.
+ */
+@Endpoint(id = "sqldiagnostics")
+public class SqlDiagnosticsEndpoint {
+
+  private final QueryCountRegistry registry;
+  private final EntityManagerFactory entityManagerFactory;
+  private final long slowQueryThresholdMs;
+
+  public SqlDiagnosticsEndpoint(
+      QueryCountRegistry registry,
+      EntityManagerFactory entityManagerFactory,
+      long slowQueryThresholdMs) {
+    this.registry = registry;
+    this.entityManagerFactory = entityManagerFactory;
+    this.slowQueryThresholdMs = slowQueryThresholdMs;
+  }
+
+  @ReadOperation
+  public Map<String, Object> diagnostics() {
+    Statistics statistics = statistics();
+
+    Map<String, Object> hibernate = new LinkedHashMap<>();
+    hibernate.put("prepareStatementCount", statistics.getPrepareStatementCount());
+    hibernate.put("queryExecutionCount", statistics.getQueryExecutionCount());
+    hibernate.put("queryExecutionMaxTimeMs", statistics.getQueryExecutionMaxTime());
+    hibernate.put("queryExecutionMaxTimeQuery", statistics.getQueryExecutionMaxTimeQueryString());
+    hibernate.put("entityLoadCount", statistics.getEntityLoadCount());
+    hibernate.put("entityFetchCount", statistics.getEntityFetchCount());
+    hibernate.put("collectionLoadCount", statistics.getCollectionLoadCount());
+    hibernate.put("collectionFetchCount", statistics.getCollectionFetchCount());
+    hibernate.put("transactionCount", statistics.getTransactionCount());
+
+    Map<String, Object> entities = new LinkedHashMap<>();
+    for (String entityName : statistics.getEntityNames()) {
+      var entityStatistics = statistics.getEntityStatistics(entityName);
+      entities.put(
+          entityName.substring(entityName.lastIndexOf('.') + 1),
+          Map.of(
+              "loadCount", entityStatistics.getLoadCount(),
+              "fetchCount", entityStatistics.getFetchCount()));
+    }
+    hibernate.put("entities", entities);
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("endpoints", registry.snapshot());
+    result.put("slowQueryThresholdMs", slowQueryThresholdMs);
+    result.put("slowQueries", statistics.getSlowQueries());
+    result.put("hibernate", hibernate);
+    return result;
+  }
+
+  @DeleteOperation
+  public void reset() {
+    registry.reset();
+    statistics().clear();
+  }
+
+  private Statistics statistics() {
+    return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+}
@@ -0,0 +1,112 @@
+package com.example.ProjectBinar.diagnostics;
+
+import com.example.ProjectBinar.config.BackgroundThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monitor pinning virtual thread lewat JFR event streaming (event {@code jdk.VirtualThreadPinned},
+ * Java 21).
+ *
+ * <p>Virtual thread yang blocking di dalam {@code synchronized} atau native frame tidak bisa lepas
+ * dari carrier thread-nya; jika sering terjadi, jumlah carrier (= jumlah core) menjadi batas
+ * concurrency seperti pool platform thread. Hanya aktif jika aplikasi berjalan dengan virtual
+ * thread. Setiap pinning di atas threshold dicatat di timer virtual.threads.pinned, dan lokasi
+ * pertama di kode aplikasi di-log sekali per lokasi supaya log tidak banjir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+  static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private static final String APPLICATION_PACKAGE = "com.example.ProjectBinar.";
+
+  /** Batas jumlah lokasi berbeda yang di-log. */
+  private static final int MAX_REPORTED_LOCATIONS = 100;
+
+  private final BackgroundThreads backgroundThreads;
+  private final MeterRegistry meterRegistry;
+
+  private final Set<String> reportedLocations = ConcurrentHashMap.newKeySet();
+
+  @Value("${diagnostics.virtual-threads.pinned-threshold-ms:20}")
+  private long pinnedThresholdMs;
+
+  private RecordingStream stream;
+
+  @PostConstruct
+  void start() {
+    if (!backgroundThreads.isVirtual()) {
+      return;
+    }
+    Timer pinned =
+        Timer.builder("virtual.threads.pinned")
+            .description("Durasi virtual thread ter-pin ke carrier thread saat blocking")
+            .register(meterRegistry);
+
+    stream = new RecordingStream();
+    stream
+        .enable(PINNED_EVENT)
+        .withThreshold(Duration.ofMillis(pinnedThresholdMs))
+        .withStackTrace();
+    stream.onEvent(
+        PINNED_EVENT,
+        event -> {
+          pinned.record(event.getDuration());
+          report(event);
+        });
+    stream.startAsync();
+    log.info("Virtual thread pinning monitor started (threshold {} ms)", pinnedThresholdMs);
+  }
+
+  private void report(RecordedEvent event) {
+    String location = location(event.getStackTrace());
+    if (reportedLocations.size() < MAX_REPORTED_LOCATIONS && reportedLocations.add(location)) {
+      log.warn(
+          "Virtual thread pinned for {} ms at {} (logged once per location)",
+          event.getDuration().toMillis(),
+          location);
+    }
+  }
+
+  /** Frame pertama di kode aplikasi, atau frame teratas jika pinning terjadi di library. */
+  static String location(RecordedStackTrace stackTrace) {
+    if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+      return "unknown";
+    }
+    List<RecordedFrame> frames = stackTrace.getFrames();
+    RecordedFrame frame =
+        frames.stream()
+            .filter(f -> f.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+            .findFirst()
+            .orElse(frames.get(0));
+    return frame.getMethod().getType().getName()
+        + "."
+        + frame.getMethod().getName()
+        + ":"
+        + frame.getLineNumber();
+  }
+
+  @PreDestroy
+  void stop() {
+    if (stream != null) {
+      stream.close();
+    }
+  }
+}
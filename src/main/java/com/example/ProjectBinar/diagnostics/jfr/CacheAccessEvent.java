@@ -0,0 +1,26 @@
+package com.example.ProjectBinar.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event: Operasi cache (get, put, evict, clear) pada Redis cache. */
+@Name("com.example.ProjectBinar.CacheAccess")
+@Label("Cache Access")
+@Description("Operasi cache (get, put, evict, clear) pada Redis cache.")
+@Category({"ProjectBinar", "Cache"})
+@StackTrace(false)
+public class CacheAccessEvent extends Event {
+
+  @Label("Cache")
+  public String cacheName;
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Hit")
+  public boolean hit;
+}
@@ -0,0 +1,20 @@
+package com.example.ProjectBinar.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event: Serialisasi response body ke JSON oleh Jackson. */
+@Name("com.example.ProjectBinar.JsonSerialization")
+@Label("Json Serialization")
+@Description("Serialisasi response body ke JSON oleh Jackson.")
+@Category({"ProjectBinar", "Http"})
+@StackTrace(false)
+public class JsonSerializationEvent extends Event {
+
+  @Label("Type")
+  public String type;
+}
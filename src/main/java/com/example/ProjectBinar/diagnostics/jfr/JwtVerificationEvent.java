@@ -0,0 +1,20 @@
+package com.example.ProjectBinar.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event: Verifikasi JWT di JwtAuthenticationFilter (parse, load user, validate). */
+@Name("com.example.ProjectBinar.JwtVerification")
+@Label("Jwt Verification")
+@Description("Verifikasi JWT di JwtAuthenticationFilter (parse, load user, validate).")
+@Category({"ProjectBinar", "Security"})
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+  @Label("Outcome")
+  public String outcome;
+}
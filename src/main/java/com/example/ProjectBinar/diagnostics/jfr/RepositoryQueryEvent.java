@@ -0,0 +1,23 @@
+package com.example.ProjectBinar.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event: Pemanggilan method Spring Data repository. */
+@Name("com.example.ProjectBinar.RepositoryQuery")
+@Label("Repository Query")
+@Description("Pemanggilan method Spring Data repository.")
+@Category({"ProjectBinar", "Database"})
+@StackTrace(false)
+public class RepositoryQueryEvent extends Event {
+
+  @Label("Repository")
+  public String repository;
+
+  @Label("Method")
+  public String method;
+}
@@ -0,0 +1,26 @@
+package com.example.ProjectBinar.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event: HTTP request dengan endpoint pattern dan status. */
+@Name("com.example.ProjectBinar.Request")
+@Label("Request")
+@Description("HTTP request dengan endpoint pattern dan status.")
+@Category({"ProjectBinar", "Http"})
+@StackTrace(false)
+public class RequestEvent extends Event {
+
+  @Label("Method")
+  public String method;
+
+  @Label("Endpoint")
+  public String endpoint;
+
+  @Label("Status")
+  public int status;
+}
@@ -0,0 +1,40 @@
+package com.example.ProjectBinar.dto;
+
+import com.example.ProjectBinar.entity.AuditLog;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO untuk response riwayat audit. Field changes dikirim sebagai JSON object apa adanya. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogResponse {
+
+  private Long id;
+  private String entityType;
+  private String entityId;
+  private String action;
+
+  @JsonRawValue private String changes;
+
+  private String actor;
+  private LocalDateTime createdAt;
+
+  /** Factory method untuk konversi dari Entity ke Response DTO. */
+  public static AuditLogResponse fromEntity(AuditLog auditLog) {
+    return AuditLogResponse.builder()
+        .id(auditLog.getId())
+        .entityType(auditLog.getEntityType())
+        .entityId(auditLog.getEntityId())
+        .action(auditLog.getAction())
+        .changes(auditLog.getChanges())
+        .actor(auditLog.getActor())
+        .createdAt(auditLog.getCreatedAt())
+        .build();
+  }
+}
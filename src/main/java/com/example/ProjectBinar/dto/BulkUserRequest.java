@@ -0,0 +1,24 @@
+package com.example.ProjectBinar.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Satu baris pada bulk provisioning user (POST /users/bulk). Role dirujuk dengan nama. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserRequest implements Serializable {
+
+  private String username;
+  private String email;
+  private String password;
+  private Boolean isActive;
+
+  @Builder.Default private List<String> roles = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.example.ProjectBinar.dto;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO untuk satu baris jadwal angsuran. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstallmentResponse {
+
+  private Integer month;
+  private BigDecimal principal;
+  private BigDecimal interest;
+  private BigDecimal installment;
+  private BigDecimal remainingBalance;
+}
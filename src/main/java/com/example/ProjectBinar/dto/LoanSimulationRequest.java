@@ -0,0 +1,25 @@
+package com.example.ProjectBinar.dto;
+
+import com.example.ProjectBinar.simulation.InstallmentMethod;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO untuk request simulasi angsuran pinjaman.
+ *
+ * <p>tenorMonth optional (default: tenor plafond), method optional (default: ANNUITY).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanSimulationRequest {
+
+  private Long plafondId;
+  private BigDecimal amount;
+  private Integer tenorMonth;
+  private InstallmentMethod method;
+}
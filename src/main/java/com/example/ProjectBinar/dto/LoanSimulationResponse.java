@@ -0,0 +1,33 @@
+package com.example.ProjectBinar.dto;
+
+import com.example.ProjectBinar.simulation.InstallmentMethod;
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO untuk response simulasi angsuran pinjaman.
+ *
+ * <p>schedule hanya diisi jika diminta; simulasi batch secara default hanya mengembalikan
+ * ringkasan.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanSimulationResponse {
+
+  private Long plafondId;
+  private String plafondName;
+  private BigDecimal amount;
+  private BigDecimal interestRate;
+  private Integer tenorMonth;
+  private InstallmentMethod method;
+  private BigDecimal monthlyInstallment;
+  private BigDecimal totalInterest;
+  private BigDecimal totalPayment;
+  private List<InstallmentResponse> schedule;
+}
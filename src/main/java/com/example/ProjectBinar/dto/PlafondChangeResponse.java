@@ -0,0 +1,37 @@
+package com.example.ProjectBinar.dto;
+
+import com.example.ProjectBinar.entity.Plafond;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO untuk satu perubahan plafond pada delta-sync.
+ *
+ * <p>Untuk plafond yang dihapus (tombstone), deleted = true dan plafond = null; client cukup
+ * menghapus record dengan ID tersebut.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlafondChangeResponse {
+
+  private Long id;
+  private Boolean deleted;
+  private LocalDateTime updatedAt;
+  private PlafondResponse plafond;
+
+  /** Factory method untuk konversi dari Entity ke change (data lengkap atau tombstone). */
+  public static PlafondChangeResponse fromEntity(Plafond plafond) {
+    boolean deleted = Boolean.TRUE.equals(plafond.getIsDeleted());
+    return PlafondChangeResponse.builder()
+        .id(plafond.getId())
+        .deleted(deleted)
+        .updatedAt(plafond.getUpdatedAt())
+        .plafond(deleted ? null : PlafondResponse.fromEntity(plafond))
+        .build();
+  }
+}
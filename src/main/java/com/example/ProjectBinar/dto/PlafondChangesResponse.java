@@ -0,0 +1,27 @@
+package com.example.ProjectBinar.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO untuk response delta-sync katalog plafond.
+ *
+ * <p>Client menyimpan nextCursor dan mengirimkannya sebagai parameter since pada request
+ * berikutnya. Jika hasMore = true, masih ada perubahan yang belum terkirim. Jika fullResyncRequired
+ * = true, cursor berada di belakang tombstone yang sudah dipindahkan ke archive (tombstone itu
+ * tidak bisa dikirim lagi) dan client harus sinkronisasi penuh (request tanpa since).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlafondChangesResponse {
+
+  private List<PlafondChangeResponse> changes;
+  private String nextCursor;
+  private Boolean hasMore;
+  private Boolean fullResyncRequired;
+}
@@ -23,6 +23,7 @@ public class PlafondResponse {
   private Integer tenorMonth;
   private Boolean isActive;
   private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
 
   /** Factory method untuk konversi dari Entity ke Response DTO. */
   public static PlafondResponse fromEntity(Plafond plafond) {
@@ -35,6 +36,7 @@ public class PlafondResponse {
         .tenorMonth(plafond.getTenorMonth())
         .isActive(plafond.getIsActive())
         .createdAt(plafond.getCreatedAt())
+        .updatedAt(plafond.getUpdatedAt())
         .build();
   }
 }
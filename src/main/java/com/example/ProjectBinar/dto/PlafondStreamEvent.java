@@ -0,0 +1,24 @@
+package com.example.ProjectBinar.dto;
+
+import com.example.ProjectBinar.event.PlafondChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO untuk event perubahan plafond yang dikirim melalui Server-Sent Events dan Redis pub/sub.
+ *
+ * <p>id bersifat global dan monoton naik (Redis INCR) sehingga dapat dipakai sebagai {@code
+ * Last-Event-ID} saat client reconnect ke node mana pun.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlafondStreamEvent {
+
+  private Long id;
+  private PlafondChangedEvent.Type type;
+  private PlafondResponse plafond;
+}
@@ -0,0 +1,38 @@
+package com.example.ProjectBinar.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+/**
+ * Satu halaman daftar user.
+ *
+ * <p>Dipakai sebagai pengganti {@link Page} karena PageImpl tidak bisa di-deserialize dari cache
+ * Redis; DTO ini bisa di-cache per halaman.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+
+  private List<UserSummaryResponse> content;
+  private Integer page;
+  private Integer size;
+  private Long totalElements;
+  private Integer totalPages;
+
+  public static UserPageResponse fromPage(Page<UserSummaryResponse> page) {
+    return UserPageResponse.builder()
+        .content(new ArrayList<>(page.getContent()))
+        .page(page.getNumber())
+        .size(page.getSize())
+        .totalElements(page.getTotalElements())
+        .totalPages(page.getTotalPages())
+        .build();
+  }
+}
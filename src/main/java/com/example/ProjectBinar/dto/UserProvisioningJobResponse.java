@@ -0,0 +1,46 @@
+package com.example.ProjectBinar.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status job bulk provisioning user (GET /users/bulk/{jobId}).
+ *
+ * <p>processed = created + failed. message diisi jika job berhenti sebelum semua baris diproses
+ * (status FAILED). errors berisi error per baris (nomor baris mulai dari 1 sesuai urutan di
+ * request), dibatasi jumlahnya; errorsTruncated bernilai true jika ada error yang tidak
+ * ditampilkan.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProvisioningJobResponse implements Serializable {
+
+  private String jobId;
+  private String status;
+  private int total;
+  private int processed;
+  private int created;
+  private int failed;
+  private String message;
+  private List<RowError> errors;
+  private boolean errorsTruncated;
+  private Instant submittedAt;
+  private Instant finishedAt;
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class RowError implements Serializable {
+    private int row;
+    private String username;
+    private String message;
+  }
+}
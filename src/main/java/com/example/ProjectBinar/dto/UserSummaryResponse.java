@@ -0,0 +1,36 @@
+package com.example.ProjectBinar.dto;
+
+import com.example.ProjectBinar.entity.Role;
+import com.example.ProjectBinar.entity.User;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO ringkas untuk daftar user. Password dan entity Role tidak ikut dikirim. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryResponse {
+
+  private Long id;
+  private String username;
+  private String email;
+  private Boolean isActive;
+  private List<String> roles;
+
+  /** Factory method untuk konversi dari Entity ke Response DTO. */
+  public static UserSummaryResponse fromEntity(User user) {
+    return UserSummaryResponse.builder()
+        .id(user.getId())
+        .username(user.getUsername())
+        .email(user.getEmail())
+        .isActive(user.getIsActive())
+        // ArrayList supaya bisa dibaca kembali dari cache Redis (lihat RedisConfig)
+        .roles(user.getRoles().stream().map(Role::getName).sorted().collect(Collectors.toList()))
+        .build();
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.ProjectBinar.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity AuditLog menyimpan riwayat perubahan data (Plafond, User, Branch).
+ *
+ * <p>Record ditulis secara batch oleh {@code AuditWriter} melalui JDBC, bukan melalui JPA, sehingga
+ * entity ini terutama dipakai untuk membaca riwayat dan untuk pembuatan tabel.
+ */
+@Entity
+@Table(
+    name = "audit_log",
+    indexes = {
+      @Index(name = "idx_audit_log_entity", columnList = "entity_type, entity_id, created_at"),
+      @Index(name = "idx_audit_log_record_id", columnList = "record_id")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLog {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /**
+   * ID unik dari AuditWriter, dipakai saat replay file spill untuk melewati record yang sudah
+   * tersimpan. Null untuk baris lama; karena itu index biasa, bukan unique constraint.
+   */
+  @Column(name = "record_id", length = 36)
+  private String recordId;
+
+  /** Jenis entity yang berubah, e.g. PLAFOND, USER, BRANCH. */
+  @Column(name = "entity_type", nullable = false, length = 50)
+  private String entityType;
+
+  @Column(name = "entity_id", nullable = false, length = 100)
+  private String entityId;
+
+  /** Jenis perubahan: CREATE, UPDATE, DELETE. */
+  @Column(nullable = false, length = 20)
+  private String action;
+
+  /** Diff dalam format JSON: {"field": {"old": ..., "new": ...}}. */
+  @Lob
+  @Column(columnDefinition = "nvarchar(max)")
+  private String changes;
+
+  /** Username yang melakukan perubahan, atau "system". */
+  @Column(length = 100)
+  private String actor;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+}
@@ -0,0 +1,32 @@
+package com.example.ProjectBinar.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Penanda versi data awal - satu baris per seed (e.g. name = "core").
+ *
+ * <p>Baris ini sekaligus dipakai sebagai lock antar instance: instance yang melakukan seed menahan
+ * row lock pada baris ini sampai transaksi seed selesai. Ditulis oleh {@code DataInitializer} via
+ * JDBC.
+ */
+@Entity
+@Table(name = "data_seed")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataSeed {
+
+  @Id
+  @Column(length = 50)
+  private String name;
+
+  @Column(nullable = false)
+  private Integer version;
+
+  @Column(name = "seeded_at")
+  private LocalDateTime seededAt;
+}
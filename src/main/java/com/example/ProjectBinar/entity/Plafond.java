@@ -8,13 +8,24 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 /**
  * Entity Plafond merepresentasikan jenis/tipe pinjaman kredit. Menyimpan informasi limit pinjaman,
  * suku bunga, dan tenor.
+ *
+ * <p>{@code @SQLRestriction} membuat Hibernate selalu menambahkan predicate {@code is_deleted = 0}
+ * pada setiap query entity ini (JPQL, Criteria, derived query), sehingga record yang sudah
+ * di-soft-delete tidak perlu difilter manual. Native query tidak terkena restriction ini.
  */
 @Entity
-@Table(name = "plafond")
+@Table(
+    name = "plafond",
+    indexes = {
+      @Index(name = "idx_plafond_deleted_at", columnList = "is_deleted, deleted_at"),
+      @Index(name = "idx_plafond_updated_at", columnList = "updated_at, id")
+    })
+@SQLRestriction("is_deleted = 0")
 @Data
 @Builder(toBuilder = true)
 @NoArgsConstructor
@@ -57,6 +68,13 @@ public class Plafond implements Serializable {
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
 
+  /**
+   * Timestamp perubahan terakhir (insert, update, maupun soft delete), auto-set oleh entity
+   * callback. Dipakai sebagai cursor untuk delta-sync katalog.
+   */
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
   /** Flag untuk menandakan apakah record telah di-soft-delete. */
   @Column(name = "is_deleted", nullable = false)
   @Builder.Default
@@ -69,6 +87,7 @@ public class Plafond implements Serializable {
   @PrePersist
   protected void onCreate() {
     createdAt = LocalDateTime.now();
+    updatedAt = createdAt;
     if (isActive == null) {
       isActive = true;
     }
@@ -76,4 +95,9 @@ public class Plafond implements Serializable {
       isDeleted = false;
     }
   }
+
+  @PreUpdate
+  protected void onUpdate() {
+    updatedAt = LocalDateTime.now();
+  }
 }
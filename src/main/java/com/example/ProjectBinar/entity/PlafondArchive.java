@@ -0,0 +1,74 @@
+package com.example.ProjectBinar.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity PlafondArchive menyimpan plafond yang sudah di-soft-delete lebih lama dari masa retensi.
+ *
+ * <p>Record dipindahkan dari tabel {@code plafond} oleh {@code PlafondArchiveService} sehingga
+ * tabel utama (dan index-nya) hanya berisi data yang masih relevan. ID dipertahankan sama dengan ID
+ * plafond asal.
+ */
+@Entity
+@Table(
+    name = "plafond_archive",
+    indexes = @Index(name = "idx_plafond_archive_deleted_at", columnList = "deleted_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlafondArchive {
+
+  /** ID plafond asal (bukan auto-generated). */
+  @Id private Long id;
+
+  @Column(nullable = false, length = 100)
+  private String name;
+
+  @Column(length = 500)
+  private String description;
+
+  @Column(name = "max_amount", nullable = false, precision = 15, scale = 2)
+  private BigDecimal maxAmount;
+
+  @Column(name = "interest_rate", nullable = false, precision = 5, scale = 2)
+  private BigDecimal interestRate;
+
+  @Column(name = "tenor_month", nullable = false)
+  private Integer tenorMonth;
+
+  @Column(name = "is_active", nullable = false)
+  private Boolean isActive;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "deleted_at")
+  private LocalDateTime deletedAt;
+
+  /** Timestamp saat record dipindahkan ke archive. */
+  @Column(name = "archived_at", nullable = false)
+  private LocalDateTime archivedAt;
+
+  /** Factory method untuk membuat archive record dari plafond yang sudah dihapus. */
+  public static PlafondArchive fromPlafond(Plafond plafond, LocalDateTime archivedAt) {
+    return PlafondArchive.builder()
+        .id(plafond.getId())
+        .name(plafond.getName())
+        .description(plafond.getDescription())
+        .maxAmount(plafond.getMaxAmount())
+        .interestRate(plafond.getInterestRate())
+        .tenorMonth(plafond.getTenorMonth())
+        .isActive(plafond.getIsActive())
+        .createdAt(plafond.getCreatedAt())
+        .deletedAt(plafond.getDeletedAt())
+        .archivedAt(archivedAt)
+        .build();
+  }
+}
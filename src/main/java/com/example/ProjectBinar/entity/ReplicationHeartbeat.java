@@ -0,0 +1,26 @@
+package com.example.ProjectBinar.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Heartbeat replikasi - satu baris (id = 1) yang di-update berkala di primary.
+ *
+ * <p>Nilai beat_at yang terbaca di replica dibandingkan dengan nilai di primary untuk mengukur lag
+ * replikasi. Ditulis oleh {@code ReplicaHealthMonitor} via JDBC.
+ */
+@Entity
+@Table(name = "replication_heartbeat")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicationHeartbeat {
+
+  @Id private Integer id;
+
+  @Column(name = "beat_at", nullable = false)
+  private LocalDateTime beatAt;
+}
@@ -0,0 +1,34 @@
+package com.example.ProjectBinar.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lock job terjadwal antar replica - satu baris per job (tabel {@code shedlock}).
+ *
+ * <p>Ditulis oleh ShedLock via JDBC ({@code SchedulerLockConfig}); entity ini hanya ada supaya
+ * tabelnya dibuat oleh ddl-auto seperti tabel lain.
+ */
+@Entity
+@Table(name = "shedlock")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLock {
+
+  @Id
+  @Column(length = 64)
+  private String name;
+
+  @Column(name = "lock_until", nullable = false)
+  private LocalDateTime lockUntil;
+
+  @Column(name = "locked_at", nullable = false)
+  private LocalDateTime lockedAt;
+
+  @Column(name = "locked_by", nullable = false)
+  private String lockedBy;
+}
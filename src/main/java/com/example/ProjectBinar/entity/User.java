@@ -8,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 /**
  * Entity User - Merepresentasikan pengguna dalam sistem.
@@ -49,8 +50,12 @@ public class User {
    * infinite loop saat serialisasi JSON
    *
    * <p>FetchType.EAGER: Role akan langsung di-load bersama User
+   *
+   * <p>@BatchSize: jika user di-load tanpa join (e.g. query paginated), roles untuk sampai 100 user
+   * di-load dalam satu query IN, bukan satu query per user
    */
   @ManyToMany(fetch = FetchType.EAGER)
+  @BatchSize(size = 100)
   @JoinTable(
       name = "user_roles",
       joinColumns = @JoinColumn(name = "user_id"),
@@ -0,0 +1,40 @@
+package com.example.ProjectBinar.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status job bulk provisioning user - satu baris per job (tabel {@code user_provisioning_job}).
+ *
+ * <p>Ditulis oleh {@code UserProvisioningService} via JDBC setiap chunk selesai, supaya GET
+ * /users/bulk/{jobId} bisa dilayani replica mana pun. Entity ini hanya ada supaya tabelnya dibuat
+ * oleh ddl-auto seperti tabel lain.
+ */
+@Entity
+@Table(name = "user_provisioning_job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProvisioningJobStatus {
+
+  @Id
+  @Column(length = 36)
+  private String id;
+
+  @Column(nullable = false, length = 20)
+  private String status;
+
+  /** Snapshot UserProvisioningJobResponse dalam format JSON. */
+  @Lob
+  @Column(nullable = false, columnDefinition = "nvarchar(max)")
+  private String payload;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  @Column(name = "finished_at")
+  private LocalDateTime finishedAt;
+}
@@ -0,0 +1,28 @@
+package com.example.ProjectBinar.event;
+
+import com.example.ProjectBinar.dto.PlafondResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Event yang dipublish oleh {@code PlafondService} setiap kali data plafond berubah.
+ *
+ * <p>Listener sebaiknya memakai {@code @TransactionalEventListener} (default: AFTER_COMMIT) agar
+ * hanya bereaksi terhadap perubahan yang benar-benar tersimpan.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PlafondChangedEvent {
+
+  /** Jenis perubahan data plafond. */
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  private final Type type;
+
+  /** Snapshot plafond setelah perubahan (untuk DELETED: snapshot terakhir sebelum dihapus). */
+  private final PlafondResponse plafond;
+}
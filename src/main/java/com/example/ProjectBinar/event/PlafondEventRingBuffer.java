@@ -0,0 +1,102 @@
+package com.example.ProjectBinar.event;
+
+import com.example.ProjectBinar.dto.PlafondStreamEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ring buffer berukuran tetap untuk event plafond terakhir, dipakai untuk resume SSE dengan {@code
+ * Last-Event-ID}.
+ *
+ * <p>Event disimpan terurut berdasarkan id; event yang datang terlambat (id lebih kecil dari id
+ * terakhir, misalnya dari node lain lewat Redis) disisipkan di posisinya. Event tertua dibuang saat
+ * buffer penuh. Thread-safe dengan lock sederhana karena penulisan jarang terjadi (hanya saat
+ * plafond berubah).
+ */
+public class PlafondEventRingBuffer {
+
+  private final PlafondStreamEvent[] events;
+  private int head;
+  private int size;
+
+  public PlafondEventRingBuffer(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity harus lebih dari 0");
+    }
+    this.events = new PlafondStreamEvent[capacity];
+  }
+
+  /**
+   * Sisipkan event sesuai urutan id.
+   *
+   * @return false jika id yang sama sudah ada di buffer (duplikat). Event yang lebih tua dari
+   *     seluruh isi buffer yang penuh tidak disimpan, tetapi tetap dianggap baru (true) karena
+   *     duplikasinya tidak bisa diketahui lagi
+   */
+  public synchronized boolean add(PlafondStreamEvent event) {
+    long id = event.getId();
+    // Cari posisi dari belakang: umumnya event datang berurutan sehingga ini O(1)
+    int position = size;
+    while (position > 0 && get(position - 1).getId() > id) {
+      position--;
+    }
+    if (position > 0 && get(position - 1).getId() == id) {
+      return false;
+    }
+
+    if (size == events.length) {
+      if (position == 0) {
+        return true;
+      }
+      head = (head + 1) % events.length;
+      size--;
+      position--;
+    }
+    for (int i = size; i > position; i--) {
+      set(i, get(i - 1));
+    }
+    set(position, event);
+    size++;
+    return true;
+  }
+
+  /**
+   * Ambil event dengan id lebih besar dari lastEventId.
+   *
+   * <p>Buffer kosong atau id di atas {@link #getLastId()} berarti buffer tidak mengenal
+   * lastEventId: node baru restart (buffer hilang) atau sequence lokal mulai lagi dari 0 tanpa
+   * Redis fan-out. Event yang terlewat tidak bisa diketahui, jadi dianggap gap.
+   *
+   * @return daftar event, atau null jika lastEventId sudah keluar dari buffer atau tidak dikenal
+   *     buffer (ada gap) sehingga client harus sinkronisasi ulang
+   */
+  public synchronized List<PlafondStreamEvent> since(long lastEventId) {
+    List<PlafondStreamEvent> result = new ArrayList<>();
+    if (lastEventId > 0 && (size == 0 || lastEventId > get(size - 1).getId())) {
+      return null;
+    }
+    if (size > 0 && lastEventId < get(0).getId() - 1) {
+      return null;
+    }
+    for (int i = 0; i < size; i++) {
+      PlafondStreamEvent event = get(i);
+      if (event.getId() > lastEventId) {
+        result.add(event);
+      }
+    }
+    return result;
+  }
+
+  /** Id event terbesar yang tersimpan (0 jika belum ada). */
+  public synchronized long getLastId() {
+    return size == 0 ? 0 : get(size - 1).getId();
+  }
+
+  private PlafondStreamEvent get(int index) {
+    return events[(head + index) % events.length];
+  }
+
+  private void set(int index, PlafondStreamEvent event) {
+    events[(head + index) % events.length] = event;
+  }
+}
@@ -0,0 +1,20 @@
+package com.example.ProjectBinar.event;
+
+import com.example.ProjectBinar.dto.PlafondStreamEvent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Event lokal untuk perubahan plafond yang ter-commit di node lain, diterima lewat fan-out Redis
+ * {@code PlafondStreamService}.
+ *
+ * <p>Dipublish di luar transaksi (thread listener Redis), jadi listener memakai
+ * {@code @EventListener} biasa. Perubahan dari node sendiri tidak dipublish ulang; untuk itu sudah
+ * ada {@link PlafondChangedEvent}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PlafondRemoteChangedEvent {
+
+  private final PlafondStreamEvent event;
+}
@@ -0,0 +1,16 @@
+package com.example.ProjectBinar.repository;
+
+import com.example.ProjectBinar.entity.AuditLog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** Repository untuk membaca riwayat AuditLog. */
+@Repository
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+
+  /** Riwayat perubahan satu entity, terbaru lebih dulu. */
+  Page<AuditLog> findByEntityTypeAndEntityIdOrderByCreatedAtDescIdDesc(
+      String entityType, String entityId, Pageable pageable);
+}
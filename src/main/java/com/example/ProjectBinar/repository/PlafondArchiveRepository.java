@@ -0,0 +1,9 @@
+package com.example.ProjectBinar.repository;
+
+import com.example.ProjectBinar.entity.PlafondArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** Repository untuk PlafondArchive entity. */
+@Repository
+public interface PlafondArchiveRepository extends JpaRepository<PlafondArchive, Long> {}
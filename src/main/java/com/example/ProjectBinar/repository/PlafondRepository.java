@@ -2,17 +2,23 @@ package com.example.ProjectBinar.repository;
 
 import com.example.ProjectBinar.entity.Plafond;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Repository untuk Plafond entity.
  *
  * <p>Extends JpaRepository untuk CRUD dasar dan JpaSpecificationExecutor untuk dynamic
- * query/filtering.
+ * query/filtering. Filter soft delete sudah diterapkan otomatis oleh {@code @SQLRestriction} pada
+ * entity {@link Plafond}, sehingga method di sini tidak perlu suffix {@code AndIsDeletedFalse}.
  */
 @Repository
 public interface PlafondRepository
@@ -42,18 +48,46 @@ public interface PlafondRepository
   /** Cek apakah nama plafond sudah ada (kecuali ID tertentu). */
   boolean existsByNameAndIdNot(String name, Long id);
 
-  /** Cari plafond berdasarkan ID yang belum dihapus. */
-  Optional<Plafond> findByIdAndIsDeletedFalse(Long id);
+  /**
+   * Ambil satu chunk plafond yang sudah di-soft-delete sebelum cutoff. Menggunakan native query
+   * agar tidak terkena {@code @SQLRestriction} pada entity.
+   */
+  @Query(
+      value = "SELECT * FROM plafond WHERE is_deleted = 1 AND deleted_at < :cutoff ORDER BY id",
+      nativeQuery = true)
+  List<Plafond> findSoftDeletedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
 
-  /** Cari semua plafond yang aktif dan belum dihapus. */
-  List<Plafond> findByIsActiveAndIsDeletedFalse(Boolean isActive);
+  /**
+   * Watermark archival: deleted_at terbaru dari tombstone yang sudah dipindahkan ke {@code
+   * plafond_archive} (dan dihapus permanen dari tabel plafond). Null jika belum ada yang
+   * di-archive.
+   */
+  @Query("SELECT MAX(a.deletedAt) FROM PlafondArchive a")
+  LocalDateTime findArchiveWatermark();
 
-  /** Cek apakah nama plafond sudah ada dan belum dihapus. */
-  boolean existsByNameAndIsDeletedFalse(String name);
+  /** Hapus permanen plafond berdasarkan daftar ID (dipakai oleh job archival). */
+  @Modifying
+  @Query(value = "DELETE FROM plafond WHERE id IN (:ids)", nativeQuery = true)
+  int hardDeleteByIdIn(@Param("ids") List<Long> ids);
 
-  /** Cek apakah nama plafond sudah ada (kecuali ID tertentu) dan belum dihapus. */
-  boolean existsByNameAndIdNotAndIsDeletedFalse(String name, Long id);
-
-  /** Cek apakah ID ada dan belum dihapus. */
-  boolean existsByIdAndIsDeletedFalse(Long id);
+  /**
+   * Ambil plafond (termasuk yang sudah di-soft-delete) yang berubah setelah cursor (updatedAt, id),
+   * terurut berdasarkan updatedAt lalu id. Native query agar record terhapus ikut terbaca sebagai
+   * tombstone.
+   *
+   * <p>Hanya perubahan dengan updatedAt <= settledBefore yang dikembalikan: updatedAt di-stamp saat
+   * flush, bukan saat commit, jadi transaksi yang belum commit bisa muncul nanti dengan updatedAt
+   * di belakang perubahan lain yang sudah terkirim.
+   */
+  @Query(
+      value =
+          "SELECT * FROM plafond WHERE (updated_at > :updatedAt"
+              + " OR (updated_at = :updatedAt AND id > :id)) AND updated_at <= :settledBefore"
+              + " ORDER BY updated_at, id",
+      nativeQuery = true)
+  List<Plafond> findChangedAfter(
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("id") Long id,
+      @Param("settledBefore") LocalDateTime settledBefore,
+      Pageable pageable);
 }
@@ -1,6 +1,8 @@
 package com.example.ProjectBinar.repository;
 
 import com.example.ProjectBinar.entity.Role;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -22,4 +24,7 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
    * WHERE name = ?
    */
   Optional<Role> findByName(String name);
+
+  /** Mencari beberapa role sekaligus dalam satu query (WHERE name IN (...)). */
+  List<Role> findByNameIn(Collection<String> names);
 }
@@ -1,8 +1,11 @@
 package com.example.ProjectBinar.repository;
 
 import com.example.ProjectBinar.entity.User;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,14 +15,26 @@ import org.springframework.stereotype.Repository;
  * findByUsername akan di-generate oleh Spring Data JPA.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
   /**
    * Mencari user berdasarkan username. Spring Data JPA akan otomatis membuat query: SELECT * FROM
    * users WHERE username = ?
+   *
+   * <p>Roles di-fetch dengan join (entity graph) dalam satu query; dipanggil di setiap request
+   * ber-JWT oleh CustomUserDetailsService.
    */
+  @EntityGraph(attributePaths = "roles")
   Optional<User> findByUsername(String username);
 
+  /**
+   * Semua user beserta roles dalam satu query. Tanpa entity graph, relasi EAGER roles di-load
+   * dengan satu query tambahan per user (N+1).
+   */
+  @Override
+  @EntityGraph(attributePaths = "roles")
+  List<User> findAll();
+
   /** Mencari user berdasarkan email. */
   Optional<User> findByEmail(String email);
 }
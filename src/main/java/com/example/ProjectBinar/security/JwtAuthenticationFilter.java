@@ -1,5 +1,10 @@
 package com.example.ProjectBinar.security;
 
+import com.example.ProjectBinar.diagnostics.RequestPhase;
+import com.example.ProjectBinar.diagnostics.RequestPhaseTimer;
+import com.example.ProjectBinar.diagnostics.jfr.JwtVerificationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,6 +31,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
   private final CustomUserDetailsService userDetailsService;
+  private final MeterRegistry meterRegistry;
 
   @Override
   protected void doFilterInternal(
@@ -47,6 +53,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     // Extract token (remove "Bearer " prefix)
     jwt = authHeader.substring(7);
 
+    // Timer verifikasi token (parse, load user, validate) dengan tag outcome
+    Timer.Sample sample = Timer.start(meterRegistry);
+    JwtVerificationEvent event = new JwtVerificationEvent();
+    event.begin();
+    long start = System.nanoTime();
+    String outcome = "skipped";
     try {
       // Extract username dari token
       username = jwtService.extractUsername(jwt);
@@ -62,11 +74,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                   userDetails, null, userDetails.getAuthorities());
           authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
           SecurityContextHolder.getContext().setAuthentication(authToken);
+          outcome = "valid";
+        } else {
+          outcome = "invalid";
         }
       }
     } catch (Exception e) {
       // Token invalid atau expired - lanjutkan tanpa authentication
+      outcome = "error";
       logger.error("JWT Token validation failed: " + e.getMessage());
+    } finally {
+      sample.stop(meterRegistry.timer("auth.jwt.verify", "outcome", outcome));
+      RequestPhaseTimer.record(RequestPhase.JWT, System.nanoTime() - start);
+      event.end();
+      if (event.shouldCommit()) {
+        event.outcome = outcome;
+        event.commit();
+      }
     }
 
     filterChain.doFilter(request, response);
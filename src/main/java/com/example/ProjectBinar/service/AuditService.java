@@ -0,0 +1,116 @@
+package com.example.ProjectBinar.service;
+
+import com.example.ProjectBinar.audit.AuditDiff;
+import com.example.ProjectBinar.audit.AuditRecord;
+import com.example.ProjectBinar.audit.AuditWriter;
+import com.example.ProjectBinar.dto.AuditLogResponse;
+import com.example.ProjectBinar.repository.AuditLogRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service untuk audit trail perubahan data.
+ *
+ * <p>Diff sebelum/sesudah dihitung di service layer saat perubahan terjadi, lalu diserahkan ke
+ * {@link AuditWriter} setelah transaksi commit (perubahan yang di-rollback tidak diaudit).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditService {
+
+  public static final String ACTION_CREATE = "CREATE";
+  public static final String ACTION_UPDATE = "UPDATE";
+  public static final String ACTION_DELETE = "DELETE";
+
+  private static final String SYSTEM_ACTOR = "system";
+
+  private final AuditWriter auditWriter;
+  private final AuditLogRepository auditLogRepository;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Catat perubahan satu entity.
+   *
+   * @param entityType Jenis entity, e.g. PLAFOND
+   * @param entityId ID entity
+   * @param action CREATE, UPDATE, atau DELETE
+   * @param before Snapshot sebelum perubahan (null untuk CREATE)
+   * @param after Snapshot sesudah perubahan (null untuk DELETE)
+   */
+  public void record(
+      String entityType, Object entityId, String action, Object before, Object after) {
+    Map<String, Map<String, Object>> diff = AuditDiff.diff(objectMapper, before, after);
+    if (diff.isEmpty() && ACTION_UPDATE.equals(action)) {
+      return;
+    }
+
+    String changes;
+    try {
+      changes = objectMapper.writeValueAsString(diff);
+    } catch (JsonProcessingException e) {
+      log.error("Failed to serialize audit diff for {} {}", entityType, entityId, e);
+      return;
+    }
+
+    AuditRecord auditRecord =
+        new AuditRecord(
+            UUID.randomUUID().toString(),
+            entityType,
+            String.valueOf(entityId),
+            action,
+            changes,
+            currentActor(),
+            LocalDateTime.now());
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              auditWriter.enqueue(auditRecord);
+            }
+          });
+    } else {
+      auditWriter.enqueue(auditRecord);
+    }
+  }
+
+  /**
+   * Riwayat perubahan satu entity dengan pagination, terbaru lebih dulu.
+   *
+   * @throws IllegalArgumentException jika parameter pagination tidak valid
+   */
+  @Transactional(readOnly = true)
+  public Page<AuditLogResponse> getHistory(String entityType, String entityId, int page, int size) {
+    if (page < 0 || size < 1 || size > 100) {
+      throw new IllegalArgumentException("Parameter page/size tidak valid (size 1-100)");
+    }
+    return auditLogRepository
+        .findByEntityTypeAndEntityIdOrderByCreatedAtDescIdDesc(
+            entityType.toUpperCase(Locale.ROOT), entityId, PageRequest.of(page, size))
+        .map(AuditLogResponse::fromEntity);
+  }
+
+  private String currentActor() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !authentication.isAuthenticated()) {
+      return SYSTEM_ACTOR;
+    }
+    return authentication.getName();
+  }
+}
@@ -6,6 +6,7 @@ import com.example.ProjectBinar.entity.Role;
 import com.example.ProjectBinar.entity.User;
 import com.example.ProjectBinar.security.CustomUserDetails;
 import com.example.ProjectBinar.security.JwtService;
+import io.micrometer.core.annotation.Timed;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,6 +35,7 @@ public class AuthService {
    * @return AuthResponse berisi token dan user info
    * @throws AuthenticationException jika credentials invalid
    */
+  @Timed(value = "auth.authenticate", description = "Login termasuk verifikasi BCrypt")
   public AuthResponse authenticate(AuthRequest request) {
     // Authenticate dengan Spring Security
     Authentication authentication =
@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service layer untuk Branch dengan Redis caching. @Cacheable: Cache hasil method, skip eksekusi
@@ -18,24 +19,32 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 @Slf4j
 public class BranchService {
+
+  static final String AUDIT_ENTITY_TYPE = "BRANCH";
+
   private final BranchRepository branchRepository;
+  private final AuditService auditService;
 
   /** Membuat branch baru. Menghapus cache "branches" karena list berubah. */
   @CacheEvict(value = "branches", allEntries = true)
   public Branch createBranch(Branch branch) {
     log.info("Creating new branch: {}", branch.getName());
-    return branchRepository.save(branch);
+    Branch saved = branchRepository.save(branch);
+    auditService.record(AUDIT_ENTITY_TYPE, saved.getId(), AuditService.ACTION_CREATE, null, saved);
+    return saved;
   }
 
   /** Mendapatkan semua branch. Hasil di-cache dengan key "branches::all" */
-  @Cacheable(value = "branches", key = "'all'")
+  @Cacheable(value = "branches", key = "'all'", sync = true)
+  @Transactional(readOnly = true)
   public List<Branch> getAllBranch() {
     log.info("Fetching all branches from database (cache miss)");
     return branchRepository.findAll();
   }
 
   /** Mencari branch berdasarkan name. Hasil di-cache dengan key "branches::{name}" */
-  @Cacheable(value = "branches", key = "#name")
+  @Cacheable(value = "branches", key = "#name", sync = true)
+  @Transactional(readOnly = true)
   public Optional<Branch> findByName(String name) {
     log.info("Fetching branch by name from database: {} (cache miss)", name);
     return branchRepository.findByName(name);
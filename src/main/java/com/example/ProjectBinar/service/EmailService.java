@@ -1,5 +1,6 @@
 package com.example.ProjectBinar.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,9 @@ public class EmailService {
    * @param to Email tujuan
    * @param resetToken Token reset password
    */
+  @Timed(
+      value = "email.send",
+      extraTags = {"type", "password-reset"})
   public void sendPasswordResetEmail(String to, String resetToken) {
     try {
       MimeMessage message = mailSender.createMimeMessage();
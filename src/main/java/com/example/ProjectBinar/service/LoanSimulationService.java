@@ -0,0 +1,173 @@
+package com.example.ProjectBinar.service;
+
+import com.example.ProjectBinar.dto.InstallmentResponse;
+import com.example.ProjectBinar.dto.LoanSimulationRequest;
+import com.example.ProjectBinar.dto.LoanSimulationResponse;
+import com.example.ProjectBinar.dto.PlafondResponse;
+import com.example.ProjectBinar.simulation.AmortizationSchedule;
+import com.example.ProjectBinar.simulation.InstallmentMethod;
+import com.example.ProjectBinar.simulation.LoanAmortizationCalculator;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service untuk simulasi angsuran pinjaman berdasarkan Plafond.
+ *
+ * <p>Data plafond diambil dari cache {@link PlafondService}; perhitungan dilakukan oleh {@link
+ * LoanAmortizationCalculator} dalam fixed-point long, dan dikonversi ke BigDecimal hanya saat
+ * membentuk response.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoanSimulationService {
+
+  /** Batas jumlah simulasi dalam satu request batch. */
+  public static final int MAX_BATCH_SIZE = 1000;
+
+  private static final ThreadLocal<AmortizationSchedule> SCHEDULE_BUFFER =
+      ThreadLocal.withInitial(AmortizationSchedule::new);
+
+  private final PlafondService plafondService;
+
+  /**
+   * Simulasi angsuran untuk satu plafond, termasuk jadwal angsuran per bulan.
+   *
+   * @throws IllegalArgumentException jika plafond tidak ditemukan/tidak aktif atau request tidak
+   *     valid
+   */
+  public LoanSimulationResponse simulate(Long plafondId, LoanSimulationRequest request) {
+    PlafondResponse plafond =
+        plafondService
+            .getPlafondById(plafondId)
+            .filter(p -> Boolean.TRUE.equals(p.getIsActive()))
+            .orElseThrow(
+                () ->
+                    new IllegalArgumentException(
+                        "Plafond dengan ID " + plafondId + " tidak ditemukan atau tidak aktif"));
+
+    return simulate(plafond, request, true);
+  }
+
+  /**
+   * Simulasi angsuran untuk banyak request sekaligus. Plafond aktif diambil sekali dari cache dan
+   * buffer perhitungan dipakai ulang untuk seluruh batch.
+   *
+   * @param includeSchedule true untuk menyertakan jadwal angsuran per bulan pada setiap hasil
+   *     <p>tenorMonth boleh kosong (default: tenor plafond), sama seperti simulasi tunggal.
+   * @throws IllegalArgumentException jika salah satu request tidak valid (termasuk elemen null),
+   *     pesan menyebut urutan simulasi
+   */
+  public List<LoanSimulationResponse> simulateBatch(
+      List<LoanSimulationRequest> requests, boolean includeSchedule) {
+    if (requests == null || requests.isEmpty()) {
+      throw new IllegalArgumentException("Daftar simulasi tidak boleh kosong");
+    }
+    if (requests.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException(
+          "Jumlah simulasi maksimal " + MAX_BATCH_SIZE + " per request");
+    }
+
+    log.info("Running batch loan simulation for {} request(s)", requests.size());
+
+    Map<Long, PlafondResponse> activePlafonds =
+        plafondService.getActivePlafonds().stream()
+            .collect(Collectors.toMap(PlafondResponse::getId, Function.identity()));
+
+    List<LoanSimulationResponse> results = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      LoanSimulationRequest request = requests.get(i);
+      // Elemen null atau field wajib kosong dari body JSON: tolak dengan index, bukan NPE (500)
+      if (request == null) {
+        throw new IllegalArgumentException("Simulasi ke-" + (i + 1) + ": data tidak boleh kosong");
+      }
+      if (request.getPlafondId() == null) {
+        throw new IllegalArgumentException("Simulasi ke-" + (i + 1) + ": plafondId wajib diisi");
+      }
+      if (request.getAmount() == null) {
+        throw new IllegalArgumentException("Simulasi ke-" + (i + 1) + ": amount wajib diisi");
+      }
+      PlafondResponse plafond = activePlafonds.get(request.getPlafondId());
+      if (plafond == null) {
+        throw new IllegalArgumentException(
+            "Simulasi ke-"
+                + (i + 1)
+                + ": plafond dengan ID "
+                + request.getPlafondId()
+                + " tidak ditemukan atau tidak aktif");
+      }
+      try {
+        results.add(simulate(plafond, request, includeSchedule));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Simulasi ke-" + (i + 1) + ": " + e.getMessage(), e);
+      }
+    }
+    return results;
+  }
+
+  private LoanSimulationResponse simulate(
+      PlafondResponse plafond, LoanSimulationRequest request, boolean includeSchedule) {
+    BigDecimal amount = request.getAmount();
+    if (amount == null || amount.signum() <= 0) {
+      throw new IllegalArgumentException("Jumlah pinjaman harus lebih dari 0");
+    }
+    if (amount.compareTo(plafond.getMaxAmount()) > 0) {
+      throw new IllegalArgumentException(
+          "Jumlah pinjaman melebihi batas plafond " + plafond.getName());
+    }
+
+    int tenor = request.getTenorMonth() != null ? request.getTenorMonth() : plafond.getTenorMonth();
+    if (tenor <= 0 || tenor > plafond.getTenorMonth()) {
+      throw new IllegalArgumentException(
+          "Tenor harus antara 1 dan " + plafond.getTenorMonth() + " bulan");
+    }
+
+    InstallmentMethod method =
+        request.getMethod() != null ? request.getMethod() : InstallmentMethod.ANNUITY;
+
+    long principalCents = LoanAmortizationCalculator.toCents(amount);
+    AmortizationSchedule schedule = SCHEDULE_BUFFER.get();
+    LoanAmortizationCalculator.calculate(
+        principalCents,
+        LoanAmortizationCalculator.toBasisPoints(plafond.getInterestRate()),
+        tenor,
+        method,
+        schedule);
+
+    return LoanSimulationResponse.builder()
+        .plafondId(plafond.getId())
+        .plafondName(plafond.getName())
+        .amount(LoanAmortizationCalculator.fromCents(principalCents))
+        .interestRate(plafond.getInterestRate())
+        .tenorMonth(tenor)
+        .method(method)
+        .monthlyInstallment(LoanAmortizationCalculator.fromCents(schedule.getInstallment(0)))
+        .totalInterest(LoanAmortizationCalculator.fromCents(schedule.getTotalInterest()))
+        .totalPayment(
+            LoanAmortizationCalculator.fromCents(principalCents + schedule.getTotalInterest()))
+        .schedule(includeSchedule ? toInstallments(schedule) : null)
+        .build();
+  }
+
+  private List<InstallmentResponse> toInstallments(AmortizationSchedule schedule) {
+    List<InstallmentResponse> installments = new ArrayList<>(schedule.getTenor());
+    for (int month = 0; month < schedule.getTenor(); month++) {
+      installments.add(
+          InstallmentResponse.builder()
+              .month(month + 1)
+              .principal(LoanAmortizationCalculator.fromCents(schedule.getPrincipal(month)))
+              .interest(LoanAmortizationCalculator.fromCents(schedule.getInterest(month)))
+              .installment(LoanAmortizationCalculator.fromCents(schedule.getInstallment(month)))
+              .remainingBalance(LoanAmortizationCalculator.fromCents(schedule.getBalance(month)))
+              .build());
+    }
+    return installments;
+  }
+}
@@ -0,0 +1,107 @@
+package com.example.ProjectBinar.service;
+
+import com.example.ProjectBinar.entity.Plafond;
+import com.example.ProjectBinar.entity.PlafondArchive;
+import com.example.ProjectBinar.repository.PlafondRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service untuk memindahkan plafond yang sudah lama di-soft-delete ke tabel {@code
+ * plafond_archive}.
+ *
+ * <p>Job berjalan terjadwal dan memproses data per chunk; setiap chunk dijalankan dalam transaksi
+ * sendiri sehingga lock dan ukuran transaksi tetap kecil. Set {@code plafond-archive.cron} ke
+ * {@code "-"} untuk menonaktifkan job. Lock {@code plafondArchive} di tabel {@code shedlock}
+ * memastikan hanya satu replica yang menjalankannya; replica lain melewati jadwal tersebut.
+ *
+ * <p>Insert ke archive lewat JDBC batch: ID sudah ditentukan (ID plafond asal), sehingga {@code
+ * saveAll} akan melakukan merge dengan satu SELECT tambahan per baris.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlafondArchiveService {
+
+  private final PlafondRepository plafondRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  static final String INSERT_ARCHIVE_SQL =
+      "INSERT INTO plafond_archive (id, name, description, max_amount, interest_rate,"
+          + " tenor_month, is_active, created_at, deleted_at, archived_at)"
+          + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  @Value("${plafond-archive.retention-days:90}")
+  private int retentionDays;
+
+  @Value("${plafond-archive.chunk-size:500}")
+  private int chunkSize;
+
+  /** Jalankan archival untuk semua plafond yang dihapus lebih dari retentionDays yang lalu. */
+  @Scheduled(cron = "${plafond-archive.cron:0 0 2 * * *}")
+  @SchedulerLock(
+      name = "plafondArchive",
+      lockAtMostFor = "${plafond-archive.lock-at-most-for:PT1H}")
+  public int archiveSoftDeletedPlafonds() {
+    LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+    log.info("Archiving plafonds soft-deleted before {} (chunk size: {})", cutoff, chunkSize);
+
+    int total = 0;
+    int archived;
+    do {
+      archived = archiveChunk(cutoff);
+      total += archived;
+    } while (archived == chunkSize);
+
+    log.info("Plafond archival complete, {} record(s) archived", total);
+    return total;
+  }
+
+  /** Pindahkan satu chunk ke archive dan hapus dari tabel utama dalam satu transaksi. */
+  private int archiveChunk(LocalDateTime cutoff) {
+    Integer archived =
+        transactionTemplate.execute(
+            status -> {
+              List<Plafond> chunk =
+                  plafondRepository.findSoftDeletedBefore(cutoff, PageRequest.of(0, chunkSize));
+              if (chunk.isEmpty()) {
+                return 0;
+              }
+
+              LocalDateTime now = LocalDateTime.now();
+              jdbcTemplate.batchUpdate(
+                  INSERT_ARCHIVE_SQL,
+                  chunk.stream()
+                      .map(plafond -> toRow(PlafondArchive.fromPlafond(plafond, now)))
+                      .toList());
+              plafondRepository.hardDeleteByIdIn(chunk.stream().map(Plafond::getId).toList());
+              return chunk.size();
+            });
+    return archived != null ? archived : 0;
+  }
+
+  private static Object[] toRow(PlafondArchive archive) {
+    return new Object[] {
+      archive.getId(),
+      archive.getName(),
+      archive.getDescription(),
+      archive.getMaxAmount(),
+      archive.getInterestRate(),
+      archive.getTenorMonth(),
+      archive.getIsActive(),
+      archive.getCreatedAt(),
+      archive.getDeletedAt(),
+      archive.getArchivedAt()
+    };
+  }
+}
@@ -1,32 +1,44 @@
 package com.example.ProjectBinar.service;
 
+import com.example.ProjectBinar.catalog.PlafondCatalogEngine;
+import com.example.ProjectBinar.catalog.PlafondEligibilityIndex;
+import com.example.ProjectBinar.catalog.PlafondSyncCursor;
 import com.example.ProjectBinar.dto.CreatePlafondRequest;
+import com.example.ProjectBinar.dto.PlafondChangeResponse;
+import com.example.ProjectBinar.dto.PlafondChangesResponse;
 import com.example.ProjectBinar.dto.PlafondResponse;
 import com.example.ProjectBinar.dto.UpdatePlafondRequest;
 import com.example.ProjectBinar.entity.Plafond;
+import com.example.ProjectBinar.event.PlafondChangedEvent;
 import com.example.ProjectBinar.repository.PlafondRepository;
 import jakarta.persistence.criteria.Predicate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service layer untuk Plafond dengan Redis caching.
  *
- * <p>Menyediakan operasi CRUD lengkap dengan fitur sorting dan filtering.
+ * <p>Menyediakan operasi CRUD lengkap dengan fitur sorting dan filtering. Setiap operasi tulis
+ * mempublish {@link PlafondChangedEvent} untuk komponen yang perlu mengikuti perubahan katalog.
  */
 @Service
 @RequiredArgsConstructor
@@ -34,15 +46,24 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class PlafondService {
 
+  static final String AUDIT_ENTITY_TYPE = "PLAFOND";
+
   private final PlafondRepository plafondRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final PlafondEligibilityIndex eligibilityIndex;
+  private final PlafondCatalogEngine catalogEngine;
+  private final AuditService auditService;
+
+  @Value("${plafond-sync.safety-lag-ms:5000}")
+  private long syncSafetyLagMs;
 
   /** Membuat plafond baru. Menghapus cache karena data berubah. */
   @CacheEvict(value = "plafonds", allEntries = true)
   public PlafondResponse createPlafond(CreatePlafondRequest request) {
     log.info("Creating new plafond: {}", request.getName());
 
-    // Validasi nama unik (hanya cek yang belum dihapus)
-    if (plafondRepository.existsByNameAndIsDeletedFalse(request.getName())) {
+    // Validasi nama unik (record yang sudah dihapus otomatis diabaikan oleh @SQLRestriction)
+    if (plafondRepository.existsByName(request.getName())) {
       throw new IllegalArgumentException(
           "Plafond dengan nama '" + request.getName() + "' sudah ada");
     }
@@ -60,7 +81,12 @@ public class PlafondService {
     Plafond saved = plafondRepository.save(plafond);
     log.info("Plafond created with ID: {}", saved.getId());
 
-    return PlafondResponse.fromEntity(saved);
+    PlafondResponse response = PlafondResponse.fromEntity(saved);
+    auditService.record(
+        AUDIT_ENTITY_TYPE, saved.getId(), AuditService.ACTION_CREATE, null, response);
+    eventPublisher.publishEvent(
+        new PlafondChangedEvent(PlafondChangedEvent.Type.CREATED, response));
+    return response;
   }
 
   /**
@@ -76,8 +102,10 @@ public class PlafondService {
    * @param maxAmount Filter maximum maxAmount
    * @param tenorMonth Filter berdasarkan tenor
    */
-  // Note: Page objects are not cached due to Redis serialization complexity
-  @Transactional(readOnly = true)
+  // Note: Page objects are not cached due to Redis serialization complexity.
+  // SUPPORTS: jalur catalog engine tidak butuh koneksi DB; jalur JPA memakai transaksi read-only
+  // dari repository.
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public Page<PlafondResponse> getAllPlafonds(
       int page,
       int size,
@@ -96,11 +124,21 @@ public class PlafondService {
         sortBy,
         sortDir);
 
-    // Setup sorting
+    // Gunakan catalog engine in-memory jika aktif dan field sorting didukung
+    if (catalogEngine.isEnabled() && catalogEngine.supportsSort(sortBy)) {
+      return catalogEngine.query(
+          page, size, sortBy, sortDir, name, isActive, minAmount, maxAmount, tenorMonth);
+    }
+
+    // Setup sorting; id ascending sebagai tie-breaker supaya urutan (dan paging) deterministik,
+    // sama dengan catalog engine
     Sort sort =
         sortDir.equalsIgnoreCase("desc")
             ? Sort.by(sortBy).descending()
             : Sort.by(sortBy).ascending();
+    if (!sortBy.equals("id")) {
+      sort = sort.and(Sort.by("id").ascending());
+    }
 
     Pageable pageable = PageRequest.of(page, size, sort);
 
@@ -114,11 +152,11 @@ public class PlafondService {
   }
 
   /** Mendapatkan plafond berdasarkan ID. */
-  @Cacheable(value = "plafonds", key = "'id:' + #id")
+  @Cacheable(value = "plafonds", key = "'id:' + #id", sync = true)
   @Transactional(readOnly = true)
   public Optional<PlafondResponse> getPlafondById(Long id) {
     log.info("Fetching plafond by ID: {} (cache miss)", id);
-    return plafondRepository.findByIdAndIsDeletedFalse(id).map(PlafondResponse::fromEntity);
+    return plafondRepository.findById(id).map(PlafondResponse::fromEntity);
   }
 
   /** Update plafond berdasarkan ID. Hanya field yang tidak null akan diupdate. */
@@ -128,13 +166,14 @@ public class PlafondService {
 
     Plafond plafond =
         plafondRepository
-            .findByIdAndIsDeletedFalse(id)
+            .findById(id)
             .orElseThrow(
                 () -> new IllegalArgumentException("Plafond dengan ID " + id + " tidak ditemukan"));
+    PlafondResponse before = PlafondResponse.fromEntity(plafond);
 
-    // Validasi nama unik jika diubah (hanya cek yang belum dihapus)
+    // Validasi nama unik jika diubah
     if (request.getName() != null && !request.getName().equals(plafond.getName())) {
-      if (plafondRepository.existsByNameAndIdNotAndIsDeletedFalse(request.getName(), id)) {
+      if (plafondRepository.existsByNameAndIdNot(request.getName(), id)) {
         throw new IllegalArgumentException(
             "Plafond dengan nama '" + request.getName() + "' sudah ada");
       }
@@ -161,7 +200,11 @@ public class PlafondService {
     Plafond updated = plafondRepository.save(plafond);
     log.info("Plafond updated successfully: {}", updated.getId());
 
-    return PlafondResponse.fromEntity(updated);
+    PlafondResponse response = PlafondResponse.fromEntity(updated);
+    auditService.record(AUDIT_ENTITY_TYPE, id, AuditService.ACTION_UPDATE, before, response);
+    eventPublisher.publishEvent(
+        new PlafondChangedEvent(PlafondChangedEvent.Type.UPDATED, response));
+    return response;
   }
 
   /**
@@ -174,19 +217,27 @@ public class PlafondService {
 
     Plafond plafond =
         plafondRepository
-            .findByIdAndIsDeletedFalse(id)
+            .findById(id)
             .orElseThrow(
                 () -> new IllegalArgumentException("Plafond dengan ID " + id + " tidak ditemukan"));
 
+    PlafondResponse before = PlafondResponse.fromEntity(plafond);
     plafond.setIsDeleted(true);
     plafond.setDeletedAt(LocalDateTime.now());
-    plafondRepository.save(plafond);
+    Plafond deleted = plafondRepository.save(plafond);
+    auditService.record(AUDIT_ENTITY_TYPE, id, AuditService.ACTION_DELETE, before, null);
+    eventPublisher.publishEvent(
+        new PlafondChangedEvent(
+            PlafondChangedEvent.Type.DELETED, PlafondResponse.fromEntity(deleted)));
 
     log.info("Plafond soft deleted successfully: {}", id);
   }
 
-  /** Build Specification untuk dynamic filtering. */
-  private Specification<Plafond> buildSpecification(
+  /**
+   * Build Specification untuk dynamic filtering. Package-private static supaya bisa diukur oleh
+   * benchmark.
+   */
+  static Specification<Plafond> buildSpecification(
       String name,
       Boolean isActive,
       BigDecimal minAmount,
@@ -194,11 +245,9 @@ public class PlafondService {
       Integer tenorMonth) {
 
     return (root, query, criteriaBuilder) -> {
+      // Filter isDeleted = false sudah ditambahkan otomatis oleh @SQLRestriction pada entity
       List<Predicate> predicates = new ArrayList<>();
 
-      // Selalu filter yang belum dihapus
-      predicates.add(criteriaBuilder.equal(root.get("isDeleted"), false));
-
       if (name != null && !name.isEmpty()) {
         predicates.add(
             criteriaBuilder.like(
@@ -226,12 +275,100 @@ public class PlafondService {
   }
 
   /** Mendapatkan semua plafond aktif (tanpa pagination). */
-  @Cacheable(value = "plafonds", key = "'active'")
+  @Cacheable(value = "plafonds", key = "'active'", sync = true)
   @Transactional(readOnly = true)
   public List<PlafondResponse> getActivePlafonds() {
     log.info("Fetching active plafonds (cache miss)");
-    return plafondRepository.findByIsActiveAndIsDeletedFalse(true).stream()
+    // ArrayList, bukan Stream.toList(): list immutable JDK adalah class final sehingga tidak diberi
+    // type info oleh serializer Redis dan gagal dibaca kembali dari cache
+    return plafondRepository.findByIsActive(true).stream()
         .map(PlafondResponse::fromEntity)
-        .toList();
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Mendapatkan plafond aktif yang memenuhi jumlah dan tenor yang diajukan, diurutkan dari suku
+   * bunga terendah. Dilayani dari index in-memory tanpa query database, sehingga tidak perlu
+   * transaksi (dan tidak mengambil connection dari pool).
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public List<PlafondResponse> getEligiblePlafonds(BigDecimal amount, int tenorMonth, int limit) {
+    if (amount == null || amount.signum() <= 0) {
+      throw new IllegalArgumentException("Jumlah pinjaman harus lebih dari 0");
+    }
+    if (tenorMonth <= 0) {
+      throw new IllegalArgumentException("Tenor harus lebih dari 0");
+    }
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit harus lebih dari 0");
+    }
+    return eligibilityIndex.findEligible(amount, tenorMonth, limit);
+  }
+
+  /**
+   * Mendapatkan perubahan plafond (create, update, soft delete) setelah cursor untuk delta-sync.
+   *
+   * <p>Perubahan yang lebih baru dari safety lag belum dikirim. updatedAt di-stamp dengan jam
+   * aplikasi saat flush, sehingga transaksi yang commit belakangan bisa punya updatedAt lebih kecil
+   * dari perubahan yang sudah terkirim; menunggu safety lag mencegah cursor melompati perubahan
+   * tersebut (selama jarak flush-commit ditambah selisih jam antar replica di bawah safety lag).
+   *
+   * @param since Cursor dari response sebelumnya; kosong untuk sinkronisasi penuh
+   * @param limit Jumlah maksimal perubahan per response
+   * @throws IllegalArgumentException jika cursor tidak valid
+   */
+  @Transactional(readOnly = true)
+  public PlafondChangesResponse getPlafondChanges(String since, int limit) {
+    if (limit <= 0 || limit > 1000) {
+      throw new IllegalArgumentException("Limit harus antara 1 dan 1000");
+    }
+
+    PlafondSyncCursor cursor = PlafondSyncCursor.decode(since);
+    log.info("Fetching plafond changes since {} (limit: {})", cursor, limit);
+
+    // Tombstone yang sudah di-archive tidak bisa dikirim lagi: client yang cursor-nya di belakang
+    // tombstone terbaru yang di-archive (dan archival-nya terjadi setelah cursor dibuat) harus
+    // sinkronisasi penuh. Umur cursor saja tidak cukup: katalog yang lama tidak berubah
+    // menghasilkan cursor lama tanpa ada tombstone yang hilang. updatedAt tombstone di-stamp saat
+    // flush soft delete, jadi tidak pernah lebih kecil dari deleted_at. Watermark dibaca sebelum
+    // query perubahan: archival yang commit di antaranya paling buruk memicu resync berikutnya
+    LocalDateTime archiveWatermark =
+        Objects.requireNonNullElse(
+            plafondRepository.findArchiveWatermark(), PlafondSyncCursor.NO_ARCHIVE);
+    if (!cursor.equals(PlafondSyncCursor.START) && cursor.isBehindArchive(archiveWatermark)) {
+      return PlafondChangesResponse.builder()
+          .changes(List.of())
+          .nextCursor(PlafondSyncCursor.START.encode())
+          .hasMore(false)
+          .fullResyncRequired(true)
+          .build();
+    }
+
+    // Ambil limit + 1 untuk mengetahui apakah masih ada halaman berikutnya
+    List<Plafond> changed =
+        plafondRepository.findChangedAfter(
+            cursor.updatedAt(),
+            cursor.id(),
+            LocalDateTime.now().minusNanos(syncSafetyLagMs * 1_000_000L),
+            PageRequest.of(0, limit + 1));
+    boolean hasMore = changed.size() > limit;
+    if (hasMore) {
+      changed = changed.subList(0, limit);
+    }
+
+    PlafondSyncCursor next =
+        changed.isEmpty()
+            ? new PlafondSyncCursor(cursor.updatedAt(), cursor.id(), archiveWatermark)
+            : new PlafondSyncCursor(
+                changed.get(changed.size() - 1).getUpdatedAt(),
+                changed.get(changed.size() - 1).getId(),
+                archiveWatermark);
+
+    return PlafondChangesResponse.builder()
+        .changes(changed.stream().map(PlafondChangeResponse::fromEntity).toList())
+        .nextCursor(next.encode())
+        .hasMore(hasMore)
+        .fullResyncRequired(false)
+        .build();
   }
 }
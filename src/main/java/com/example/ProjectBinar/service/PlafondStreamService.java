@@ -0,0 +1,388 @@
+package com.example.ProjectBinar.service;
+
+import com.example.ProjectBinar.config.BackgroundThreads;
+import com.example.ProjectBinar.dto.PlafondStreamEvent;
+import com.example.ProjectBinar.event.PlafondChangedEvent;
+import com.example.ProjectBinar.event.PlafondEventRingBuffer;
+import com.example.ProjectBinar.event.PlafondRemoteChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service untuk push perubahan plafond ke client melalui Server-Sent Events.
+ *
+ * <p>Alur: {@code PlafondService} mempublish {@link PlafondChangedEvent} → setelah commit, event
+ * diberi id global (Redis INCR) dan dipublish ke channel Redis → setiap node (termasuk node
+ * pengirim) menerima event dari Redis, menyimpannya di ring buffer, lalu mengirimkannya ke semua
+ * {@link SseEmitter} lokal. Jika fan-out Redis dinonaktifkan (single node), id berasal dari
+ * sequence lokal; jika Redis gagal, event dikirim ke client lokal tanpa id (lihat {@link
+ * #onPlafondChanged}).
+ *
+ * <p>Redis pub/sub dari beberapa node bisa mengantarkan id tidak berurutan. Dispatcher menahan
+ * event sampai id sebelumnya datang, paling lama reorder-window-ms; setelah itu gap dilewati. Event
+ * yang datang setelah gap-nya dilewati tetap dikirim ke client dan disisipkan di ring buffer.
+ *
+ * <p>Event dari node lain juga dipublish ulang sebagai {@link PlafondRemoteChangedEvent} supaya
+ * index in-memory (katalog, eligibility) di node ini ikut dibangun ulang.
+ *
+ * <p>Emitter memakai servlet async sehingga client yang idle tidak menahan thread. Setiap client
+ * punya antrian terbatas yang dikirim oleh pool sender; client yang antriannya penuh atau write-nya
+ * macet lebih dari write-timeout-ms diputus dan bisa reconnect dengan {@code Last-Event-ID}, tanpa
+ * menahan client lain.
+ */
+@Service
+@Slf4j
+public class PlafondStreamService implements MessageListener {
+
+  /** Channel Redis untuk fan-out event antar node. */
+  public static final String CHANNEL = "plafonds:stream";
+
+  /** Key Redis untuk sequence id event global. */
+  public static final String SEQUENCE_KEY = "plafonds:stream:seq";
+
+  private final String nodeId = UUID.randomUUID().toString();
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final PlafondEventRingBuffer ringBuffer;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final AtomicLong localSequence = new AtomicLong();
+  private final int subscriberQueueSize;
+  private final ScheduledExecutorService dispatcher;
+  private final ExecutorService senders;
+
+  /** Event dengan id di atas nextId yang menunggu id sebelumnya; hanya diakses dispatcher. */
+  private final TreeMap<Long, PlafondStreamEvent> pending = new TreeMap<>();
+
+  /** Id berikutnya yang dikirim berurutan (0 = belum ada event sejak start). */
+  private long nextId;
+
+  @Value("${plafond-stream.emitter-timeout-ms:1800000}")
+  private long emitterTimeoutMs;
+
+  @Value("${plafond-stream.redis-fanout:true}")
+  private boolean redisFanout;
+
+  @Value("${plafond-stream.reorder-window-ms:500}")
+  private long reorderWindowMs;
+
+  @Value("${plafond-stream.write-timeout-ms:10000}")
+  private long writeTimeoutMs;
+
+  public PlafondStreamService(
+      StringRedisTemplate redisTemplate,
+      ObjectMapper objectMapper,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${plafond-stream.buffer-size:1024}") int bufferSize,
+      @Value("${plafond-stream.subscriber-queue-size:256}") int subscriberQueueSize,
+      @Value("${plafond-stream.sender-threads:8}") int senderThreads,
+      BackgroundThreads backgroundThreads) {
+    this.redisTemplate = redisTemplate;
+    this.objectMapper = objectMapper;
+    this.eventPublisher = eventPublisher;
+    this.ringBuffer = new PlafondEventRingBuffer(bufferSize);
+    this.subscriberQueueSize = subscriberQueueSize;
+    // Satu dispatcher supaya urutan event terjaga; write SSE blocking dikerjakan pool sender
+    this.dispatcher =
+        Executors.newSingleThreadScheduledExecutor(
+            backgroundThreads.factory("plafond-sse-dispatcher"));
+    this.senders =
+        Executors.newFixedThreadPool(
+            senderThreads, backgroundThreads.factory("plafond-sse-sender"));
+  }
+
+  /** Pesan di channel Redis: event beserta node pengirimnya. */
+  record FanoutMessage(String node, PlafondStreamEvent event) {}
+
+  /**
+   * Daftarkan client SSE baru.
+   *
+   * @param lastEventId nilai header {@code Last-Event-ID} (null untuk koneksi baru); event yang
+   *     terlewat akan dikirim ulang dari ring buffer
+   */
+  public SseEmitter subscribe(String lastEventId) {
+    SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+    subscribe(emitter, lastEventId);
+    return emitter;
+  }
+
+  /** Daftarkan emitter yang sudah dibuat; dipisah supaya bisa dipakai langsung oleh test. */
+  void subscribe(SseEmitter emitter, String lastEventId) {
+    Subscriber subscriber = new Subscriber(emitter);
+    emitter.onCompletion(() -> subscribers.remove(subscriber));
+    emitter.onTimeout(() -> subscribers.remove(subscriber));
+    emitter.onError(error -> subscribers.remove(subscriber));
+
+    // Replay sebelum didaftarkan agar urutan event tetap terjaga
+    dispatcher.execute(
+        () -> {
+          if (lastEventId != null && !lastEventId.isBlank()) {
+            replay(subscriber, lastEventId);
+          }
+          subscribers.add(subscriber);
+        });
+
+    log.debug("SSE client subscribed, {} active subscriber(s)", subscribers.size());
+  }
+
+  /**
+   * Publish perubahan plafond setelah transaksi ter-commit.
+   *
+   * <p>Jika Redis tidak tersedia, event hanya dikirim ke client lokal tanpa id dan tidak masuk ring
+   * buffer: id lokal akan bertabrakan dengan id global dari Redis setelah Redis pulih. Client yang
+   * reconnect tidak mendapat event ini lewat replay, tetapi tetap lewat GET /plafonds/changes.
+   */
+  @TransactionalEventListener
+  public void onPlafondChanged(PlafondChangedEvent event) {
+    if (!redisFanout) {
+      PlafondStreamEvent streamEvent = toStreamEvent(localSequence.incrementAndGet(), event);
+      dispatcher.execute(() -> receive(streamEvent));
+      return;
+    }
+    try {
+      Long id = redisTemplate.opsForValue().increment(SEQUENCE_KEY);
+      PlafondStreamEvent streamEvent = toStreamEvent(id, event);
+      redisTemplate.convertAndSend(
+          CHANNEL, objectMapper.writeValueAsString(new FanoutMessage(nodeId, streamEvent)));
+      return;
+    } catch (Exception e) {
+      log.warn("Redis fan-out failed, delivering plafond event locally: {}", e.getMessage());
+    }
+    PlafondStreamEvent streamEvent = toStreamEvent(null, event);
+    dispatcher.execute(() -> broadcast(() -> toSseEvent(streamEvent)));
+  }
+
+  /** Terima event dari Redis pub/sub (dari node mana pun). */
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    try {
+      FanoutMessage fanout =
+          objectMapper.readValue(
+              new String(message.getBody(), StandardCharsets.UTF_8), FanoutMessage.class);
+      dispatcher.execute(() -> receive(fanout.event()));
+      if (!nodeId.equals(fanout.node())) {
+        eventPublisher.publishEvent(new PlafondRemoteChangedEvent(fanout.event()));
+      }
+    } catch (IOException e) {
+      log.error("Failed to parse plafond stream event from Redis", e);
+    }
+  }
+
+  /**
+   * Kirim komentar heartbeat agar koneksi mati terdeteksi dan proxy tidak menutup koneksi, dan
+   * putuskan client yang write-nya macet lebih dari write-timeout-ms.
+   */
+  @Scheduled(fixedRateString = "${plafond-stream.heartbeat-ms:30000}")
+  public void heartbeat() {
+    if (!subscribers.isEmpty()) {
+      dispatcher.execute(
+          () -> {
+            long now = System.nanoTime();
+            for (Subscriber subscriber : subscribers) {
+              if (subscriber.isStalled(now, TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs))) {
+                drop(subscriber, new TimeoutException("SSE write timed out"));
+              } else {
+                subscriber.enqueue(() -> SseEmitter.event().comment("ping"));
+              }
+            }
+          });
+    }
+  }
+
+  /** Jumlah client SSE yang terhubung ke node ini. */
+  public int getSubscriberCount() {
+    return subscribers.size();
+  }
+
+  /** Urutkan event berdasarkan id sebelum dikirim; hanya dipanggil di thread dispatcher. */
+  private void receive(PlafondStreamEvent event) {
+    long id = event.getId();
+    if (nextId == 0) {
+      nextId = id;
+    }
+    if (id < nextId) {
+      // Terlambat setelah gap-nya dilewati: tetap kirim, urutan di buffer tetap terjaga
+      release(event);
+      return;
+    }
+    pending.put(id, event);
+    drainPending();
+    if (!pending.isEmpty()) {
+      long waitingFor = nextId;
+      dispatcher.schedule(() -> skipGap(waitingFor), reorderWindowMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /** Id yang ditunggu tidak datang dalam reorder window: lanjut dari event berikutnya. */
+  private void skipGap(long waitingFor) {
+    if (nextId == waitingFor && !pending.isEmpty()) {
+      log.debug("Plafond stream event {} not received, skipping gap", waitingFor);
+      nextId = pending.firstKey();
+      drainPending();
+    }
+  }
+
+  private void drainPending() {
+    PlafondStreamEvent event;
+    while ((event = pending.remove(nextId)) != null) {
+      release(event);
+      nextId++;
+    }
+  }
+
+  private void release(PlafondStreamEvent event) {
+    if (ringBuffer.add(event)) {
+      broadcast(() -> toSseEvent(event));
+    }
+  }
+
+  /** Builder SSE tidak thread-safe dan berubah saat dikirim, jadi dibuat per client. */
+  private void broadcast(Supplier<SseEmitter.SseEventBuilder> event) {
+    for (Subscriber subscriber : subscribers) {
+      if (!subscriber.enqueue(event)) {
+        // Client tidak mengikuti; lebih murah reconnect + replay daripada menahan antrian
+        drop(subscriber, new IOException("SSE subscriber queue full"));
+      }
+    }
+  }
+
+  private void replay(Subscriber subscriber, String lastEventId) {
+    long lastId;
+    try {
+      lastId = Long.parseLong(lastEventId.trim());
+    } catch (NumberFormatException e) {
+      log.warn("Ignoring invalid Last-Event-ID: {}", lastEventId);
+      return;
+    }
+
+    List<PlafondStreamEvent> missed = ringBuffer.since(lastId);
+    if (missed == null || missed.size() > subscriberQueueSize) {
+      // Event yang terlewat sudah keluar dari buffer (atau terlalu banyak untuk antrian client);
+      // minta client sinkronisasi via /changes
+      subscriber.enqueue(
+          () -> SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+      return;
+    }
+    missed.forEach(event -> subscriber.enqueue(() -> toSseEvent(event)));
+  }
+
+  private void drop(Subscriber subscriber, Exception reason) {
+    if (subscribers.remove(subscriber)) {
+      log.debug("Dropping SSE subscriber: {}", reason.getMessage());
+      subscriber.emitter.completeWithError(reason);
+    }
+  }
+
+  private SseEmitter.SseEventBuilder toSseEvent(PlafondStreamEvent event) {
+    SseEmitter.SseEventBuilder builder = SseEmitter.event();
+    if (event.getId() != null) {
+      builder.id(String.valueOf(event.getId()));
+    }
+    return builder
+        .name(event.getType().name().toLowerCase())
+        .data(event, MediaType.APPLICATION_JSON);
+  }
+
+  private static PlafondStreamEvent toStreamEvent(Long id, PlafondChangedEvent event) {
+    return PlafondStreamEvent.builder()
+        .id(id)
+        .type(event.getType())
+        .plafond(event.getPlafond())
+        .build();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    dispatcher.shutdownNow();
+    senders.shutdownNow();
+  }
+
+  /** Client SSE dengan antrian terbatas; paling banyak satu task sender aktif per client. */
+  private final class Subscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> queue =
+        new ArrayBlockingQueue<>(subscriberQueueSize);
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /** Waktu mulai write yang sedang berjalan (0 = tidak sedang menulis). */
+    private volatile long sendStartedNanos;
+
+    private Subscriber(SseEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    /** Masukkan event ke antrian; false jika antrian penuh. */
+    boolean enqueue(Supplier<SseEmitter.SseEventBuilder> event) {
+      if (!queue.offer(event)) {
+        return false;
+      }
+      if (scheduled.compareAndSet(false, true)) {
+        senders.execute(this::drain);
+      }
+      return true;
+    }
+
+    boolean isStalled(long now, long timeoutNanos) {
+      long started = sendStartedNanos;
+      return started != 0 && now - started > timeoutNanos;
+    }
+
+    private void drain() {
+      do {
+        Supplier<SseEmitter.SseEventBuilder> event;
+        while ((event = queue.poll()) != null) {
+          if (!send(event.get())) {
+            queue.clear();
+            return;
+          }
+        }
+        scheduled.set(false);
+        // Event yang masuk setelah poll terakhir tetapi sebelum flag dilepas
+      } while (!queue.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+
+    private boolean send(SseEmitter.SseEventBuilder event) {
+      sendStartedNanos = System.nanoTime();
+      try {
+        emitter.send(event);
+        return true;
+      } catch (IOException | IllegalStateException e) {
+        subscribers.remove(this);
+        emitter.completeWithError(e);
+        return false;
+      } finally {
+        sendStartedNanos = 0;
+      }
+    }
+  }
+}
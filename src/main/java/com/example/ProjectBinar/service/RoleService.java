@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service layer untuk Role dengan Redis caching. @Service: Menandai class sebagai Spring service
@@ -31,14 +32,16 @@ public class RoleService {
   }
 
   /** Mendapatkan semua role. Hasil di-cache dengan key "roles::all" */
-  @Cacheable(value = "roles", key = "'all'")
+  @Cacheable(value = "roles", key = "'all'", sync = true)
+  @Transactional(readOnly = true)
   public List<Role> getAllRoles() {
     log.info("Fetching all roles from database (cache miss)");
     return roleRepository.findAll();
   }
 
   /** Mencari role berdasarkan nama. Hasil di-cache dengan key "roles::{name}" */
-  @Cacheable(value = "roles", key = "#name")
+  @Cacheable(value = "roles", key = "#name", sync = true)
+  @Transactional(readOnly = true)
   public Optional<Role> findByName(String name) {
     log.info("Fetching role by name from database: {} (cache miss)", name);
     return roleRepository.findByName(name);
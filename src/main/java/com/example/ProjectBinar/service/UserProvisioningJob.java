@@ -0,0 +1,102 @@
+package com.example.ProjectBinar.service;
+
+import com.example.ProjectBinar.dto.UserProvisioningJobResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * State satu job bulk provisioning. Ditulis oleh thread job, dibaca oleh request status; semua
+ * method synchronized karena update-nya jarang (per baris/chunk) dan snapshot harus konsisten.
+ */
+class UserProvisioningJob {
+
+  enum Status {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  private final String id = UUID.randomUUID().toString();
+  private final int total;
+  private final int maxErrors;
+  private final Instant submittedAt = Instant.now();
+  private final List<UserProvisioningJobResponse.RowError> errors = new ArrayList<>();
+
+  private Status status = Status.QUEUED;
+  private int created;
+  private int failed;
+  private String message;
+  private Instant finishedAt;
+
+  UserProvisioningJob(int total, int maxErrors) {
+    this.total = total;
+    this.maxErrors = maxErrors;
+  }
+
+  String getId() {
+    return id;
+  }
+
+  synchronized void start() {
+    status = Status.RUNNING;
+  }
+
+  synchronized void created(int count) {
+    created += count;
+  }
+
+  /** Catat baris gagal; error di atas maxErrors hanya dihitung, tidak disimpan. */
+  synchronized void rowFailed(int row, String username, String error) {
+    failed++;
+    if (errors.size() < maxErrors) {
+      errors.add(
+          UserProvisioningJobResponse.RowError.builder()
+              .row(row)
+              .username(username)
+              .message(error)
+              .build());
+    }
+  }
+
+  synchronized void complete() {
+    status = Status.COMPLETED;
+    finishedAt = Instant.now();
+  }
+
+  synchronized void abort(String reason) {
+    status = Status.FAILED;
+    message = reason;
+    finishedAt = Instant.now();
+  }
+
+  /** True jika job sudah selesai sebelum {@code cutoff} (boleh dibuang dari registry). */
+  synchronized boolean finishedBefore(Instant cutoff) {
+    return finishedAt != null && finishedAt.isBefore(cutoff);
+  }
+
+  /**
+   * Snapshot status; error diurutkan per nomor baris (validasi dan insert mencatat di waktu
+   * berbeda).
+   */
+  synchronized UserProvisioningJobResponse toResponse() {
+    List<UserProvisioningJobResponse.RowError> sortedErrors = new ArrayList<>(errors);
+    sortedErrors.sort(Comparator.comparingInt(UserProvisioningJobResponse.RowError::getRow));
+    return UserProvisioningJobResponse.builder()
+        .jobId(id)
+        .status(status.name())
+        .total(total)
+        .processed(created + failed)
+        .created(created)
+        .failed(failed)
+        .message(message)
+        .errors(sortedErrors)
+        .errorsTruncated(failed > errors.size())
+        .submittedAt(submittedAt)
+        .finishedAt(finishedAt)
+        .build();
+  }
+}
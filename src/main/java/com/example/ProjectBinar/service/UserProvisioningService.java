@@ -0,0 +1,510 @@
+package com.example.ProjectBinar.service;
+
+import com.example.ProjectBinar.config.BackgroundThreads;
+import com.example.ProjectBinar.dto.BulkUserRequest;
+import com.example.ProjectBinar.dto.UserProvisioningJobResponse;
+import com.example.ProjectBinar.entity.Role;
+import com.example.ProjectBinar.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk provisioning user (onboarding cabang baru).
+ *
+ * <p>Request hanya mem-parse baris (JSON array atau NDJSON) lalu langsung mengembalikan job id;
+ * proses berjalan di background dan progress/error per baris bisa dipantau lewat {@link
+ * #getJob(String)}. Per chunk: validasi, hash password paralel di ForkJoinPool terbatas (BCrypt
+ * adalah bagian yang mahal), lalu users + user_roles ditulis dengan JDBC batch insert dalam satu
+ * transaksi. Role di-resolve sekali dari cache "roles" untuk seluruh job.
+ *
+ * <p>Status job disimpan di tabel user_provisioning_job setiap chunk selesai, sehingga status bisa
+ * dibaca dari replica mana pun di belakang load balancer; replica yang menjalankan job membaca dari
+ * memori. Job sendiri tetap berjalan di replica yang menerimanya: jika replica itu mati, status
+ * terakhir (QUEUED/RUNNING) tidak akan berubah lagi. Antrian job dibatasi max-queued-jobs karena
+ * setiap job menahan password plain text semua barisnya sampai diproses; submit di atas batas itu
+ * ditolak dengan {@link RejectedExecutionException}.
+ */
+@Service
+@Slf4j
+public class UserProvisioningService {
+
+  static final String INSERT_USER_SQL =
+      "INSERT INTO users (username, email, password, is_active) VALUES (?, ?, ?, ?)";
+  static final String INSERT_USER_ROLE_SQL =
+      "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+  static final String SELECT_USER_IDS_SQL =
+      "SELECT id, username FROM users WHERE username IN (:usernames)";
+  static final String INSERT_JOB_SQL =
+      "INSERT INTO user_provisioning_job (id, status, payload, updated_at, finished_at)"
+          + " VALUES (?, ?, ?, ?, ?)";
+  static final String UPDATE_JOB_SQL =
+      "UPDATE user_provisioning_job SET status = ?, payload = ?, updated_at = ?, finished_at = ?"
+          + " WHERE id = ?";
+  static final String SELECT_JOB_SQL = "SELECT payload FROM user_provisioning_job WHERE id = ?";
+  static final String DELETE_JOB_SQL = "DELETE FROM user_provisioning_job WHERE id = ?";
+  static final String DELETE_FINISHED_JOBS_SQL =
+      "DELETE FROM user_provisioning_job WHERE finished_at < ?";
+
+  static final int MIN_PASSWORD_LENGTH = 6;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final PasswordEncoder passwordEncoder;
+  private final RoleService roleService;
+  private final AuditService auditService;
+  private final CacheManager cacheManager;
+  private final ObjectMapper objectMapper;
+  private final BackgroundThreads backgroundThreads;
+
+  /** Job yang dijalankan replica ini; job replica lain dibaca dari tabel user_provisioning_job. */
+  private final Map<String, UserProvisioningJob> jobs = new ConcurrentHashMap<>();
+
+  /** Jumlah baris maksimal per request; request yang lebih besar harus dipecah. */
+  @Value("${user-provisioning.max-rows:10000}")
+  private int maxRows;
+
+  /** Jumlah baris per transaksi/JDBC batch. Di SQL Server jaga di bawah batas 2100 parameter. */
+  @Value("${user-provisioning.chunk-size:200}")
+  private int chunkSize;
+
+  /** Thread untuk hashing password; 0 = jumlah core. */
+  @Value("${user-provisioning.hash-parallelism:0}")
+  private int hashParallelism;
+
+  @Value("${user-provisioning.max-row-errors:1000}")
+  private int maxRowErrors;
+
+  /** Lama status job yang sudah selesai disimpan (di memori dan di database). */
+  @Value("${user-provisioning.job-retention-minutes:60}")
+  private long jobRetentionMinutes;
+
+  /** Job yang boleh menunggu di antrian selain job yang sedang berjalan. */
+  @Value("${user-provisioning.max-queued-jobs:2}")
+  private int maxQueuedJobs;
+
+  private ForkJoinPool hashPool;
+
+  /**
+   * Satu job berjalan pada satu waktu supaya job tidak berebut hashPool dan koneksi database.
+   * Antriannya dibatasi max-queued-jobs.
+   */
+  private ThreadPoolExecutor jobExecutor;
+
+  public UserProvisioningService(
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      PasswordEncoder passwordEncoder,
+      RoleService roleService,
+      AuditService auditService,
+      CacheManager cacheManager,
+      ObjectMapper objectMapper,
+      BackgroundThreads backgroundThreads) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    this.transactionTemplate = transactionTemplate;
+    this.passwordEncoder = passwordEncoder;
+    this.roleService = roleService;
+    this.auditService = auditService;
+    this.cacheManager = cacheManager;
+    this.objectMapper = objectMapper;
+    this.backgroundThreads = backgroundThreads;
+  }
+
+  @PostConstruct
+  void start() {
+    int parallelism =
+        hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors();
+    hashPool = new ForkJoinPool(parallelism);
+    jobExecutor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, maxQueuedJobs)),
+            backgroundThreads.factory("user-provisioning"));
+    log.info(
+        "User provisioning password hashing parallelism: {}, max queued jobs: {}",
+        parallelism,
+        maxQueuedJobs);
+  }
+
+  /**
+   * Parse baris user dari body request lalu jadwalkan job provisioning.
+   *
+   * @param body JSON array atau NDJSON (satu object per baris) berisi {@link BulkUserRequest}
+   * @return Status awal job (QUEUED)
+   * @throws IllegalArgumentException jika body kosong, formatnya tidak valid, atau melebihi
+   *     max-rows
+   * @throws RejectedExecutionException jika antrian job sudah penuh (max-queued-jobs)
+   */
+  public UserProvisioningJobResponse submit(InputStream body) throws IOException {
+    List<BulkUserRequest> rows = new ArrayList<>();
+    try (MappingIterator<BulkUserRequest> iterator =
+        objectMapper.readerFor(BulkUserRequest.class).readValues(body)) {
+      while (iterator.hasNextValue()) {
+        if (rows.size() == maxRows) {
+          throw new IllegalArgumentException(
+              "Maksimal " + maxRows + " user per request, pecah menjadi beberapa request");
+        }
+        rows.add(iterator.nextValue());
+      }
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException(
+          "Format baris ke-" + (rows.size() + 1) + " tidak valid: " + e.getOriginalMessage());
+    }
+    if (rows.isEmpty()) {
+      throw new IllegalArgumentException("Request tidak berisi user");
+    }
+
+    evictFinishedJobs();
+    UserProvisioningJob job = new UserProvisioningJob(rows.size(), maxRowErrors);
+    jobs.put(job.getId(), job);
+    insertJobStatus(job);
+
+    try {
+      // Security context ikut dibawa supaya actor di audit trail tetap user yang submit
+      jobExecutor.execute(new DelegatingSecurityContextRunnable(() -> run(job, rows)));
+    } catch (RejectedExecutionException e) {
+      jobs.remove(job.getId());
+      jdbcTemplate.update(DELETE_JOB_SQL, job.getId());
+      log.warn("Rejected user provisioning job with {} rows: queue is full", rows.size());
+      throw new RejectedExecutionException(
+          "Antrian bulk provisioning penuh (" + maxQueuedJobs + " job), coba lagi nanti", e);
+    }
+    log.info("Queued user provisioning job {} with {} rows", job.getId(), rows.size());
+    return job.toResponse();
+  }
+
+  /**
+   * Status job, dari memori jika job berjalan di replica ini, selain itu dari database. Empty jika
+   * job tidak dikenal atau sudah melewati job-retention-minutes.
+   */
+  public Optional<UserProvisioningJobResponse> getJob(String jobId) {
+    UserProvisioningJob job = jobs.get(jobId);
+    if (job != null) {
+      return Optional.of(job.toResponse());
+    }
+    return jdbcTemplate.queryForList(SELECT_JOB_SQL, String.class, jobId).stream()
+        .findFirst()
+        .map(this::readJobStatus);
+  }
+
+  void run(UserProvisioningJob job, List<BulkUserRequest> rows) {
+    long start = System.nanoTime();
+    job.start();
+    try {
+      Map<String, Role> roles =
+          roleService.getAllRoles().stream()
+              .collect(Collectors.toMap(Role::getName, role -> role, (a, b) -> a));
+      Set<String> seenUsernames = new HashSet<>();
+
+      for (int from = 0; from < rows.size(); from += chunkSize) {
+        List<PendingUser> pending = new ArrayList<>();
+        for (int i = from; i < Math.min(from + chunkSize, rows.size()); i++) {
+          PendingUser user = validate(job, i + 1, rows.get(i), roles, seenUsernames);
+          if (user != null) {
+            pending.add(user);
+          }
+        }
+        hashPasswords(pending);
+        insertChunk(job, pending);
+        updateJobStatus(job);
+      }
+      job.complete();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      job.abort("Job dihentikan");
+    } catch (Exception e) {
+      log.error("User provisioning job {} failed", job.getId(), e);
+      job.abort("Job gagal: " + e.getMessage());
+    } finally {
+      evictUsersCache();
+      updateJobStatus(job);
+      UserProvisioningJobResponse result = job.toResponse();
+      log.info(
+          "User provisioning job {} {}: {} created, {} failed in {} ms",
+          job.getId(),
+          result.getStatus(),
+          result.getCreated(),
+          result.getFailed(),
+          (System.nanoTime() - start) / 1_000_000);
+    }
+  }
+
+  /** Validasi satu baris; baris tidak valid langsung dicatat sebagai error dan di-skip. */
+  private PendingUser validate(
+      UserProvisioningJob job,
+      int row,
+      BulkUserRequest request,
+      Map<String, Role> roles,
+      Set<String> seenUsernames) {
+    String username = request.getUsername() == null ? null : request.getUsername().trim();
+    if (username == null || username.isEmpty()) {
+      job.rowFailed(row, request.getUsername(), "Username wajib diisi");
+      return null;
+    }
+    if (request.getPassword() == null || request.getPassword().length() < MIN_PASSWORD_LENGTH) {
+      job.rowFailed(row, username, "Password minimal " + MIN_PASSWORD_LENGTH + " karakter");
+      return null;
+    }
+
+    Set<Role> userRoles = new HashSet<>();
+    List<String> unknownRoles = new ArrayList<>();
+    if (request.getRoles() != null) {
+      for (String roleName : request.getRoles()) {
+        String normalized = roleName == null ? "" : roleName.trim().toUpperCase(Locale.ROOT);
+        Role role = roles.get(normalized);
+        if (role == null) {
+          unknownRoles.add(roleName);
+        } else {
+          userRoles.add(role);
+        }
+      }
+    }
+    if (!unknownRoles.isEmpty()) {
+      job.rowFailed(row, username, "Role " + unknownRoles + " tidak ditemukan");
+      return null;
+    }
+    if (!seenUsernames.add(username)) {
+      job.rowFailed(row, username, "Username duplikat di dalam request");
+      return null;
+    }
+
+    User user =
+        User.builder()
+            .username(username)
+            .email(request.getEmail())
+            .password(request.getPassword())
+            .isActive(request.getIsActive() == null || request.getIsActive())
+            .roles(userRoles)
+            .build();
+    return new PendingUser(row, user);
+  }
+
+  /**
+   * Hash password semua baris di hashPool. Password plain text langsung diganti hasil hash, jadi
+   * tidak tertahan di memori selama job berjalan.
+   */
+  private void hashPasswords(List<PendingUser> pending)
+      throws InterruptedException, ExecutionException {
+    hashPool
+        .submit(
+            () ->
+                pending.parallelStream()
+                    .forEach(
+                        p -> p.user().setPassword(passwordEncoder.encode(p.user().getPassword()))))
+        .get();
+  }
+
+  /**
+   * Tulis satu chunk dalam satu transaksi. Jika batch gagal (e.g. username dibuat request lain di
+   * tengah job), chunk diulang per baris supaya hanya baris yang bermasalah yang gagal.
+   */
+  private void insertChunk(UserProvisioningJob job, List<PendingUser> pending) {
+    if (pending.isEmpty()) {
+      return;
+    }
+    try {
+      recordResult(job, transactionTemplate.execute(status -> insertUsers(pending)));
+    } catch (DataAccessException e) {
+      log.warn(
+          "Batch insert failed for job {}, retrying {} rows one by one: {}",
+          job.getId(),
+          pending.size(),
+          e.getMostSpecificCause().getMessage());
+      for (PendingUser user : pending) {
+        try {
+          recordResult(job, transactionTemplate.execute(status -> insertUsers(List.of(user))));
+        } catch (DataAccessException rowError) {
+          job.rowFailed(
+              user.row(),
+              user.user().getUsername(),
+              "Gagal menyimpan user: " + rowError.getMostSpecificCause().getMessage());
+        }
+      }
+    }
+  }
+
+  /** Progress dicatat setelah commit supaya chunk yang di-rollback tidak terhitung dua kali. */
+  private static void recordResult(UserProvisioningJob job, ChunkResult result) {
+    job.created(result.inserted());
+    for (PendingUser user : result.existing()) {
+      job.rowFailed(user.row(), user.user().getUsername(), "Username sudah terdaftar");
+    }
+  }
+
+  /** Insert users + user_roles untuk baris yang username-nya belum terdaftar. */
+  private ChunkResult insertUsers(List<PendingUser> pending) {
+    Set<String> existingUsernames = selectUserIds(pending).keySet();
+    List<PendingUser> existing = new ArrayList<>();
+    List<PendingUser> toInsert = new ArrayList<>(pending.size());
+    for (PendingUser user : pending) {
+      if (existingUsernames.contains(user.user().getUsername())) {
+        existing.add(user);
+      } else {
+        toInsert.add(user);
+      }
+    }
+    if (toInsert.isEmpty()) {
+      return new ChunkResult(0, existing);
+    }
+
+    jdbcTemplate.batchUpdate(
+        INSERT_USER_SQL,
+        toInsert.stream()
+            .map(PendingUser::user)
+            .map(
+                user ->
+                    new Object[] {
+                      user.getUsername(), user.getEmail(), user.getPassword(), user.getIsActive()
+                    })
+            .collect(Collectors.toList()));
+
+    // Generated key dari batch insert tidak didukung semua driver, jadi id dibaca ulang
+    Map<String, Long> ids = selectUserIds(toInsert);
+    List<Object[]> userRoles = new ArrayList<>();
+    for (PendingUser pendingUser : toInsert) {
+      User user = pendingUser.user();
+      user.setId(ids.get(user.getUsername()));
+      user.getRoles().forEach(role -> userRoles.add(new Object[] {user.getId(), role.getId()}));
+    }
+    if (!userRoles.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, userRoles);
+    }
+
+    for (PendingUser pendingUser : toInsert) {
+      User user = pendingUser.user();
+      auditService.record(
+          UserService.AUDIT_ENTITY_TYPE,
+          user.getId(),
+          AuditService.ACTION_CREATE,
+          null,
+          UserService.auditSnapshot(user));
+    }
+    return new ChunkResult(toInsert.size(), existing);
+  }
+
+  private Map<String, Long> selectUserIds(List<PendingUser> users) {
+    Map<String, Long> ids = new HashMap<>();
+    namedJdbcTemplate.query(
+        SELECT_USER_IDS_SQL,
+        Map.of("usernames", users.stream().map(u -> u.user().getUsername()).toList()),
+        resultSet -> {
+          ids.put(resultSet.getString("username"), resultSet.getLong("id"));
+        });
+    return ids;
+  }
+
+  private void evictUsersCache() {
+    Cache cache = cacheManager.getCache("users");
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  private void evictFinishedJobs() {
+    Instant cutoff = Instant.now().minus(Duration.ofMinutes(jobRetentionMinutes));
+    jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+    jdbcTemplate.update(DELETE_FINISHED_JOBS_SQL, timestamp(cutoff));
+  }
+
+  private void insertJobStatus(UserProvisioningJob job) {
+    UserProvisioningJobResponse status = job.toResponse();
+    jdbcTemplate.update(
+        INSERT_JOB_SQL,
+        status.getJobId(),
+        status.getStatus(),
+        writeJobStatus(status),
+        timestamp(Instant.now()),
+        timestamp(status.getFinishedAt()));
+  }
+
+  /**
+   * Simpan snapshot status job. Gagal menulis status tidak menghentikan job; replica ini tetap
+   * melayani status dari memori.
+   */
+  private void updateJobStatus(UserProvisioningJob job) {
+    UserProvisioningJobResponse status = job.toResponse();
+    try {
+      jdbcTemplate.update(
+          UPDATE_JOB_SQL,
+          status.getStatus(),
+          writeJobStatus(status),
+          timestamp(Instant.now()),
+          timestamp(status.getFinishedAt()),
+          status.getJobId());
+    } catch (DataAccessException e) {
+      log.warn(
+          "Failed to store status of user provisioning job {}: {}", job.getId(), e.getMessage());
+    }
+  }
+
+  private String writeJobStatus(UserProvisioningJobResponse status) {
+    try {
+      return objectMapper.writeValueAsString(status);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize user provisioning job status", e);
+    }
+  }
+
+  private UserProvisioningJobResponse readJobStatus(String payload) {
+    try {
+      return objectMapper.readValue(payload, UserProvisioningJobResponse.class);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to read user provisioning job status", e);
+    }
+  }
+
+  private static Timestamp timestamp(Instant instant) {
+    return instant == null ? null : Timestamp.from(instant);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    jobExecutor.shutdownNow();
+    hashPool.shutdownNow();
+  }
+
+  /** Baris valid yang menunggu di-insert, beserta nomor barisnya di request. */
+  private record PendingUser(int row, User user) {}
+
+  /** Hasil satu transaksi insert: jumlah user dibuat dan baris yang username-nya sudah ada. */
+  private record ChunkResult(int inserted, List<PendingUser> existing) {}
+}
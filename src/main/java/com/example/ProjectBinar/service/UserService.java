@@ -1,14 +1,32 @@
 package com.example.ProjectBinar.service;
 
+import com.example.ProjectBinar.dto.UserPageResponse;
+import com.example.ProjectBinar.dto.UserSummaryResponse;
+import com.example.ProjectBinar.entity.Role;
 import com.example.ProjectBinar.entity.User;
+import com.example.ProjectBinar.repository.RoleRepository;
 import com.example.ProjectBinar.repository.UserRepository;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service layer untuk User dengan Redis caching.
@@ -22,21 +40,155 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class UserService {
 
+  static final String AUDIT_ENTITY_TYPE = "USER";
+
+  static final int MAX_PAGE_SIZE = 100;
+  private static final Set<String> SORTABLE_FIELDS = Set.of("id", "username", "email", "isActive");
+
   private final UserRepository userRepository;
+  private final RoleRepository roleRepository;
+  private final AuditService auditService;
+  private final PasswordEncoder passwordEncoder;
 
-  /** Membuat user baru. Menghapus cache "users" karena list berubah. */
+  /**
+   * Membuat user baru. Password plain text di-hash sebelum disimpan. Menghapus cache "users" karena
+   * list berubah.
+   */
   @CacheEvict(value = "users", allEntries = true)
+  @Transactional
   public User createUser(User user) {
     log.info("Creating new user: {}", user.getUsername());
-    return userRepository.save(user);
+    user.setPassword(passwordEncoder.encode(user.getPassword()));
+    User saved = userRepository.save(user);
+    auditService.record(
+        AUDIT_ENTITY_TYPE, saved.getId(), AuditService.ACTION_CREATE, null, auditSnapshot(saved));
+    return saved;
+  }
+
+  /**
+   * Mengganti seluruh role milik user.
+   *
+   * @throws IllegalArgumentException jika user atau salah satu role tidak ditemukan
+   */
+  @CacheEvict(value = "users", allEntries = true)
+  @Transactional
+  public User updateUserRoles(Long userId, List<String> roleNames) {
+    log.info("Updating roles of user ID: {}", userId);
+
+    User user =
+        userRepository
+            .findById(userId)
+            .orElseThrow(
+                () ->
+                    new IllegalArgumentException("User dengan ID " + userId + " tidak ditemukan"));
+    Map<String, Object> before = auditSnapshot(user);
+
+    // Satu query untuk semua role, bukan satu query per nama role
+    Set<String> requested = new HashSet<>(roleNames);
+    Set<Role> roles = new HashSet<>(roleRepository.findByNameIn(requested));
+    for (Role role : roles) {
+      requested.remove(role.getName());
+    }
+    if (!requested.isEmpty()) {
+      throw new IllegalArgumentException("Role " + requested + " tidak ditemukan");
+    }
+
+    // Ubah collection yang sudah di-manage Hibernate supaya hanya baris user_roles yang berubah
+    // yang di-delete/insert (mengganti Set akan menghapus dan meng-insert ulang semua baris)
+    user.getRoles().retainAll(roles);
+    user.getRoles().addAll(roles);
+
+    User updated = userRepository.save(user);
+    auditService.record(
+        AUDIT_ENTITY_TYPE, userId, AuditService.ACTION_UPDATE, before, auditSnapshot(updated));
+    return updated;
   }
 
-  /** Mendapatkan semua user beserta role-nya. Hasil di-cache dengan key "users::all" */
-  @Cacheable(value = "users")
-  public List<User> getAllUsers() {
-    System.out.println("Fetching all users from database (cache miss)");
-    return userRepository.findAll();
-    // return null;
+  /**
+   * Mendapatkan daftar user dengan pagination, sorting, dan filtering.
+   *
+   * <p>Setiap kombinasi halaman + filter di-cache sebagai entry terpisah di cache "users", sehingga
+   * ukuran entry tidak tumbuh bersama jumlah user. Roles di-load dengan batch fetch (lihat
+   * User.roles), jadi satu halaman butuh maksimal tiga query: data, count, dan roles.
+   *
+   * @param page Nomor halaman (mulai dari 0)
+   * @param size Jumlah item per halaman (1-100)
+   * @param sortBy Field untuk sorting: id, username, email, atau isActive
+   * @param sortDir Arah sorting: asc atau desc
+   * @param role Filter berdasarkan nama role (e.g. BACK_OFFICE)
+   * @param isActive Filter berdasarkan status aktif
+   * @param usernamePrefix Filter username yang diawali teks ini
+   * @throws IllegalArgumentException jika page/size atau sortBy tidak valid
+   */
+  @Cacheable(
+      value = "users",
+      key =
+          "'page:' + #page + ':' + #size + ':' + #sortBy + ':' + #sortDir + ':' + #role + ':'"
+              + " + #isActive + ':' + #usernamePrefix")
+  @Transactional(readOnly = true)
+  public UserPageResponse getUsers(
+      int page,
+      int size,
+      String sortBy,
+      String sortDir,
+      String role,
+      Boolean isActive,
+      String usernamePrefix) {
+    if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException(
+          "Parameter page/size tidak valid (size 1-" + MAX_PAGE_SIZE + ")");
+    }
+    if (!SORTABLE_FIELDS.contains(sortBy)) {
+      throw new IllegalArgumentException(
+          "sortBy harus salah satu dari " + SORTABLE_FIELDS.stream().sorted().toList());
+    }
+    log.info(
+        "Fetching users (cache miss) - page: {}, size: {}, role: {}, isActive: {}, prefix: {}",
+        page,
+        size,
+        role,
+        isActive,
+        usernamePrefix);
+
+    Sort sort =
+        sortDir.equalsIgnoreCase("desc")
+            ? Sort.by(sortBy).descending()
+            : Sort.by(sortBy).ascending();
+    Page<UserSummaryResponse> users =
+        userRepository
+            .findAll(
+                buildSpecification(role, isActive, usernamePrefix),
+                PageRequest.of(page, size, sort))
+            .map(UserSummaryResponse::fromEntity);
+    return UserPageResponse.fromPage(users);
+  }
+
+  /** Build Specification untuk filter daftar user. Filter null/kosong diabaikan. */
+  static Specification<User> buildSpecification(
+      String role, Boolean isActive, String usernamePrefix) {
+    return (root, query, cb) -> {
+      List<Predicate> predicates = new ArrayList<>();
+
+      if (role != null && !role.isBlank()) {
+        // Satu role per filter, jadi join tidak menghasilkan baris user ganda
+        Join<User, Role> roles = root.join("roles");
+        predicates.add(cb.equal(roles.get("name"), role.trim().toUpperCase(Locale.ROOT)));
+      }
+      if (isActive != null) {
+        predicates.add(cb.equal(root.get("isActive"), isActive));
+      }
+      if (usernamePrefix != null && !usernamePrefix.isBlank()) {
+        // Prefix match (LIKE 'abc%') tetap bisa memakai index unik username
+        predicates.add(
+            cb.like(root.get("username"), escapeLike(usernamePrefix.trim()) + "%", '\\'));
+      }
+
+      return cb.and(predicates.toArray(new Predicate[0]));
+    };
+  }
+
+  private static String escapeLike(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
   }
 
   /** Mencari user berdasarkan username. Hasil di-cache dengan key "users::{username}" */
@@ -45,4 +197,14 @@ public class UserService {
     log.info("Fetching user by username from database: {} (cache miss)", username);
     return userRepository.findByUsername(username);
   }
+
+  /** Snapshot untuk audit trail. Password sengaja tidak disertakan. */
+  static Map<String, Object> auditSnapshot(User user) {
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    snapshot.put("username", user.getUsername());
+    snapshot.put("email", user.getEmail());
+    snapshot.put("isActive", user.getIsActive());
+    snapshot.put("roles", user.getRoles().stream().map(Role::getName).sorted().toList());
+    return snapshot;
+  }
 }
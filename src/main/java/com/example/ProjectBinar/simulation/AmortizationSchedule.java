@@ -0,0 +1,74 @@
+package com.example.ProjectBinar.simulation;
+
+/**
+ * Buffer jadwal angsuran dalam fixed-point (satuan sen, 1/100 Rupiah).
+ *
+ * <p>Array dialokasikan sekali dan dipakai ulang antar perhitungan; hanya elemen {@code [0, tenor)}
+ * yang valid setelah {@link LoanAmortizationCalculator#calculate} dipanggil. Instance tidak
+ * thread-safe.
+ */
+public final class AmortizationSchedule {
+
+  private long[] principal;
+  private long[] interest;
+  private long[] balance;
+  private int tenor;
+  private long totalInterest;
+
+  public AmortizationSchedule() {
+    this(LoanAmortizationCalculator.DEFAULT_CAPACITY);
+  }
+
+  public AmortizationSchedule(int capacity) {
+    principal = new long[capacity];
+    interest = new long[capacity];
+    balance = new long[capacity];
+  }
+
+  /** Siapkan buffer untuk tenor tertentu, memperbesar array jika kapasitas tidak cukup. */
+  void reset(int tenor) {
+    if (tenor > principal.length) {
+      principal = new long[tenor];
+      interest = new long[tenor];
+      balance = new long[tenor];
+    }
+    this.tenor = tenor;
+    this.totalInterest = 0;
+  }
+
+  void set(int month, long principalCents, long interestCents, long balanceCents) {
+    principal[month] = principalCents;
+    interest[month] = interestCents;
+    balance[month] = balanceCents;
+    totalInterest += interestCents;
+  }
+
+  public int getTenor() {
+    return tenor;
+  }
+
+  /** Porsi pokok pada bulan ke-{@code month} (0-indexed), dalam sen. */
+  public long getPrincipal(int month) {
+    return principal[month];
+  }
+
+  /** Porsi bunga pada bulan ke-{@code month} (0-indexed), dalam sen. */
+  public long getInterest(int month) {
+    return interest[month];
+  }
+
+  /** Total angsuran (pokok + bunga) pada bulan ke-{@code month} (0-indexed), dalam sen. */
+  public long getInstallment(int month) {
+    return principal[month] + interest[month];
+  }
+
+  /** Sisa pokok setelah pembayaran bulan ke-{@code month} (0-indexed), dalam sen. */
+  public long getBalance(int month) {
+    return balance[month];
+  }
+
+  /** Total bunga selama tenor, dalam sen. */
+  public long getTotalInterest() {
+    return totalInterest;
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.ProjectBinar.simulation;
+
+/** Metode perhitungan angsuran pinjaman. */
+public enum InstallmentMethod {
+
+  /** Bunga flat: bunga dihitung dari pokok awal, angsuran sama setiap bulan. */
+  FLAT,
+
+  /** Bunga anuitas: angsuran tetap, porsi bunga dihitung dari sisa pokok setiap bulan. */
+  ANNUITY
+}
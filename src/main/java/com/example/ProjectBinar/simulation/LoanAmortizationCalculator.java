@@ -0,0 +1,136 @@
+package com.example.ProjectBinar.simulation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Kalkulator jadwal angsuran pinjaman berbasis fixed-point.
+ *
+ * <p>Semua nominal dihitung dalam {@code long} satuan sen dan suku bunga dalam basis point (1250 =
+ * 12,50% per tahun). BigDecimal hanya dipakai di boundary melalui {@link #toCents}, {@link
+ * #toBasisPoints} dan {@link #fromCents}. Pembulatan per bulan menggunakan HALF_UP; selisih
+ * pembulatan diserap oleh angsuran terakhir sehingga total pokok selalu sama dengan plafond yang
+ * diajukan.
+ */
+public final class LoanAmortizationCalculator {
+
+  /** Kapasitas awal buffer jadwal (cukup untuk tenor 30 tahun). */
+  public static final int DEFAULT_CAPACITY = 360;
+
+  /** Pembagi bunga bulanan: 12 bulan x 10.000 basis point. */
+  private static final long MONTHLY_BP_DIVISOR = 12L * 10_000L;
+
+  private LoanAmortizationCalculator() {}
+
+  /**
+   * Hitung jadwal angsuran dan tulis hasilnya ke buffer {@code out}.
+   *
+   * @param principalCents Pokok pinjaman dalam sen (harus > 0)
+   * @param annualRateBp Suku bunga tahunan dalam basis point (harus >= 0)
+   * @param tenor Tenor dalam bulan (harus > 0)
+   * @param method Metode perhitungan angsuran
+   * @param out Buffer tujuan, dipakai ulang antar pemanggilan
+   */
+  public static void calculate(
+      long principalCents,
+      long annualRateBp,
+      int tenor,
+      InstallmentMethod method,
+      AmortizationSchedule out) {
+    if (principalCents <= 0) {
+      throw new IllegalArgumentException("Jumlah pinjaman harus lebih dari 0");
+    }
+    if (annualRateBp < 0) {
+      throw new IllegalArgumentException("Suku bunga tidak boleh negatif");
+    }
+    if (tenor <= 0) {
+      throw new IllegalArgumentException("Tenor harus lebih dari 0");
+    }
+
+    out.reset(tenor);
+    if (method == InstallmentMethod.FLAT) {
+      calculateFlat(principalCents, annualRateBp, tenor, out);
+    } else {
+      calculateAnnuity(principalCents, annualRateBp, tenor, out);
+    }
+  }
+
+  /** Bunga flat: total bunga = pokok x rate x tenor / 12, dibagi rata per bulan. */
+  private static void calculateFlat(
+      long principalCents, long annualRateBp, int tenor, AmortizationSchedule out) {
+    long totalInterest = mulDivRound(principalCents, annualRateBp * tenor, MONTHLY_BP_DIVISOR);
+    long monthlyPrincipal = principalCents / tenor;
+    long monthlyInterest = totalInterest / tenor;
+
+    long balance = principalCents;
+    for (int month = 0; month < tenor - 1; month++) {
+      balance -= monthlyPrincipal;
+      out.set(month, monthlyPrincipal, monthlyInterest, balance);
+    }
+    // Bulan terakhir menyerap sisa pembagian pokok dan bunga
+    out.set(tenor - 1, balance, totalInterest - monthlyInterest * (tenor - 1), 0);
+  }
+
+  /** Anuitas: angsuran tetap, bunga dihitung dari sisa pokok. */
+  private static void calculateAnnuity(
+      long principalCents, long annualRateBp, int tenor, AmortizationSchedule out) {
+    long installment = annuityInstallment(principalCents, annualRateBp, tenor);
+
+    long balance = principalCents;
+    for (int month = 0; month < tenor - 1; month++) {
+      long interest = mulDivRound(balance, annualRateBp, MONTHLY_BP_DIVISOR);
+      long principal = Math.min(installment - interest, balance);
+      balance -= principal;
+      out.set(month, principal, interest, balance);
+    }
+    // Bulan terakhir melunasi seluruh sisa pokok
+    out.set(tenor - 1, balance, mulDivRound(balance, annualRateBp, MONTHLY_BP_DIVISOR), 0);
+  }
+
+  /**
+   * Angsuran anuitas P x r / (1 - (1 + r)^-n), dibulatkan ke sen. Faktor anuitas dihitung dalam
+   * double (presisi 53-bit cukup untuk nominal hingga ~90 triliun Rupiah), sedangkan jadwal
+   * per-bulan tetap dihitung eksak dalam long.
+   */
+  static long annuityInstallment(long principalCents, long annualRateBp, int tenor) {
+    if (annualRateBp == 0) {
+      return (principalCents + tenor - 1) / tenor;
+    }
+    double monthlyRate = (double) annualRateBp / MONTHLY_BP_DIVISOR;
+    double factor = monthlyRate / (1.0 - Math.pow(1.0 + monthlyRate, -tenor));
+    return Math.round(principalCents * factor);
+  }
+
+  /** Hitung round(a x b / divisor) dengan HALF_UP, fallback ke BigInteger jika a x b overflow. */
+  static long mulDivRound(long a, long b, long divisor) {
+    long high = Math.multiplyHigh(a, b);
+    long product = a * b;
+    if (high == (product >> 63)) {
+      long quotient = product / divisor;
+      long remainder = product % divisor;
+      if (Math.abs(remainder) * 2 >= divisor) {
+        quotient += product < 0 ? -1 : 1;
+      }
+      return quotient;
+    }
+    return new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)))
+        .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+        .longValueExact();
+  }
+
+  /** Konversi nominal Rupiah (BigDecimal) ke sen. */
+  public static long toCents(BigDecimal amount) {
+    return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+  }
+
+  /** Konversi suku bunga persen (e.g., 12.5) ke basis point (1250). */
+  public static long toBasisPoints(BigDecimal ratePercent) {
+    return ratePercent.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+  }
+
+  /** Konversi sen ke nominal Rupiah dengan scale 2. */
+  public static BigDecimal fromCents(long cents) {
+    return BigDecimal.valueOf(cents, 2);
+  }
+}
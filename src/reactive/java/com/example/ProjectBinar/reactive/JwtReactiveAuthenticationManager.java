@@ -0,0 +1,72 @@
+package com.example.ProjectBinar.reactive;
+
+import com.example.ProjectBinar.security.JwtService;
+import io.jsonwebtoken.JwtException;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versi reactive JwtAuthenticationFilter: token diverifikasi dengan {@link JwtService} yang sama,
+ * lalu user dan role-nya dibaca lewat R2DBC (bukan CustomUserDetailsService yang blocking).
+ *
+ * <p>Seperti di API MVC, user harus masih ada di database; token untuk user yang sudah dihapus
+ * ditolak walaupun signature-nya valid.
+ */
+@RequiredArgsConstructor
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+  /** LEFT JOIN: user tanpa role tetap ditemukan (satu baris dengan role null). */
+  static final String SELECT_ROLES_SQL =
+      "SELECT r.name FROM users u"
+          + " LEFT JOIN user_roles ur ON ur.user_id = u.id"
+          + " LEFT JOIN roles r ON r.id = ur.role_id"
+          + " WHERE u.username = :username";
+
+  private static final String NO_ROLE = "";
+
+  private final JwtService jwtService;
+  private final DatabaseClient databaseClient;
+
+  @Override
+  public Mono<Authentication> authenticate(Authentication authentication) {
+    String token = (String) authentication.getCredentials();
+    return Mono.fromCallable(() -> jwtService.extractUsername(token))
+        .flatMap(this::loadUser)
+        .filter(user -> jwtService.isTokenValid(token, user))
+        .<Authentication>map(
+            user ->
+                UsernamePasswordAuthenticationToken.authenticated(
+                    user, null, user.getAuthorities()))
+        .onErrorMap(
+            e -> e instanceof JwtException || e instanceof IllegalArgumentException,
+            e -> new BadCredentialsException("JWT Token validation failed: " + e.getMessage(), e))
+        .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Invalid JWT token")));
+  }
+
+  private Mono<UserDetails> loadUser(String username) {
+    return databaseClient
+        .sql(SELECT_ROLES_SQL)
+        .bind("username", username)
+        .map(row -> Objects.requireNonNullElse(row.get("name", String.class), NO_ROLE))
+        .all()
+        .collectList()
+        .filter(roles -> !roles.isEmpty())
+        .map(roles -> toUserDetails(username, roles));
+  }
+
+  private static UserDetails toUserDetails(String username, List<String> roles) {
+    return User.withUsername(username)
+        .password("")
+        .roles(roles.stream().filter(role -> !role.isEmpty()).toArray(String[]::new))
+        .build();
+  }
+}
@@ -0,0 +1,140 @@
+package com.example.ProjectBinar.reactive;
+
+import com.example.ProjectBinar.cache.CacheCircuitBreaker;
+import com.example.ProjectBinar.cache.CacheEntry;
+import com.example.ProjectBinar.cache.CacheProperties;
+import com.example.ProjectBinar.cache.CacheValueCodec;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-through cache plafond di atas entry Redis yang sama dengan cache {@code plafonds} API MVC.
+ *
+ * <p>Key ({@code plafonds::id:<id>}, {@code plafonds::active}), codec dan TTL mengikuti policy
+ * {@code app.cache.caches.plafonds}, sehingga entry yang ditulis satu stack langsung dipakai stack
+ * lain dan eviction dari write API MVC juga berlaku di sini. Tanpa L1: invalidasi L1 antar node
+ * hanya dikirim ke node MVC.
+ *
+ * <p>Entry {@link CacheEntry} (refresh-ahead) hanya dipakai selama masih segar; entry stale
+ * dianggap miss dan ditulis ulang dari database. Gangguan Redis (error atau timeout) dicatat di
+ * circuit breaker dan request langsung dilayani dari database.
+ */
+@Slf4j
+public class PlafondQueryCache {
+
+  static final String CACHE_NAME = "plafonds";
+
+  private final ReactiveRedisTemplate<String, Object> redisTemplate;
+  private final CacheProperties.Policy policy;
+  private final CacheCircuitBreaker circuitBreaker;
+  private final boolean enabled;
+  private final Duration timeout;
+
+  public PlafondQueryCache(
+      ReactiveRedisConnectionFactory connectionFactory,
+      CacheProperties cacheProperties,
+      CacheCircuitBreaker circuitBreaker,
+      @Value("${reactive-catalog.cache.enabled:true}") boolean enabled,
+      @Value("${spring.data.redis.timeout:200ms}") Duration timeout) {
+    this.policy = cacheProperties.policy(CACHE_NAME);
+    this.redisTemplate =
+        new ReactiveRedisTemplate<>(
+            connectionFactory,
+            RedisSerializationContext.<String, Object>newSerializationContext(
+                    new StringRedisSerializer())
+                .value(
+                    CacheValueCodec.of(
+                        policy.getFormat(), cacheProperties.getCompressionThresholdBytes()))
+                .build());
+    this.circuitBreaker = circuitBreaker;
+    this.enabled = enabled;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Value dari cache jika ada dan masih segar, selain itu hasil {@code loader} yang lalu disimpan.
+   * Hasil loader yang kosong tidak di-cache.
+   */
+  public <T> Mono<T> get(String key, Class<? super T> type, Mono<T> loader) {
+    if (!enabled || !circuitBreaker.tryAcquire()) {
+      return loader;
+    }
+    String redisKey = CACHE_NAME + "::" + key;
+    return redisTemplate
+        .opsForValue()
+        .get(redisKey)
+        .timeout(timeout)
+        .doOnSuccess(value -> circuitBreaker.onSuccess())
+        .onErrorResume(error -> degrade(redisKey, error))
+        .<T>handle(
+            (value, sink) -> {
+              T fresh = fresh(value, type);
+              if (fresh != null) {
+                sink.next(fresh);
+              }
+            })
+        .switchIfEmpty(Mono.defer(() -> loader.flatMap(value -> put(redisKey, value))));
+  }
+
+  /** Tulis value dengan TTL fisik + jitter seperti RedisConfig; kegagalan tidak mengubah hasil. */
+  private <T> Mono<T> put(String redisKey, T value) {
+    if (!circuitBreaker.tryAcquire()) {
+      return Mono.just(value);
+    }
+    long jitterMillis = policy.getTtlJitter().toMillis();
+    Duration ttl =
+        policy
+            .physicalTtl()
+            .plusMillis(
+                jitterMillis == 0 ? 0 : ThreadLocalRandom.current().nextLong(jitterMillis + 1));
+    Object stored =
+        policy.refreshes()
+            ? new CacheEntry(value, System.currentTimeMillis() + policy.getTtl().toMillis())
+            : value;
+    return redisTemplate
+        .opsForValue()
+        .set(redisKey, stored, ttl)
+        .timeout(timeout)
+        .doOnSuccess(written -> circuitBreaker.onSuccess())
+        .onErrorResume(error -> degrade(redisKey, error))
+        .thenReturn(value);
+  }
+
+  /** Value asli jika bertipe benar dan (untuk entry refresh-ahead) masih segar; null = miss. */
+  @SuppressWarnings("unchecked")
+  private <T> T fresh(Object value, Class<? super T> type) {
+    if (value instanceof CacheEntry entry) {
+      if (System.currentTimeMillis() >= entry.freshUntil()) {
+        return null;
+      }
+      value = entry.value();
+    }
+    return type.isInstance(value) ? (T) value : null;
+  }
+
+  /**
+   * Gangguan Redis membuka circuit; error lain (e.g. deserialisasi) hanya menjadi miss, sama
+   * seperti DegradingCacheErrorHandler.
+   */
+  private <T> Mono<T> degrade(String redisKey, Throwable error) {
+    if (error instanceof TimeoutException) {
+      circuitBreaker.onFailure(new QueryTimeoutException("Redis timeout for " + redisKey, error));
+    } else if (error instanceof DataAccessException dataAccessException) {
+      circuitBreaker.onFailure(dataAccessException);
+    } else {
+      circuitBreaker.release();
+    }
+    log.debug("Cache {} bypassed: {}", redisKey, error.toString());
+    return Mono.empty();
+  }
+}
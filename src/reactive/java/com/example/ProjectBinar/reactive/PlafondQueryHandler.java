@@ -0,0 +1,124 @@
+package com.example.ProjectBinar.reactive;
+
+import com.example.ProjectBinar.base.ApiResponse;
+import com.example.ProjectBinar.dto.PlafondResponse;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handler read-only plafond untuk WebFlux. Parameter, response body ({@link ApiResponse} berisi
+ * {@link PlafondResponse}) dan status sama dengan PlafondController, sehingga client bisa berpindah
+ * antara kedua stack tanpa perubahan.
+ *
+ * <p>Parameter yang tidak valid (angka/boolean, page/size, field sorting) dijawab 400 dengan {@link
+ * ApiResponse}, bukan 500.
+ */
+@RequiredArgsConstructor
+public class PlafondQueryHandler {
+
+  private final PlafondQueryRepository repository;
+  private final PlafondQueryCache cache;
+
+  /** GET /plafonds - pagination, sorting dan filter sama dengan PlafondController. */
+  public Mono<ServerResponse> getAllPlafonds(ServerRequest request) {
+    return Mono.defer(
+            () ->
+                repository.findAll(
+                    param(request, "page", Integer::valueOf, 0),
+                    param(request, "size", Integer::valueOf, 10),
+                    param(request, "sortBy", Function.identity(), "id"),
+                    param(request, "sortDir", Function.identity(), "asc"),
+                    param(request, "name", Function.identity(), null),
+                    param(request, "isActive", PlafondQueryHandler::parseBoolean, null),
+                    param(request, "minAmount", BigDecimal::new, null),
+                    param(request, "maxAmount", BigDecimal::new, null),
+                    param(request, "tenorMonth", Integer::valueOf, null)))
+        .flatMap(plafonds -> ok("Data plafond berhasil diambil", plafonds))
+        .onErrorResume(IllegalArgumentException.class, e -> badRequest(e.getMessage()));
+  }
+
+  /** GET /plafonds/active - semua plafond aktif (tanpa pagination). */
+  public Mono<ServerResponse> getActivePlafonds(ServerRequest request) {
+    return cache
+        .get("active", List.class, repository.findActive())
+        .flatMap(plafonds -> ok("Data plafond aktif berhasil diambil", plafonds));
+  }
+
+  /** GET /plafonds/{id} - plafond berdasarkan ID, 404 jika tidak ada. */
+  public Mono<ServerResponse> getPlafondById(ServerRequest request) {
+    Long id;
+    try {
+      id = Long.valueOf(request.pathVariable("id"));
+    } catch (NumberFormatException e) {
+      return badRequest("ID plafond tidak valid: " + request.pathVariable("id"));
+    }
+    return cache
+        .get("id:" + id, PlafondResponse.class, repository.findById(id))
+        .flatMap(plafond -> ok("Plafond ditemukan", plafond))
+        .switchIfEmpty(
+            Mono.defer(
+                () ->
+                    respond(
+                        HttpStatus.NOT_FOUND,
+                        "Plafond dengan ID " + id + " tidak ditemukan",
+                        null)));
+  }
+
+  /** Query parameter kosong diperlakukan seperti tidak dikirim, sama dengan @RequestParam. */
+  private static <T> T param(
+      ServerRequest request, String name, Function<String, T> parser, T defaultValue) {
+    return request
+        .queryParam(name)
+        .filter(value -> !value.isEmpty())
+        .map(
+            value -> {
+              try {
+                return parser.apply(value);
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Parameter " + name + " tidak valid: " + value, e);
+              }
+            })
+        .orElse(defaultValue);
+  }
+
+  private static Boolean parseBoolean(String value) {
+    if (value.equalsIgnoreCase("true")) {
+      return true;
+    }
+    if (value.equalsIgnoreCase("false")) {
+      return false;
+    }
+    throw new IllegalArgumentException(value);
+  }
+
+  private static Mono<ServerResponse> ok(String message, Object data) {
+    return respond(HttpStatus.OK, message, data);
+  }
+
+  private static Mono<ServerResponse> badRequest(String message) {
+    return respond(HttpStatus.BAD_REQUEST, message, null);
+  }
+
+  private static Mono<ServerResponse> respond(HttpStatus status, String message, Object data) {
+    ApiResponse<Object> response =
+        ApiResponse.builder()
+            .success(status.is2xxSuccessful())
+            .code(status.value())
+            .message(message)
+            .data(data)
+            .timestamp(Instant.now())
+            .build();
+    return ServerResponse.status(status)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(response);
+  }
+}
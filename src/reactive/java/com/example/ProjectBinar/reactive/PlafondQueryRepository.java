@@ -0,0 +1,195 @@
+package com.example.ProjectBinar.reactive;
+
+import com.example.ProjectBinar.dto.PlafondResponse;
+import io.r2dbc.spi.Readable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Query read-only plafond lewat R2DBC, SQL yang jalan di SQL Server dan H2 (mode MSSQLServer).
+ *
+ * <p>Filter sama dengan {@code PlafondService.buildSpecification}; predicate {@code is_deleted = 0}
+ * ditulis eksplisit karena di sini tidak ada {@code @SQLRestriction} entity.
+ */
+@RequiredArgsConstructor
+public class PlafondQueryRepository {
+
+  static final String COLUMNS =
+      "id, name, description, max_amount, interest_rate, tenor_month, is_active, created_at,"
+          + " updated_at";
+  static final String SELECT_BY_ID_SQL =
+      "SELECT " + COLUMNS + " FROM plafond WHERE id = :id AND is_deleted = 0";
+  static final String SELECT_ACTIVE_SQL =
+      "SELECT "
+          + COLUMNS
+          + " FROM plafond WHERE is_active = :isActive AND is_deleted = 0"
+          + " ORDER BY id";
+
+  /** Field sorting (nama property entity, seperti Sort.by di API MVC) ke kolom tabel. */
+  static final Map<String, String> SORT_COLUMNS =
+      Map.of(
+          "id", "id",
+          "name", "name",
+          "description", "description",
+          "maxAmount", "max_amount",
+          "interestRate", "interest_rate",
+          "tenorMonth", "tenor_month",
+          "isActive", "is_active",
+          "createdAt", "created_at",
+          "updatedAt", "updated_at");
+
+  private final DatabaseClient databaseClient;
+
+  /** Versi reactive {@code PlafondService.getAllPlafonds}. */
+  public Mono<Page<PlafondResponse>> findAll(
+      int page,
+      int size,
+      String sortBy,
+      String sortDir,
+      String name,
+      Boolean isActive,
+      BigDecimal minAmount,
+      BigDecimal maxAmount,
+      Integer tenorMonth) {
+    String sortColumn = SORT_COLUMNS.get(sortBy);
+    if (sortColumn == null) {
+      return Mono.error(new IllegalArgumentException("Sort field '" + sortBy + "' tidak didukung"));
+    }
+    boolean descending = sortDir.equalsIgnoreCase("desc");
+    Sort sort = descending ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+    // id ascending sebagai tie-breaker, sama dengan jalur JPA, supaya paging deterministik
+    String orderBy = sortColumn + (descending ? " DESC" : " ASC");
+    if (!sortColumn.equals("id")) {
+      sort = sort.and(Sort.by("id").ascending());
+      orderBy += ", id ASC";
+    }
+    Pageable pageable = PageRequest.of(page, size, sort);
+
+    Map<String, Object> params = new LinkedHashMap<>();
+    String where = where(name, isActive, minAmount, maxAmount, tenorMonth, params);
+    String selectSql =
+        "SELECT "
+            + COLUMNS
+            + " FROM plafond"
+            + where
+            + " ORDER BY "
+            + orderBy
+            + " OFFSET :offset ROWS FETCH NEXT :size ROWS ONLY";
+
+    DatabaseClient.GenericExecuteSpec select =
+        bindAll(databaseClient.sql(selectSql), params)
+            .bind("offset", pageable.getOffset())
+            .bind("size", size);
+    return select
+        .map(PlafondQueryRepository::toResponse)
+        .all()
+        .collectList()
+        .flatMap(
+            content -> {
+              // Seperti Spring Data: query COUNT dilewati jika total sudah pasti dari halaman ini
+              if ((!content.isEmpty() && content.size() < size)
+                  || (page == 0 && content.isEmpty())) {
+                return Mono.just(
+                    new PageImpl<>(content, pageable, pageable.getOffset() + content.size()));
+              }
+              return bindAll(databaseClient.sql("SELECT COUNT(*) FROM plafond" + where), params)
+                  .map(row -> ((Number) row.get(0)).longValue())
+                  .one()
+                  .map(total -> new PageImpl<>(content, pageable, total));
+            });
+  }
+
+  /** Versi reactive {@code PlafondService.getPlafondById}; empty jika tidak ada atau dihapus. */
+  public Mono<PlafondResponse> findById(Long id) {
+    return databaseClient
+        .sql(SELECT_BY_ID_SQL)
+        .bind("id", id)
+        .map(PlafondQueryRepository::toResponse)
+        .one();
+  }
+
+  /**
+   * Versi reactive {@code PlafondService.getActivePlafonds}. Hasilnya ArrayList supaya bisa
+   * disimpan di cache Redis yang sama (list immutable tidak diberi type info oleh serializer).
+   */
+  public Mono<List<PlafondResponse>> findActive() {
+    return databaseClient
+        .sql(SELECT_ACTIVE_SQL)
+        .bind("isActive", true)
+        .map(PlafondQueryRepository::toResponse)
+        .all()
+        .collect(ArrayList::new, List::add);
+  }
+
+  /** Klausa WHERE (dengan spasi di depan) dan parameternya, sama dengan buildSpecification. */
+  static String where(
+      String name,
+      Boolean isActive,
+      BigDecimal minAmount,
+      BigDecimal maxAmount,
+      Integer tenorMonth,
+      Map<String, Object> params) {
+    StringBuilder where = new StringBuilder(" WHERE is_deleted = 0");
+
+    if (name != null && !name.isEmpty()) {
+      where.append(" AND LOWER(name) LIKE :name");
+      params.put("name", "%" + name.toLowerCase() + "%");
+    }
+
+    if (isActive != null) {
+      where.append(" AND is_active = :isActive");
+      params.put("isActive", isActive);
+    }
+
+    if (minAmount != null) {
+      where.append(" AND max_amount >= :minAmount");
+      params.put("minAmount", minAmount);
+    }
+
+    if (maxAmount != null) {
+      where.append(" AND max_amount <= :maxAmount");
+      params.put("maxAmount", maxAmount);
+    }
+
+    if (tenorMonth != null) {
+      where.append(" AND tenor_month = :tenorMonth");
+      params.put("tenorMonth", tenorMonth);
+    }
+
+    return where.toString();
+  }
+
+  private static DatabaseClient.GenericExecuteSpec bindAll(
+      DatabaseClient.GenericExecuteSpec spec, Map<String, Object> params) {
+    for (Map.Entry<String, Object> param : params.entrySet()) {
+      spec = spec.bind(param.getKey(), param.getValue());
+    }
+    return spec;
+  }
+
+  private static PlafondResponse toResponse(Readable row) {
+    return PlafondResponse.builder()
+        .id(row.get("id", Long.class))
+        .name(row.get("name", String.class))
+        .description(row.get("description", String.class))
+        .maxAmount(row.get("max_amount", BigDecimal.class))
+        .interestRate(row.get("interest_rate", BigDecimal.class))
+        .tenorMonth(row.get("tenor_month", Integer.class))
+        .isActive(row.get("is_active", Boolean.class))
+        .createdAt(row.get("created_at", LocalDateTime.class))
+        .updatedAt(row.get("updated_at", LocalDateTime.class))
+        .build();
+  }
+}
@@ -0,0 +1,32 @@
+package com.example.ProjectBinar.reactive;
+
+import com.example.ProjectBinar.ProjectBinarApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Entry point katalog plafond read-only non-blocking (profile Maven {@code reactive}): WebFlux +
+ * R2DBC + Redis reactive, dijalankan sebagai proses terpisah di samping API MVC {@link
+ * ProjectBinarApplication} yang tetap melayani write dan endpoint lainnya.
+ *
+ * <p>Sengaja tanpa {@code @SpringBootApplication}: tidak ada component scan, sehingga service JPA,
+ * filter servlet dan scheduler aplikasi MVC tidak ikut ter-load. Semua bean didaftarkan di {@link
+ * ReactiveCatalogConfig}; setting ada di application-reactive-catalog.yml.
+ */
+public class ReactiveCatalogApplication {
+
+  public static final String PROFILE = "reactive-catalog";
+
+  public static void main(String[] args) {
+    run(args);
+  }
+
+  /** Start katalog reactive; dipakai juga oleh load test untuk membandingkan dengan API MVC. */
+  public static ConfigurableApplicationContext run(String... args) {
+    return new SpringApplicationBuilder(ReactiveCatalogConfig.class)
+        .web(WebApplicationType.REACTIVE)
+        .profiles(PROFILE)
+        .run(args);
+  }
+}
@@ -0,0 +1,121 @@
+package com.example.ProjectBinar.reactive;
+
+import com.example.ProjectBinar.cache.CacheCircuitBreaker;
+import com.example.ProjectBinar.cache.CacheProperties;
+import com.example.ProjectBinar.security.JwtService;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Konfigurasi katalog reactive: route read-only plafond, JWT dan cache Redis bersama API MVC.
+ *
+ * <p>Hanya aktif untuk aplikasi reactive. Class ini ikut ditemukan component scan aplikasi MVC saat
+ * build dengan profile {@code reactive}, dan kondisi web application membuatnya di-skip di sana
+ * (termasuk auto-configuration di bawah). JDBC dan JPA tidak dipakai sama sekali: semua query lewat
+ * R2DBC.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableAutoConfiguration(
+    exclude = {
+      DataSourceAutoConfiguration.class,
+      DataSourceTransactionManagerAutoConfiguration.class,
+      HibernateJpaAutoConfiguration.class
+    })
+@EnableWebFluxSecurity
+@EnableConfigurationProperties(CacheProperties.class)
+@Import({
+  JwtService.class,
+  PlafondQueryRepository.class,
+  PlafondQueryCache.class,
+  PlafondQueryHandler.class
+})
+public class ReactiveCatalogConfig {
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  /** Path sama dengan PlafondController; /active didaftarkan sebelum /{id}. */
+  @Bean
+  public RouterFunction<ServerResponse> plafondQueryRoutes(PlafondQueryHandler handler) {
+    return RouterFunctions.route()
+        .GET("/plafonds/active", handler::getActivePlafonds)
+        .GET("/plafonds/{id}", handler::getPlafondById)
+        .GET("/plafonds", handler::getAllPlafonds)
+        .build();
+  }
+
+  /** Circuit breaker Redis dengan setting app.cache.circuit-breaker yang sama dengan API MVC. */
+  @Bean
+  public CacheCircuitBreaker cacheCircuitBreaker(CacheProperties cacheProperties) {
+    return CacheCircuitBreaker.of(cacheProperties.getCircuitBreaker());
+  }
+
+  @Bean
+  public ReactiveAuthenticationManager jwtAuthenticationManager(
+      JwtService jwtService, DatabaseClient databaseClient) {
+    return new JwtReactiveAuthenticationManager(jwtService, databaseClient);
+  }
+
+  /**
+   * Aturan akses mengikuti SecurityConfig untuk endpoint yang dilayani di sini. Stateless: token
+   * diverifikasi di setiap request, tanpa session.
+   */
+  @Bean
+  public SecurityWebFilterChain securityWebFilterChain(
+      ServerHttpSecurity http, ReactiveAuthenticationManager jwtAuthenticationManager) {
+    AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(jwtAuthenticationManager);
+    jwtFilter.setServerAuthenticationConverter(
+        exchange ->
+            Mono.justOrEmpty(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION))
+                .filter(header -> header.startsWith(BEARER_PREFIX))
+                .map(
+                    header -> {
+                      String token = header.substring(BEARER_PREFIX.length());
+                      return UsernamePasswordAuthenticationToken.unauthenticated(token, token);
+                    }));
+    jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+    return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+        .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+        .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+        .logout(ServerHttpSecurity.LogoutSpec::disable)
+        .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+        .authorizeExchange(
+            exchange ->
+                exchange
+                    .pathMatchers("/actuator/health/**", "/actuator/info")
+                    .permitAll()
+                    .pathMatchers("/actuator/prometheus")
+                    .hasAnyRole("METRICS_SCRAPER", "BACK_OFFICE")
+                    .pathMatchers("/actuator/**")
+                    .hasRole("BACK_OFFICE")
+                    .pathMatchers(HttpMethod.GET, "/plafonds/**")
+                    .authenticated()
+                    .anyExchange()
+                    .authenticated())
+        .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+        .build();
+  }
+}
@@ -0,0 +1,163 @@
+package com.example.ProjectBinar.reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.example.ProjectBinar.cache.CacheCircuitBreaker;
+import com.example.ProjectBinar.cache.CacheEntry;
+import com.example.ProjectBinar.cache.CacheInvalidationBus;
+import com.example.ProjectBinar.cache.CacheProperties;
+import com.example.ProjectBinar.cache.RefreshingCache;
+import com.example.ProjectBinar.config.BackgroundThreads;
+import com.example.ProjectBinar.config.RedisConfig;
+import com.example.ProjectBinar.dto.PlafondResponse;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+import redis.embedded.RedisServer;
+
+/**
+ * Entry cache {@code plafonds} dipakai bersama oleh API MVC dan katalog reactive: ditulis lewat
+ * cache manager dari RedisConfig, dibaca oleh {@link PlafondQueryCache} (dan sebaliknya) di Redis
+ * yang sama.
+ */
+@DisplayName("PlafondQueryCache Tests")
+class PlafondQueryCacheTest {
+
+  private static RedisServer redisServer;
+  private static LettuceConnectionFactory connectionFactory;
+
+  private Cache mvcCache;
+  private PlafondQueryCache cache;
+
+  @BeforeAll
+  static void startRedis() throws IOException {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    redisServer = new RedisServer(port);
+    redisServer.start();
+    connectionFactory =
+        new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+    connectionFactory.afterPropertiesSet();
+  }
+
+  @AfterAll
+  static void stopRedis() throws IOException {
+    connectionFactory.destroy();
+    redisServer.stop();
+  }
+
+  @BeforeEach
+  void setUp() {
+    connectionFactory.getConnection().serverCommands().flushAll();
+
+    // Policy plafonds sama dengan application.yml: L1 + refresh-ahead (entry CacheEntry)
+    CacheProperties cacheProperties = new CacheProperties();
+    CacheProperties.Policy plafonds = new CacheProperties.Policy();
+    plafonds.setTtl(Duration.ofMinutes(10));
+    plafonds.setL1MaxEntries(2000);
+    plafonds.setRefreshAheadThreshold(0.2);
+    plafonds.setStaleWhileRevalidate(Duration.ofSeconds(30));
+    cacheProperties.getCaches().put(PlafondQueryCache.CACHE_NAME, plafonds);
+    CacheCircuitBreaker circuitBreaker =
+        CacheCircuitBreaker.of(cacheProperties.getCircuitBreaker());
+
+    mvcCache =
+        new RedisConfig()
+            .cacheManager(
+                connectionFactory,
+                cacheProperties,
+                mock(CacheInvalidationBus.class),
+                circuitBreaker,
+                new BackgroundThreads(new MockEnvironment()))
+            .getCache(PlafondQueryCache.CACHE_NAME);
+    cache =
+        new PlafondQueryCache(
+            connectionFactory, cacheProperties, circuitBreaker, true, Duration.ofSeconds(2));
+  }
+
+  @Test
+  @DisplayName("Should read back entries written by the MVC cache manager")
+  void get_MvcWrittenEntry_ShouldHit() {
+    // Arrange
+    PlafondResponse plafond = plafond(1L, "Gold");
+    mvcCache.put("id:1", plafond);
+    mvcCache.put("active", new ArrayList<>(List.of(plafond, plafond(2L, "Silver"))));
+
+    // Act
+    PlafondResponse byId =
+        cache.get("id:1", PlafondResponse.class, Mono.error(new AssertionError("loader"))).block();
+    List<?> active =
+        cache.get("active", List.class, Mono.error(new AssertionError("loader"))).block();
+
+    // Assert
+    assertEquals(plafond, byId);
+    assertNotNull(active);
+    assertEquals(2, active.size());
+    assertEquals(plafond, active.get(0));
+  }
+
+  @Test
+  @DisplayName("Should treat a stale CacheEntry as a miss and rewrite it from the loader")
+  void get_StaleEntry_ShouldMissAndReload() {
+    // Arrange - entry di luar batas segar, masih di Redis karena stale-while-revalidate
+    Cache redisCache = ((RefreshingCache) mvcCache).getDelegate();
+    redisCache.put("id:2", new CacheEntry(plafond(2L, "Old"), System.currentTimeMillis() - 1_000));
+    PlafondResponse reloaded = plafond(2L, "New");
+
+    // Act
+    PlafondResponse first = cache.get("id:2", PlafondResponse.class, Mono.just(reloaded)).block();
+    PlafondResponse second =
+        cache.get("id:2", PlafondResponse.class, Mono.error(new AssertionError("loader"))).block();
+
+    // Assert
+    assertEquals(reloaded, first);
+    assertEquals(reloaded, second);
+  }
+
+  @Test
+  @DisplayName("Entries written by the reactive catalog should be readable by the MVC cache")
+  void get_Miss_ShouldWriteEntryReadableByMvc() {
+    // Arrange
+    PlafondResponse plafond = plafond(3L, "Platinum");
+
+    // Act
+    cache.get("id:3", PlafondResponse.class, Mono.just(plafond)).block();
+
+    // Assert
+    assertEquals(plafond, mvcCache.get("id:3", PlafondResponse.class));
+  }
+
+  @Test
+  @DisplayName("Empty loader results should not be cached")
+  void get_EmptyLoader_ShouldNotCache() {
+    assertNull(cache.get("id:4", PlafondResponse.class, Mono.empty()).block());
+    assertNull(mvcCache.get("id:4"));
+  }
+
+  private static PlafondResponse plafond(Long id, String name) {
+    return PlafondResponse.builder()
+        .id(id)
+        .name(name)
+        .maxAmount(new BigDecimal("50000000.00"))
+        .interestRate(new BigDecimal("8.50"))
+        .tenorMonth(12)
+        .isActive(true)
+        .build();
+  }
+}
@@ -0,0 +1,238 @@
+package com.example.ProjectBinar.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.ProjectBinar.cache.CacheCircuitBreaker;
+import com.example.ProjectBinar.cache.CacheProperties;
+import com.example.ProjectBinar.dto.PlafondResponse;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+@DisplayName("PlafondQueryHandler Unit Tests")
+class PlafondQueryHandlerTest {
+
+  private PlafondQueryRepository repository;
+  private WebTestClient client;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(PlafondQueryRepository.class);
+    CacheProperties cacheProperties = new CacheProperties();
+    // Cache nonaktif: semua request langsung ke repository
+    PlafondQueryCache cache =
+        new PlafondQueryCache(
+            mock(ReactiveRedisConnectionFactory.class),
+            cacheProperties,
+            CacheCircuitBreaker.of(cacheProperties.getCircuitBreaker()),
+            false,
+            Duration.ofMillis(200));
+    PlafondQueryHandler handler = new PlafondQueryHandler(repository, cache);
+    client =
+        WebTestClient.bindToRouterFunction(new ReactiveCatalogConfig().plafondQueryRoutes(handler))
+            .build();
+  }
+
+  @Test
+  @DisplayName("Should pass paging, sorting and filters through and return the page")
+  void getAllPlafonds_ShouldReturnRequestedPage() {
+    // Arrange
+    List<PlafondResponse> content = List.of(plafond(3L), plafond(4L));
+    when(repository.findAll(anyInt(), anyInt(), any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(
+            Mono.just(
+                new PageImpl<>(content, PageRequest.of(1, 2, Sort.by("name").descending()), 5)));
+
+    // Act & Assert - parameter kosong (maxAmount) diperlakukan seperti tidak dikirim
+    client
+        .get()
+        .uri(
+            "/plafonds?page=1&size=2&sortBy=name&sortDir=desc&name=gold&isActive=TRUE"
+                + "&minAmount=1000.50&maxAmount=&tenorMonth=12")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.success")
+        .isEqualTo(true)
+        .jsonPath("$.code")
+        .isEqualTo(200)
+        .jsonPath("$.data.content.length()")
+        .isEqualTo(2)
+        .jsonPath("$.data.content[0].id")
+        .isEqualTo(3)
+        .jsonPath("$.data.totalElements")
+        .isEqualTo(5)
+        .jsonPath("$.data.totalPages")
+        .isEqualTo(3)
+        .jsonPath("$.data.number")
+        .isEqualTo(1);
+    verify(repository)
+        .findAll(1, 2, "name", "desc", "gold", true, new BigDecimal("1000.50"), null, 12);
+  }
+
+  @Test
+  @DisplayName("Should use controller defaults when no query parameters are sent")
+  void getAllPlafonds_WithoutParams_ShouldUseDefaults() {
+    // Arrange
+    when(repository.findAll(anyInt(), anyInt(), any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(Mono.just(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0)));
+
+    // Act & Assert
+    client.get().uri("/plafonds").exchange().expectStatus().isOk();
+    verify(repository).findAll(0, 10, "id", "asc", null, null, null, null, null);
+  }
+
+  @Test
+  @DisplayName("Should return 400 for malformed query parameters")
+  void getAllPlafonds_InvalidParams_ShouldReturn400() {
+    for (String query :
+        List.of("page=abc", "size=1.5", "isActive=yes", "minAmount=10x", "tenorMonth=twelve")) {
+      client
+          .get()
+          .uri("/plafonds?" + query)
+          .exchange()
+          .expectStatus()
+          .isBadRequest()
+          .expectBody()
+          .jsonPath("$.success")
+          .isEqualTo(false)
+          .jsonPath("$.code")
+          .isEqualTo(400)
+          .jsonPath("$.message")
+          .value(
+              message ->
+                  assertTrue(
+                      ((String) message).startsWith("Parameter " + name(query) + " tidak valid"),
+                      query));
+    }
+    verify(repository, never())
+        .findAll(anyInt(), anyInt(), any(), any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should return 400 when the repository rejects the sort field")
+  void getAllPlafonds_UnsupportedSort_ShouldReturn400() {
+    // Arrange
+    when(repository.findAll(anyInt(), anyInt(), any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(
+            Mono.error(new IllegalArgumentException("Sort field 'password' tidak didukung")));
+
+    // Act & Assert
+    client
+        .get()
+        .uri("/plafonds?sortBy=password")
+        .exchange()
+        .expectStatus()
+        .isBadRequest()
+        .expectBody()
+        .jsonPath("$.message")
+        .isEqualTo("Sort field 'password' tidak didukung");
+  }
+
+  @Test
+  @DisplayName("Should return the plafond by id")
+  void getPlafondById_Existing_ShouldReturn200() {
+    // Arrange
+    when(repository.findById(7L)).thenReturn(Mono.just(plafond(7L)));
+
+    // Act & Assert
+    client
+        .get()
+        .uri("/plafonds/7")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.data.id")
+        .isEqualTo(7)
+        .jsonPath("$.message")
+        .isEqualTo("Plafond ditemukan");
+  }
+
+  @Test
+  @DisplayName("Should return 404 for unknown or deleted plafonds")
+  void getPlafondById_Missing_ShouldReturn404() {
+    // Arrange
+    when(repository.findById(99L)).thenReturn(Mono.empty());
+
+    // Act & Assert
+    client
+        .get()
+        .uri("/plafonds/99")
+        .exchange()
+        .expectStatus()
+        .isNotFound()
+        .expectBody()
+        .jsonPath("$.success")
+        .isEqualTo(false)
+        .jsonPath("$.code")
+        .isEqualTo(404)
+        .jsonPath("$.message")
+        .isEqualTo("Plafond dengan ID 99 tidak ditemukan");
+  }
+
+  @Test
+  @DisplayName("Should return 400 for a non-numeric id")
+  void getPlafondById_InvalidId_ShouldReturn400() {
+    client
+        .get()
+        .uri("/plafonds/abc")
+        .exchange()
+        .expectStatus()
+        .isBadRequest()
+        .expectBody()
+        .jsonPath("$.message")
+        .isEqualTo("ID plafond tidak valid: abc");
+    verify(repository, never()).findById(any());
+  }
+
+  @Test
+  @DisplayName("/plafonds/active should not be routed to the id handler")
+  void getActivePlafonds_ShouldReturnActiveList() {
+    // Arrange
+    when(repository.findActive()).thenReturn(Mono.just(List.of(plafond(1L), plafond(2L))));
+
+    // Act & Assert
+    client
+        .get()
+        .uri("/plafonds/active")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.data.length()")
+        .isEqualTo(2);
+    verify(repository, never()).findById(any());
+  }
+
+  private static String name(String query) {
+    return query.substring(0, query.indexOf('='));
+  }
+
+  private static PlafondResponse plafond(Long id) {
+    return PlafondResponse.builder()
+        .id(id)
+        .name("Plafond " + id)
+        .maxAmount(new BigDecimal("50000000.00"))
+        .interestRate(new BigDecimal("8.50"))
+        .tenorMonth(12)
+        .isActive(true)
+        .build();
+  }
+}
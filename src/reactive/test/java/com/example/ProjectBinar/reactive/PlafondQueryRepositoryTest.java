@@ -0,0 +1,194 @@
+package com.example.ProjectBinar.reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.example.ProjectBinar.catalog.PlafondCatalogEngine;
+import com.example.ProjectBinar.catalog.PlafondEligibilityIndex;
+import com.example.ProjectBinar.dto.PlafondResponse;
+import com.example.ProjectBinar.entity.Plafond;
+import com.example.ProjectBinar.repository.PlafondRepository;
+import com.example.ProjectBinar.service.AuditService;
+import com.example.ProjectBinar.service.PlafondService;
+import io.r2dbc.spi.ConnectionFactories;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Membandingkan query R2DBC ({@code PlafondQueryRepository.where}) dengan jalur JPA ({@code
+ * buildSpecification}) di H2 untuk setiap filter, sorting dan pagination yang sama.
+ *
+ * <p>Tanpa transaksi test: data harus sudah commit supaya terlihat oleh koneksi R2DBC. Database H2
+ * sendiri supaya tidak bentrok dengan test {@code @DataJpaTest} lain yang memakai testdb.
+ */
+@DataJpaTest(
+    properties = "spring.datasource.url=jdbc:h2:mem:reactivedb;MODE=MSSQLServer;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("PlafondQueryRepository Tests")
+class PlafondQueryRepositoryTest {
+
+  private static final List<String> SORT_FIELDS =
+      List.of("id", "name", "maxAmount", "tenorMonth", "isActive", "createdAt");
+
+  @Autowired private PlafondRepository plafondRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private PlafondService jpaService;
+  private PlafondQueryRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.update("DELETE FROM plafond");
+
+    Random random = new Random(7);
+    List<Plafond> plafonds = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      plafonds.add(
+          Plafond.builder()
+              .name(String.format("Plafond %02d %s", (i * 11) % 30, i % 3 == 0 ? "Gold" : "Basic"))
+              .maxAmount(BigDecimal.valueOf(1_000_000L * (i % 10 + 1), 2))
+              .interestRate(new BigDecimal("5.00").add(BigDecimal.valueOf(i * 25L, 2)))
+              .tenorMonth(new int[] {6, 12, 24, 36}[random.nextInt(4)])
+              .isActive(random.nextInt(4) != 0)
+              .build());
+    }
+    plafonds = plafondRepository.saveAllAndFlush(plafonds);
+
+    // Soft delete sebagian data; kedua jalur harus mengabaikan record ini
+    for (int i = 0; i < plafonds.size(); i += 6) {
+      Plafond plafond = plafonds.get(i);
+      plafond.setIsDeleted(true);
+      plafond.setDeletedAt(LocalDateTime.now());
+    }
+    plafondRepository.saveAllAndFlush(plafonds);
+
+    jpaService =
+        new PlafondService(
+            plafondRepository,
+            mock(ApplicationEventPublisher.class),
+            mock(PlafondEligibilityIndex.class),
+            mock(PlafondCatalogEngine.class),
+            mock(AuditService.class));
+    repository =
+        new PlafondQueryRepository(
+            DatabaseClient.create(ConnectionFactories.get("r2dbc:h2:mem://sa@/reactivedb")));
+  }
+
+  @Test
+  @DisplayName("Each filter should match buildSpecification")
+  void findAll_EachFilter_ShouldMatchJpa() {
+    assertSamePage(0, 100, "id", "asc", null, null, null, null, null);
+    assertSamePage(0, 100, "id", "asc", "GOLD", null, null, null, null);
+    assertSamePage(0, 100, "id", "asc", "plafond 1", null, null, null, null);
+    assertSamePage(0, 100, "id", "asc", null, true, null, null, null);
+    assertSamePage(0, 100, "id", "asc", null, false, null, null, null);
+    assertSamePage(0, 100, "id", "asc", null, null, new BigDecimal("50000.00"), null, null);
+    assertSamePage(0, 100, "id", "asc", null, null, null, new BigDecimal("50000.00"), null);
+    assertSamePage(0, 100, "id", "asc", null, null, null, null, 12);
+    assertSamePage(
+        0,
+        100,
+        "id",
+        "asc",
+        "basic",
+        true,
+        new BigDecimal("20000.00"),
+        new BigDecimal("80000.00"),
+        24);
+  }
+
+  @Test
+  @DisplayName("Sorting and paging should match JPA, including the id tie-break")
+  void findAll_SortAndPage_ShouldMatchJpa() {
+    for (String sortBy : SORT_FIELDS) {
+      for (String sortDir : List.of("asc", "desc")) {
+        for (int page = 0; page < 4; page++) {
+          assertSamePage(page, 7, sortBy, sortDir, null, null, null, null, null);
+          assertSamePage(page, 4, sortBy, sortDir, "gold", true, null, null, null);
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should reject sort fields outside the entity properties")
+  void findAll_UnsupportedSort_ShouldFail() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> repository.findAll(0, 10, "is_deleted", "asc", null, null, null, null, null).block());
+  }
+
+  @Test
+  @DisplayName("findById and findActive should skip soft-deleted plafonds")
+  void findByIdAndActive_ShouldSkipSoftDeleted() {
+    Long deletedId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM plafond", Long.class);
+    Long liveId =
+        jdbcTemplate.queryForObject("SELECT MIN(id) FROM plafond WHERE is_deleted = 0", Long.class);
+
+    assertNull(repository.findById(deletedId).block());
+    assertEquals(
+        jpaService.getPlafondById(liveId).orElseThrow(), repository.findById(liveId).block());
+    assertEquals(
+        jpaService.getActivePlafonds().stream().map(PlafondResponse::getId).sorted().toList(),
+        repository.findActive().block().stream().map(PlafondResponse::getId).toList());
+  }
+
+  private void assertSamePage(
+      int page,
+      int size,
+      String sortBy,
+      String sortDir,
+      String name,
+      Boolean isActive,
+      BigDecimal minAmount,
+      BigDecimal maxAmount,
+      Integer tenorMonth) {
+    Page<PlafondResponse> expected =
+        jpaService.getAllPlafonds(
+            page, size, sortBy, sortDir, name, isActive, minAmount, maxAmount, tenorMonth);
+    Page<PlafondResponse> actual =
+        repository
+            .findAll(page, size, sortBy, sortDir, name, isActive, minAmount, maxAmount, tenorMonth)
+            .block();
+
+    String context =
+        sortBy
+            + " "
+            + sortDir
+            + " page "
+            + page
+            + " name="
+            + name
+            + " isActive="
+            + isActive
+            + " amount="
+            + minAmount
+            + ".."
+            + maxAmount
+            + " tenor="
+            + tenorMonth;
+    assertNotNull(actual, context);
+    assertEquals(expected.getTotalElements(), actual.getTotalElements(), context);
+    assertEquals(expected.getTotalPages(), actual.getTotalPages(), context);
+    assertEquals(expected.getContent(), actual.getContent(), context);
+  }
+}
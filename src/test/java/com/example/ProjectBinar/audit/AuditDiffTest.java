@@ -0,0 +1,50 @@
+package com.example.ProjectBinar.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.ProjectBinar.dto.PlafondResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AuditDiff Unit Tests")
+class AuditDiffTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  @Test
+  @DisplayName("Should only include changed fields")
+  void diff_ShouldReturnChangedFieldsOnly() {
+    // Arrange
+    PlafondResponse before =
+        PlafondResponse.builder().id(1L).name("Gold").maxAmount(new BigDecimal("1000")).build();
+    PlafondResponse after =
+        PlafondResponse.builder().id(1L).name("Platinum").maxAmount(new BigDecimal("1000")).build();
+
+    // Act
+    Map<String, Map<String, Object>> diff = AuditDiff.diff(objectMapper, before, after);
+
+    // Assert
+    assertEquals(1, diff.size());
+    assertEquals("Gold", diff.get("name").get("old"));
+    assertEquals("Platinum", diff.get("name").get("new"));
+  }
+
+  @Test
+  @DisplayName("Should report every non-null field for create")
+  void diff_WithoutBefore_ShouldReturnAllFields() {
+    // Arrange
+    PlafondResponse after = PlafondResponse.builder().id(1L).name("Gold").build();
+
+    // Act
+    Map<String, Map<String, Object>> diff = AuditDiff.diff(objectMapper, null, after);
+
+    // Assert
+    assertEquals(2, diff.size());
+    assertEquals("Gold", diff.get("name").get("new"));
+    assertNull(diff.get("name").get("old"));
+    assertFalse(diff.containsKey("description"));
+  }
+}
@@ -0,0 +1,170 @@
+package com.example.ProjectBinar.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.ProjectBinar.config.BackgroundThreads;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("AuditWriter Unit Tests")
+class AuditWriterTest {
+
+  @TempDir Path spillDir;
+
+  private JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private AuditWriter auditWriter;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    auditWriter =
+        new AuditWriter(jdbcTemplate, objectMapper, new BackgroundThreads(new MockEnvironment()));
+    ReflectionTestUtils.setField(auditWriter, "enabled", true);
+    ReflectionTestUtils.setField(auditWriter, "queueCapacity", 2);
+    ReflectionTestUtils.setField(auditWriter, "batchSize", 100);
+    ReflectionTestUtils.setField(auditWriter, "slowBatchMs", 60_000L);
+    ReflectionTestUtils.setField(auditWriter, "spillDir", spillDir.toString());
+  }
+
+  @AfterEach
+  void tearDown() {
+    auditWriter.shutdown();
+  }
+
+  @Test
+  @DisplayName("Should spill instead of blocking when the queue is full")
+  void enqueue_WhenQueueFull_ShouldSpillToDisk() throws Exception {
+    // Arrange - flush interval panjang supaya record tetap di queue
+    ReflectionTestUtils.setField(auditWriter, "flushIntervalMs", 3_600_000L);
+    auditWriter.start();
+
+    // Act
+    boolean first = auditWriter.enqueue(auditRecord(1));
+    boolean second = auditWriter.enqueue(auditRecord(2));
+    boolean third = auditWriter.enqueue(auditRecord(3));
+
+    // Assert
+    assertTrue(first);
+    assertTrue(second);
+    assertFalse(third);
+    assertEquals(2, auditWriter.getQueueSize());
+    assertEquals(1, auditWriter.getSpilledCount());
+    assertEquals(1, Files.readAllLines(spillDir.resolve("audit-spill.jsonl")).size());
+  }
+
+  @Test
+  @DisplayName("Should spill a failed batch and replay it idempotently once the database recovers")
+  @SuppressWarnings("unchecked")
+  void flush_WhenDatabaseFails_ShouldSpillAndReplay() throws Exception {
+    // Arrange - batch pertama gagal, replay berikutnya berhasil
+    when(jdbcTemplate.batchUpdate(
+            anyString(),
+            anyCollection(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class)))
+        .thenThrow(new DataAccessResourceFailureException("database down"))
+        .thenReturn(new int[0][]);
+    ReflectionTestUtils.setField(auditWriter, "flushIntervalMs", 20L);
+
+    // Act
+    auditWriter.enqueue(auditRecord(1));
+    auditWriter.enqueue(auditRecord(2));
+    auditWriter.start();
+    waitUntil(() -> mockingDetails(jdbcTemplate).getInvocations().size() >= 2);
+    auditWriter.shutdown();
+
+    // Assert
+    // Replay memakai insert yang melewati record_id yang sudah tersimpan
+    ArgumentCaptor<Collection<AuditRecord>> batches = ArgumentCaptor.forClass(Collection.class);
+    verify(jdbcTemplate, times(2))
+        .batchUpdate(
+            eq(AuditWriter.REPLAY_INSERT_SQL),
+            batches.capture(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    assertEquals(
+        List.copyOf(batches.getAllValues().get(0)), List.copyOf(batches.getAllValues().get(1)));
+    assertEquals(2, auditWriter.getSpilledCount());
+    assertFalse(auditWriter.isDatabaseDegraded());
+    try (Stream<Path> files = Files.list(spillDir)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  @DisplayName("Should quarantine a malformed spill line and replay the rest")
+  @SuppressWarnings("unchecked")
+  void replay_WhenSpillLineMalformed_ShouldQuarantineAndContinue() throws Exception {
+    // Arrange - file spill dari run sebelumnya dengan satu baris rusak di tengah
+    Files.write(
+        spillDir.resolve(AuditWriter.SPILL_FILE),
+        List.of(
+            objectMapper.writeValueAsString(auditRecord(1)),
+            "{\"entityType\":\"PLAFOND\",",
+            objectMapper.writeValueAsString(auditRecord(2))));
+    when(jdbcTemplate.batchUpdate(
+            anyString(),
+            anyCollection(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class)))
+        .thenReturn(new int[0][]);
+    ReflectionTestUtils.setField(auditWriter, "flushIntervalMs", 20L);
+
+    // Act
+    auditWriter.start();
+    waitUntil(() -> !Files.exists(spillDir.resolve(AuditWriter.SPILL_FILE)));
+    waitUntil(() -> mockingDetails(jdbcTemplate).getInvocations().size() >= 1);
+    auditWriter.shutdown();
+
+    // Assert
+    ArgumentCaptor<Collection<AuditRecord>> batch = ArgumentCaptor.forClass(Collection.class);
+    verify(jdbcTemplate)
+        .batchUpdate(
+            eq(AuditWriter.REPLAY_INSERT_SQL),
+            batch.capture(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    assertEquals(List.of(auditRecord(1), auditRecord(2)), List.copyOf(batch.getValue()));
+    assertEquals(
+        List.of("{\"entityType\":\"PLAFOND\","),
+        Files.readAllLines(spillDir.resolve(AuditWriter.QUARANTINE_FILE)));
+  }
+
+  private static AuditRecord auditRecord(long id) {
+    return new AuditRecord(
+        "record-" + id,
+        "PLAFOND",
+        String.valueOf(id),
+        "UPDATE",
+        "{\"name\":{\"old\":\"A\",\"new\":\"B\"}}",
+        "admin",
+        LocalDateTime.of(2026, 1, 1, 10, 0));
+  }
+
+  private static void waitUntil(java.util.function.BooleanSupplier condition)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+}
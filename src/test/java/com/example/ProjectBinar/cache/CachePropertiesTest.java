@@ -0,0 +1,50 @@
+package com.example.ProjectBinar.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CacheProperties Unit Tests")
+class CachePropertiesTest {
+
+  @Test
+  @DisplayName("Per-cache policy should override defaults field by field")
+  void policy_ShouldMergeOverrideWithDefaults() {
+    // Arrange
+    CacheProperties properties = new CacheProperties();
+    properties.getDefaults().setTtlJitter(Duration.ofMinutes(1));
+    CacheProperties.Policy roles = new CacheProperties.Policy();
+    roles.setTtl(Duration.ofHours(6));
+    roles.setL1MaxEntries(100);
+    roles.setStaleWhileRevalidate(Duration.ofMinutes(5));
+    properties.getCaches().put("roles", roles);
+
+    // Act
+    CacheProperties.Policy merged = properties.policy("roles");
+    CacheProperties.Policy other = properties.policy("plafonds");
+
+    // Assert
+    assertEquals(Duration.ofHours(6), merged.getTtl());
+    assertEquals(Duration.ofMinutes(1), merged.getTtlJitter());
+    assertEquals(CacheFormat.SMILE, merged.getFormat());
+    assertTrue(merged.hasL1());
+    assertTrue(merged.refreshes());
+    assertEquals(Duration.ofMinutes(365), merged.physicalTtl());
+    assertEquals(Duration.ofMinutes(10), other.getTtl());
+    assertFalse(other.hasL1());
+    assertFalse(other.refreshes());
+  }
+
+  @Test
+  @DisplayName("Invalid policy should be rejected")
+  void policy_Invalid_ShouldThrow() {
+    CacheProperties properties = new CacheProperties();
+    CacheProperties.Policy invalid = new CacheProperties.Policy();
+    invalid.setRefreshAheadThreshold(1.5);
+    properties.getCaches().put("users", invalid);
+
+    assertThrows(IllegalArgumentException.class, () -> properties.policy("users"));
+  }
+}
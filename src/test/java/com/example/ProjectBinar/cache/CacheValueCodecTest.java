@@ -0,0 +1,123 @@
+package com.example.ProjectBinar.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.ProjectBinar.config.RedisConfig;
+import com.example.ProjectBinar.dto.PlafondResponse;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.SerializationException;
+
+@DisplayName("CacheValueCodec Unit Tests")
+class CacheValueCodecTest {
+
+  private static final int NO_COMPRESSION = Integer.MAX_VALUE;
+
+  @Test
+  @DisplayName("Smile round trip should keep types and be smaller than JSON")
+  void smile_RoundTrip_ShouldBeSmallerThanJson() {
+    // Arrange
+    CacheValueCodec codec = CacheValueCodec.of(CacheFormat.SMILE, NO_COMPRESSION);
+    List<PlafondResponse> value = plafonds(20);
+
+    // Act
+    byte[] bytes = codec.serialize(value);
+
+    // Assert
+    assertEquals(CacheValueCodec.VERSION_1, bytes[0]);
+    assertEquals(0, bytes[1]);
+    assertTrue(bytes.length < RedisConfig.cacheValueSerializer().serialize(value).length);
+    assertEquals(value, codec.deserialize(bytes));
+  }
+
+  @Test
+  @DisplayName("Payload above threshold should be LZ4 compressed")
+  void smile_AboveThreshold_ShouldCompress() {
+    // Arrange
+    CacheValueCodec compressed = CacheValueCodec.of(CacheFormat.SMILE, 0);
+    List<PlafondResponse> value = plafonds(100);
+
+    // Act
+    byte[] bytes = compressed.serialize(value);
+
+    // Assert
+    assertEquals(CacheValueCodec.FLAG_LZ4, bytes[1]);
+    assertTrue(
+        bytes.length
+            < CacheValueCodec.of(CacheFormat.SMILE, NO_COMPRESSION).serialize(value).length);
+    assertEquals(value, compressed.deserialize(bytes));
+  }
+
+  @Test
+  @DisplayName("Both formats should read each other's entries")
+  void formats_ShouldReadEachOther() {
+    // Arrange
+    CacheValueCodec json = CacheValueCodec.of(CacheFormat.JSON, 0);
+    CacheValueCodec smile = CacheValueCodec.of(CacheFormat.SMILE, 0);
+    List<PlafondResponse> value = plafonds(5);
+
+    // Act & Assert
+    byte[] legacy = RedisConfig.cacheValueSerializer().serialize(value);
+    assertArrayEquals(legacy, json.serialize(value));
+    assertEquals(value, smile.deserialize(legacy));
+    assertEquals(value, json.deserialize(smile.serialize(value)));
+  }
+
+  @Test
+  @DisplayName("Should round trip refresh-ahead CacheEntry in both formats")
+  void cacheEntry_ShouldRoundTrip() {
+    CacheEntry entry = new CacheEntry(plafonds(3), 1_700_000_000_000L);
+
+    for (CacheFormat format : CacheFormat.values()) {
+      CacheValueCodec codec = CacheValueCodec.of(format, 0);
+      assertEquals(entry, codec.deserialize(codec.serialize(entry)));
+    }
+  }
+
+  @Test
+  @DisplayName("Should round trip NullValue and empty input")
+  void nullValue_ShouldRoundTrip() {
+    CacheValueCodec codec = CacheValueCodec.of(CacheFormat.SMILE, 0);
+
+    assertSame(NullValue.INSTANCE, codec.deserialize(codec.serialize(NullValue.INSTANCE)));
+    assertNull(codec.deserialize(codec.serialize(null)));
+  }
+
+  @Test
+  @DisplayName("Should reject unknown version and corrupt length")
+  void deserialize_InvalidHeader_ShouldThrow() {
+    CacheValueCodec codec = CacheValueCodec.of(CacheFormat.SMILE, 0);
+
+    assertThrows(SerializationException.class, () -> codec.deserialize(new byte[] {0x02, 0x00}));
+    assertThrows(
+        SerializationException.class,
+        () ->
+            codec.deserialize(
+                new byte[] {CacheValueCodec.VERSION_1, CacheValueCodec.FLAG_LZ4, -1, 0, 0, 0}));
+  }
+
+  private static List<PlafondResponse> plafonds(int size) {
+    LocalDateTime now = LocalDateTime.of(2026, 1, 1, 10, 0);
+    List<PlafondResponse> plafonds = new ArrayList<>();
+    for (long i = 1; i <= size; i++) {
+      plafonds.add(
+          PlafondResponse.builder()
+              .id(i)
+              .name("Plafond " + i)
+              .description("Pinjaman level " + i)
+              .maxAmount(BigDecimal.valueOf(5_000_000L * i, 2))
+              .interestRate(new BigDecimal("12.50"))
+              .tenorMonth(12)
+              .isActive(true)
+              .createdAt(now)
+              .updatedAt(now)
+              .build());
+    }
+    return plafonds;
+  }
+}
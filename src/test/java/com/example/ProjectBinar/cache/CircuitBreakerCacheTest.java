@@ -0,0 +1,111 @@
+package com.example.ProjectBinar.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.serializer.SerializationException;
+
+@DisplayName("CircuitBreakerCache Unit Tests")
+class CircuitBreakerCacheTest {
+
+  private final AtomicLong now = new AtomicLong(1_000_000);
+
+  private ConcurrentMapCache redis;
+  private Cache target;
+  private CacheCircuitBreaker breaker;
+  private CircuitBreakerCache cache;
+
+  @BeforeEach
+  void setUp() {
+    redis = new ConcurrentMapCache("plafonds", true);
+    target = spy(redis);
+    breaker = new CacheCircuitBreaker(true, 3, Duration.ofSeconds(10), now::get);
+    cache = new CircuitBreakerCache(target, breaker);
+  }
+
+  private void redisDown() {
+    RedisConnectionFailureException down = new RedisConnectionFailureException("down");
+    doThrow(down).when(target).get(any());
+    doThrow(down).when(target).put(any(), any());
+    doThrow(down).when(target).evict(any());
+    doThrow(down).when(target).clear();
+  }
+
+  @Test
+  @DisplayName("Should treat Redis failures as miss and load from the value loader")
+  void get_RedisDown_ShouldFallBackToLoader() {
+    redisDown();
+
+    assertNull(cache.get("id:1"));
+    assertEquals("db", cache.get("id:1", () -> "db"));
+    // get + (get, put) dari value loader
+    assertEquals(3, breaker.getFailureCount());
+  }
+
+  @Test
+  @DisplayName("Should open after threshold and bypass Redis while open")
+  void breaker_AfterThreshold_ShouldBypassRedis() {
+    redisDown();
+    for (int i = 0; i < 3; i++) {
+      cache.get("id:1");
+    }
+    assertEquals(CacheCircuitBreaker.State.OPEN, breaker.getState());
+
+    clearInvocations(target);
+    assertEquals("db", cache.get("id:1", () -> "db"));
+    cache.evict("id:1");
+
+    verifyNoInteractions(target);
+    assertEquals(3, breaker.getBypassedCount());
+  }
+
+  @Test
+  @DisplayName("Should probe once after open duration and clear stale entries on recovery")
+  void breaker_HalfOpenProbeSuccess_ShouldCloseAndClear() {
+    redis.put("id:1", "stale");
+    redisDown();
+    for (int i = 0; i < 3; i++) {
+      cache.get("id:1");
+    }
+    cache.evict("id:1");
+
+    reset(target);
+    now.addAndGet(10_000);
+
+    assertNull(cache.get("id:1"));
+    assertEquals(CacheCircuitBreaker.State.CLOSED, breaker.getState());
+    verify(target).clear();
+  }
+
+  @Test
+  @DisplayName("Should reopen when the half-open probe fails")
+  void breaker_HalfOpenProbeFailure_ShouldReopen() {
+    redisDown();
+    for (int i = 0; i < 3; i++) {
+      cache.get("id:1");
+    }
+    now.addAndGet(10_000);
+
+    assertNull(cache.get("id:1"));
+    assertEquals(CacheCircuitBreaker.State.OPEN, breaker.getState());
+    assertEquals(2, breaker.getOpenedCount());
+  }
+
+  @Test
+  @DisplayName("Should rethrow non-Redis errors without counting them as failures")
+  void get_SerializationError_ShouldPropagate() {
+    doThrow(new SerializationException("bad payload")).when(target).get(any());
+
+    assertThrows(SerializationException.class, () -> cache.get("id:1"));
+    assertEquals(0, breaker.getFailureCount());
+  }
+}
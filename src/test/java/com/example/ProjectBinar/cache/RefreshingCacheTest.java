@@ -0,0 +1,147 @@
+package com.example.ProjectBinar.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+@DisplayName("RefreshingCache Unit Tests")
+class RefreshingCacheTest {
+
+  private final AtomicLong now = new AtomicLong(1_000_000);
+  private final Queue<Runnable> refreshQueue = new ArrayDeque<>();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private ConcurrentMapCache target;
+  private RefreshingCache cache;
+
+  @BeforeEach
+  void setUp() {
+    CacheProperties.Policy policy = CacheProperties.Policy.defaults();
+    policy.setTtl(Duration.ofSeconds(100));
+    policy.setRefreshAheadThreshold(0.2);
+    policy.setStaleWhileRevalidate(Duration.ofSeconds(30));
+    target = new ConcurrentMapCache("plafonds", true);
+    cache = new RefreshingCache(target, policy, refreshQueue::add, now::get);
+  }
+
+  private String loader() {
+    return "v" + loads.incrementAndGet();
+  }
+
+  @Test
+  @DisplayName("Should load a miss once and serve fresh entries without refresh")
+  void get_FreshEntry_ShouldNotRefresh() {
+    assertEquals("v1", cache.get("id:1", this::loader));
+    now.addAndGet(50_000);
+
+    assertEquals("v1", cache.get("id:1", this::loader));
+    assertEquals("v1", cache.get("id:1", String.class));
+    assertTrue(refreshQueue.isEmpty());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  @DisplayName("Should schedule a single background refresh inside the refresh-ahead window")
+  void get_InRefreshAheadWindow_ShouldRefreshOnce() {
+    cache.get("id:1", this::loader);
+    now.addAndGet(85_000);
+
+    assertEquals("v1", cache.get("id:1", this::loader));
+    assertEquals("v1", cache.get("id:1", this::loader));
+    assertEquals(1, refreshQueue.size());
+
+    refreshQueue.poll().run();
+
+    assertEquals("v2", cache.get("id:1", this::loader));
+    assertEquals(1, cache.getRefreshSuccessCount());
+    assertEquals(0, cache.getStaleHitCount());
+  }
+
+  @Test
+  @DisplayName("Should serve stale entry to loader callers and treat it as miss for plain get")
+  void get_StaleEntry_ShouldServeStaleWhileRevalidating() {
+    cache.get("id:1", this::loader);
+    now.addAndGet(110_000);
+
+    assertNull(cache.get("id:1"));
+    assertEquals("v1", cache.get("id:1", this::loader));
+    assertEquals(1, cache.getStaleHitCount());
+
+    refreshQueue.poll().run();
+    assertEquals("v2", cache.get("id:1", String.class));
+  }
+
+  @Test
+  @DisplayName("Should discard a background refresh that started before evict")
+  void evict_DuringRefresh_ShouldDiscardRefreshResult() {
+    cache.get("id:1", this::loader);
+    now.addAndGet(90_000);
+    cache.get("id:1", this::loader);
+
+    cache.evict("id:1");
+    refreshQueue.poll().run();
+
+    assertNull(target.get("id:1"));
+    assertEquals(1, cache.getRefreshSuccessCount());
+  }
+
+  @Test
+  @DisplayName("Should keep entry and count failures when refresh fails or is rejected")
+  void refresh_FailureOrRejection_ShouldKeepEntry() {
+    cache.get("id:1", this::loader);
+    now.addAndGet(90_000);
+    cache.get(
+        "id:1",
+        () -> {
+          throw new IllegalStateException("database down");
+        });
+    refreshQueue.poll().run();
+
+    assertEquals("v1", cache.get("id:1", String.class));
+    assertEquals(1, cache.getRefreshFailureCount());
+
+    RefreshingCache rejecting =
+        new RefreshingCache(
+            target,
+            CacheProperties.Policy.defaults(),
+            task -> {
+              throw new RejectedExecutionException("full");
+            },
+            now::get);
+    target.clear();
+    rejecting.put("id:2", "v1");
+    now.addAndGet(600_000);
+    assertEquals("v1", rejecting.get("id:2", this::loader));
+    assertEquals(1, rejecting.getRefreshRejectedCount());
+  }
+
+  @Test
+  @DisplayName("Should evict instead of storing null when nulls are not cached")
+  void put_NullValue_ShouldEvict() {
+    cache.put("id:1", "v1");
+    cache.put("id:1", null);
+
+    assertNull(target.get("id:1"));
+    assertNull(cache.get("id:2", () -> null));
+    assertNull(target.get("id:2"));
+  }
+
+  @Test
+  @DisplayName("Should pass through values written before refresh was enabled")
+  void get_LegacyValue_ShouldPassThrough() {
+    target.put("id:1", "legacy");
+
+    assertEquals("legacy", cache.get("id:1", String.class));
+    assertEquals("legacy", cache.get("id:1", this::loader));
+    assertEquals(0, loads.get());
+  }
+}
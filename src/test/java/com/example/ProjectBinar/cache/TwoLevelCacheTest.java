@@ -0,0 +1,114 @@
+package com.example.ProjectBinar.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@DisplayName("TwoLevelCache Unit Tests")
+class TwoLevelCacheTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final CacheCircuitBreaker breaker =
+      new CacheCircuitBreaker(true, 5, Duration.ofSeconds(10), System::currentTimeMillis);
+
+  private ConcurrentMapCache l2;
+  private StringRedisTemplate redisTemplate;
+  private CacheInvalidationBus bus;
+  private TwoLevelCache cache;
+
+  @BeforeEach
+  void setUp() {
+    l2 = spy(new ConcurrentMapCache("plafonds", true));
+    redisTemplate = mock(StringRedisTemplate.class);
+    bus = new CacheInvalidationBus(redisTemplate, objectMapper, true, breaker);
+    cache = new TwoLevelCache(l2, 10, Duration.ofMinutes(1), bus);
+  }
+
+  @Test
+  @DisplayName("Should serve repeated reads from L1")
+  void get_AfterL2Hit_ShouldServeFromL1() {
+    // Arrange
+    l2.put("id:1", "Gold");
+
+    // Act
+    cache.get("id:1");
+    Object value = cache.get("id:1", String.class);
+
+    // Assert
+    assertEquals("Gold", value);
+    verify(l2, times(1)).get("id:1");
+    assertEquals(1, cache.getL1().stats().hitCount());
+  }
+
+  @Test
+  @DisplayName("Should cache value loader result and null values in L1")
+  void get_WithValueLoader_ShouldPopulateL1() {
+    assertEquals("Silver", cache.get("id:2", () -> "Silver"));
+    assertEquals("Silver", cache.get("id:2", () -> "other"));
+
+    assertNull(cache.get("id:3", () -> null));
+    assertNotNull(cache.get("id:3"));
+    assertNull(cache.get("id:3").get());
+  }
+
+  @Test
+  @DisplayName("Evict and clear should hit both levels and notify other nodes")
+  void evictAndClear_ShouldInvalidateBothLevelsAndPublish() {
+    // Arrange
+    cache.put("id:1", "Gold");
+    cache.put("active", "list");
+
+    // Act
+    cache.evict("id:1");
+
+    // Assert
+    assertNull(cache.get("id:1"));
+    assertNull(l2.get("id:1"));
+
+    cache.clear();
+    assertNull(cache.get("active"));
+    assertEquals(0, cache.getL1().estimatedSize());
+    verify(redisTemplate, times(4)).convertAndSend(eq(CacheInvalidationBus.CHANNEL), anyString());
+  }
+
+  @Test
+  @DisplayName("Remote invalidation should evict L1 only; own messages are ignored")
+  void onMessage_ShouldEvictLocalEntry() {
+    // Arrange
+    cache.put("id:1", "Gold");
+    l2.put("id:1", "Gold v2");
+    StringRedisTemplate otherRedis = mock(StringRedisTemplate.class);
+    CacheInvalidationBus otherNode =
+        new CacheInvalidationBus(otherRedis, objectMapper, true, breaker);
+    otherNode.publish("plafonds", "id:1");
+
+    // Act & Assert: pesan dari node sendiri (hasil put di atas) tidak menghapus L1
+    bus.onMessage(lastPublished(redisTemplate), null);
+    assertEquals("Gold", cache.get("id:1").get());
+
+    // Act & Assert: pesan dari node lain menghapus L1, read berikutnya membaca L2
+    bus.onMessage(lastPublished(otherRedis), null);
+    assertEquals("Gold v2", cache.get("id:1").get());
+  }
+
+  private static DefaultMessage lastPublished(StringRedisTemplate template) {
+    ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+    verify(template, atLeastOnce())
+        .convertAndSend(eq(CacheInvalidationBus.CHANNEL), body.capture());
+    return new DefaultMessage(
+        CacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8),
+        body.getValue().getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,190 @@
+package com.example.ProjectBinar.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.example.ProjectBinar.dto.PlafondResponse;
+import com.example.ProjectBinar.entity.Plafond;
+import com.example.ProjectBinar.repository.PlafondRepository;
+import com.example.ProjectBinar.service.AuditService;
+import com.example.ProjectBinar.service.PlafondService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Membandingkan hasil {@link PlafondCatalogEngine} dengan jalur JPA ({@code buildSpecification})
+ * untuk kombinasi filter, sorting, dan pagination yang sama.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("PlafondCatalogEngine Consistency Tests")
+class PlafondCatalogEngineConsistencyTest {
+
+  private static final List<String> UNIQUE_SORT_FIELDS =
+      List.of("id", "name", "maxAmount", "interestRate");
+
+  @Autowired private PlafondRepository plafondRepository;
+
+  @Autowired private TestEntityManager entityManager;
+
+  private PlafondService jpaService;
+  private PlafondService engineService;
+
+  @BeforeEach
+  void setUp() {
+    Random random = new Random(42);
+    List<Integer> rateSteps = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      rateSteps.add(i);
+    }
+    Collections.shuffle(rateSteps, random);
+
+    List<Plafond> plafonds = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      plafonds.add(
+          Plafond.builder()
+              .name(String.format("Plafond %02d %s", (i * 17) % 40, i % 3 == 0 ? "Gold" : "Basic"))
+              .maxAmount(BigDecimal.valueOf(1_000_000L * (i + 1) + random.nextInt(1000), 2))
+              .interestRate(
+                  new BigDecimal("5.00").add(BigDecimal.valueOf(rateSteps.get(i) * 25L, 2)))
+              .tenorMonth(new int[] {6, 12, 24, 36}[random.nextInt(4)])
+              .isActive(random.nextInt(4) != 0)
+              .build());
+    }
+    plafonds = plafondRepository.saveAllAndFlush(plafonds);
+
+    // Soft delete sebagian data; keduanya harus mengabaikan record ini
+    for (int i = 0; i < plafonds.size(); i += 7) {
+      Plafond plafond = plafonds.get(i);
+      plafond.setIsDeleted(true);
+      plafond.setDeletedAt(LocalDateTime.now());
+    }
+    plafondRepository.saveAllAndFlush(plafonds);
+    entityManager.clear();
+
+    PlafondCatalogEngine disabledEngine = new PlafondCatalogEngine(plafondRepository);
+    PlafondCatalogEngine enabledEngine = new PlafondCatalogEngine(plafondRepository);
+    ReflectionTestUtils.setField(enabledEngine, "enabled", true);
+    enabledEngine.rebuild();
+
+    ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+    PlafondEligibilityIndex index = mock(PlafondEligibilityIndex.class);
+    AuditService auditService = mock(AuditService.class);
+    jpaService =
+        new PlafondService(plafondRepository, publisher, index, disabledEngine, auditService);
+    engineService =
+        new PlafondService(plafondRepository, publisher, index, enabledEngine, auditService);
+  }
+
+  @Test
+  @DisplayName("Unique sort fields should return identical pages")
+  void query_WithUniqueSortFields_ShouldMatchJpa() {
+    for (String sortBy : UNIQUE_SORT_FIELDS) {
+      for (String sortDir : List.of("asc", "desc")) {
+        for (int page = 0; page < 4; page++) {
+          assertSamePage(page, 7, sortBy, sortDir, null, null, null, null, null);
+          assertSamePage(page, 5, sortBy, sortDir, "gold", true, null, null, null);
+          assertSamePage(
+              page,
+              5,
+              sortBy,
+              sortDir,
+              null,
+              null,
+              new BigDecimal("50000.005"),
+              new BigDecimal("300000"),
+              null);
+          assertSamePage(page, 3, sortBy, sortDir, "plafond 1", false, null, null, 12);
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Sort fields with ties should return the same rows with id ascending tie-break")
+  void query_WithTiedSortFields_ShouldMatchJpaKeys() {
+    List<SortKey> tiedFields =
+        List.of(
+            new SortKey("tenorMonth", PlafondResponse::getTenorMonth),
+            new SortKey("isActive", PlafondResponse::getIsActive),
+            new SortKey("createdAt", PlafondResponse::getCreatedAt));
+
+    for (SortKey key : tiedFields) {
+      for (String sortDir : List.of("asc", "desc")) {
+        Page<PlafondResponse> expected =
+            jpaService.getAllPlafonds(0, 100, key.field(), sortDir, null, null, null, null, null);
+        Page<PlafondResponse> actual =
+            engineService.getAllPlafonds(
+                0, 100, key.field(), sortDir, null, null, null, null, null);
+
+        assertEquals(expected.getTotalElements(), actual.getTotalElements());
+        assertEquals(
+            expected.getContent().stream().map(key.extractor()).toList(),
+            actual.getContent().stream().map(key.extractor()).toList());
+        assertEquals(ids(expected), ids(actual), key.field() + " " + sortDir);
+        for (int i = 1; i < actual.getContent().size(); i++) {
+          PlafondResponse previous = actual.getContent().get(i - 1);
+          PlafondResponse current = actual.getContent().get(i);
+          if (key.extractor().apply(previous).equals(key.extractor().apply(current))) {
+            assertTrue(previous.getId() < current.getId(), key.field() + " " + sortDir);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Engine should not return soft-deleted plafonds")
+  void query_ShouldExcludeSoftDeleted() {
+    Page<PlafondResponse> result =
+        engineService.getAllPlafonds(0, 100, "id", "asc", null, null, null, null, null);
+
+    assertEquals(34, result.getTotalElements());
+  }
+
+  private void assertSamePage(
+      int page,
+      int size,
+      String sortBy,
+      String sortDir,
+      String name,
+      Boolean isActive,
+      BigDecimal minAmount,
+      BigDecimal maxAmount,
+      Integer tenorMonth) {
+    Page<PlafondResponse> expected =
+        jpaService.getAllPlafonds(
+            page, size, sortBy, sortDir, name, isActive, minAmount, maxAmount, tenorMonth);
+    Page<PlafondResponse> actual =
+        engineService.getAllPlafonds(
+            page, size, sortBy, sortDir, name, isActive, minAmount, maxAmount, tenorMonth);
+
+    String context = sortBy + " " + sortDir + " page " + page + " name=" + name;
+    assertEquals(expected.getTotalElements(), actual.getTotalElements(), context);
+    assertEquals(expected.getTotalPages(), actual.getTotalPages(), context);
+    assertEquals(expected.getContent(), actual.getContent(), context);
+  }
+
+  private static List<Long> ids(Page<PlafondResponse> page) {
+    return page.getContent().stream().map(PlafondResponse::getId).toList();
+  }
+
+  private record SortKey(String field, Function<PlafondResponse, Object> extractor) {}
+}
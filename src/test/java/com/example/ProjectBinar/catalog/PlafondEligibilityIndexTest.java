@@ -0,0 +1,156 @@
+package com.example.ProjectBinar.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.ProjectBinar.dto.PlafondResponse;
+import com.example.ProjectBinar.dto.PlafondStreamEvent;
+import com.example.ProjectBinar.entity.Plafond;
+import com.example.ProjectBinar.event.PlafondChangedEvent;
+import com.example.ProjectBinar.event.PlafondRemoteChangedEvent;
+import com.example.ProjectBinar.repository.PlafondRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlafondEligibilityIndex Unit Tests")
+class PlafondEligibilityIndexTest {
+
+  @Mock private PlafondRepository plafondRepository;
+
+  @InjectMocks private PlafondEligibilityIndex eligibilityIndex;
+
+  @BeforeEach
+  void setUp() {
+    when(plafondRepository.findByIsActive(true))
+        .thenReturn(
+            List.of(
+                plafond(1L, "Bronze", "10000000", "15.00", 12),
+                plafond(2L, "Silver", "25000000", "13.50", 18),
+                plafond(3L, "Gold", "50000000", "12.00", 24),
+                plafond(4L, "Platinum", "100000000", "10.50", 36),
+                plafond(5L, "Silver Plus", "25000000", "11.00", 12)));
+    eligibilityIndex.rebuild();
+  }
+
+  @Test
+  @DisplayName("Should return plafonds covering amount and tenor ranked by interest rate")
+  void findEligible_ShouldReturnRankedMatches() {
+    // Act
+    List<PlafondResponse> result =
+        eligibilityIndex.findEligible(new BigDecimal("20000000"), 12, 10);
+
+    // Assert
+    assertEquals(List.of(4L, 5L, 3L, 2L), result.stream().map(PlafondResponse::getId).toList());
+  }
+
+  @Test
+  @DisplayName("Should include plafond whose maxAmount equals the requested amount")
+  void findEligible_WithExactAmount_ShouldIncludeBoundary() {
+    // Act
+    List<PlafondResponse> result =
+        eligibilityIndex.findEligible(new BigDecimal("50000000"), 24, 10);
+
+    // Assert
+    assertEquals(List.of(4L, 3L), result.stream().map(PlafondResponse::getId).toList());
+  }
+
+  @Test
+  @DisplayName("Should return empty list when nothing matches and respect limit")
+  void findEligible_WithoutMatches_ShouldReturnEmpty() {
+    assertTrue(eligibilityIndex.findEligible(new BigDecimal("500000000"), 12, 10).isEmpty());
+    assertTrue(eligibilityIndex.findEligible(new BigDecimal("1000"), 48, 10).isEmpty());
+    assertEquals(1, eligibilityIndex.findEligible(new BigDecimal("1000"), 1, 1).size());
+  }
+
+  @Test
+  @DisplayName("Should swap in a new snapshot when a plafond changes")
+  void onPlafondChanged_ShouldRebuildIndex() {
+    // Arrange
+    when(plafondRepository.findByIsActive(true))
+        .thenReturn(List.of(plafond(1L, "Bronze", "10000000", "15.00", 12)));
+
+    // Act
+    eligibilityIndex.onPlafondChanged(
+        new PlafondChangedEvent(
+            PlafondChangedEvent.Type.DELETED, PlafondResponse.builder().build()));
+
+    // Assert
+    assertEquals(1, eligibilityIndex.findEligible(new BigDecimal("1000"), 1, 10).size());
+  }
+
+  @Test
+  @DisplayName("Should rebuild when a plafond changes on another node")
+  void onRemotePlafondChanged_ShouldRebuildIndex() {
+    // Arrange
+    when(plafondRepository.findByIsActive(true)).thenReturn(List.of());
+
+    // Act
+    eligibilityIndex.onRemotePlafondChanged(
+        new PlafondRemoteChangedEvent(PlafondStreamEvent.builder().id(1L).build()));
+
+    // Assert
+    assertTrue(eligibilityIndex.findEligible(new BigDecimal("1000"), 1, 10).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should return the same top results as filtering and sorting every plafond")
+  void findEligible_ShouldMatchFullSort() {
+    // Arrange: banyak ties pada suku bunga dan maxAmount di beberapa bucket tenor
+    Random random = new Random(42);
+    List<Plafond> plafonds = new ArrayList<>();
+    for (long id = 1; id <= 500; id++) {
+      plafonds.add(
+          plafond(
+              id,
+              "P" + id,
+              String.valueOf((1 + random.nextInt(20)) * 5_000_000L),
+              (8 + random.nextInt(8)) + ".50",
+              6 * (1 + random.nextInt(8))));
+    }
+    when(plafondRepository.findByIsActive(true)).thenReturn(plafonds);
+    eligibilityIndex.rebuild();
+    List<PlafondResponse> all = plafonds.stream().map(PlafondResponse::fromEntity).toList();
+
+    for (int i = 0; i < 200; i++) {
+      BigDecimal amount = BigDecimal.valueOf(random.nextInt(110) * 1_000_000L);
+      int tenor = 1 + random.nextInt(54);
+      int limit = 1 + random.nextInt(40);
+
+      // Act
+      List<PlafondResponse> result = eligibilityIndex.findEligible(amount, tenor, limit);
+
+      // Assert
+      List<PlafondResponse> expected =
+          all.stream()
+              .filter(p -> p.getMaxAmount().compareTo(amount) >= 0 && p.getTenorMonth() >= tenor)
+              .sorted(PlafondEligibilityIndex.RANKING)
+              .limit(limit)
+              .toList();
+      assertEquals(
+          expected.stream().map(PlafondResponse::getId).toList(),
+          result.stream().map(PlafondResponse::getId).toList());
+    }
+  }
+
+  private static Plafond plafond(
+      Long id, String name, String maxAmount, String interestRate, int tenorMonth) {
+    return Plafond.builder()
+        .id(id)
+        .name(name)
+        .maxAmount(new BigDecimal(maxAmount))
+        .interestRate(new BigDecimal(interestRate))
+        .tenorMonth(tenorMonth)
+        .isActive(true)
+        .build();
+  }
+}
@@ -0,0 +1,73 @@
+package com.example.ProjectBinar.config;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DisplayName("DataInitializer Unit Tests")
+class DataInitializerTest {
+
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transactionTemplate;
+  private PasswordEncoder passwordEncoder;
+  private DataInitializer initializer;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    transactionTemplate = mock(TransactionTemplate.class);
+    passwordEncoder = mock(PasswordEncoder.class);
+    when(transactionTemplate.execute(any()))
+        .thenAnswer(
+            invocation ->
+                invocation
+                    .<TransactionCallback<?>>getArgument(0)
+                    .doInTransaction(mock(TransactionStatus.class)));
+    initializer = new DataInitializer(jdbcTemplate, transactionTemplate, passwordEncoder);
+  }
+
+  @Test
+  @DisplayName("Should skip with a single query when the seed version is already applied")
+  void run_WhenSeedVersionApplied_ShouldOnlyReadMarker() throws Exception {
+    when(jdbcTemplate.queryForList(
+            DataInitializer.SELECT_SEED_VERSION_SQL, Integer.class, DataInitializer.SEED_NAME))
+        .thenReturn(List.of(DataInitializer.SEED_VERSION));
+
+    initializer.run();
+
+    verify(jdbcTemplate)
+        .queryForList(
+            DataInitializer.SELECT_SEED_VERSION_SQL, Integer.class, DataInitializer.SEED_NAME);
+    verifyNoMoreInteractions(jdbcTemplate);
+    verifyNoInteractions(transactionTemplate, passwordEncoder);
+  }
+
+  @Test
+  @DisplayName("Should skip seeding when another instance finished it while waiting for the lock")
+  void run_WhenSeededWhileWaitingForLock_ShouldNotWriteData() throws Exception {
+    when(jdbcTemplate.queryForList(
+            DataInitializer.SELECT_SEED_VERSION_SQL, Integer.class, DataInitializer.SEED_NAME))
+        .thenReturn(List.of())
+        .thenReturn(List.of(DataInitializer.SEED_VERSION));
+
+    initializer.run();
+
+    verify(jdbcTemplate).update(DataInitializer.INSERT_SEED_SQL, DataInitializer.SEED_NAME);
+    verify(jdbcTemplate).update(DataInitializer.LOCK_SEED_SQL, DataInitializer.SEED_NAME);
+    verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    verify(jdbcTemplate, never()).update(eq(DataInitializer.UPDATE_SEED_SQL), any(), any(), any());
+    verifyNoInteractions(passwordEncoder);
+  }
+}
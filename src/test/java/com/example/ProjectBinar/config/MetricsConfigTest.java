@@ -0,0 +1,170 @@
+package com.example.ProjectBinar.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.ProjectBinar.cache.CacheCircuitBreaker;
+import com.example.ProjectBinar.cache.CacheInvalidationBus;
+import com.example.ProjectBinar.cache.CircuitBreakerCache;
+import com.example.ProjectBinar.cache.TwoLevelCache;
+import com.example.ProjectBinar.entity.Role;
+import com.example.ProjectBinar.entity.User;
+import com.example.ProjectBinar.repository.RoleRepository;
+import com.example.ProjectBinar.repository.UserRepository;
+import com.example.ProjectBinar.security.CustomUserDetailsService;
+import com.example.ProjectBinar.security.JwtService;
+import com.example.ProjectBinar.service.EmailService;
+import com.example.ProjectBinar.support.NoCacheTestConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Metric auth dan cache terdaftar di MeterRegistry, dan /actuator/prometheus tidak terbuka untuk
+ * anonymous. Database H2 sendiri supaya data seed context ini tidak terlihat oleh test
+ * {@code @DataJpaTest} yang memakai testdb.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metricsdb;MODE=MSSQLServer")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(NoCacheTestConfig.class)
+@DisplayName("Metrics configuration")
+class MetricsConfigTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private CacheMetricsRegistrar cacheMetricsRegistrar;
+  @Autowired private JwtService jwtService;
+  @Autowired private CustomUserDetailsService userDetailsService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private RoleRepository roleRepository;
+
+  @MockBean private EmailService emailService;
+
+  @Test
+  @DisplayName("Should register auth.authenticate and auth.jwt.verify timers")
+  void authTimers_ShouldBeRegistered() throws Exception {
+    // Act
+    mockMvc
+        .perform(
+            post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"customer\",\"password\":\"password123\"}"))
+        .andExpect(status().isOk());
+    String token = jwtService.generateToken(userDetailsService.loadUserByUsername("customer"));
+    mockMvc
+        .perform(get("/plafonds/active").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+        .andExpect(status().isOk());
+
+    // Assert
+    Timer authenticate = meterRegistry.find("auth.authenticate").timer();
+    assertNotNull(authenticate);
+    assertTrue(authenticate.count() > 0);
+    Timer jwtVerify = meterRegistry.find("auth.jwt.verify").tag("outcome", "valid").timer();
+    assertNotNull(jwtVerify);
+    assertTrue(jwtVerify.count() > 0);
+  }
+
+  @Test
+  @DisplayName("Should bind cache statistics meters for Redis caches behind L1 and breaker")
+  void cacheMeters_ShouldBeRegistered() {
+    // Arrange - RedisCache dengan statistik aktif; connection tidak dipakai saat bind
+    RedisCacheManager redisCacheManager =
+        RedisCacheManager.builder(
+                RedisCacheWriter.nonLockingRedisCacheWriter(mock(RedisConnectionFactory.class)))
+            .initialCacheNames(Set.of("metrics-test"))
+            .enableStatistics()
+            .build();
+    redisCacheManager.afterPropertiesSet();
+    Cache redisCache = redisCacheManager.getCache("metrics-test");
+    Cache cache =
+        new TwoLevelCache(
+            new CircuitBreakerCache(
+                redisCache,
+                new CacheCircuitBreaker(
+                    true, 5, Duration.ofSeconds(30), System::currentTimeMillis)),
+            10,
+            Duration.ofMinutes(1),
+            mock(CacheInvalidationBus.class));
+
+    // Act
+    boolean bound = cacheMetricsRegistrar.bindCacheToRegistry(cache, Tag.of("test", "metrics"));
+
+    // Assert
+    assertTrue(bound);
+    for (String result : new String[] {"hit", "miss"}) {
+      assertNotNull(
+          meterRegistry
+              .find("cache.gets")
+              .tags("test", "metrics", "result", result)
+              .functionCounter(),
+          "cache.gets " + result);
+      assertNotNull(
+          meterRegistry
+              .find("cache.l1.gets")
+              .tags("test", "metrics", "result", result)
+              .functionCounter(),
+          "cache.l1.gets " + result);
+    }
+  }
+
+  @Test
+  @DisplayName("Should not expose /actuator/prometheus to anonymous or regular users")
+  void prometheus_ShouldRequireScraperRole() throws Exception {
+    // Arrange - akun service scraper hanya dengan role METRICS_SCRAPER
+    Role scraperRole = roleRepository.findByName("METRICS_SCRAPER").orElseThrow();
+    if (userRepository.findByUsername("prometheus").isEmpty()) {
+      userRepository.save(
+          User.builder()
+              .username("prometheus")
+              .email("prometheus@example.com")
+              .password("x")
+              .isActive(true)
+              .roles(Set.of(scraperRole))
+              .build());
+    }
+    String customerToken =
+        jwtService.generateToken(userDetailsService.loadUserByUsername("customer"));
+    String scraperToken =
+        jwtService.generateToken(userDetailsService.loadUserByUsername("prometheus"));
+
+    // Act & Assert - registry Prometheus tidak aktif di test, jadi scraper mendapat 404, bukan 403
+    mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+    mockMvc
+        .perform(
+            get("/actuator/prometheus")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + customerToken))
+        .andExpect(status().isForbidden());
+    int scraperStatus =
+        mockMvc
+            .perform(
+                get("/actuator/prometheus")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + scraperToken))
+            .andReturn()
+            .getResponse()
+            .getStatus();
+    assertNotEquals(403, scraperStatus);
+    assertNotEquals(401, scraperStatus);
+  }
+}
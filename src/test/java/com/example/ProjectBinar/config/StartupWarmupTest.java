@@ -0,0 +1,80 @@
+package com.example.ProjectBinar.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.example.ProjectBinar.security.JwtService;
+import com.example.ProjectBinar.service.BranchService;
+import com.example.ProjectBinar.service.PlafondService;
+import com.example.ProjectBinar.service.RoleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("StartupWarmup Unit Tests")
+class StartupWarmupTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private PlafondService plafondService;
+  private RoleService roleService;
+  private BranchService branchService;
+  private JwtService jwtService;
+  private StartupWarmup warmup;
+
+  @BeforeEach
+  void setUp() {
+    plafondService = mock(PlafondService.class);
+    roleService = mock(RoleService.class);
+    branchService = mock(BranchService.class);
+    jwtService = mock(JwtService.class);
+    when(plafondService.getActivePlafonds()).thenReturn(new ArrayList<>());
+    when(jwtService.generateToken(any())).thenReturn("token");
+    when(jwtService.isTokenValid(any(), any())).thenReturn(true);
+
+    warmup =
+        new StartupWarmup(
+            plafondService,
+            roleService,
+            branchService,
+            jwtService,
+            new ObjectMapper().registerModule(new JavaTimeModule()),
+            meterRegistry);
+    ReflectionTestUtils.setField(warmup, "enabled", true);
+    ReflectionTestUtils.setField(warmup, "iterations", 5);
+  }
+
+  @Test
+  @DisplayName("Should preload caches, exercise hot paths and time every phase")
+  void run_ShouldWarmAllPhases() {
+    warmup.run(new DefaultApplicationArguments());
+
+    verify(roleService, times(6)).getAllRoles();
+    verify(branchService, times(6)).getAllBranch();
+    verify(jwtService, times(5)).isTokenValid(any(), any());
+    for (String phase : new String[] {"cache", "jwt", "json"}) {
+      Timer timer = meterRegistry.find("startup.warmup").tag("phase", phase).timer();
+      assertNotNull(timer, "missing startup.warmup phase " + phase);
+      assertEquals(1, timer.count());
+    }
+  }
+
+  @Test
+  @DisplayName("Failing phase should not stop startup or the remaining phases")
+  void run_PhaseFailure_ShouldContinue() {
+    when(roleService.getAllRoles()).thenThrow(new IllegalStateException("database down"));
+
+    assertDoesNotThrow(() -> warmup.run(new DefaultApplicationArguments()));
+
+    verify(jwtService, times(5)).generateToken(any());
+    assertEquals(1, meterRegistry.find("startup.warmup").tag("phase", "json").timer().count());
+  }
+}
@@ -0,0 +1,435 @@
+package com.example.ProjectBinar.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.ProjectBinar.diagnostics.QueryCountRegistry;
+import com.example.ProjectBinar.entity.PasswordResetToken;
+import com.example.ProjectBinar.entity.Plafond;
+import com.example.ProjectBinar.entity.Role;
+import com.example.ProjectBinar.entity.User;
+import com.example.ProjectBinar.repository.PasswordResetTokenRepository;
+import com.example.ProjectBinar.repository.PlafondRepository;
+import com.example.ProjectBinar.repository.RoleRepository;
+import com.example.ProjectBinar.repository.UserRepository;
+import com.example.ProjectBinar.security.CustomUserDetailsService;
+import com.example.ProjectBinar.security.JwtService;
+import com.example.ProjectBinar.service.EmailService;
+import com.example.ProjectBinar.support.NoCacheTestConfig;
+import com.example.ProjectBinar.support.QueryCountingMockMvc;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Query budget per endpoint (detektor N+1).
+ *
+ * <p>Setiap endpoint di Plafond, User, Auth, Branch dan Role controller dijalankan lewat MockMvc
+ * dan jumlah SQL statement-nya dibatasi. Cache dinonaktifkan (NoOpCacheManager) sehingga yang
+ * diukur adalah jalur cache miss. Budget sudah termasuk query user + role di
+ * JwtAuthenticationFilter. Jika budget terlampaui, perbaiki query-nya; naikkan budget hanya jika
+ * query tambahan memang disengaja.
+ */
+@SpringBootTest(properties = "diagnostics.sql.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(NoCacheTestConfig.class)
+@DisplayName("Endpoint query budget")
+class EndpointQueryBudgetTest {
+
+  /** Jumlah user tambahan supaya query per-user (N+1) terlihat jelas di GET /users. */
+  private static final int EXTRA_USERS = 20;
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private QueryCountRegistry queryCountRegistry;
+  @Autowired private JwtService jwtService;
+  @Autowired private CustomUserDetailsService userDetailsService;
+  @Autowired private PlafondRepository plafondRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private RoleRepository roleRepository;
+  @Autowired private PasswordResetTokenRepository tokenRepository;
+
+  @MockBean private EmailService emailService;
+
+  private QueryCountingMockMvc queries;
+  private String customerToken;
+  private String backOfficeToken;
+  private Long goldId;
+
+  @BeforeEach
+  void setUp() {
+    queries = new QueryCountingMockMvc(mockMvc, queryCountRegistry);
+    customerToken = jwtService.generateToken(userDetailsService.loadUserByUsername("customer"));
+    backOfficeToken = jwtService.generateToken(userDetailsService.loadUserByUsername("backoffice"));
+    goldId = plafondRepository.findByName("Gold").orElseThrow().getId();
+
+    Role customerRole = roleRepository.findByName("CUSTOMER").orElseThrow();
+    for (int i = 0; i < EXTRA_USERS; i++) {
+      String username = "budget-user-" + i;
+      if (userRepository.findByUsername(username).isEmpty()) {
+        userRepository.save(
+            User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("x")
+                .isActive(true)
+                .roles(Set.of(customerRole))
+                .build());
+      }
+    }
+  }
+
+  // ---------------------------------------------------------------- PlafondController
+
+  @Test
+  @DisplayName("POST /plafonds")
+  void createPlafond() throws Exception {
+    queries
+        .performWithinBudget(
+            json(post("/plafonds"), backOfficeToken)
+                .content(
+                    "{\"name\":\"Budget "
+                        + UUID.randomUUID()
+                        + "\",\"maxAmount\":1000000,\"interestRate\":10,\"tenorMonth\":12}"),
+            4)
+        .andExpect(status().isCreated());
+  }
+
+  @Test
+  @DisplayName("GET /plafonds with filters")
+  void getAllPlafonds() throws Exception {
+    queries
+        .performWithinBudget(
+            auth(get("/plafonds"), customerToken)
+                .param("isActive", "true")
+                .param("minAmount", "1000000")
+                .param("sortBy", "maxAmount")
+                .param("sortDir", "desc"),
+            2)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("GET /plafonds/active")
+  void getActivePlafonds() throws Exception {
+    queries
+        .performWithinBudget(auth(get("/plafonds/active"), customerToken), 2)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("GET /plafonds/stream")
+  void streamPlafondChanges() throws Exception {
+    queries
+        .performWithinBudget(auth(get("/plafonds/stream"), customerToken), 1)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("GET /plafonds/changes")
+  void getPlafondChanges() throws Exception {
+    // Termasuk satu query watermark archive (MAX deleted_at, index idx_plafond_archive_deleted_at)
+    queries
+        .performWithinBudget(auth(get("/plafonds/changes"), customerToken), 3)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("GET /plafonds/eligible")
+  void getEligiblePlafonds() throws Exception {
+    queries
+        .performWithinBudget(
+            auth(get("/plafonds/eligible"), customerToken)
+                .param("amount", "5000000")
+                .param("tenorMonth", "12"),
+            1)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("GET /plafonds/{id}")
+  void getPlafondById() throws Exception {
+    queries
+        .performWithinBudget(auth(get("/plafonds/{id}", goldId), customerToken), 2)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("GET /plafonds/{id}/simulation")
+  void simulateLoan() throws Exception {
+    queries
+        .performWithinBudget(
+            auth(get("/plafonds/{id}/simulation", goldId), customerToken)
+                .param("amount", "5000000"),
+            2)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("POST /plafonds/simulations (batch)")
+  void simulateLoans() throws Exception {
+    StringBuilder body = new StringBuilder("[");
+    for (int i = 0; i < 10; i++) {
+      body.append(i == 0 ? "" : ",")
+          .append("{\"plafondId\":")
+          .append(goldId)
+          .append(",\"amount\":")
+          .append(1_000_000 * (i + 1))
+          .append("}");
+    }
+    body.append("]");
+
+    queries
+        .performWithinBudget(
+            json(post("/plafonds/simulations"), customerToken).content(body.toString()), 2)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("PUT /plafonds/{id}")
+  void updatePlafond() throws Exception {
+    queries
+        .performWithinBudget(
+            json(put("/plafonds/{id}", goldId), backOfficeToken)
+                .content("{\"description\":\"Updated " + UUID.randomUUID() + "\"}"),
+            4)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("DELETE /plafonds/{id}")
+  void deletePlafond() throws Exception {
+    Plafond plafond =
+        plafondRepository.save(
+            Plafond.builder()
+                .name("Budget delete " + UUID.randomUUID())
+                .maxAmount(new BigDecimal("1000000"))
+                .interestRate(new BigDecimal("10.00"))
+                .tenorMonth(12)
+                .build());
+
+    queries
+        .performWithinBudget(auth(delete("/plafonds/{id}", plafond.getId()), backOfficeToken), 4)
+        .andExpect(status().isOk());
+  }
+
+  // ---------------------------------------------------------------- UserController
+
+  @Test
+  @DisplayName("GET /users (data + count + roles batch)")
+  void getUsers() throws Exception {
+    queries
+        .performWithinBudget(auth(get("/users"), backOfficeToken).param("size", "50"), 4)
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.content[0].roles").isArray())
+        .andExpect(jsonPath("$.data.content[0].password").doesNotExist());
+  }
+
+  @Test
+  @DisplayName("GET /users with role, active and username prefix filters")
+  void getUsersFiltered() throws Exception {
+    queries
+        .performWithinBudget(
+            auth(get("/users"), backOfficeToken)
+                .param("role", "CUSTOMER")
+                .param("isActive", "true")
+                .param("username", "budget-user-1")
+                .param("size", "5")
+                .param("sortBy", "username"),
+            4)
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.content[0].username").value("budget-user-1"))
+        .andExpect(jsonPath("$.data.content.length()").value(5))
+        .andExpect(jsonPath("$.data.totalElements").value(11));
+  }
+
+  @Test
+  @DisplayName("POST /users")
+  void createUser() throws Exception {
+    String username = "budget-new-" + UUID.randomUUID();
+    queries
+        .performWithinBudget(
+            json(post("/users"), backOfficeToken)
+                .content(
+                    "{\"username\":\""
+                        + username
+                        + "\",\"email\":\""
+                        + username
+                        + "@example.com\",\"password\":\"secret\",\"isActive\":true}"),
+            2)
+        .andExpect(status().isCreated());
+  }
+
+  @Test
+  @DisplayName("POST /users/bulk (hanya autentikasi, insert berjalan di background)")
+  void bulkCreateUsers() throws Exception {
+    String username = "budget-bulk-" + UUID.randomUUID();
+    queries
+        .performWithinBudget(
+            auth(post("/users/bulk"), backOfficeToken)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(
+                    "{\"username\":\""
+                        + username
+                        + "\",\"password\":\"secret\",\"roles\":[\"CUSTOMER\"]}\n"),
+            1)
+        .andExpect(status().isAccepted());
+  }
+
+  @Test
+  @DisplayName("GET /users/bulk/{jobId}")
+  void getBulkJob() throws Exception {
+    queries
+        .performWithinBudget(auth(get("/users/bulk/{jobId}", "unknown"), backOfficeToken), 1)
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("PUT /users/{id}/roles")
+  void updateUserRoles() throws Exception {
+    Long userId = userRepository.findByUsername("budget-user-0").orElseThrow().getId();
+    queries
+        .performWithinBudget(
+            json(put("/users/{id}/roles", userId), backOfficeToken)
+                .content("[\"CUSTOMER\",\"MARKETING\"]"),
+            4)
+        .andExpect(status().isOk());
+  }
+
+  // ---------------------------------------------------------------- AuthController
+
+  @Test
+  @DisplayName("POST /auth/login")
+  void login() throws Exception {
+    queries
+        .performWithinBudget(
+            json(post("/auth/login"), null)
+                .content("{\"username\":\"customer\",\"password\":\"password123\"}"),
+            1)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("POST /auth/forgot-password")
+  void forgotPassword() throws Exception {
+    queries
+        .performWithinBudget(
+            json(post("/auth/forgot-password"), null)
+                .content("{\"email\":\"marketing@example.com\"}"),
+            4)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("POST /auth/reset-password")
+  void resetPassword() throws Exception {
+    String token = createResetToken("budget-user-1");
+    queries
+        .performWithinBudget(
+            json(post("/auth/reset-password"), null)
+                .content("{\"token\":\"" + token + "\",\"newPassword\":\"newsecret\"}"),
+            4)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("GET /auth/validate-token")
+  void validateToken() throws Exception {
+    String token = createResetToken("budget-user-2");
+    queries
+        .performWithinBudget(get("/auth/validate-token").param("token", token), 2)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("GET /auth/test")
+  void authTest() throws Exception {
+    queries.performWithinBudget(get("/auth/test"), 0).andExpect(status().isOk());
+  }
+
+  // ---------------------------------------------------------------- BranchController
+
+  @Test
+  @DisplayName("GET /branch")
+  void getAllBranch() throws Exception {
+    queries
+        .performWithinBudget(auth(get("/branch"), backOfficeToken), 2)
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("POST /branch")
+  void createBranch() throws Exception {
+    queries
+        .performWithinBudget(
+            json(post("/branch"), backOfficeToken)
+                .content(
+                    "{\"name\":\"Budget Branch\",\"address\":\"Jalan 1\",\"city\":\"Bandung\"}"),
+            2)
+        .andExpect(status().isCreated());
+  }
+
+  // ---------------------------------------------------------------- RoleController
+
+  @Test
+  @DisplayName("GET /roles")
+  void getAllRoles() throws Exception {
+    queries.performWithinBudget(auth(get("/roles"), backOfficeToken), 2).andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("POST /roles")
+  void createRole() throws Exception {
+    queries
+        .performWithinBudget(
+            json(post("/roles"), backOfficeToken)
+                .content(
+                    "{\"name\":\"BUDGET_" + UUID.randomUUID().toString().substring(0, 8) + "\"}"),
+            2)
+        .andExpect(status().isCreated());
+  }
+
+  // ---------------------------------------------------------------- helpers
+
+  private String createResetToken(String username) {
+    String token = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    User user = userRepository.findByUsername(username).orElseThrow();
+    tokenRepository.findByUser(user).ifPresent(tokenRepository::delete);
+    tokenRepository.save(
+        PasswordResetToken.builder()
+            .token(token)
+            .user(user)
+            .expiryDate(LocalDateTime.now().plusMinutes(30))
+            .used(false)
+            .build());
+    return token;
+  }
+
+  private static MockHttpServletRequestBuilder auth(
+      MockHttpServletRequestBuilder request, String token) {
+    return token == null ? request : request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+  }
+
+  private static MockHttpServletRequestBuilder json(
+      MockHttpServletRequestBuilder request, String token) {
+    return auth(request, token).contentType(MediaType.APPLICATION_JSON);
+  }
+}
@@ -0,0 +1,210 @@
+package com.example.ProjectBinar.controller;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.ProjectBinar.entity.Role;
+import com.example.ProjectBinar.entity.User;
+import com.example.ProjectBinar.repository.UserRepository;
+import com.example.ProjectBinar.security.CustomUserDetailsService;
+import com.example.ProjectBinar.security.JwtService;
+import com.example.ProjectBinar.service.EmailService;
+import com.example.ProjectBinar.support.NoCacheTestConfig;
+import com.jayway.jsonpath.JsonPath;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/** Test POST /users/bulk dan GET /users/bulk/{jobId} end-to-end (job background + JDBC batch). */
+@SpringBootTest(properties = "diagnostics.sql.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(NoCacheTestConfig.class)
+@DisplayName("Bulk user provisioning")
+class UserBulkProvisioningTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private JwtService jwtService;
+  @Autowired private CustomUserDetailsService userDetailsService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  // Sama dengan EndpointQueryBudgetTest supaya context Spring dipakai bersama
+  @MockBean private EmailService emailService;
+
+  private String backOfficeToken;
+  private String suffix;
+
+  @BeforeEach
+  void setUp() {
+    backOfficeToken = jwtService.generateToken(userDetailsService.loadUserByUsername("backoffice"));
+    suffix = UUID.randomUUID().toString().substring(0, 8);
+  }
+
+  @Test
+  @DisplayName("NDJSON: baris valid dibuat dengan password ter-hash, baris gagal dilaporkan")
+  void provisionsNdjsonAndReportsRowErrors() throws Exception {
+    String body =
+        String.join(
+            "\n",
+            row(
+                "bulk-a-" + suffix,
+                "secret1",
+                "\"isActive\":true,\"roles\":[\"customer\",\"MARKETING\"]"),
+            row("bulk-b-" + suffix, "secret2", "\"isActive\":false"),
+            row("customer", "secret3", "\"roles\":[\"CUSTOMER\"]"),
+            row("bulk-c-" + suffix, "123", "\"roles\":[]"),
+            row("bulk-d-" + suffix, "secret4", "\"roles\":[\"NOPE\"]"),
+            row("bulk-a-" + suffix, "secret5", "\"roles\":[]"));
+
+    String location =
+        mockMvc
+            .perform(
+                post("/users/bulk")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + backOfficeToken)
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .content(body))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.data.total").value(6))
+            .andExpect(header().exists(HttpHeaders.LOCATION))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LOCATION);
+
+    String job = awaitFinished(location);
+    assertEquals("COMPLETED", JsonPath.read(job, "$.data.status"));
+    assertEquals(2, (int) JsonPath.read(job, "$.data.created"));
+    assertEquals(4, (int) JsonPath.read(job, "$.data.failed"));
+    assertEquals(List.of(3, 4, 5, 6), JsonPath.read(job, "$.data.errors[*].row"));
+
+    User a = userRepository.findByUsername("bulk-a-" + suffix).orElseThrow();
+    assertTrue(passwordEncoder.matches("secret1", a.getPassword()));
+    assertEquals(
+        List.of("CUSTOMER", "MARKETING"),
+        a.getRoles().stream().map(Role::getName).sorted().toList());
+    assertFalse(userRepository.findByUsername("bulk-b-" + suffix).orElseThrow().getIsActive());
+  }
+
+  @Test
+  @DisplayName("JSON array juga diterima")
+  void acceptsJsonArray() throws Exception {
+    String location =
+        mockMvc
+            .perform(
+                post("/users/bulk")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + backOfficeToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + row("bulk-json-" + suffix, "secret1", "\"roles\":[]") + "]"))
+            .andExpect(status().isAccepted())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LOCATION);
+
+    String job = awaitFinished(location);
+    assertEquals(1, (int) JsonPath.read(job, "$.data.created"));
+    assertTrue(userRepository.findByUsername("bulk-json-" + suffix).isPresent());
+
+    // Status juga tersimpan di database untuk replica lain
+    String jobId = JsonPath.read(job, "$.data.jobId");
+    String stored = null;
+    for (int attempt = 0; attempt < 100 && stored == null; attempt++) {
+      stored =
+          jdbcTemplate
+              .queryForList(
+                  "SELECT status FROM user_provisioning_job WHERE id = ? AND finished_at IS NOT NULL",
+                  String.class,
+                  jobId)
+              .stream()
+              .findFirst()
+              .orElse(null);
+      if (stored == null) {
+        Thread.sleep(50);
+      }
+    }
+    assertEquals("COMPLETED", stored);
+  }
+
+  @Test
+  @DisplayName("Body tidak valid ditolak dengan 400")
+  void rejectsMalformedBody() throws Exception {
+    mockMvc
+        .perform(
+            post("/users/bulk")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + backOfficeToken)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(row("bulk-x-" + suffix, "secret1", "\"roles\":[]") + "\n{\"username\":"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value(startsWith("Format baris ke-2")));
+  }
+
+  @Test
+  @DisplayName("POST /users menyimpan password ter-hash")
+  void createUserHashesPassword() throws Exception {
+    String username = "single-" + suffix;
+    mockMvc
+        .perform(
+            post("/users")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + backOfficeToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(row(username, "secret1", "\"isActive\":true")))
+        .andExpect(status().isCreated());
+
+    String stored = userRepository.findByUsername(username).orElseThrow().getPassword();
+    assertFalse("secret1".equals(stored));
+    assertTrue(passwordEncoder.matches("secret1", stored));
+  }
+
+  private static String row(String username, String password, String extra) {
+    return "{\"username\":\""
+        + username
+        + "\",\"email\":\""
+        + username
+        + "@example.com\",\"password\":\""
+        + password
+        + "\","
+        + extra
+        + "}";
+  }
+
+  /** Poll status job sampai COMPLETED/FAILED. */
+  private String awaitFinished(String location) throws Exception {
+    for (int attempt = 0; attempt < 300; attempt++) {
+      String job =
+          mockMvc
+              .perform(get(location).header(HttpHeaders.AUTHORIZATION, "Bearer " + backOfficeToken))
+              .andExpect(status().isOk())
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+      String jobStatus = JsonPath.read(job, "$.data.status");
+      if (!"QUEUED".equals(jobStatus) && !"RUNNING".equals(jobStatus)) {
+        return job;
+      }
+      Thread.sleep(100);
+    }
+    fail("Job " + location + " belum selesai");
+    return null;
+  }
+}
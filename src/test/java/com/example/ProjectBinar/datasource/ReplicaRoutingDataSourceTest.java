@@ -0,0 +1,164 @@
+package com.example.ProjectBinar.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Routing test dengan dua database H2 terpisah sebagai primary dan replica. */
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+  private DriverManagerDataSource primary;
+  private DriverManagerDataSource replicaDataSource;
+  private ReplicaNode replica;
+  private ReplicaHealthMonitor monitor;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readOnlyTx;
+  private TransactionTemplate readWriteTx;
+
+  @BeforeEach
+  void setUp() {
+    primary = h2("primary");
+    replicaDataSource = h2("replica");
+    replica = new ReplicaNode("replica-1", replicaDataSource);
+
+    ReadYourWritesTracker tracker = new ReadYourWritesTracker(60_000);
+    DataSource routing =
+        new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(primary, List.of(replica), tracker, 5_000));
+    monitor = new ReplicaHealthMonitor(primary, List.of(replica), tracker);
+
+    jdbcTemplate = new JdbcTemplate(routing);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+    readOnlyTx = new TransactionTemplate(transactionManager);
+    readOnlyTx.setReadOnly(true);
+    readWriteTx = new TransactionTemplate(transactionManager);
+
+    // Dua siklus: tulis beat di primary, "replikasi" ke replica, lalu ukur lag
+    monitor.check();
+    replicateHeartbeat(0);
+    monitor.check();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+    new JdbcTemplate(h2Url("primary")).execute("DROP ALL OBJECTS");
+    new JdbcTemplate(h2Url("replica")).execute("DROP ALL OBJECTS");
+  }
+
+  @Test
+  @DisplayName("Should route read-only transactions to a healthy replica")
+  void readOnlyTransaction_ShouldUseReplica() {
+    assertTrue(replica.isHealthy());
+    assertEquals("replica", readOnlyTx.execute(status -> currentNode()));
+    assertEquals("primary", readWriteTx.execute(status -> currentNode()));
+  }
+
+  @Test
+  @DisplayName("Should keep reads on primary right after the same user wrote")
+  void readAfterWrite_ShouldStickToPrimary() {
+    // Arrange
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+
+    // Act
+    readWriteTx.execute(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+    String readNode = readOnlyTx.execute(status -> currentNode());
+
+    // Assert
+    assertEquals("primary", readNode);
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UsernamePasswordAuthenticationToken("other", null, List.of()));
+    assertEquals("replica", readOnlyTx.execute(status -> currentNode()));
+  }
+
+  @Test
+  @DisplayName("Should not stick to primary after a read-write transaction that only read")
+  void readWriteWithoutWrite_ShouldNotStick() {
+    // Arrange
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+
+    // Act - transaction read-write yang hanya SELECT, dan write yang di-rollback
+    assertEquals("primary", readWriteTx.execute(status -> currentNode()));
+    readWriteTx.executeWithoutResult(
+        status -> {
+          jdbcTemplate.update("UPDATE node SET name = name");
+          status.setRollbackOnly();
+        });
+
+    // Assert
+    assertEquals("replica", readOnlyTx.execute(status -> currentNode()));
+  }
+
+  @Test
+  @DisplayName("Should fall back to primary when replica lag exceeds the tolerance")
+  void laggingReplica_ShouldFallBackToPrimary() {
+    // Arrange - replica tertinggal 10 detik
+    replicateHeartbeat(10_000);
+    monitor.check();
+
+    // Act & Assert
+    assertTrue(replica.getLagMs() > 5_000);
+    assertEquals("primary", readOnlyTx.execute(status -> currentNode()));
+  }
+
+  @Test
+  @DisplayName("Should fall back to primary when the replica cannot be reached")
+  void unreachableReplica_ShouldFallBackToPrimary() {
+    // Arrange - URL replica tidak valid, tapi status masih healthy dari health check terakhir
+    replicaDataSource.setUrl("jdbc:h2:tcp://localhost:1/unreachable");
+
+    // Act
+    String node = readOnlyTx.execute(status -> currentNode());
+
+    // Assert
+    assertEquals("primary", node);
+    assertFalse(replica.isHealthy());
+  }
+
+  private String currentNode() {
+    return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+  }
+
+  private void replicateHeartbeat(long lagMs) {
+    Timestamp beat =
+        new JdbcTemplate(primary)
+            .queryForObject(ReplicaHealthMonitor.SELECT_BEAT_SQL, Timestamp.class);
+    LocalDateTime replicated = beat.toLocalDateTime().minusNanos(lagMs * 1_000_000);
+    JdbcTemplate replicaJdbc = new JdbcTemplate(replicaDataSource);
+    if (replicaJdbc.update(ReplicaHealthMonitor.UPDATE_BEAT_SQL, Timestamp.valueOf(replicated))
+        == 0) {
+      replicaJdbc.update(ReplicaHealthMonitor.INSERT_BEAT_SQL, Timestamp.valueOf(replicated));
+    }
+  }
+
+  private static DriverManagerDataSource h2Url(String name) {
+    return new DriverManagerDataSource(
+        "jdbc:h2:mem:" + name + "_routing;DB_CLOSE_DELAY=-1;MODE=MSSQLServer", "sa", "");
+  }
+
+  private static DriverManagerDataSource h2(String name) {
+    DriverManagerDataSource dataSource = h2Url(name);
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at DATETIME2)");
+    jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+    jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+    return dataSource;
+  }
+}
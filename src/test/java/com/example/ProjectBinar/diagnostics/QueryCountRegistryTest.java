@@ -0,0 +1,47 @@
+package com.example.ProjectBinar.diagnostics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("QueryCountRegistry Unit Tests")
+class QueryCountRegistryTest {
+
+  private final QueryCountRegistry registry = new QueryCountRegistry();
+
+  @Test
+  @DisplayName("Should aggregate statement counts per endpoint")
+  void end_ShouldAggregatePerEndpoint() {
+    // Arrange & Act
+    registry.begin();
+    registry.increment();
+    registry.increment();
+    int first = registry.end("GET /plafonds");
+
+    registry.begin();
+    registry.increment();
+    registry.increment();
+    registry.increment();
+    registry.increment();
+    registry.end("GET /plafonds");
+
+    // Assert
+    assertEquals(2, first);
+    Map<String, Object> stats = registry.snapshot().get("GET /plafonds");
+    assertEquals(2L, stats.get("requests"));
+    assertEquals(6L, stats.get("queries"));
+    assertEquals(3.0, stats.get("avgQueriesPerRequest"));
+    assertEquals(4L, stats.get("maxQueriesPerRequest"));
+  }
+
+  @Test
+  @DisplayName("Should ignore statements outside of a request")
+  void increment_OutsideRequest_ShouldBeIgnored() {
+    registry.increment();
+
+    assertEquals(0, registry.currentCount());
+    assertTrue(registry.snapshot().isEmpty());
+  }
+}
@@ -0,0 +1,45 @@
+package com.example.ProjectBinar.diagnostics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RequestPhaseTimer Unit Tests")
+class RequestPhaseTimerTest {
+
+  @AfterEach
+  void tearDown() {
+    RequestPhaseTimer.end();
+  }
+
+  @Test
+  @DisplayName("Should format recorded phases as Server-Timing metrics")
+  void serverTimingHeader_ShouldIncludeRecordedPhases() {
+    // Arrange
+    RequestPhaseTimer.begin();
+    RequestPhaseTimer.record(RequestPhase.JWT, TimeUnit.MICROSECONDS.toNanos(1500));
+    RequestPhaseTimer.record(RequestPhase.DB, TimeUnit.MILLISECONDS.toNanos(2));
+    RequestPhaseTimer.record(RequestPhase.DB, TimeUnit.MILLISECONDS.toNanos(3));
+
+    // Act
+    String header = RequestPhaseTimer.serverTimingHeader(TimeUnit.MILLISECONDS.toNanos(10));
+
+    // Assert
+    assertEquals(
+        "jwt;desc=\"JWT verification\";dur=1.50, db;desc=\"Repository calls\";dur=5.00,"
+            + " app;desc=\"Total\";dur=10.00",
+        header);
+  }
+
+  @Test
+  @DisplayName("Should ignore phases for requests that are not sampled")
+  void record_WithoutBegin_ShouldBeNoOp() {
+    RequestPhaseTimer.record(RequestPhase.CACHE, 1_000_000);
+
+    assertFalse(RequestPhaseTimer.isActive());
+    assertEquals("app;desc=\"Total\";dur=1.00", RequestPhaseTimer.serverTimingHeader(1_000_000));
+  }
+}
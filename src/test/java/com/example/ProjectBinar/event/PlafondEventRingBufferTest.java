@@ -0,0 +1,109 @@
+package com.example.ProjectBinar.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.ProjectBinar.dto.PlafondStreamEvent;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PlafondEventRingBuffer Unit Tests")
+class PlafondEventRingBufferTest {
+
+  private PlafondEventRingBuffer ringBuffer;
+
+  @BeforeEach
+  void setUp() {
+    ringBuffer = new PlafondEventRingBuffer(3);
+  }
+
+  @Test
+  @DisplayName("Should return events after the given id")
+  void since_ShouldReturnMissedEvents() {
+    // Arrange
+    ringBuffer.add(event(1));
+    ringBuffer.add(event(2));
+    ringBuffer.add(event(3));
+
+    // Act
+    List<PlafondStreamEvent> missed = ringBuffer.since(1);
+
+    // Assert
+    assertEquals(List.of(2L, 3L), missed.stream().map(PlafondStreamEvent::getId).toList());
+    assertTrue(ringBuffer.since(3).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should overwrite oldest events and report gaps")
+  void since_AfterOverflow_ShouldReturnNullForGap() {
+    // Arrange
+    for (long id = 1; id <= 5; id++) {
+      ringBuffer.add(event(id));
+    }
+
+    // Act & Assert - buffer berisi 3, 4, 5
+    assertNull(ringBuffer.since(1));
+    assertEquals(
+        List.of(3L, 4L, 5L), ringBuffer.since(2).stream().map(PlafondStreamEvent::getId).toList());
+    assertEquals(5L, ringBuffer.getLastId());
+  }
+
+  @Test
+  @DisplayName("Should report a gap when the buffer is empty, e.g. after a restart")
+  void since_WithEmptyBuffer_ShouldReturnNullForKnownId() {
+    assertNull(ringBuffer.since(7));
+    assertTrue(ringBuffer.since(0).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should report a gap for ids beyond the last stored id (sequence reset)")
+  void since_WithIdAfterLastId_ShouldReturnNull() {
+    // Arrange - sequence lokal mulai lagi dari 1 setelah restart, client masih memegang id 9
+    ringBuffer.add(event(1));
+    ringBuffer.add(event(2));
+
+    // Act & Assert
+    assertNull(ringBuffer.since(9));
+    assertNull(ringBuffer.since(3));
+    assertTrue(ringBuffer.since(2).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should ignore duplicate events")
+  void add_WithDuplicateId_ShouldBeIgnored() {
+    assertTrue(ringBuffer.add(event(2)));
+    assertFalse(ringBuffer.add(event(2)));
+    assertEquals(1, ringBuffer.since(1).size());
+    assertNull(ringBuffer.since(0));
+  }
+
+  @Test
+  @DisplayName("Should insert late events in id order")
+  void add_WithLateEvent_ShouldInsertInOrder() {
+    // Arrange - 3 datang sebelum 2 (dari node lain)
+    assertTrue(ringBuffer.add(event(1)));
+    assertTrue(ringBuffer.add(event(3)));
+
+    // Act
+    assertTrue(ringBuffer.add(event(2)));
+
+    // Assert
+    assertEquals(
+        List.of(2L, 3L), ringBuffer.since(1).stream().map(PlafondStreamEvent::getId).toList());
+    assertEquals(3L, ringBuffer.getLastId());
+
+    // Buffer penuh: event terlambat menggeser event tertua, yang lebih tua dari isi buffer tidak
+    // disimpan tetapi tetap dianggap baru
+    assertTrue(ringBuffer.add(event(5)));
+    assertTrue(ringBuffer.add(event(4)));
+    assertEquals(
+        List.of(3L, 4L, 5L), ringBuffer.since(2).stream().map(PlafondStreamEvent::getId).toList());
+    assertTrue(ringBuffer.add(event(1)));
+    assertNull(ringBuffer.since(1));
+  }
+
+  private static PlafondStreamEvent event(long id) {
+    return PlafondStreamEvent.builder().id(id).type(PlafondChangedEvent.Type.UPDATED).build();
+  }
+}
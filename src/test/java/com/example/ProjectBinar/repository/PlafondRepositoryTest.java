@@ -0,0 +1,119 @@
+package com.example.ProjectBinar.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.ProjectBinar.entity.Plafond;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("PlafondRepository Tests")
+class PlafondRepositoryTest {
+
+  @Autowired private PlafondRepository plafondRepository;
+
+  @Autowired private TestEntityManager entityManager;
+
+  private Plafond active;
+  private Plafond deleted;
+
+  @BeforeEach
+  void setUp() {
+    active = plafondRepository.saveAndFlush(plafond("Bronze"));
+    deleted = plafondRepository.saveAndFlush(plafond("Silver"));
+    deleted.setIsDeleted(true);
+    deleted.setDeletedAt(LocalDateTime.now().minusDays(100));
+    plafondRepository.saveAndFlush(deleted);
+    entityManager.clear();
+  }
+
+  @Test
+  @DisplayName("Derived queries should skip soft-deleted plafonds")
+  void derivedQueries_ShouldApplySoftDeleteRestriction() {
+    assertEquals(
+        List.of(active.getId()), plafondRepository.findAll().stream().map(Plafond::getId).toList());
+    assertTrue(plafondRepository.findById(deleted.getId()).isEmpty());
+    assertFalse(plafondRepository.existsByName("Silver"));
+    assertEquals(1, plafondRepository.findByIsActive(true).size());
+  }
+
+  @Test
+  @DisplayName("Specification, count and id lookups should skip soft-deleted plafonds")
+  void specificationQueries_ShouldApplySoftDeleteRestriction() {
+    assertEquals(1, plafondRepository.count());
+    assertEquals(
+        List.of(active.getId()),
+        plafondRepository
+            .findAll((root, query, criteriaBuilder) -> criteriaBuilder.conjunction())
+            .stream()
+            .map(Plafond::getId)
+            .toList());
+    assertEquals(
+        1,
+        plafondRepository
+            .findAll(
+                (root, query, criteriaBuilder) -> criteriaBuilder.conjunction(),
+                PageRequest.of(0, 10))
+            .getTotalElements());
+    assertEquals(
+        List.of(active.getId()),
+        plafondRepository.findAllById(List.of(active.getId(), deleted.getId())).stream()
+            .map(Plafond::getId)
+            .toList());
+  }
+
+  @Test
+  @DisplayName("Archival queries should see and hard-delete soft-deleted plafonds")
+  void archivalQueries_ShouldBypassRestriction() {
+    List<Plafond> chunk =
+        plafondRepository.findSoftDeletedBefore(
+            LocalDateTime.now().minusDays(90), PageRequest.of(0, 10));
+
+    assertEquals(List.of(deleted.getId()), chunk.stream().map(Plafond::getId).toList());
+    assertEquals(1, plafondRepository.hardDeleteByIdIn(List.of(deleted.getId())));
+    assertTrue(
+        plafondRepository
+            .findSoftDeletedBefore(LocalDateTime.now(), PageRequest.of(0, 10))
+            .isEmpty());
+  }
+
+  @Test
+  @DisplayName("Delta-sync query should return changes after the cursor including tombstones")
+  void findChangedAfter_ShouldReturnOrderedChanges() {
+    List<Plafond> all =
+        plafondRepository.findChangedAfter(
+            LocalDateTime.of(1970, 1, 1, 0, 0), 0L, LocalDateTime.now(), PageRequest.of(0, 10));
+
+    assertEquals(
+        List.of(active.getId(), deleted.getId()), all.stream().map(Plafond::getId).toList());
+    assertTrue(all.get(1).getIsDeleted());
+    assertTrue(all.get(1).getUpdatedAt().isAfter(all.get(0).getUpdatedAt()));
+
+    Plafond first = all.get(0);
+    List<Plafond> afterFirst =
+        plafondRepository.findChangedAfter(
+            first.getUpdatedAt(), first.getId(), LocalDateTime.now(), PageRequest.of(0, 10));
+    assertEquals(List.of(deleted.getId()), afterFirst.stream().map(Plafond::getId).toList());
+  }
+
+  private static Plafond plafond(String name) {
+    return Plafond.builder()
+        .name(name)
+        .maxAmount(new BigDecimal("10000000"))
+        .interestRate(new BigDecimal("12.00"))
+        .tenorMonth(12)
+        .build();
+  }
+}
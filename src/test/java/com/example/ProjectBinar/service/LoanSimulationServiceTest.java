@@ -0,0 +1,82 @@
+package com.example.ProjectBinar.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.ProjectBinar.dto.LoanSimulationRequest;
+import com.example.ProjectBinar.dto.LoanSimulationResponse;
+import com.example.ProjectBinar.dto.PlafondResponse;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoanSimulationService Unit Tests")
+class LoanSimulationServiceTest {
+
+  @Mock private PlafondService plafondService;
+
+  @InjectMocks private LoanSimulationService loanSimulationService;
+
+  private LoanSimulationRequest validRequest;
+
+  @BeforeEach
+  void setUp() {
+    PlafondResponse plafond =
+        PlafondResponse.builder()
+            .id(1L)
+            .name("Gold")
+            .maxAmount(new BigDecimal("50000000.00"))
+            .interestRate(new BigDecimal("8.50"))
+            .tenorMonth(12)
+            .isActive(true)
+            .build();
+    when(plafondService.getActivePlafonds()).thenReturn(List.of(plafond));
+
+    validRequest =
+        LoanSimulationRequest.builder().plafondId(1L).amount(new BigDecimal("5000000")).build();
+  }
+
+  @Test
+  @DisplayName("Should use the plafond tenor when tenorMonth is omitted")
+  void simulateBatch_WithoutTenor_ShouldUsePlafondTenor() {
+    List<LoanSimulationResponse> results =
+        loanSimulationService.simulateBatch(List.of(validRequest), false);
+
+    assertEquals(1, results.size());
+    assertEquals(12, results.get(0).getTenorMonth());
+  }
+
+  @Test
+  @DisplayName("Should reject null elements and missing fields with the element index")
+  void simulateBatch_WithNullElementOrField_ShouldNameIndex() {
+    // Body [{...}, null]
+    IllegalArgumentException nullElement =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> loanSimulationService.simulateBatch(Arrays.asList(validRequest, null), false));
+    assertEquals("Simulasi ke-2: data tidak boleh kosong", nullElement.getMessage());
+
+    LoanSimulationRequest noPlafond =
+        LoanSimulationRequest.builder().amount(new BigDecimal("5000000")).build();
+    IllegalArgumentException missingPlafond =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> loanSimulationService.simulateBatch(List.of(noPlafond), false));
+    assertEquals("Simulasi ke-1: plafondId wajib diisi", missingPlafond.getMessage());
+
+    LoanSimulationRequest noAmount = LoanSimulationRequest.builder().plafondId(1L).build();
+    IllegalArgumentException missingAmount =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> loanSimulationService.simulateBatch(List.of(validRequest, noAmount), false));
+    assertEquals("Simulasi ke-2: amount wajib diisi", missingAmount.getMessage());
+  }
+}
@@ -0,0 +1,95 @@
+package com.example.ProjectBinar.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.ProjectBinar.entity.Plafond;
+import com.example.ProjectBinar.entity.PlafondArchive;
+import com.example.ProjectBinar.repository.PlafondArchiveRepository;
+import com.example.ProjectBinar.repository.PlafondRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PlafondArchiveService.class)
+@TestPropertySource(properties = "plafond-archive.chunk-size=2")
+@DisplayName("PlafondArchiveService Tests")
+class PlafondArchiveServiceTest {
+
+  @Autowired private PlafondArchiveService plafondArchiveService;
+
+  @Autowired private PlafondRepository plafondRepository;
+
+  @Autowired private PlafondArchiveRepository plafondArchiveRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private TestEntityManager entityManager;
+
+  @Test
+  @DisplayName("Should archive every expired plafond across several chunks")
+  void archiveSoftDeletedPlafonds_ShouldProcessAllChunks() {
+    Plafond active = plafondRepository.saveAndFlush(plafond("Active"));
+    Plafond recent = softDeleted("Recent", LocalDateTime.now().minusDays(10));
+    List<Long> expiredIds = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      expiredIds.add(softDeleted("Expired " + i, LocalDateTime.now().minusDays(100)).getId());
+    }
+    entityManager.clear();
+
+    assertEquals(5, plafondArchiveService.archiveSoftDeletedPlafonds());
+
+    assertEquals(
+        expiredIds,
+        plafondArchiveRepository.findAll().stream()
+            .sorted((a, b) -> a.getId().compareTo(b.getId()))
+            .map(PlafondArchive::getId)
+            .toList());
+    PlafondArchive archive = plafondArchiveRepository.findById(expiredIds.get(0)).orElseThrow();
+    assertEquals("Expired 0", archive.getName());
+    assertNotNull(archive.getDeletedAt());
+    assertNotNull(archive.getArchivedAt());
+    assertEquals(
+        List.of(active.getId(), recent.getId()),
+        jdbcTemplate.queryForList("SELECT id FROM plafond ORDER BY id", Long.class));
+  }
+
+  @Test
+  @DisplayName("Should stop after the first empty chunk when nothing is expired")
+  void archiveSoftDeletedPlafonds_ShouldReturnZeroWhenNothingExpired() {
+    softDeleted("Recent", LocalDateTime.now().minusDays(10));
+    entityManager.clear();
+
+    assertEquals(0, plafondArchiveService.archiveSoftDeletedPlafonds());
+    assertEquals(0, plafondArchiveRepository.count());
+  }
+
+  private Plafond softDeleted(String name, LocalDateTime deletedAt) {
+    Plafond plafond = plafondRepository.saveAndFlush(plafond(name));
+    plafond.setIsDeleted(true);
+    plafond.setDeletedAt(deletedAt);
+    return plafondRepository.saveAndFlush(plafond);
+  }
+
+  private static Plafond plafond(String name) {
+    return Plafond.builder()
+        .name(name)
+        .maxAmount(new BigDecimal("10000000"))
+        .interestRate(new BigDecimal("12.00"))
+        .tenorMonth(12)
+        .build();
+  }
+}
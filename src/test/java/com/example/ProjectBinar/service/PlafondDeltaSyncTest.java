@@ -0,0 +1,212 @@
+package com.example.ProjectBinar.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.example.ProjectBinar.catalog.PlafondCatalogEngine;
+import com.example.ProjectBinar.catalog.PlafondEligibilityIndex;
+import com.example.ProjectBinar.dto.PlafondChangeResponse;
+import com.example.ProjectBinar.dto.PlafondChangesResponse;
+import com.example.ProjectBinar.entity.Plafond;
+import com.example.ProjectBinar.repository.PlafondRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delta-sync dengan transaksi yang saling bersilangan: transaksi yang flush lebih dulu tetapi
+ * commit belakangan tidak boleh terlewat oleh cursor.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("PlafondService Delta-Sync Tests")
+class PlafondDeltaSyncTest {
+
+  private static final long SAFETY_LAG_MS = 1000;
+
+  @Autowired private PlafondRepository plafondRepository;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private PlafondService plafondService;
+  private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    plafondService =
+        new PlafondService(
+            plafondRepository,
+            mock(ApplicationEventPublisher.class),
+            mock(PlafondEligibilityIndex.class),
+            new PlafondCatalogEngine(plafondRepository),
+            mock(AuditService.class));
+    ReflectionTestUtils.setField(plafondService, "syncSafetyLagMs", SAFETY_LAG_MS);
+    transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM plafond");
+    jdbcTemplate.update("DELETE FROM plafond_archive");
+  }
+
+  @Test
+  @DisplayName("Cursor older than archive retention should not force a resync without archival")
+  void getPlafondChanges_WithQuietCatalog_ShouldNotLoopResync() {
+    // Semua baris terakhir berubah jauh sebelum masa retensi archive (katalog yang sepi, atau
+    // baris hasil backfill updated_at = created_at)
+    Long first = plafondRepository.saveAndFlush(plafond("Bronze")).getId();
+    Long second = plafondRepository.saveAndFlush(plafond("Silver")).getId();
+    backdate(first, 300, false);
+    backdate(second, 200, false);
+
+    PlafondChangesResponse full = plafondService.getPlafondChanges(null, 100);
+    assertFalse(full.getFullResyncRequired());
+    assertEquals(
+        List.of(first, second),
+        full.getChanges().stream().map(PlafondChangeResponse::getId).toList());
+
+    PlafondChangesResponse next = plafondService.getPlafondChanges(full.getNextCursor(), 100);
+    assertFalse(next.getFullResyncRequired());
+    assertTrue(next.getChanges().isEmpty());
+    assertFalse(
+        plafondService.getPlafondChanges(next.getNextCursor(), 100).getFullResyncRequired());
+  }
+
+  @Test
+  @DisplayName("Archived tombstone behind the cursor should force one resync, not a loop")
+  void getPlafondChanges_WithArchivedTombstone_ShouldResyncOnce() {
+    Long first = plafondRepository.saveAndFlush(plafond("Bronze")).getId();
+    Long second = plafondRepository.saveAndFlush(plafond("Silver")).getId();
+    Long deleted = plafondRepository.saveAndFlush(plafond("Gold")).getId();
+    backdate(first, 300, false);
+    backdate(second, 250, false);
+    backdate(deleted, 200, true);
+
+    // Client baru menerima halaman pertama sebelum tombstone Gold di-archive
+    PlafondChangesResponse page = plafondService.getPlafondChanges(null, 1);
+    assertTrue(page.getHasMore());
+    PlafondArchiveService archiveService =
+        new PlafondArchiveService(plafondRepository, jdbcTemplate, transactionTemplate);
+    ReflectionTestUtils.setField(archiveService, "retentionDays", 90);
+    ReflectionTestUtils.setField(archiveService, "chunkSize", 500);
+    assertEquals(1, archiveService.archiveSoftDeletedPlafonds());
+
+    PlafondChangesResponse stale = plafondService.getPlafondChanges(page.getNextCursor(), 1);
+    assertTrue(stale.getFullResyncRequired());
+
+    // Sinkronisasi penuh setelah archival: cursor tiap halaman tetap di belakang watermark, tetapi
+    // tidak boleh meminta resync lagi
+    List<Long> synced = new ArrayList<>();
+    String cursor = null;
+    PlafondChangesResponse response;
+    do {
+      response = plafondService.getPlafondChanges(cursor, 1);
+      assertFalse(response.getFullResyncRequired());
+      response.getChanges().forEach(change -> synced.add(change.getId()));
+      cursor = response.getNextCursor();
+    } while (response.getHasMore());
+    assertEquals(List.of(first, second), synced);
+
+    PlafondChangesResponse next = plafondService.getPlafondChanges(cursor, 1);
+    assertFalse(next.getFullResyncRequired());
+    assertTrue(next.getChanges().isEmpty());
+  }
+
+  @Test
+  @DisplayName("Change flushed before but committed after another change should not be skipped")
+  void getPlafondChanges_WithInterleavedTransactions_ShouldNotSkipLateCommit() throws Exception {
+    CountDownLatch flushed = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    // Transaksi A: updatedAt di-stamp saat flush (T1), commit ditahan
+    CompletableFuture<Long> slow =
+        CompletableFuture.supplyAsync(
+            () ->
+                transactionTemplate.execute(
+                    status -> {
+                      Plafond plafond = plafondRepository.saveAndFlush(plafond("Slow"));
+                      flushed.countDown();
+                      await(release);
+                      return plafond.getId();
+                    }));
+    assertTrue(flushed.await(5, TimeUnit.SECONDS));
+
+    // Transaksi B: updatedAt T2 > T1, langsung commit
+    Long fastId =
+        transactionTemplate.execute(
+            status -> plafondRepository.saveAndFlush(plafond("Fast")).getId());
+
+    // Poll pertama selagi A belum commit: B belum melewati safety lag sehingga cursor tidak maju
+    // melewati T1
+    PlafondChangesResponse first = plafondService.getPlafondChanges(null, 100);
+    assertTrue(first.getChanges().isEmpty());
+    assertFalse(first.getFullResyncRequired());
+
+    release.countDown();
+    Long slowId = slow.get(5, TimeUnit.SECONDS);
+    Thread.sleep(SAFETY_LAG_MS + 100);
+
+    PlafondChangesResponse second = plafondService.getPlafondChanges(first.getNextCursor(), 100);
+    assertEquals(
+        List.of(slowId, fastId),
+        second.getChanges().stream().map(PlafondChangeResponse::getId).toList());
+
+    PlafondChangesResponse third = plafondService.getPlafondChanges(second.getNextCursor(), 100);
+    assertTrue(third.getChanges().isEmpty());
+  }
+
+  /** Mundurkan updated_at (dan deleted_at untuk tombstone) sebanyak days hari. */
+  private void backdate(Long id, int days, boolean softDeleted) {
+    LocalDateTime at = LocalDateTime.now().minusDays(days);
+    jdbcTemplate.update(
+        "UPDATE plafond SET created_at = ?, updated_at = ?, is_deleted = ?, deleted_at = ?"
+            + " WHERE id = ?",
+        at.minusDays(1),
+        at,
+        softDeleted,
+        softDeleted ? at : null,
+        id);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Plafond plafond(String name) {
+    return Plafond.builder()
+        .name(name)
+        .maxAmount(new BigDecimal("10000000"))
+        .interestRate(new BigDecimal("12.00"))
+        .tenorMonth(12)
+        .build();
+  }
+}
@@ -0,0 +1,204 @@
+package com.example.ProjectBinar.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.example.ProjectBinar.config.BackgroundThreads;
+import com.example.ProjectBinar.dto.PlafondStreamEvent;
+import com.example.ProjectBinar.event.PlafondChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@DisplayName("PlafondStreamService Unit Tests")
+class PlafondStreamServiceTest {
+
+  private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+  private static final Pattern EVENT_NAME = Pattern.compile("^event:(\\w+)$", Pattern.MULTILINE);
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private PlafondStreamService streamService;
+
+  @BeforeEach
+  void setUp() {
+    streamService =
+        new PlafondStreamService(
+            mock(StringRedisTemplate.class),
+            objectMapper,
+            mock(ApplicationEventPublisher.class),
+            16,
+            4,
+            2,
+            new BackgroundThreads(new MockEnvironment()));
+    ReflectionTestUtils.setField(streamService, "reorderWindowMs", 100L);
+    ReflectionTestUtils.setField(streamService, "writeTimeoutMs", 60_000L);
+  }
+
+  @AfterEach
+  void tearDown() {
+    streamService.shutdown();
+  }
+
+  @Test
+  @DisplayName("Should deliver events from other nodes in id order")
+  void onMessage_OutOfOrder_ShouldDeliverInIdOrder() throws Exception {
+    // Arrange
+    RecordingEmitter client = subscribe(null);
+
+    // Act - 3 dan 4 datang sebelum 2
+    receive(1);
+    receive(3);
+    receive(4);
+    receive(2);
+
+    // Assert
+    waitUntil(() -> client.ids.size() == 4);
+    assertEquals(List.of(1L, 2L, 3L, 4L), client.ids);
+  }
+
+  @Test
+  @DisplayName("Should skip a missing id after the reorder window and still deliver it late")
+  void onMessage_WithGap_ShouldNotDropLateEvent() throws Exception {
+    // Arrange
+    RecordingEmitter client = subscribe(null);
+
+    // Act - 2 tertahan melewati reorder window
+    receive(1);
+    receive(3);
+    waitUntil(() -> client.ids.size() == 2);
+    receive(2);
+
+    // Assert - event terlambat tetap dikirim, dan replay mengembalikannya dalam urutan id
+    waitUntil(() -> client.ids.size() == 3);
+    assertEquals(List.of(1L, 3L, 2L), client.ids);
+    RecordingEmitter reconnected = subscribe("1");
+    waitUntil(() -> reconnected.ids.size() == 2);
+    assertEquals(List.of(2L, 3L), reconnected.ids);
+  }
+
+  @Test
+  @DisplayName("Should ask for a resync when Last-Event-ID is unknown after a restart")
+  void subscribe_WithUnknownLastEventId_ShouldSendResync() throws Exception {
+    // Arrange - node baru start: buffer kosong, client membawa id dari sebelum restart
+    RecordingEmitter afterRestart = subscribe("5");
+
+    // Assert
+    waitUntil(() -> afterRestart.names.size() == 1);
+    assertEquals(List.of("resync"), afterRestart.names);
+
+    // Sequence mulai lagi dari 1: id client di atas id terakhir juga dianggap gap
+    receive(1);
+    receive(2);
+    RecordingEmitter reset = subscribe("5");
+    waitUntil(() -> reset.names.size() == 1);
+    assertEquals(List.of("resync"), reset.names);
+    assertTrue(reset.ids.isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should keep delivering to other clients while one client is stuck writing")
+  void onMessage_WithSlowClient_ShouldNotStallOthers() throws Exception {
+    // Arrange - client pertama macet di write pertama
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter slow = subscribe(null, release);
+    RecordingEmitter fast = subscribe(null);
+
+    // Act
+    for (long id = 1; id <= 3; id++) {
+      receive(id);
+    }
+
+    // Assert
+    waitUntil(() -> fast.ids.size() == 3);
+    assertEquals(List.of(1L, 2L, 3L), fast.ids);
+    assertTrue(slow.ids.size() <= 1);
+
+    // Antrian client lambat (kapasitas 4) penuh: client diputus, client lain tetap terhubung
+    for (long id = 4; id <= 8; id++) {
+      receive(id);
+      int expected = (int) id;
+      waitUntil(() -> fast.ids.size() == expected);
+    }
+    assertEquals(1, streamService.getSubscriberCount());
+    release.countDown();
+    waitUntil(() -> fast.ids.size() == 8);
+    assertEquals(8, fast.ids.size());
+  }
+
+  private RecordingEmitter subscribe(String lastEventId) throws InterruptedException {
+    return subscribe(lastEventId, new CountDownLatch(0));
+  }
+
+  private RecordingEmitter subscribe(String lastEventId, CountDownLatch release)
+      throws InterruptedException {
+    int before = streamService.getSubscriberCount();
+    RecordingEmitter emitter = new RecordingEmitter(release);
+    streamService.subscribe(emitter, lastEventId);
+    waitUntil(() -> streamService.getSubscriberCount() > before);
+    return emitter;
+  }
+
+  private void receive(long id) throws Exception {
+    PlafondStreamEvent event =
+        PlafondStreamEvent.builder().id(id).type(PlafondChangedEvent.Type.UPDATED).build();
+    byte[] body =
+        objectMapper.writeValueAsBytes(new PlafondStreamService.FanoutMessage("other-node", event));
+    streamService.onMessage(
+        new DefaultMessage(PlafondStreamService.CHANNEL.getBytes(StandardCharsets.UTF_8), body),
+        null);
+  }
+
+  private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  /** Emitter yang mencatat id event yang dikirim; write bisa ditahan untuk meniru client lambat. */
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private final List<Long> ids = new CopyOnWriteArrayList<>();
+    private final List<String> names = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release;
+
+    private RecordingEmitter(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) {
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      StringBuilder text = new StringBuilder();
+      builder.build().forEach(part -> text.append(part.getData()));
+      Matcher matcher = EVENT_ID.matcher(text);
+      if (matcher.find()) {
+        ids.add(Long.parseLong(matcher.group(1)));
+      }
+      Matcher name = EVENT_NAME.matcher(text);
+      if (name.find()) {
+        names.add(name.group(1));
+      }
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.example.ProjectBinar.simulation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LoanAmortizationCalculator Unit Tests")
+class LoanAmortizationCalculatorTest {
+
+  private AmortizationSchedule schedule;
+
+  @BeforeEach
+  void setUp() {
+    schedule = new AmortizationSchedule(12);
+  }
+
+  @Test
+  @DisplayName("Flat method should charge interest on the original principal")
+  void calculate_Flat_ShouldReturnEqualInstallments() {
+    // Act - Rp 12.000.000, 12% per tahun, 12 bulan
+    LoanAmortizationCalculator.calculate(
+        1_200_000_000L, 1200, 12, InstallmentMethod.FLAT, schedule);
+
+    // Assert
+    assertEquals(12, schedule.getTenor());
+    for (int month = 0; month < 12; month++) {
+      assertEquals(100_000_000L, schedule.getPrincipal(month));
+      assertEquals(12_000_000L, schedule.getInterest(month));
+      assertEquals(112_000_000L, schedule.getInstallment(month));
+    }
+    assertEquals(144_000_000L, schedule.getTotalInterest());
+    assertEquals(0L, schedule.getBalance(11));
+  }
+
+  @Test
+  @DisplayName("Annuity method should match the standard annuity formula")
+  void calculate_Annuity_ShouldReturnStandardInstallment() {
+    // Act - Rp 10.000.000, 12% per tahun, 12 bulan
+    LoanAmortizationCalculator.calculate(
+        1_000_000_000L, 1200, 12, InstallmentMethod.ANNUITY, schedule);
+
+    // Assert - angsuran anuitas standar Rp 888.487,89
+    assertEquals(88_848_789L, schedule.getInstallment(0));
+    assertEquals(10_000_000L, schedule.getInterest(0));
+
+    long totalPrincipal = 0;
+    for (int month = 0; month < 12; month++) {
+      totalPrincipal += schedule.getPrincipal(month);
+      assertTrue(Math.abs(schedule.getInstallment(month) - 88_848_789L) <= 12);
+    }
+    assertEquals(1_000_000_000L, totalPrincipal);
+    assertEquals(0L, schedule.getBalance(11));
+  }
+
+  @Test
+  @DisplayName("Zero interest rate should split the principal evenly")
+  void calculate_ZeroRate_ShouldHaveNoInterest() {
+    // Act
+    LoanAmortizationCalculator.calculate(1_000L, 0, 3, InstallmentMethod.ANNUITY, schedule);
+
+    // Assert
+    assertEquals(0L, schedule.getTotalInterest());
+    assertEquals(334L, schedule.getPrincipal(0));
+    assertEquals(334L, schedule.getPrincipal(1));
+    assertEquals(332L, schedule.getPrincipal(2));
+  }
+
+  @Test
+  @DisplayName("Buffer should grow when tenor exceeds its capacity")
+  void calculate_TenorAboveCapacity_ShouldGrowBuffer() {
+    // Act
+    LoanAmortizationCalculator.calculate(
+        5_000_000_000L, 950, 48, InstallmentMethod.ANNUITY, schedule);
+
+    // Assert
+    assertEquals(48, schedule.getTenor());
+    assertEquals(0L, schedule.getBalance(47));
+  }
+
+  @Test
+  @DisplayName("Should reject invalid input")
+  void calculate_WithInvalidInput_ShouldThrowException() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> LoanAmortizationCalculator.calculate(0, 1200, 12, InstallmentMethod.FLAT, schedule));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> LoanAmortizationCalculator.calculate(100, 1200, 0, InstallmentMethod.FLAT, schedule));
+  }
+
+  @Test
+  @DisplayName("mulDivRound should fall back to BigInteger on overflow")
+  void mulDivRound_WithOverflow_ShouldReturnExactResult() {
+    assertEquals(3L, LoanAmortizationCalculator.mulDivRound(5, 1, 2));
+    assertEquals(
+        Long.MAX_VALUE / 2 + 1, LoanAmortizationCalculator.mulDivRound(Long.MAX_VALUE, 10, 20));
+  }
+
+  @Test
+  @DisplayName("Should convert between BigDecimal and fixed-point values")
+  void conversions_ShouldRoundTrip() {
+    assertEquals(1_250L, LoanAmortizationCalculator.toBasisPoints(new BigDecimal("12.50")));
+    assertEquals(500_000_050L, LoanAmortizationCalculator.toCents(new BigDecimal("5000000.50")));
+    assertEquals(new BigDecimal("5000000.50"), LoanAmortizationCalculator.fromCents(500_000_050L));
+  }
+}
@@ -0,0 +1,21 @@
+package com.example.ProjectBinar.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Ganti cache Redis dengan NoOpCacheManager untuk test full context (Redis tidak tersedia di test).
+ * Dipakai lewat {@code @Import} supaya test class dengan konfigurasi sama berbagi context Spring.
+ */
+@TestConfiguration
+public class NoCacheTestConfig {
+
+  @Bean
+  @Primary
+  CacheManager noOpCacheManager() {
+    return new NoOpCacheManager();
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.ProjectBinar.support;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.example.ProjectBinar.diagnostics.QueryCountRegistry;
+import java.util.Map;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Wrapper MockMvc yang menghitung SQL statement per request dan menegakkan query budget.
+ *
+ * <p>Memakai QueryCountRegistry dan statement inspector dari diagnostik SQL, jadi context test
+ * harus dijalankan dengan {@code diagnostics.sql.enabled=true} dan MockMvc harus menyertakan filter
+ * (default {@code @AutoConfigureMockMvc}). Statement di JwtAuthenticationFilter ikut terhitung;
+ * statement di thread lain (audit writer, scheduler) tidak.
+ */
+public class QueryCountingMockMvc {
+
+  private final MockMvc mockMvc;
+  private final QueryCountRegistry registry;
+
+  public QueryCountingMockMvc(MockMvc mockMvc, QueryCountRegistry registry) {
+    this.mockMvc = mockMvc;
+    this.registry = registry;
+  }
+
+  /** Hasil request beserta jumlah SQL statement yang dijalankan. */
+  public record Result(ResultActions actions, String endpoint, int queries) {}
+
+  /** Jalankan request dan hitung SQL statement-nya tanpa assertion budget. */
+  public Result perform(RequestBuilder request) throws Exception {
+    registry.reset();
+    ResultActions actions = mockMvc.perform(request);
+
+    Map<String, Map<String, Object>> snapshot = registry.snapshot();
+    if (snapshot.size() != 1) {
+      fail("Expected exactly one counted request but registry recorded " + snapshot.keySet());
+    }
+    Map.Entry<String, Map<String, Object>> entry = snapshot.entrySet().iterator().next();
+    long queries = (long) entry.getValue().get("queries");
+    return new Result(actions, entry.getKey(), (int) queries);
+  }
+
+  /**
+   * Jalankan request dan gagalkan test jika jumlah SQL statement melebihi {@code maxQueries}.
+   *
+   * @return ResultActions untuk assertion status/body selanjutnya
+   */
+  public ResultActions performWithinBudget(RequestBuilder request, int maxQueries)
+      throws Exception {
+    Result result = perform(request);
+    if (result.queries() > maxQueries) {
+      fail(
+          String.format(
+              "%s executed %d SQL statements, budget is %d (possible N+1 regression)",
+              result.endpoint(), result.queries(), maxQueries));
+    }
+    return result.actions();
+  }
+}